@@ -1,9 +1,11 @@
 package org.example.codenames.card.controller.api;
 
 import org.example.codenames.card.entity.Card;
+import org.example.codenames.card.entity.dto.CardDictionaryDTO;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
@@ -17,4 +19,6 @@ public interface CardController {
     ResponseEntity<Card> addCard(@RequestBody Card card);
 
     ResponseEntity<List<String>> getCardsInLanguage(@RequestParam String lang);
+
+    ResponseEntity<CardDictionaryDTO> getDictionary(@PathVariable String language, @PathVariable String version, @RequestHeader String ifNoneMatch);
 }
@@ -2,13 +2,19 @@ package org.example.codenames.card.controller.impl;
 
 import org.example.codenames.card.controller.api.CardController;
 import org.example.codenames.card.entity.Card;
+import org.example.codenames.card.entity.CardDeck;
+import org.example.codenames.card.entity.dto.CardDictionaryDTO;
 import org.example.codenames.card.service.api.CardService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST controller for managing card-related operations.
@@ -71,4 +77,44 @@ public class DefaultCardController implements CardController {
 
         return ResponseEntity.ok(cards);
     }
+
+    /**
+     * Retrieves a version of the card dictionary the card indexes of game states point into.
+     * A version never changes, so clients may cache it for a year.
+     *
+     * @param language    the language of the card names
+     * @param version     the hexadecimal version of the dictionary, as sent with the game state
+     * @param ifNoneMatch the entity tag of the dictionary cached by the client
+     * @return ResponseEntity containing the dictionary, 304 if the client has it already, 404 if the version was never stored
+     */
+    @GetMapping("/dictionary/{language}/{version}")
+    public ResponseEntity<CardDictionaryDTO> getDictionary(@PathVariable String language, @PathVariable String version,
+                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CardDeck deck;
+
+        try {
+            deck = cardService.getDeck(language, Long.parseUnsignedLong(version, 16));
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.notFound().build();
+        }
+
+        String eTag = "\"" + deck.getLanguage() + "-" + version + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+        // The client already has this version of the dictionary
+        if (eTag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .body(CardDictionaryDTO.builder()
+                        .language(deck.getLanguage())
+                        .version(version)
+                        .names(deck.getNames())
+                        .build());
+    }
 }
@@ -0,0 +1,27 @@
+package org.example.codenames.card.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Represents the board names of all cards in one language, ordered by card id.
+ * The version identifies the set of cards the deck was built from, so boards drawn from it can be expanded again later.
+ */
+@Getter
+@AllArgsConstructor
+public class CardDeck {
+    /**
+     * The language the deck shows the cards in.
+     */
+    private final String language;
+
+    /**
+     * The version of the set of cards, the same on every instance loading the same cards.
+     */
+    private final long version;
+
+    /**
+     * The board names of the cards, shared and not to be modified.
+     */
+    private final String[] names;
+}
@@ -0,0 +1,36 @@
+package org.example.codenames.card.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Represents one version of the whole set of cards, stored in the "card_deck_versions" collection.
+ * A version is written once and never changed, so every instance can load the decks of any version it did not build itself.
+ */
+@Document(collection = "card_deck_versions")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+public class CardDeckVersion {
+    /**
+     * The version of the cards in hexadecimal, the form sent to clients.
+     */
+    @Id
+    private String id;
+
+    /**
+     * All cards of the version ordered by id.
+     */
+    private List<Card> cards;
+
+    /**
+     * The time the version was first loaded.
+     */
+    private LocalDateTime createdAt;
+}
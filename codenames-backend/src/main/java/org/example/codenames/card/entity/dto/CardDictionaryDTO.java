@@ -0,0 +1,23 @@
+package org.example.codenames.card.entity.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CardDictionaryDTO {
+    /**
+     * The language of the card names.
+     */
+    private String language;
+
+    /**
+     * The version of the dictionary in hexadecimal, as sent with the game states pointing into it.
+     */
+    private String version;
+
+    /**
+     * The card names, the card indexes of game states point into this list.
+     */
+    private String[] names;
+}
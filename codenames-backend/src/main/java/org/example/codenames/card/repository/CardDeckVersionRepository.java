@@ -0,0 +1,24 @@
+package org.example.codenames.card.repository;
+
+import org.example.codenames.card.entity.CardDeckVersion;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Card deck version repository.
+ */
+@Repository
+public interface CardDeckVersionRepository extends MongoRepository<CardDeckVersion, String> {
+    /**
+     * Finds the versions stored before the given time, without their cards.
+     *
+     * @param createdAt the time the versions were stored before
+     * @return the versions with only their ids set
+     */
+    @Query(value = "{ 'createdAt': { $lt: ?0 } }", fields = "{ '_id': 1 }")
+    List<CardDeckVersion> findIdsByCreatedAtBefore(LocalDateTime createdAt);
+}
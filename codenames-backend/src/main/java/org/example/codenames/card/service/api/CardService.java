@@ -1,9 +1,11 @@
 package org.example.codenames.card.service.api;
 
 import org.example.codenames.card.entity.Card;
+import org.example.codenames.card.entity.CardDeck;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongPredicate;
 
 /**
  * Card service interface.
@@ -14,4 +16,12 @@ public interface CardService {
     Card createCard(Card card);
 
     List<String> getCardsInLanguage(String language);
+
+    String getCardNameInLanguage(Card card, String language);
+
+    CardDeck getDeck(String language);
+
+    CardDeck getDeck(String language, long version);
+
+    int deleteUnusedDeckVersions(LongPredicate inUse);
 }
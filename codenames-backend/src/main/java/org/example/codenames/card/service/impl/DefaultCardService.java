@@ -1,34 +1,124 @@
 package org.example.codenames.card.service.impl;
 
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.example.codenames.card.entity.Card;
+import org.example.codenames.card.entity.CardDeck;
+import org.example.codenames.card.entity.CardDeckVersion;
+import org.example.codenames.card.repository.CardDeckVersionRepository;
 import org.example.codenames.card.repository.CardRepository;
 import org.example.codenames.card.service.api.CardService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
 
 /**
  * Default implementation of the {@link CardService} interface.
  * This service provides methods to retrieve, create, and filter cards.
+ * All cards are loaded once into an immutable deck per language, which is dropped and loaded again after a card is created
+ * on any instance of the cluster, so drawing a board and listing the cards of a language do not read the database.
+ * Every loaded version of the cards is stored once, recently used versions are kept in memory and older ones are read back
+ * from the database, so the dictionary of any board can be resolved by every instance.
+ * Stored versions no game uses anymore are deleted, see {@link #deleteUnusedDeckVersions(LongPredicate)}.
  */
+@Slf4j
 @Service
 public class DefaultCardService implements CardService {
+    /**
+     * The number of versions of the cards kept loaded for the boards drawn from them.
+     */
+    private static final int MAX_LOADED_VERSIONS = 8;
+
+    /**
+     * How long a stored version is kept even if no game uses it, so boards being drawn from it are not left without cards.
+     */
+    private static final Duration UNUSED_VERSION_GRACE = Duration.ofDays(1);
+
+    /**
+     * Name of the topic telling every instance that the cards changed.
+     */
+    public static final String INVALIDATIONS_TOPIC = "cardDeckInvalidations";
+
     /**
      * The repository for the {@link Card} entity.
      */
     private final CardRepository cardRepository;
 
     /**
-     * Constructs a {@code DefaultCardService} with the given repository.
+     * The repository storing every version of the cards.
+     */
+    private final CardDeckVersionRepository cardDeckVersionRepository;
+
+    /**
+     * Hazelcast instance holding the invalidations topic.
+     */
+    private final HazelcastInstance hazelcastInstance;
+
+    /**
+     * Id of the invalidations listener registration.
+     */
+    private UUID listenerRegistration;
+
+    /**
+     * The cards loaded from the repository with their decks, null until the next read loads them.
+     */
+    private volatile Decks decks;
+
+    /**
+     * The most recently loaded versions of the cards, guarded by this service.
+     */
+    private final Map<Long, Decks> loadedVersions = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Decks> eldest) {
+            return size() > MAX_LOADED_VERSIONS;
+        }
+    };
+
+    /**
+     * Constructs a {@code DefaultCardService} with the given repositories.
      *
-     * @param cardRepository The repository for the {@link Card} entity.
+     * @param cardRepository            The repository for the {@link Card} entity.
+     * @param cardDeckVersionRepository The repository storing every version of the cards.
+     * @param hazelcastInstance         The Hazelcast instance holding the invalidations topic.
      */
     @Autowired
-    public DefaultCardService(CardRepository cardRepository) {
+    public DefaultCardService(CardRepository cardRepository, CardDeckVersionRepository cardDeckVersionRepository, HazelcastInstance hazelcastInstance) {
         this.cardRepository = cardRepository;
+        this.cardDeckVersionRepository = cardDeckVersionRepository;
+        this.hazelcastInstance = hazelcastInstance;
+    }
+
+    /**
+     * Drops the loaded cards whenever a card is created on any instance.
+     */
+    @PostConstruct
+    public void subscribe() {
+        listenerRegistration = invalidations().addMessageListener(message -> invalidateDecks());
+    }
+
+    /**
+     * Stops listening to the invalidations.
+     */
+    @PreDestroy
+    public void unsubscribe() {
+        if (listenerRegistration != null) {
+            invalidations().removeMessageListener(listenerRegistration);
+        }
     }
 
     /**
@@ -50,7 +140,13 @@ public class DefaultCardService implements CardService {
      */
     @Override
     public Card createCard(Card card) {
-        return cardRepository.save(card);
+        Card saved = cardRepository.save(card);
+        invalidateDecks();
+
+        // The other instances drop their cards too, this one already has
+        invalidations().publish(saved.getId());
+
+        return saved;
     }
 
     /**
@@ -62,12 +158,256 @@ public class DefaultCardService implements CardService {
     @Override
     public List<String> getCardsInLanguage(String language) {
         if (language != null && !language.isEmpty()) {
-            return cardRepository.findAll().stream()
-                    .map(card -> card.getNames().getOrDefault(language, ""))
-                    .filter(name -> !name.isEmpty())
-                    .collect(Collectors.toList());
+            Decks current = getDecks();
+            List<String> translations = current.translations.get(language);
+
+            if (translations == null) {
+                translations = current.cards.stream()
+                        .map(card -> card.getNames().getOrDefault(language, ""))
+                        .filter(name -> !name.isEmpty())
+                        .toList();
+
+                // Only languages some card is translated to are kept, requests for any other language cost nothing to store
+                if (!translations.isEmpty()) {
+                    current.translations.putIfAbsent(language, translations);
+                }
+            }
+
+            return translations;
         } else {
             return List.of();
         }
     }
+
+    /**
+     * Returns the card name shown on the board in the specified language.
+     *
+     * @param card     The card.
+     * @param language The language code.
+     * @return The English name for "en" if the card has one, otherwise the Polish name, which is the id of the card.
+     */
+    @Override
+    public String getCardNameInLanguage(Card card, String language) {
+        if ("en".equals(language)) {
+            return card.getNames().getOrDefault("en", card.getId());
+        }
+
+        return card.getId();
+    }
+
+    /**
+     * Returns the deck of the current cards in the specified language.
+     *
+     * @param language The language code, every language other than English shows the Polish names.
+     * @return The deck, shared and not to be modified.
+     */
+    @Override
+    public CardDeck getDeck(String language) {
+        return getDecks().deck(boardLanguage(language), this);
+    }
+
+    /**
+     * Returns the deck of a version of the cards in the specified language.
+     * The versions used most recently are kept, older ones are read back from the stored versions,
+     * so boards drawn before a card was created or on another instance can still be resolved.
+     *
+     * @param language The language code, every language other than English shows the Polish names.
+     * @param version  The version of the cards.
+     * @return The deck, shared and not to be modified.
+     * @throws IllegalStateException If the version was never stored.
+     */
+    @Override
+    public CardDeck getDeck(String language, long version) {
+        Decks current = decks;
+
+        if (current == null || current.version != version) {
+            synchronized (this) {
+                current = loadedVersions.get(version);
+            }
+        }
+
+        // Loads the current cards only if the version is not among the loaded ones, e.g. after a restart
+        if (current == null && (current = getDecks()).version != version) {
+            current = loadVersion(version);
+        }
+
+        return current.deck(boardLanguage(language), this);
+    }
+
+    /**
+     * Deletes the stored versions of the cards no game uses anymore.
+     * The current version and versions stored within the last day are always kept.
+     *
+     * @param inUse Tells whether a live or archived game uses a version.
+     * @return The number of deleted versions.
+     */
+    @Override
+    public int deleteUnusedDeckVersions(LongPredicate inUse) {
+        long current = getDecks().version;
+        List<String> unused = cardDeckVersionRepository.findIdsByCreatedAtBefore(LocalDateTime.now().minus(UNUSED_VERSION_GRACE)).stream()
+                .map(CardDeckVersion::getId)
+                .filter(id -> {
+                    long version = Long.parseUnsignedLong(id, 16);
+                    return version != current && !inUse.test(version);
+                })
+                .toList();
+
+        if (!unused.isEmpty()) {
+            cardDeckVersionRepository.deleteAllById(unused);
+
+            // A deleted version loaded again is stored again
+            synchronized (this) {
+                unused.forEach(id -> loadedVersions.remove(Long.parseUnsignedLong(id, 16)));
+            }
+        }
+
+        return unused.size();
+    }
+
+    /**
+     * Loads a stored version of the cards and keeps it with the recently used versions.
+     *
+     * @param version The version of the cards.
+     * @return The cards of the version with their decks.
+     * @throws IllegalStateException If the version was never stored.
+     */
+    private Decks loadVersion(long version) {
+        CardDeckVersion stored = cardDeckVersionRepository.findById(Long.toHexString(version))
+                .orElseThrow(() -> new IllegalStateException("Cards of version " + Long.toHexString(version) + " are not stored."));
+        Decks loaded = new Decks(stored.getCards(), version, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+
+        synchronized (this) {
+            return loadedVersions.computeIfAbsent(version, key -> loaded);
+        }
+    }
+
+    /**
+     * Returns the loaded cards, loading them if a card was created since the last load.
+     *
+     * @return The loaded cards with their decks.
+     */
+    private Decks getDecks() {
+        Decks current = decks;
+
+        return current != null ? current : loadDecks();
+    }
+
+    /**
+     * Loads all cards unless another thread already did.
+     * Synchronized with {@link #invalidateDecks()}, so a load started before a card was saved never outlives its invalidation.
+     *
+     * @return The loaded cards with their decks.
+     */
+    private synchronized Decks loadDecks() {
+        if (decks == null) {
+            Decks loaded = new Decks(cardRepository.findAll().stream()
+                    .sorted(Comparator.comparing(Card::getId, Comparator.nullsFirst(Comparator.naturalOrder())))
+                    .toList());
+
+            // An unchanged set of cards keeps the decks already built for its version
+            decks = loadedVersions.computeIfAbsent(loaded.version, version -> {
+                store(loaded);
+                return loaded;
+            });
+        }
+
+        return decks;
+    }
+
+    /**
+     * Stores a version of the cards unless it is already stored.
+     * Versions are derived from their cards, so instances storing the same version store the same document.
+     *
+     * @param loaded The loaded cards with their version.
+     */
+    private void store(Decks loaded) {
+        String id = Long.toHexString(loaded.version);
+
+        try {
+            if (!cardDeckVersionRepository.existsById(id)) {
+                cardDeckVersionRepository.save(new CardDeckVersion(id, loaded.cards, LocalDateTime.now()));
+            }
+        } catch (DataAccessException e) {
+            // Boards of this version are resolved from memory here, the next load of the same cards stores it
+            log.warn("Could not store the cards of version {}", id, e);
+        }
+    }
+
+    /**
+     * Drops the loaded cards, the next read loads them again.
+     */
+    private synchronized void invalidateDecks() {
+        decks = null;
+    }
+
+    /**
+     * Returns the topic telling every instance that the cards changed.
+     *
+     * @return The invalidations topic.
+     */
+    private ITopic<String> invalidations() {
+        return hazelcastInstance.getTopic(INVALIDATIONS_TOPIC);
+    }
+
+    /**
+     * Returns the language whose names a board in the given language shows.
+     *
+     * @param language The language code.
+     * @return "en" for English, otherwise "pl".
+     */
+    private static String boardLanguage(String language) {
+        return "en".equals(language) ? "en" : "pl";
+    }
+
+    /**
+     * Computes the version of a set of cards, a 64-bit FNV-1a hash of their ids and names in id order.
+     *
+     * @param cards The cards ordered by id.
+     * @return The version of the cards.
+     */
+    private static long versionOf(List<Card> cards) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (Card card : cards) {
+            hash = hash(hash, card.getId());
+
+            for (Map.Entry<String, String> name : new TreeMap<>(card.getNames() != null ? card.getNames() : Map.<String, String>of()).entrySet()) {
+                hash = hash(hash, name.getKey());
+                hash = hash(hash, name.getValue());
+            }
+        }
+
+        return hash;
+    }
+
+    private static long hash(long hash, String value) {
+        String hashed = value == null ? "" : value;
+
+        for (int i = 0; i < hashed.length(); i++) {
+            hash = (hash ^ hashed.charAt(i)) * 0x100000001b3L;
+        }
+
+        // Separates consecutive values, so "ab" + "c" and "a" + "bc" differ
+        return (hash ^ 0xffff) * 0x100000001b3L;
+    }
+
+    /**
+     * All cards ordered by id, with their version and the decks built from them on first use.
+     *
+     * @param cards        The cards ordered by id.
+     * @param version      The version of the cards.
+     * @param boards       The decks of the cards per board language.
+     * @param translations The names of the cards translated to each language.
+     */
+    private record Decks(List<Card> cards, long version, Map<String, CardDeck> boards, Map<String, List<String>> translations) {
+        private Decks(List<Card> cards) {
+            this(cards, versionOf(cards), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        private CardDeck deck(String boardLanguage, CardService cardService) {
+            return boards.computeIfAbsent(boardLanguage, key -> new CardDeck(key, version, cards.stream()
+                    .map(card -> cardService.getCardNameInLanguage(card, key))
+                    .toArray(String[]::new)));
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package org.example.codenames.gameArchive.entity;
+
+import lombok.Builder;
+import lombok.Data;
+import org.example.codenames.gameState.entity.Board;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Entity class for a finished game kept for the match history.
+ * The final state and the event log are stored as one GZIP-compressed JSON document,
+ * only the fields the history is searched by are stored as plain fields.
+ */
+@Document(collection = "game_archive")
+@CompoundIndex(name = "board_deck_version", def = "{'board.deckVersion': 1}")
+@Data
+@Builder
+public class GameArchive {
+    /**
+     * The id of the game session.
+     */
+    @Id
+    private String id;
+
+    /**
+     * The name of the game session.
+     */
+    private String gameName;
+
+    /**
+     * The ids of the players connected when the game finished.
+     */
+    @Indexed
+    private List<String> playerIds;
+
+    /**
+     * The score of the red team.
+     */
+    private int redTeamScore;
+
+    /**
+     * The score of the blue team.
+     */
+    private int blueTeamScore;
+
+    /**
+     * The board of the game, which reproduces its cards and colors.
+     */
+    private Board board;
+
+    /**
+     * The number of archived events, older ones may have been overwritten before the game finished.
+     */
+    private int eventCount;
+
+    /**
+     * The time the game finished.
+     */
+    private LocalDateTime finishedAt;
+
+    /**
+     * The size of the archived JSON before compression.
+     */
+    private int uncompressedSize;
+
+    /**
+     * The GZIP-compressed JSON with the final game session as "session" and its events as "events".
+     */
+    private byte[] data;
+}
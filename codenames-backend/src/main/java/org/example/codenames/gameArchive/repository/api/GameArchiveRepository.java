@@ -0,0 +1,19 @@
+package org.example.codenames.gameArchive.repository.api;
+
+import org.example.codenames.gameArchive.entity.GameArchive;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for GameArchive entity
+ */
+@Repository
+public interface GameArchiveRepository extends MongoRepository<GameArchive, String> {
+    /**
+     * Checks whether an archived game was played on a board drawn from the given version of the cards.
+     *
+     * @param deckVersion the version of the cards
+     * @return true if some archived board uses the version
+     */
+    boolean existsByBoardDeckVersion(long deckVersion);
+}
@@ -0,0 +1,12 @@
+package org.example.codenames.gameArchive.service.api;
+
+import java.util.UUID;
+
+/**
+ * Service archiving finished games and evicting them from the cluster.
+ */
+public interface GameArchiveService {
+    void archive(UUID gameId);
+
+    void flush();
+}
@@ -0,0 +1,262 @@
+package org.example.codenames.gameArchive.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codenames.gameArchive.entity.GameArchive;
+import org.example.codenames.gameArchive.repository.api.GameArchiveRepository;
+import org.example.codenames.gameArchive.service.api.GameArchiveService;
+import org.example.codenames.gameSession.entity.GameEvent;
+import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.GameViewRole;
+import org.example.codenames.gameSession.repository.api.GameSessionRepository;
+import org.example.codenames.gameSession.service.api.GameEventService;
+import org.example.codenames.gameSession.service.api.GameViewService;
+import org.example.codenames.gameState.entity.GameState;
+import org.example.codenames.user.entity.PlayerRef;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Default implementation of the {@link GameArchiveService}.
+ * Finished games are queued and archived in the background, each batch with a single bulk insert.
+ * A game is evicted from the cluster only after its archive was written, a game whose write failed stays queued for the next run.
+ */
+@Slf4j
+@Service
+public class DefaultGameArchiveService implements GameArchiveService {
+    /**
+     * Game archive repository.
+     */
+    private final GameArchiveRepository gameArchiveRepository;
+
+    /**
+     * Game session repository, the source of the archived games and the store they are evicted from.
+     */
+    private final GameSessionRepository gameSessionRepository;
+
+    /**
+     * Event service providing the logged events of the archived games.
+     */
+    private final GameEventService gameEventService;
+
+    /**
+     * View service rendering the archived game sessions without their secrets.
+     */
+    private final GameViewService gameViewService;
+
+    /**
+     * Maximum number of games written with one bulk insert.
+     */
+    private final int batchSize;
+
+    /**
+     * Object mapper used to serialize the archived games.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Ids of the finished games waiting to be archived.
+     */
+    private final BlockingQueue<UUID> pending = new LinkedBlockingQueue<>();
+
+    /**
+     * Creates a new instance of the {@link DefaultGameArchiveService}.
+     *
+     * @param gameArchiveRepository Game archive repository
+     * @param gameSessionRepository Game session repository
+     * @param gameEventService      Event service providing the logged events
+     * @param gameViewService       View service rendering the archived game sessions
+     * @param batchSize             Maximum number of games written with one bulk insert
+     */
+    @Autowired
+    public DefaultGameArchiveService(GameArchiveRepository gameArchiveRepository, GameSessionRepository gameSessionRepository,
+                                     GameEventService gameEventService, GameViewService gameViewService,
+                                     @Value("${codenames.game-archive.batch-size:100}") int batchSize) {
+        this.gameArchiveRepository = gameArchiveRepository;
+        this.gameSessionRepository = gameSessionRepository;
+        this.gameEventService = gameEventService;
+        this.gameViewService = gameViewService;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Queues a finished game for archiving.
+     *
+     * @param gameId The ID of the game session.
+     */
+    @Override
+    public void archive(UUID gameId) {
+        pending.add(gameId);
+    }
+
+    /**
+     * Archives the queued games in batches and evicts them from the cluster.
+     * Games no longer stored or not finished are dropped from the queue.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${codenames.game-archive.flush-ms:5000}")
+    public void flush() {
+        List<UUID> failed = new ArrayList<>();
+        List<UUID> batch = new ArrayList<>();
+
+        while (pending.drainTo(batch, batchSize) > 0) {
+            List<GameArchive> archives = new ArrayList<>();
+
+            for (UUID gameId : batch) {
+                try {
+                    toArchive(gameId).ifPresent(archives::add);
+                } catch (RuntimeException e) {
+                    log.error("[ARCHIVE] Could not archive game {}", gameId, e);
+                    failed.add(gameId);
+                }
+            }
+
+            failed.addAll(write(archives));
+            batch.clear();
+        }
+
+        // Retried on the next run, the games are still stored until then
+        pending.addAll(failed);
+    }
+
+    /**
+     * Writes the archives with one bulk insert and evicts their games.
+     * If the bulk insert fails, the archives are saved one by one, so only the failing ones are retried.
+     *
+     * @param archives The archives to write.
+     * @return the ids of the games whose archive could not be written
+     */
+    private List<UUID> write(List<GameArchive> archives) {
+        if (archives.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            gameArchiveRepository.insert(archives);
+            evict(archives);
+
+            return List.of();
+        } catch (DataAccessException e) {
+            log.warn("[ARCHIVE] Bulk insert of {} archives failed, saving them one by one", archives.size(), e);
+        }
+
+        List<UUID> failed = new ArrayList<>();
+
+        for (GameArchive archive : archives) {
+            try {
+                gameArchiveRepository.save(archive);
+                evict(List.of(archive));
+            } catch (DataAccessException e) {
+                log.error("[ARCHIVE] Could not save the archive of game {}", archive.getId(), e);
+                failed.add(UUID.fromString(archive.getId()));
+            }
+        }
+
+        return failed;
+    }
+
+    /**
+     * Removes the archived games, their event logs and their cached views from the cluster.
+     *
+     * @param archives The written archives.
+     */
+    private void evict(Collection<GameArchive> archives) {
+        for (GameArchive archive : archives) {
+            UUID gameId = UUID.fromString(archive.getId());
+
+            gameSessionRepository.deleteById(gameId);
+            gameEventService.forget(gameId);
+            gameViewService.forget(gameId);
+        }
+    }
+
+    /**
+     * Builds the archive of a finished game from its stored session and its logged events.
+     *
+     * @param gameId The ID of the game session.
+     * @return the archive, empty if the game is no longer stored or not finished
+     */
+    private Optional<GameArchive> toArchive(UUID gameId) {
+        Optional<GameSession> stored = gameSessionRepository.findBySessionId(gameId);
+
+        if (stored.isEmpty() || stored.get().getStatus() != GameSession.sessionStatus.FINISHED) {
+            return Optional.empty();
+        }
+
+        GameSession gameSession = stored.get();
+        GameState gameState = gameSession.getGameState();
+        List<GameEvent> events = gameEventService.getLoggedEvents(gameId);
+
+        ObjectNode document = objectMapper.createObjectNode();
+        document.set("session", gameViewService.getView(gameSession, GameViewRole.SPYMASTER).getTree());
+        document.set("events", objectMapper.valueToTree(events));
+        byte[] json = serialize(gameId, document);
+
+        return Optional.of(GameArchive.builder()
+                .id(gameId.toString())
+                .gameName(gameSession.getGameName())
+                .playerIds(gameSession.getConnectedUsers().stream()
+                        .flatMap(List::stream)
+                        .map(PlayerRef::getId)
+                        .toList())
+                .redTeamScore(gameState != null && gameState.getRedTeamScore() != null ? gameState.getRedTeamScore() : 0)
+                .blueTeamScore(gameState != null && gameState.getBlueTeamScore() != null ? gameState.getBlueTeamScore() : 0)
+                .board(gameState != null ? gameState.getBoard() : null)
+                .eventCount(events.size())
+                .finishedAt(LocalDateTime.now())
+                .uncompressedSize(json.length)
+                .data(compress(json))
+                .build());
+    }
+
+    /**
+     * Serializes the archived document.
+     *
+     * @param gameId   The ID of the game session.
+     * @param document The document with the session and its events.
+     * @return the UTF-8 encoded JSON
+     */
+    private byte[] serialize(UUID gameId, ObjectNode document) {
+        try {
+            return objectMapper.writeValueAsBytes(document);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the archive of game " + gameId, e);
+        }
+    }
+
+    /**
+     * Compresses the archived JSON with GZIP.
+     *
+     * @param json The serialized archive.
+     * @return the compressed bytes
+     */
+    private static byte[] compress(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return compressed.toByteArray();
+    }
+}
@@ -1,6 +1,8 @@
 package org.example.codenames.gameSession.controller.api;
 
 import org.example.codenames.gameSession.entity.dto.GameSessionRoomLobbyDTO;
+import org.example.codenames.gameSession.entity.dto.NearCacheStatsDTO;
+import org.example.codenames.socket.entity.LobbyBroadcastStats;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -21,4 +23,8 @@ public interface GameSessionController {
     ResponseEntity<?> authenticatePassword(@PathVariable String gameId, @PathVariable String enteredPassword);
 
     ResponseEntity<?> getConnectedUsers(@PathVariable String gameId);
+
+    ResponseEntity<NearCacheStatsDTO> getNearCacheStats();
+
+    ResponseEntity<LobbyBroadcastStats> getLobbyBroadcastStats();
 }
@@ -2,11 +2,16 @@ package org.example.codenames.gameSession.controller.api;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.example.codenames.gameSession.entity.CreateGameRequest;
+import org.example.codenames.gameSession.entity.GameSession;
 import org.example.codenames.gameSession.entity.HintRequest;
 import org.example.codenames.gameSession.entity.VoteRequest;
+import org.example.codenames.gameSession.entity.dto.GameEventPageDTO;
+import org.example.codenames.gameSession.entity.dto.GameSessionLobbyPageDTO;
+import org.example.codenames.gameSession.entity.dto.GameSessionLobbySnapshotDTO;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.Map;
@@ -19,6 +24,10 @@ import java.util.UUID;
 public interface GameSessionWebSocketController {
     ResponseEntity<Map<String, String>> createGameSession(@RequestBody CreateGameRequest request) throws JsonProcessingException;
 
+    ResponseEntity<GameEventPageDTO> getGameEvents(@PathVariable UUID gameId, @RequestParam long since, @RequestHeader String authorization);
+
+    ResponseEntity<String> getViewRole(@PathVariable UUID gameId, @RequestHeader String authorization);
+
     ResponseEntity<Void> connectPlayer(@PathVariable UUID gameId, @RequestParam String userId, @RequestParam String teamIndex);
 
     ResponseEntity<Void> disconnectPlayer(@PathVariable UUID gameId, @RequestParam String userId);
@@ -27,7 +36,11 @@ public interface GameSessionWebSocketController {
 
     ResponseEntity<Void> finishGame(@PathVariable UUID id) throws JsonProcessingException;
 
-    ResponseEntity<?> getGameSessions();
+    ResponseEntity<?> getGameSessions(@RequestHeader String ifNoneMatch);
+
+    ResponseEntity<GameSessionLobbyPageDTO> getLobbyPage(@RequestParam GameSession.sessionStatus status, @RequestParam Boolean hasPassword, @RequestParam Integer minFreeSlots, @RequestParam String cursor, @RequestParam int limit);
+
+    ResponseEntity<GameSessionLobbySnapshotDTO> getLobbySnapshot();
 
     ResponseEntity<?> sendHint(@PathVariable UUID gameId, @RequestBody HintRequest hintRequest) throws JsonProcessingException;
 
@@ -1,25 +1,25 @@
 package org.example.codenames.gameSession.controller.impl;
 
-import org.example.codenames.discord.service.impl.DiscordGuildService;
 import org.example.codenames.gameSession.controller.api.GameSessionController;
 import org.example.codenames.gameSession.entity.GameSession;
 import org.example.codenames.gameSession.entity.dto.GameSessionRoomLobbyDTO;
+import org.example.codenames.gameSession.entity.dto.NearCacheStatsDTO;
 import org.example.codenames.gameSession.repository.api.GameSessionRepository;
 import org.example.codenames.gameSession.service.api.GameSessionService;
 import org.example.codenames.gameState.service.api.GameStateService;
-import org.example.codenames.socket.service.api.SocketService;
-import org.example.codenames.user.entity.User;
+import org.example.codenames.socket.entity.LobbyBroadcastStats;
+import org.example.codenames.socket.service.api.LobbyBroadcastService;
+import org.example.codenames.user.entity.PlayerRef;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
+import static org.example.codenames.gameSession.entity.dto.GameSessionMapper.toNearCacheStatsDTO;
 import static org.example.codenames.gameSession.entity.dto.GameSessionMapper.toRoomLobbyDTO;
 import static org.example.codenames.user.entity.mapper.UserMapper.toRoomLobbyDTOList;
 
@@ -46,19 +46,9 @@ public class DefaultGameSessionController implements GameSessionController {
     private final GameStateService gameStateService;
 
     /**
-     * Scheduler for delayed tasks
+     * The LobbyBroadcastService instance coalescing lobby list broadcasts
      */
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-
-    /**
-     * The SocketService instance used to interact with the socket
-     */
-    private final SocketService socketService;
-
-    /**
-     * The DiscordGuildService instance used to interact with the Discord guild
-     */
-    private final DiscordGuildService discordGuildService;
+    private final LobbyBroadcastService lobbyBroadcastService;
 
     /**
      * Constructor for the DefaultGameSessionController class
@@ -66,16 +56,14 @@ public class DefaultGameSessionController implements GameSessionController {
      * @param gameSessionService    The GameSessionService instance used to interact with the game session repository
      * @param gameSessionRepository The GameSessionRepository instance used to interact with the game session database
      * @param gameStateService      The GameStateService instance used to interact with the game session repository
-     * @param socketService         The SocketService instance used to interact with the socket
-     * @param discordGuildService   The DiscordGuildService instance used to interact with the Discord guild
+     * @param lobbyBroadcastService The LobbyBroadcastService instance coalescing lobby list broadcasts
      */
     @Autowired
-    public DefaultGameSessionController(GameSessionService gameSessionService, GameSessionRepository gameSessionRepository, GameStateService gameStateService, SocketService socketService, DiscordGuildService discordGuildService) {
+    public DefaultGameSessionController(GameSessionService gameSessionService, GameSessionRepository gameSessionRepository, GameStateService gameStateService, LobbyBroadcastService lobbyBroadcastService) {
         this.gameSessionService = gameSessionService;
         this.gameSessionRepository = gameSessionRepository;
         this.gameStateService = gameStateService;
-        this.socketService = socketService;
-        this.discordGuildService = discordGuildService;
+        this.lobbyBroadcastService = lobbyBroadcastService;
     }
 
     /**
@@ -113,35 +101,21 @@ public class DefaultGameSessionController implements GameSessionController {
      * @return The colors of cards in the game session
      */
     @GetMapping("/{gameId}/cards-colors")
-    public Integer[] getGameStateCardsColors(@PathVariable UUID gameId) {
+    public int[] getGameStateCardsColors(@PathVariable UUID gameId) {
         return gameSessionService.getCardsColorsBySessionId(gameId);
     }
 
     /**
-     * Get the votes for leaders in the game session
+     * Get the votes for leaders in the game session.
+     * The Discord invite is sent by a timer scheduled when the leaders are assigned.
      *
      * @param gameId The id of the game session
      * @return The votes for leaders
      */
     @GetMapping("/{gameId}/assign-leaders")
     public ResponseEntity<String> getVotes(@PathVariable UUID gameId) {
-        GameSession gameSession = gameSessionService.getGameSessionById(gameId);
-
-        gameSession.setStatus(GameSession.sessionStatus.IN_PROGRESS);
-        gameSessionRepository.save(gameSession);
-
-        // Check if game session exists
-        if (gameSession.getGameState().getBlueTeamLeader() == null || gameSession.getGameState().getRedTeamLeader() == null) {
-            gameSessionService.assignTeamLeaders(gameId);
-            scheduler.schedule(() -> {
-                try{
-                    socketService.sendDiscordLinkInvite(gameSession.getSessionId(), discordGuildService.createInvite(gameSession.getDiscordChannelId()));
-                } catch (Exception e){
-                    e.printStackTrace();
-                }
-            }, 3, TimeUnit.SECONDS);
-            gameStateService.chooseRandomCurrentLeader(gameId);
-        } else {
+        // Only the first of the concurrent requests assigns the leaders
+        if (!gameSessionService.assignTeamLeadersOnce(gameId)) {
             return ResponseEntity.status(208).body("Duplicate action detected, already reported.");
         }
 
@@ -172,14 +146,14 @@ public class DefaultGameSessionController implements GameSessionController {
             return ResponseEntity.status(404).body("Game session not found");
         }
 
-        List<List<User>> connectedUsers = gameSession.getConnectedUsers();
+        List<List<PlayerRef>> connectedUsers = gameSession.getConnectedUsers();
 
         // Check if team index is valid
         if (teamIndexInt < 0 || teamIndexInt >= connectedUsers.size()) {
             return ResponseEntity.status(400).body("Invalid team index. Must be 0 (red) or 1 (blue).");
         }
 
-        List<User> teamUsers = connectedUsers.get(teamIndexInt);
+        List<PlayerRef> teamUsers = connectedUsers.get(teamIndexInt);
 
         return ResponseEntity.ok(teamUsers);
     }
@@ -202,4 +176,28 @@ public class DefaultGameSessionController implements GameSessionController {
 
         return ResponseEntity.ok(toRoomLobbyDTOList(gameSession.getConnectedUsers()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Get statistics of the game sessions near cache on this instance. Only accessible to admins.
+     *
+     * @return The near cache statistics, or 404 if the near cache is disabled
+     */
+    @GetMapping("/near-cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<NearCacheStatsDTO> getNearCacheStats() {
+        return gameSessionRepository.getNearCacheStats()
+                .map(stats -> ResponseEntity.ok(toNearCacheStatsDTO(stats)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get counters of the coalesced lobby broadcasts on this instance. Only accessible to admins.
+     *
+     * @return The lobby broadcast statistics
+     */
+    @GetMapping("/lobby-broadcast-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<LobbyBroadcastStats> getLobbyBroadcastStats() {
+        return ResponseEntity.ok(lobbyBroadcastService.getStats());
+    }
+}
@@ -3,18 +3,37 @@ package org.example.codenames.gameSession.controller.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.AllArgsConstructor;
 import org.example.codenames.discord.service.impl.DiscordGuildService;
+import org.example.codenames.gameArchive.service.api.GameArchiveService;
 import org.example.codenames.gameSession.controller.api.GameSessionWebSocketController;
 import org.example.codenames.gameSession.entity.CreateGameRequest;
+import org.example.codenames.gameSession.entity.GameEvent;
 import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.GameView;
 import org.example.codenames.gameSession.entity.HintRequest;
+import org.example.codenames.gameSession.entity.LobbyQuery;
+import org.example.codenames.gameSession.entity.LobbySnapshot;
 import org.example.codenames.gameSession.entity.VoteRequest;
-import org.example.codenames.gameSession.entity.dto.GameSessionMapper;
+import org.example.codenames.gameSession.entity.dto.GameEventPageDTO;
+import org.example.codenames.gameSession.entity.dto.GameSessionLobbyPageDTO;
+import org.example.codenames.gameSession.entity.dto.GameSessionLobbySnapshotDTO;
 import org.example.codenames.gameSession.entity.dto.LeaderVoteState;
 import org.example.codenames.gameSession.repository.api.GameSessionRepository;
+import org.example.codenames.gameSession.repository.api.GameSessionUnitOfWork;
+import org.example.codenames.gameSession.service.api.GameCommandService;
+import org.example.codenames.gameSession.service.api.GameEventService;
 import org.example.codenames.gameSession.service.api.GameSessionService;
-import org.example.codenames.gameState.entity.GameState;
+import org.example.codenames.gameSession.service.api.GameViewAccessService;
+import org.example.codenames.gameSession.service.api.GameViewService;
+import org.example.codenames.gameSession.service.api.LobbyViewService;
+import org.example.codenames.gameState.service.api.CardVoteAggregator;
 import org.example.codenames.gameState.service.api.GameStateService;
+import org.example.codenames.gameTimer.entity.GameTimer;
+import org.example.codenames.gameTimer.service.api.GameTimerService;
+import org.example.codenames.socket.service.api.LobbyBroadcastService;
 import org.example.codenames.socket.service.api.SocketService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,7 +42,6 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
-import static org.example.codenames.gameSession.entity.dto.GameSessionMapper.toJoinGameDTOList;
 import static org.example.codenames.gameSession.entity.dto.GameSessionMapper.toRoomLobbyDTO;
 
 /**
@@ -34,6 +52,11 @@ import static org.example.codenames.gameSession.entity.dto.GameSessionMapper.toR
 @RestController
 @RequestMapping("/api/game-session")
 public class DefaultGameSessionWebSocketController implements GameSessionWebSocketController {
+    /**
+     * The maximum number of game sessions in one lobby page
+     */
+    private static final int MAX_LOBBY_PAGE_SIZE = 100;
+
     /**
      * The GameSessionService instance used to interact with the game session repository
      */
@@ -44,6 +67,11 @@ public class DefaultGameSessionWebSocketController implements GameSessionWebSock
      */
     private final GameSessionRepository gameSessionRepository;
 
+    /**
+     * The GameSessionUnitOfWork of the current request, loading each session once and writing its changes together
+     */
+    private final GameSessionUnitOfWork unitOfWork;
+
     /**
      * The GameStateService instance used to interact with the game state
      */
@@ -60,24 +88,49 @@ public class DefaultGameSessionWebSocketController implements GameSessionWebSock
     private final DiscordGuildService discordGuildService;
 
     /**
-     * Clear all votes in the game session
-     *
-     * @param gameSession          the game session
-     * @param gameSessionRepository the game session repository
+     * The LobbyViewService instance holding the serialized lobby list
      */
-    public static void clearVotes(GameSession gameSession, GameSessionRepository gameSessionRepository) {
-        List<Integer> zeroVotes = new ArrayList<>();
-        int numberOfCards = gameSession.getGameState().getCards().length;
+    private final LobbyViewService lobbyViewService;
 
-        for (int i = 0; i < numberOfCards; i++) {
-            zeroVotes.add(0);
-        }
+    /**
+     * The LobbyBroadcastService instance coalescing lobby list broadcasts
+     */
+    private final LobbyBroadcastService lobbyBroadcastService;
 
-        gameSession.getGameState().getCardsVotes().clear();
-        gameSession.getGameState().setCardsVotes(zeroVotes);
+    /**
+     * The GameViewService instance rendering the role specific views of game sessions
+     */
+    private final GameViewService gameViewService;
 
-        gameSessionRepository.save(gameSession);
-    }
+    /**
+     * The GameViewAccessService instance deciding which view the authenticated user may receive
+     */
+    private final GameViewAccessService gameViewAccessService;
+
+    /**
+     * The GameCommandService instance executing the commands of each game one at a time
+     */
+    private final GameCommandService gameCommandService;
+
+    /**
+     * The CardVoteAggregator instance collecting the card votes until they are written
+     */
+    private final CardVoteAggregator cardVoteAggregator;
+
+    /**
+     * The GameEventService instance keeping the event log of each game session
+     */
+    private final GameEventService gameEventService;
+
+    /**
+     * The GameArchiveService instance archiving finished games and evicting them from the cluster
+     */
+    private final GameArchiveService gameArchiveService;
+
+    /**
+     * The GameTimerService instance scheduling the deadlines of game sessions
+     */
+    private final GameTimerService gameTimerService;
 
     /**
      * Create a new game session
@@ -95,30 +148,68 @@ public class DefaultGameSessionWebSocketController implements GameSessionWebSock
         response.put("gameId", gameId);
 
         // Send the game session to all clients
-        socketService.sendGameSessionsList(GameSessionMapper.toJoinGameDTOList(gameSessionService.getAllGameSessions()));
+        lobbyBroadcastService.markDirty(UUID.fromString(gameId));
 
         return ResponseEntity.ok(response);
     }
 
     /**
-     * Get game session by id
+     * Get the view of a game session for the role of the authenticated user
      *
-     * @param gameId The id of the game session to retrieve
-     * @return The game session with the specified id
+     * @param gameId        The id of the game session to retrieve
+     * @param authorization The token of the requesting user, operatives view if not given
+     * @return The spymaster view for team leaders, the operative view otherwise
      */
     @GetMapping("/{gameId}/full")
-    public ResponseEntity<GameSession> getGameSessionFull(@PathVariable String gameId) throws JsonProcessingException {
+    public ResponseEntity<byte[]> getGameSessionFull(@PathVariable String gameId, @RequestHeader(value = "Authorization", required = false) String authorization) throws JsonProcessingException {
         GameSession gameSession = gameSessionService.getGameSessionById(UUID.fromString(gameId));
 
         if (gameSession != null) {
             socketService.sendGameSessionUpdate(UUID.fromString(gameId), gameSession);
+            GameView view = gameViewService.getView(gameSession, gameViewAccessService.getViewRole(gameSession, authorization));
 
-            return ResponseEntity.ok(gameSession);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(view.getJsonBytes());
         } else {
             return ResponseEntity.notFound().build();
         }
     }
 
+    /**
+     * Get the events of a game session after the last one the client has applied,
+     * preceded by the view of a snapshot if some of them are no longer logged
+     *
+     * @param gameId        the game session id
+     * @param since         the sequence of the last event the client has applied, -1 for none
+     * @param authorization the token of the requesting user, deciding which view of a snapshot is sent
+     * @return the response entity containing the page of events, or 404 if the game session does not exist
+     */
+    @GetMapping("/{gameId}/events")
+    public ResponseEntity<GameEventPageDTO> getGameEvents(@PathVariable UUID gameId, @RequestParam(defaultValue = "-1") long since, @RequestHeader(value = "Authorization", required = false) String authorization) {
+        try {
+            return ResponseEntity.ok(gameEventService.getEvents(gameId, since, gameViewAccessService.getAuthenticatedUserId(authorization)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Get the view role of the authenticated user, used by the socket relay before it lets a client join the spymaster room
+     *
+     * @param gameId        the game session id
+     * @param authorization the token of the requesting user
+     * @return the response entity containing the role, or 404 if the game session does not exist
+     */
+    @GetMapping("/{gameId}/view-role")
+    public ResponseEntity<String> getViewRole(@PathVariable UUID gameId, @RequestHeader(value = "Authorization", required = false) String authorization) {
+        try {
+            return ResponseEntity.ok(gameViewAccessService.getViewRole(gameId, authorization).name().toLowerCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Connect a player to a game session
      *
@@ -144,7 +235,7 @@ public class DefaultGameSessionWebSocketController implements GameSessionWebSock
             if (added) {
                 // Send the game session to all clients
                 socketService.sendGameSessionUpdate(gameId, toRoomLobbyDTO(gameSessionRepository.findBySessionId(gameId)));
-                socketService.sendGameSessionsList(toJoinGameDTOList(gameSessionService.getAllGameSessions()));
+                lobbyBroadcastService.markDirty(gameId);
 
                 return ResponseEntity.ok().build();
             } else {
@@ -171,7 +262,7 @@ public class DefaultGameSessionWebSocketController implements GameSessionWebSock
             if (removed) {
                 // Send the game session to all clients
                 socketService.sendGameSessionUpdate(gameId, toRoomLobbyDTO(gameSessionRepository.findBySessionId(gameId)));
-                socketService.sendGameSessionsList(toJoinGameDTOList(gameSessionService.getAllGameSessions()));
+                lobbyBroadcastService.markDirty(gameId);
 
                 return ResponseEntity.ok().build();
             } else {
@@ -191,21 +282,27 @@ public class DefaultGameSessionWebSocketController implements GameSessionWebSock
     @Override
     @PostMapping("/{gameId}/start")
     public ResponseEntity<Void> startGame(@PathVariable UUID gameId) throws JsonProcessingException {
-        // Set the game session status to leader selection
-        GameSession gameSession = gameSessionRepository.findBySessionId(gameId)
+        GameSession gameSession = unitOfWork.findMetadataBySessionId(gameId)
                 .orElseThrow(() -> new RuntimeException("Game with an ID of " + gameId + " does not exist."));
 
-        gameSession.setStatus(GameSession.sessionStatus.LEADER_SELECTION);
-        gameSession.setVotingStartTime(System.currentTimeMillis());
-
         String channelId = discordGuildService.createVoiceChannel(gameSession.getGameName(), gameSession.getMaxPlayers());
-        gameSession.setDiscordChannelId(channelId);
+        long votingStartTime = System.currentTimeMillis();
 
-        gameSessionRepository.save(gameSession);
+        // Set the game session status to leader selection
+        unitOfWork.updateSession(gameId, session -> {
+            session.setStatus(GameSession.sessionStatus.LEADER_SELECTION);
+            session.setVotingStartTime(votingStartTime);
+            session.setDiscordChannelId(channelId);
+            return null;
+        });
+        unitOfWork.commit();
+
+        // The leaders are assigned by the deadline of the vote unless the players end it earlier
+        gameTimerService.schedule(gameId, GameTimer.timerType.LEADER_VOTE);
 
         // Send the game session to all clients
-        socketService.sendGameSessionUpdate(gameId, toRoomLobbyDTO(gameSessionRepository.findBySessionId(gameId)));
-        socketService.sendGameSessionsList(toJoinGameDTOList(gameSessionService.getAllGameSessions()));
+        socketService.sendGameSessionUpdate(gameId, toRoomLobbyDTO(unitOfWork.findBySessionId(gameId)));
+        lobbyBroadcastService.markDirty(gameId);
 
 
         return ResponseEntity.ok().build();
@@ -221,18 +318,26 @@ public class DefaultGameSessionWebSocketController implements GameSessionWebSock
      */
     @PostMapping("/{gameId}/finish")
     public ResponseEntity<Void> finishGame(@PathVariable UUID gameId) throws JsonProcessingException {
-        GameSession gameSession = gameSessionRepository.findBySessionId(gameId)
+        GameSession gameSession = unitOfWork.findMetadataBySessionId(gameId)
                 .orElseThrow(() -> new RuntimeException("Game with an ID of " + gameId + " does not exist."));
 
-        // Set the game session status to finished
-        gameSession.setStatus(GameSession.sessionStatus.FINISHED);
-
         discordGuildService.deleteChannel(gameSession.getDiscordChannelId());
-        gameSession.setDiscordChannelId("");
 
-        gameSessionRepository.save(gameSession);
+        // Set the game session status to finished
+        unitOfWork.updateSession(gameId, session -> {
+            session.setStatus(GameSession.sessionStatus.FINISHED);
+            session.setDiscordChannelId("");
+            return null;
+        });
+        unitOfWork.commit();
+        socketService.forgetGameSession(gameId);
+        cardVoteAggregator.forget(gameId);
+        gameTimerService.cancelAll(gameId);
 
-        socketService.sendGameSessionUpdate(gameId, toRoomLobbyDTO(gameSessionRepository.findBySessionId(gameId)));
+        socketService.sendGameSessionUpdate(gameId, toRoomLobbyDTO(unitOfWork.findBySessionId(gameId)));
+
+        // The final state and the events are archived in the background, then the game is evicted
+        gameArchiveService.archive(gameId);
 
         return ResponseEntity.ok().build();
     }
@@ -240,18 +345,70 @@ public class DefaultGameSessionWebSocketController implements GameSessionWebSock
     /**
      * Get game sessions
      *
-     * @return the response entity containing the list of game sessions
+     * @param ifNoneMatch the entity tag of the lobby version cached by the client
+     * @return the response entity containing the list of game sessions, or 304 if the client's version is current
      */
     @GetMapping("/all")
-    public ResponseEntity<?> getGameSessions() {
-        // Get all game sessions
-        List<GameSession> gameSessions = gameSessionService.getAllGameSessions();
+    public ResponseEntity<?> getGameSessions(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        LobbySnapshot lobby = lobbyViewService.getSnapshot();
 
-        if (gameSessions.isEmpty()) {
+        if (lobby.getSize() == 0) {
             return ResponseEntity.noContent().build();
         }
 
-        return ResponseEntity.ok(toJoinGameDTOList(gameSessions));
+        // The client already has this version of the lobby
+        if (lobby.getETag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(lobby.getETag()).build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(lobby.getETag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(lobby.getJsonBytes());
+    }
+
+    /**
+     * Get one page of game sessions matching the lobby filters
+     *
+     * @param status       only sessions with this status, all if not given
+     * @param hasPassword  only private or public sessions, both if not given
+     * @param minFreeSlots only sessions with at least this many free slots, all if not given
+     * @param cursor       the cursor returned with the previous page, the first page if not given
+     * @param limit        the maximum number of sessions in the page
+     * @return the response entity containing the page and the cursor of the next page
+     */
+    @Override
+    @GetMapping("/lobby")
+    public ResponseEntity<GameSessionLobbyPageDTO> getLobbyPage(@RequestParam(required = false) GameSession.sessionStatus status,
+                                                                @RequestParam(required = false) Boolean hasPassword,
+                                                                @RequestParam(required = false) Integer minFreeSlots,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_LOBBY_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        LobbyQuery query = LobbyQuery.builder()
+                .status(status)
+                .hasPassword(hasPassword)
+                .minFreeSlots(minFreeSlots)
+                .cursor(cursor)
+                .limit(limit)
+                .build();
+
+        return ResponseEntity.ok(gameSessionService.getLobbyPage(query));
+    }
+
+    /**
+     * Get all game sessions together with the lobby sequence number.
+     * Clients listening to lobby deltas reload it when they detect a gap in the sequence.
+     *
+     * @return the response entity containing the lobby rows and the sequence number of the last emitted delta
+     */
+    @Override
+    @GetMapping("/lobby/snapshot")
+    public ResponseEntity<GameSessionLobbySnapshotDTO> getLobbySnapshot() {
+        return ResponseEntity.ok(lobbyViewService.getSequencedSnapshot());
     }
 
     /**
@@ -265,22 +422,19 @@ public class DefaultGameSessionWebSocketController implements GameSessionWebSock
      */
     @PostMapping("/{gameId}/send-hint")
     public ResponseEntity<Void> sendHint(@PathVariable UUID gameId, @RequestBody HintRequest hintRequest) throws JsonProcessingException {
-        GameSession gameSession = gameSessionRepository.findBySessionId(gameId).orElseThrow(() ->
-                new IllegalArgumentException("Game with an ID of " + gameId + " does not exist."));
-        GameState gameState = gameSession.getGameState();
-
-        // Set the hint for the game session
-        gameState.setHint(hintRequest.getHint());
-        gameState.setHintNumber(hintRequest.getHintNumber());
-        gameState.setInitialHintNumber(hintRequest.getInitialHintNumber());
-
-        gameSessionRepository.save(gameSession);
+        String hint = hintRequest.getHint();
+        int hintNumber = hintRequest.getHintNumber();
+        String initialHintNumber = hintRequest.getInitialHintNumber();
 
-        Optional<GameSession> optionalSession = gameSessionRepository.findBySessionId(gameId);
+        // Set the hint for the game session, the command engine sends the changed fields to all clients
+        GameEvent event = GameEvent.of(GameEvent.eventType.HINT).hint(hint).hintNumber(hintNumber).build();
 
-        if (optionalSession.isPresent()) {
-            socketService.sendGameSessionUpdate(gameId, optionalSession.get());
-        }
+        gameCommandService.updateState(gameId, event, gameState -> {
+            gameState.setHint(hint);
+            gameState.setHintNumber(hintNumber);
+            gameState.setInitialHintNumber(initialHintNumber);
+            return null;
+        });
 
         return ResponseEntity.ok().build();
     }
@@ -298,14 +452,6 @@ public class DefaultGameSessionWebSocketController implements GameSessionWebSock
         // Change the turn
         gameStateService.changeTurn(id);
 
-        GameSession gameSession = gameSessionRepository.findBySessionId(id).orElseThrow(() ->
-                new IllegalArgumentException("Game with an ID of " + id + " does not exist."));
-
-
-        clearVotes(gameSession, gameSessionRepository);
-
-        socketService.sendGameSessionUpdate(id, gameSession);
-
         return ResponseEntity.ok("Turn changed");
     }
 
@@ -323,12 +469,6 @@ public class DefaultGameSessionWebSocketController implements GameSessionWebSock
     public ResponseEntity<?> revealCard(@PathVariable UUID gameId, @RequestBody String cardIndex) throws JsonProcessingException {
         gameSessionService.revealCard(gameId, cardIndex);
 
-        GameSession gameSession = gameSessionRepository.findBySessionId(gameId).orElseThrow(() ->
-                new IllegalArgumentException("Game with an ID of " + gameId + " does not exist."));
-
-
-        socketService.sendGameSessionUpdate(gameId, gameSession);
-
         return ResponseEntity.ok("Card revealed.");
     }
 
@@ -347,11 +487,6 @@ public class DefaultGameSessionWebSocketController implements GameSessionWebSock
         // Submit vote
         gameSessionService.submitVote(gameId, voteRequest.getUserId(), voteRequest.getVotedUserId());
 
-        GameSession gameSession = gameSessionRepository.findBySessionId(gameId).orElseThrow(() ->
-                new IllegalArgumentException("Game with an ID of " + gameId + " does not exist."));
-
-        socketService.sendGameSessionUpdate(gameId, gameSession);
-
         return ResponseEntity.ok(voteRequest.getVotedUserId());
     }
 
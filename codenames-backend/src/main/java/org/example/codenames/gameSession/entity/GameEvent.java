@@ -0,0 +1,90 @@
+package org.example.codenames.gameSession.entity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.Serializable;
+
+/**
+ * GameEvent is one command applied to a game session, appended to the event log of the session.
+ * Only the fields of its kind are set.
+ */
+@Getter
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameEvent implements Serializable {
+    /**
+     * Kind of the game event.
+     */
+    public enum eventType {
+        JOIN,
+        LEAVE,
+        LEADER_VOTE,
+        START,
+        HINT,
+        CARD_VOTES,
+        REVEAL,
+        TURN_CHANGE
+    }
+
+    /**
+     * Kind of the event.
+     */
+    private final eventType type;
+
+    /**
+     * Sequence number of the event in the log of its session, set when the event is read.
+     */
+    private final Long sequence;
+
+    /**
+     * Time the event was applied, in milliseconds since the epoch.
+     */
+    private final long timestamp;
+
+    /**
+     * Id of the user causing the event, for join, leave and leader vote events.
+     */
+    private final String userId;
+
+    /**
+     * Id of the user voted for, for leader vote events.
+     */
+    private final String votedUserId;
+
+    /**
+     * Index of the team joined, for join events.
+     */
+    private final Integer teamIndex;
+
+    /**
+     * Index of the revealed card, for reveal events.
+     */
+    private final Integer cardIndex;
+
+    /**
+     * Change of the votes of every card, for card votes events.
+     */
+    private final int[] cardVotes;
+
+    /**
+     * The hint, for hint events.
+     */
+    private final String hint;
+
+    /**
+     * The number of cards of the hint, for hint events.
+     */
+    private final Integer hintNumber;
+
+    /**
+     * Creates an event of the given kind happening now.
+     *
+     * @param type the kind of the event
+     * @return the builder of the event
+     */
+    public static GameEventBuilder of(eventType type) {
+        return builder().type(type).timestamp(System.currentTimeMillis());
+    }
+}
@@ -3,7 +3,7 @@ package org.example.codenames.gameSession.entity;
 import jakarta.persistence.GeneratedValue;
 import lombok.*;
 import org.example.codenames.gameState.entity.GameState;
-import org.example.codenames.user.entity.User;
+import org.example.codenames.user.entity.PlayerRef;
 import org.springframework.data.annotation.Id;
 
 import java.util.List;
@@ -49,7 +49,7 @@ public class GameSession {
     /**
      * List of connected users
      */
-    private List<List<User>> connectedUsers;
+    private List<List<PlayerRef>> connectedUsers;
 
     /**
      * List of votes
@@ -57,7 +57,7 @@ public class GameSession {
     private List<List<Integer>> votes;
 
     /**
-     * Game state
+     * Game state, stored separately in the game state map and attached when the session is read
      */
     private GameState gameState;
 
@@ -71,6 +71,11 @@ public class GameSession {
      */
     private String discordChannelId;
 
+    /**
+     * Version of the session, incremented with every update
+     */
+    private long version;
+
     /**
      * Enum for session status
      */
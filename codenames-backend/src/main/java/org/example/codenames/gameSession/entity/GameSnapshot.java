@@ -0,0 +1,28 @@
+package org.example.codenames.gameSession.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.Serializable;
+
+/**
+ * GameSnapshot is the serialized state of a game session right after one event of its log.
+ */
+@Getter
+@AllArgsConstructor
+public class GameSnapshot implements Serializable {
+    /**
+     * Sequence number of the last event included in the snapshot.
+     */
+    private final long sequence;
+
+    /**
+     * Combined version of the game session.
+     */
+    private final long version;
+
+    /**
+     * The game session tree serialized to JSON, with all fields, the views of the roles are rendered from it.
+     */
+    private final String session;
+}
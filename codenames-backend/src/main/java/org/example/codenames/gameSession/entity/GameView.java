@@ -0,0 +1,37 @@
+package org.example.codenames.gameSession.entity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * GameView is an immutable, already serialized view of one version of a game session for one role.
+ */
+@Getter
+@AllArgsConstructor
+public class GameView {
+    /**
+     * Role the view is rendered for.
+     */
+    private final GameViewRole role;
+
+    /**
+     * Combined version of the game session the view is rendered from.
+     */
+    private final long version;
+
+    /**
+     * The view as a tree, the base of the deltas to the next version. Must not be modified.
+     */
+    private final JsonNode tree;
+
+    /**
+     * The view serialized to JSON.
+     */
+    private final String json;
+
+    /**
+     * The view serialized to UTF-8 encoded JSON.
+     */
+    private final byte[] jsonBytes;
+}
@@ -0,0 +1,44 @@
+package org.example.codenames.gameSession.entity;
+
+import org.example.codenames.gameState.entity.GameState;
+
+import java.util.UUID;
+
+/**
+ * Role a game session view is rendered for.
+ * Spymasters see the colors of all cards, operatives only the colors of the revealed ones.
+ */
+public enum GameViewRole {
+    SPYMASTER,
+    OPERATIVE;
+
+    /**
+     * Returns the socket room receiving the views of this role of a game.
+     *
+     * @param gameId the id of the game session
+     * @return the name of the room
+     */
+    public String roomOf(UUID gameId) {
+        return gameId + ":" + name().toLowerCase();
+    }
+
+    /**
+     * Returns the role of a user in a game session, spymaster for both team leaders.
+     *
+     * @param gameSession the game session with its game state attached
+     * @param userId      the id of the user, or null if unknown
+     * @return the role of the user
+     */
+    public static GameViewRole of(GameSession gameSession, String userId) {
+        GameState gameState = gameSession.getGameState();
+
+        if (userId == null || gameState == null) {
+            return OPERATIVE;
+        }
+
+        boolean leader = (gameState.getRedTeamLeader() != null && userId.equals(gameState.getRedTeamLeader().getId()))
+                || (gameState.getBlueTeamLeader() != null && userId.equals(gameState.getBlueTeamLeader().getId()));
+
+        return leader ? SPYMASTER : OPERATIVE;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.codenames.gameSession.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.codenames.gameSession.entity.dto.GameSessionJoinGameDTO;
+
+import java.util.UUID;
+
+/**
+ * LobbyDelta is a single change of the lobby list, sent to clients instead of the whole list.
+ */
+@Getter
+@AllArgsConstructor
+public class LobbyDelta {
+    /**
+     * Kind of the lobby change.
+     */
+    public enum deltaType {
+        ADDED("lobbySessionAdded"),
+        UPDATED("lobbySessionUpdated"),
+        REMOVED("lobbySessionRemoved");
+
+        /**
+         * Name of the socket event carrying this kind of change.
+         */
+        private final String eventName;
+
+        deltaType(String eventName) {
+            this.eventName = eventName;
+        }
+
+        public String getEventName() {
+            return eventName;
+        }
+    }
+
+    /**
+     * Kind of the change.
+     */
+    private final deltaType type;
+
+    /**
+     * Lobby sequence number, incremented by one with every emitted change.
+     */
+    private final long sequence;
+
+    /**
+     * Id of the changed game session.
+     */
+    private final UUID sessionId;
+
+    /**
+     * New lobby row of the game session, null if it was removed.
+     */
+    private final GameSessionJoinGameDTO session;
+}
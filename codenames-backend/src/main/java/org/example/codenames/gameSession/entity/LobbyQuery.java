@@ -0,0 +1,36 @@
+package org.example.codenames.gameSession.entity;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * LobbyQuery is a class that represents the filters and the page of a lobby listing.
+ */
+@Data
+@Builder
+public class LobbyQuery {
+    /**
+     * Only sessions with this status are listed, all statuses if null.
+     */
+    private GameSession.sessionStatus status;
+
+    /**
+     * Only private (true) or public (false) sessions are listed, both if null.
+     */
+    private Boolean hasPassword;
+
+    /**
+     * Only sessions with at least this many free slots are listed, all sessions if null.
+     */
+    private Integer minFreeSlots;
+
+    /**
+     * Id of the last session of the previous page, the first page if null.
+     */
+    private String cursor;
+
+    /**
+     * Maximum number of sessions in the page.
+     */
+    private int limit;
+}
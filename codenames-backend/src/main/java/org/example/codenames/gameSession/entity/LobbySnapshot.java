@@ -0,0 +1,36 @@
+package org.example.codenames.gameSession.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * LobbySnapshot is an immutable, already serialized version of the lobby list.
+ */
+@Getter
+@AllArgsConstructor
+public class LobbySnapshot {
+    /**
+     * Version of the lobby, incremented on every change of a lobby row.
+     */
+    private final long version;
+
+    /**
+     * Entity tag identifying this version in HTTP caches.
+     */
+    private final String eTag;
+
+    /**
+     * Number of game sessions in the lobby.
+     */
+    private final int size;
+
+    /**
+     * The lobby list serialized to JSON.
+     */
+    private final String json;
+
+    /**
+     * The lobby list serialized to UTF-8 encoded JSON.
+     */
+    private final byte[] jsonBytes;
+}
@@ -0,0 +1,34 @@
+package org.example.codenames.gameSession.entity.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.Builder;
+import lombok.Data;
+import org.example.codenames.gameSession.entity.GameEvent;
+
+import java.util.List;
+
+@Data
+@Builder
+public class GameEventPageDTO {
+    /**
+     * Sequence number of the last event of the session, -1 if none was logged.
+     */
+    private long lastSequence;
+
+    /**
+     * View of the game session after the event with the snapshot sequence,
+     * only set if events after the requested sequence are no longer logged.
+     */
+    @JsonRawValue
+    private String snapshot;
+
+    /**
+     * Sequence number of the last event included in the snapshot.
+     */
+    private Long snapshotSequence;
+
+    /**
+     * Events after the requested sequence, or after the snapshot, in order.
+     */
+    private List<GameEvent> events;
+}
@@ -0,0 +1,20 @@
+package org.example.codenames.gameSession.entity.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class GameSessionLobbyPageDTO {
+    /**
+     * Sessions in the page, ordered by session id.
+     */
+    private List<GameSessionJoinGameDTO> sessions;
+
+    /**
+     * Cursor of the next page, null if this is the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,20 @@
+package org.example.codenames.gameSession.entity.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class GameSessionLobbySnapshotDTO {
+    /**
+     * Sequence number of the last lobby change emitted before this snapshot.
+     */
+    private long sequence;
+
+    /**
+     * All sessions in the lobby, ordered by session id.
+     */
+    private List<GameSessionJoinGameDTO> sessions;
+}
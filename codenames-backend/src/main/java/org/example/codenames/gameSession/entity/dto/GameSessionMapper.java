@@ -1,9 +1,11 @@
 package org.example.codenames.gameSession.entity.dto;
 
+import com.hazelcast.nearcache.NearCacheStats;
 import org.example.codenames.gameSession.entity.GameSession;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.example.codenames.user.entity.mapper.UserMapper.toRoomLobbyDTOList;
 
@@ -11,6 +13,13 @@ import static org.example.codenames.user.entity.mapper.UserMapper.toRoomLobbyDTO
  * Mapper class for converting GameSession entities to various DTOs.
  */
 public class GameSessionMapper {
+    /**
+     * Stored GameSession attributes needed to build a GameSessionJoinGameDTO,
+     * projected on the cluster members instead of deserializing whole sessions.
+     */
+    public static final String[] JOIN_GAME_ATTRIBUTES = {
+            "sessionId", "status", "gameName", "maxPlayers", "password", "redTeamPlayers", "blueTeamPlayers"
+    };
 
     /**
      * Converts a GameSession entity to a GameSessionJoinGameDTO.
@@ -30,6 +39,24 @@ public class GameSessionMapper {
                 .build();
     }
 
+    /**
+     * Converts the attributes projected by {@link #JOIN_GAME_ATTRIBUTES} to a GameSessionJoinGameDTO.
+     *
+     * @param attributes the projected attribute values, in the order of {@link #JOIN_GAME_ATTRIBUTES}
+     * @return a GameSessionJoinGameDTO containing the session's details
+     */
+    public static GameSessionJoinGameDTO toJoinGameDTO(Object[] attributes) {
+        return GameSessionJoinGameDTO.builder()
+                .sessionId(attributes[0] != null ? UUID.fromString((String) attributes[0]) : null)
+                .status(attributes[1] != null ? GameSession.sessionStatus.valueOf((String) attributes[1]) : null)
+                .gameName((String) attributes[2])
+                .maxPlayers((Integer) attributes[3])
+                .password((String) attributes[4])
+                .currentRedTeamPlayers(attributes[5] != null ? (Integer) attributes[5] : 0)
+                .currentBlueTeamPlayers(attributes[6] != null ? (Integer) attributes[6] : 0)
+                .build();
+    }
+
     /**
      * Converts an Optional GameSession entity to a GameSessionRoomLobbyDTO.
      *
@@ -63,4 +90,21 @@ public class GameSessionMapper {
                 .map(GameSessionMapper::toJoinGameDTO)
                 .toList();
     }
+
+    /**
+     * Converts Hazelcast near cache statistics to a NearCacheStatsDTO.
+     *
+     * @param stats the near cache statistics to convert
+     * @return a NearCacheStatsDTO containing the statistics
+     */
+    public static NearCacheStatsDTO toNearCacheStatsDTO(NearCacheStats stats) {
+        return NearCacheStatsDTO.builder()
+                .ownedEntryCount(stats.getOwnedEntryCount())
+                .hits(stats.getHits())
+                .misses(stats.getMisses())
+                .ratio(stats.getRatio())
+                .invalidations(stats.getInvalidations())
+                .evictions(stats.getEvictions())
+                .build();
+    }
 }
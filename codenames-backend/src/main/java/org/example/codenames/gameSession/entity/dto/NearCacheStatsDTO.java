@@ -0,0 +1,38 @@
+package org.example.codenames.gameSession.entity.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class NearCacheStatsDTO {
+    /**
+     * Number of game sessions held in the local near cache.
+     */
+    private long ownedEntryCount;
+
+    /**
+     * Number of reads served from the near cache.
+     */
+    private long hits;
+
+    /**
+     * Number of reads that had to go to the partition owner.
+     */
+    private long misses;
+
+    /**
+     * Ratio of hits to misses.
+     */
+    private double ratio;
+
+    /**
+     * Number of entries invalidated after a change in the cluster.
+     */
+    private long invalidations;
+
+    /**
+     * Number of entries evicted by the eviction policy.
+     */
+    private long evictions;
+}
@@ -0,0 +1,128 @@
+package org.example.codenames.gameSession.repository.api;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+import org.example.codenames.gameSession.entity.GameEvent;
+import org.example.codenames.gameSession.entity.GameSnapshot;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Repository for the event logs and snapshots of game sessions.
+ * The log of each session is a ringbuffer named after the session and placed in the partition of the session,
+ * so its oldest events are overwritten once the log is full.
+ */
+@Repository
+public class GameEventRepository {
+    /**
+     * Prefix of the names of the event log ringbuffers.
+     */
+    public static final String LOG_PREFIX = "gameEvents.";
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final IMap<String, GameSnapshot> snapshotMap;
+
+    public GameEventRepository(HazelcastInstance hazelcastInstance) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.snapshotMap = hazelcastInstance.getMap("gameSnapshots");
+    }
+
+    /**
+     * Appends an event to the log of a session.
+     *
+     * @param sessionId the id of the game session
+     * @param event     the event to append
+     * @return the sequence number of the event
+     */
+    public long append(UUID sessionId, GameEvent event) {
+        return logOf(sessionId).add(event);
+    }
+
+    /**
+     * Reads events of a session in order, each with its sequence number set.
+     *
+     * @param sessionId the id of the game session
+     * @param from      the sequence number of the first event to read, at least the head sequence
+     * @param max       the maximum number of events to read
+     * @return the events, empty if there are none from the given sequence
+     */
+    public List<GameEvent> read(UUID sessionId, long from, int max) {
+        Ringbuffer<GameEvent> log = logOf(sessionId);
+
+        if (from > log.tailSequence()) {
+            return List.of();
+        }
+
+        try {
+            ReadResultSet<GameEvent> result = log.readManyAsync(from, 0, max, null).toCompletableFuture().get();
+            List<GameEvent> events = new ArrayList<>(result.size());
+
+            for (int i = 0; i < result.size(); i++) {
+                events.add(result.get(i).toBuilder().sequence(result.getSequence(i)).build());
+            }
+
+            return events;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading the events of session " + sessionId, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not read the events of session " + sessionId, e.getCause());
+        }
+    }
+
+    /**
+     * Returns the sequence number of the oldest logged event of a session.
+     *
+     * @param sessionId the id of the game session
+     * @return the head sequence, greater than the tail sequence if no event is logged
+     */
+    public long headSequence(UUID sessionId) {
+        return logOf(sessionId).headSequence();
+    }
+
+    /**
+     * Returns the sequence number of the newest logged event of a session.
+     *
+     * @param sessionId the id of the game session
+     * @return the tail sequence, -1 if no event was ever logged
+     */
+    public long tailSequence(UUID sessionId) {
+        return logOf(sessionId).tailSequence();
+    }
+
+    public void saveSnapshot(UUID sessionId, GameSnapshot snapshot) {
+        snapshotMap.set(sessionId.toString(), snapshot);
+    }
+
+    public Optional<GameSnapshot> findSnapshot(UUID sessionId) {
+        return Optional.ofNullable(snapshotMap.get(sessionId.toString()));
+    }
+
+    /**
+     * Removes the log and the snapshot of a session.
+     *
+     * @param sessionId the id of the game session
+     */
+    public void deleteById(UUID sessionId) {
+        logOf(sessionId).destroy();
+        snapshotMap.remove(sessionId.toString());
+    }
+
+    /**
+     * Returns the log of a session, placed in the partition of the session by the partition key after the '@'.
+     *
+     * @param sessionId the id of the game session
+     * @return the ringbuffer of the session
+     */
+    private Ringbuffer<GameEvent> logOf(UUID sessionId) {
+        return hazelcastInstance.getRingbuffer(LOG_PREFIX + sessionId + "@" + sessionId);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.codenames.gameSession.repository.api;
+
+import org.example.codenames.gameSession.entity.GameSession;
+
+import java.io.Serializable;
+
+/**
+ * In-place mutation of a game session, executed on the cluster member that owns the session entry.
+ * Mutations are shipped to that member, so they may only capture serializable values.
+ *
+ * @param <R> type of the result returned to the caller
+ */
+@FunctionalInterface
+public interface GameSessionMutation<R> extends Serializable {
+    /**
+     * Applies the mutation to the stored game session.
+     *
+     * @param session the current game session, modified in place
+     * @return the result returned to the caller
+     */
+    R apply(GameSession session);
+}
@@ -1,8 +1,26 @@
 package org.example.codenames.gameSession.repository.api;
 
+import com.hazelcast.cluster.Member;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.cp.IAtomicLong;
 import com.hazelcast.map.IMap;
+import com.hazelcast.map.listener.MapListener;
+import com.hazelcast.nearcache.NearCacheStats;
+import com.hazelcast.partition.PartitionService;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.PagingPredicate;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.QueryConstants;
 import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.LobbyQuery;
+import org.example.codenames.gameSession.entity.dto.GameSessionJoinGameDTO;
+import org.example.codenames.gameSession.entity.dto.GameSessionMapper;
+import org.example.codenames.gameState.entity.GameState;
+import org.example.codenames.gameState.repository.api.GameStateRepository;
+import org.example.codenames.hazelcast.entryProcessors.GameSessionReplaceIfVersionEntryProcessor;
+import org.example.codenames.hazelcast.entryProcessors.GameSessionUpdateEntryProcessor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
@@ -10,30 +28,211 @@ import java.util.stream.Collectors;
 
 /**
  * Repository for GameSession entity.
+ * The session metadata and its game state are stored in separate maps under the same key,
+ * sessions read through this repository carry their game state.
  */
 @Repository
 public class GameSessionRepository {
 
+    /**
+     * Key whose partition owner emits the lobby deltas, the owner key of the lobby socket events.
+     */
+    public static final String LOBBY_KEY = "lobby";
+
     private final IMap<String, GameSession> gameSessionMap;
 
-    public GameSessionRepository(HazelcastInstance hazelcastInstance) {
+    private final GameStateRepository gameStateRepository;
+
+    private final PartitionService partitionService;
+
+    /**
+     * Sequence number of the last lobby delta, shared by the whole cluster.
+     */
+    private final IAtomicLong lobbySequence;
+
+    public GameSessionRepository(HazelcastInstance hazelcastInstance, GameStateRepository gameStateRepository) {
         this.gameSessionMap = hazelcastInstance.getMap("gameSessions");
+        this.gameStateRepository = gameStateRepository;
+        this.partitionService = hazelcastInstance.getPartitionService();
+        this.lobbySequence = hazelcastInstance.getCPSubsystem().getAtomicLong("lobbySequence");
     }
 
+    /**
+     * Stores the session metadata and, if present, its game state.
+     *
+     * @param session the game session to store
+     */
     public void save(GameSession session) {
+        if (session.getGameState() != null) {
+            gameStateRepository.save(session.getSessionId(), session.getGameState());
+        }
+
         gameSessionMap.put(session.getSessionId().toString(), session);
     }
 
+    /**
+     * Atomically applies a mutation to the stored session on the member owning its partition.
+     * The session is read, mutated and written back in a single round-trip, without lost updates.
+     * The mutated session carries no game state, game state changes go through {@link GameStateRepository#update}.
+     *
+     * @param sessionId the id of the game session
+     * @param mutation  the mutation to apply
+     * @param <R>       type of the mutation result
+     * @return the mutation result
+     * @throws IllegalArgumentException if the session does not exist
+     */
+    public <R> R update(UUID sessionId, GameSessionMutation<R> mutation) {
+        return gameSessionMap.executeOnKey(sessionId.toString(), new GameSessionUpdateEntryProcessor<>(mutation));
+    }
+
+    /**
+     * Writes the session only if the stored session still has the same version, i.e. nobody changed it since it was read.
+     * On success the version of the given session is incremented to match the stored one.
+     * Only the session metadata is written, an attached game state is ignored.
+     *
+     * @param session the changed session, carrying the version it was read with
+     * @return true if the session was written, false if it was changed or removed in the meantime
+     */
+    public boolean replaceIfVersion(GameSession session) {
+        long expectedVersion = session.getVersion();
+        session.setVersion(expectedVersion + 1);
+
+        boolean replaced = gameSessionMap.executeOnKey(session.getSessionId().toString(),
+                new GameSessionReplaceIfVersionEntryProcessor(session, expectedVersion));
+
+        if (!replaced) {
+            session.setVersion(expectedVersion);
+        }
+
+        return replaced;
+    }
+
+    /**
+     * Applies a mutation to a locally read copy of the session and writes it back with a version check,
+     * retrying on a fresh copy when the session was changed concurrently.
+     * Unlike {@link #update}, the mutation runs on the calling thread and may decide not to write at all.
+     *
+     * @param sessionId   the id of the game session
+     * @param mutation    the mutation to apply, returning false if the session should be left as is
+     * @param maxAttempts the maximum number of attempts
+     * @return true if the session was written, false if the mutation left it as is
+     * @throws IllegalArgumentException           if the session does not exist
+     * @throws OptimisticLockingFailureException if the session was changed concurrently in every attempt
+     */
+    public boolean updateOptimistically(UUID sessionId, java.util.function.Predicate<GameSession> mutation, int maxAttempts) {
+        for (int attempt = 1; attempt <= Math.max(1, maxAttempts); attempt++) {
+            GameSession session = findBySessionId(sessionId).orElseThrow(() ->
+                    new IllegalArgumentException("Game session not found for ID: " + sessionId));
+
+            if (!mutation.test(session)) {
+                return false;
+            }
+
+            if (replaceIfVersion(session)) {
+                return true;
+            }
+        }
+
+        throw new OptimisticLockingFailureException("Game session " + sessionId + " was changed concurrently in " + maxAttempts + " attempts");
+    }
+
+    /**
+     * Finds a game session together with its game state.
+     *
+     * @param sessionId the id of the game session
+     * @return the game session, or empty if it does not exist
+     */
     public Optional<GameSession> findBySessionId(UUID sessionId) {
+        Optional<GameSession> session = Optional.ofNullable(gameSessionMap.get(sessionId.toString()));
+
+        session.ifPresent(found -> found.setGameState(gameStateRepository.findBySessionId(sessionId).orElse(null)));
+
+        return session;
+    }
+
+    /**
+     * Finds the metadata of a game session without reading its game state.
+     *
+     * @param sessionId the id of the game session
+     * @return the game session without its game state, or empty if it does not exist
+     */
+    public Optional<GameSession> findMetadataBySessionId(UUID sessionId) {
         return Optional.ofNullable(gameSessionMap.get(sessionId.toString()));
     }
 
     public void deleteById(UUID sessionId) {
         gameSessionMap.remove(sessionId.toString());
+        gameStateRepository.deleteById(sessionId);
     }
 
+    /**
+     * Lists all game sessions together with their game states.
+     *
+     * @return all game sessions
+     */
     public List<GameSession> findAll() {
-        return new ArrayList<>(gameSessionMap.values());
+        List<GameSession> sessions = new ArrayList<>(gameSessionMap.values());
+        Map<String, GameState> gameStates = gameStateRepository.findAllBySessionIds(sessions.stream()
+                .map(session -> session.getSessionId().toString())
+                .collect(Collectors.toSet()));
+
+        sessions.forEach(session -> session.setGameState(gameStates.get(session.getSessionId().toString())));
+
+        return sessions;
+    }
+
+    /**
+     * Lists lobby rows of all game sessions.
+     * Only the lobby attributes are projected on the members, the sessions are never transferred.
+     *
+     * @return the lobby rows of all game sessions
+     */
+    public List<GameSessionJoinGameDTO> findAllLobbySessions() {
+        return gameSessionMap.project(Projections.multiAttribute(GameSessionMapper.JOIN_GAME_ATTRIBUTES)).stream()
+                .map(GameSessionMapper::toJoinGameDTO)
+                .toList();
+    }
+
+    /**
+     * Lists one page of lobby rows matching the query, ordered by session id.
+     * The page keys are selected on the indexes first, then only those entries are projected.
+     *
+     * @param query the lobby filters and page
+     * @return the lobby rows of the page
+     */
+    public List<GameSessionJoinGameDTO> findLobbyPage(LobbyQuery query) {
+        List<Predicate<String, GameSession>> predicates = new ArrayList<>();
+
+        if (query.getStatus() != null) {
+            predicates.add(Predicates.equal("status", query.getStatus().name()));
+        }
+        if (query.getHasPassword() != null) {
+            predicates.add(Predicates.equal("hasPassword", query.getHasPassword()));
+        }
+        if (query.getMinFreeSlots() != null) {
+            predicates.add(Predicates.greaterEqual("freeSlots", query.getMinFreeSlots()));
+        }
+        if (query.getCursor() != null) {
+            predicates.add(Predicates.greaterThan(QueryConstants.KEY_ATTRIBUTE_NAME.value(), query.getCursor()));
+        }
+
+        Predicate<String, GameSession> filter = predicates.isEmpty()
+                ? Predicates.alwaysTrue()
+                : Predicates.and(predicates.toArray(new Predicate[0]));
+
+        PagingPredicate<String, GameSession> page = Predicates.pagingPredicate(filter, query.getLimit());
+        Set<String> keys = gameSessionMap.keySet(page);
+
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        Predicate<String, GameSession> pageKeys = Predicates.in(QueryConstants.KEY_ATTRIBUTE_NAME.value(), keys.toArray(new String[0]));
+
+        return gameSessionMap.project(Projections.multiAttribute(GameSessionMapper.JOIN_GAME_ATTRIBUTES), pageKeys).stream()
+                .map(GameSessionMapper::toJoinGameDTO)
+                .sorted(Comparator.comparing(dto -> dto.getSessionId().toString()))
+                .toList();
     }
 
     public boolean existsById(UUID sessionId) {
@@ -46,5 +245,66 @@ public class GameSessionRepository {
 
     public void deleteAll() {
         gameSessionMap.clear();
+        gameStateRepository.deleteAll();
+    }
+
+    /**
+     * Registers a listener notified about changes of any game session in the cluster.
+     *
+     * @param listener     the listener to register
+     * @param includeValue whether the events should carry the session values
+     * @return the id of the registration
+     */
+    public UUID addEntryListener(MapListener listener, boolean includeValue) {
+        return gameSessionMap.addEntryListener(listener, includeValue);
+    }
+
+    /**
+     * Removes a listener registered with {@link #addEntryListener(MapListener, boolean)}.
+     *
+     * @param registrationId the id of the registration
+     */
+    public void removeEntryListener(UUID registrationId) {
+        gameSessionMap.removeEntryListener(registrationId);
+    }
+
+    /**
+     * Checks whether this member owns the partition of the {@link #LOBBY_KEY} and thus emits the lobby deltas.
+     *
+     * @return true if the lobby is local, false if it is not or its owner is not known yet
+     */
+    public boolean isLobbyOwner() {
+        Member owner = partitionService.getPartition(LOBBY_KEY).getOwner();
+
+        // The owner is unknown while the partition is being migrated
+        return owner != null && owner.localMember();
+    }
+
+    /**
+     * Reserves consecutive lobby sequence numbers.
+     *
+     * @param count the number of sequence numbers to reserve
+     * @return the last reserved sequence number
+     */
+    public long reserveLobbySequences(int count) {
+        return lobbySequence.addAndGet(count);
+    }
+
+    /**
+     * Returns the sequence number of the last lobby delta.
+     *
+     * @return the lobby sequence number
+     */
+    public long getLobbySequence() {
+        return lobbySequence.get();
+    }
+
+    /**
+     * Returns the statistics of the local game sessions near cache.
+     *
+     * @return the near cache statistics, or empty if the near cache is disabled
+     */
+    public Optional<NearCacheStats> getNearCacheStats() {
+        return Optional.ofNullable(gameSessionMap.getLocalMapStats().getNearCacheStats());
     }
 }
@@ -0,0 +1,199 @@
+package org.example.codenames.gameSession.repository.api;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameState.entity.GameState;
+import org.example.codenames.gameState.repository.api.GameStateMutation;
+import org.example.codenames.gameState.repository.api.GameStateRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.*;
+
+/**
+ * Unit of work around the game session and game state repositories, one per HTTP request.
+ * Each session and game state is loaded at most once per request, changes are only recorded
+ * and written with a single entry processor call per record when the request reads the session again or commits.
+ * Changes still recorded when the request ends are discarded.
+ * Sessions returned by this unit of work are shared within the request and must not be modified directly.
+ */
+@Slf4j
+@Component
+@RequestScope
+public class GameSessionUnitOfWork {
+    /**
+     * Game session repository.
+     */
+    private final GameSessionRepository gameSessionRepository;
+
+    /**
+     * Game state repository.
+     */
+    private final GameStateRepository gameStateRepository;
+
+    /**
+     * Session metadata loaded or written in this request, null if the session does not exist.
+     */
+    private final Map<UUID, GameSession> sessions = new HashMap<>();
+
+    /**
+     * Game states loaded or written in this request, null if the game state does not exist.
+     */
+    private final Map<UUID, GameState> gameStates = new HashMap<>();
+
+    /**
+     * Session mutations recorded but not written yet, in order.
+     */
+    private final Map<UUID, List<GameSessionMutation<?>>> pendingSessionMutations = new LinkedHashMap<>();
+
+    /**
+     * Game state mutations recorded but not written yet, in order.
+     */
+    private final Map<UUID, List<GameStateMutation<?>>> pendingStateMutations = new LinkedHashMap<>();
+
+    /**
+     * Creates a new instance of the {@link GameSessionUnitOfWork}.
+     *
+     * @param gameSessionRepository Game session repository
+     * @param gameStateRepository   Game state repository
+     */
+    @Autowired
+    public GameSessionUnitOfWork(GameSessionRepository gameSessionRepository, GameStateRepository gameStateRepository) {
+        this.gameSessionRepository = gameSessionRepository;
+        this.gameStateRepository = gameStateRepository;
+    }
+
+    /**
+     * Finds a game session together with its game state, writing the recorded changes of the session first.
+     *
+     * @param sessionId the id of the game session
+     * @return the game session, or empty if it does not exist
+     */
+    public Optional<GameSession> findBySessionId(UUID sessionId) {
+        commit(sessionId);
+
+        Optional<GameSession> session = findMetadataBySessionId(sessionId);
+
+        session.ifPresent(found -> found.setGameState(gameStates.computeIfAbsent(sessionId,
+                id -> gameStateRepository.findBySessionId(id).orElse(null))));
+
+        return session;
+    }
+
+    /**
+     * Finds the metadata of a game session, without its game state.
+     * Recorded session changes are written first, recorded game state changes are not needed for the metadata.
+     *
+     * @param sessionId the id of the game session
+     * @return the game session metadata, or empty if it does not exist
+     */
+    public Optional<GameSession> findMetadataBySessionId(UUID sessionId) {
+        commitSession(sessionId);
+
+        return Optional.ofNullable(sessions.computeIfAbsent(sessionId,
+                id -> gameSessionRepository.findMetadataBySessionId(id).orElse(null)));
+    }
+
+    /**
+     * Records a change of the session metadata, written together with the other recorded changes of the session.
+     *
+     * @param sessionId the id of the game session
+     * @param mutation  the mutation to apply
+     */
+    public void updateSession(UUID sessionId, GameSessionMutation<?> mutation) {
+        pendingSessionMutations.computeIfAbsent(sessionId, id -> new ArrayList<>()).add(mutation);
+    }
+
+    /**
+     * Records a change of the game state, written together with the other recorded changes of the game state.
+     *
+     * @param sessionId the id of the game session
+     * @param mutation  the mutation to apply
+     */
+    public void updateState(UUID sessionId, GameStateMutation<?> mutation) {
+        pendingStateMutations.computeIfAbsent(sessionId, id -> new ArrayList<>()).add(mutation);
+    }
+
+    /**
+     * Writes the recorded changes of all sessions.
+     */
+    public void commit() {
+        for (UUID sessionId : new ArrayList<>(pendingSessionMutations.keySet())) {
+            commitSession(sessionId);
+        }
+
+        for (UUID sessionId : new ArrayList<>(pendingStateMutations.keySet())) {
+            commitState(sessionId);
+        }
+    }
+
+    /**
+     * Discards the changes that were not committed before the request ended.
+     * A request that failed halfway must not write its partial changes, so changes are only written by an explicit commit.
+     */
+    @PreDestroy
+    public void close() {
+        if (!pendingSessionMutations.isEmpty() || !pendingStateMutations.isEmpty()) {
+            log.warn("Discarding uncommitted changes of game sessions {} and game states {} at the end of the request.",
+                    pendingSessionMutations.keySet(), pendingStateMutations.keySet());
+            pendingSessionMutations.clear();
+            pendingStateMutations.clear();
+        }
+    }
+
+    /**
+     * Writes the recorded changes of a single session.
+     *
+     * @param sessionId the id of the game session
+     */
+    private void commit(UUID sessionId) {
+        commitSession(sessionId);
+        commitState(sessionId);
+    }
+
+    /**
+     * Applies all recorded metadata changes of a session with one entry processor call and keeps the result.
+     *
+     * @param sessionId the id of the game session
+     * @throws IllegalArgumentException if the session does not exist
+     */
+    private void commitSession(UUID sessionId) {
+        List<GameSessionMutation<?>> mutations = pendingSessionMutations.remove(sessionId);
+
+        if (mutations == null) {
+            return;
+        }
+
+        sessions.put(sessionId, gameSessionRepository.update(sessionId, session -> {
+            for (GameSessionMutation<?> mutation : mutations) {
+                mutation.apply(session);
+            }
+
+            return session;
+        }));
+    }
+
+    /**
+     * Applies all recorded changes of a game state with one entry processor call and keeps the result.
+     *
+     * @param sessionId the id of the game session
+     * @throws IllegalArgumentException if the game state does not exist
+     */
+    private void commitState(UUID sessionId) {
+        List<GameStateMutation<?>> mutations = pendingStateMutations.remove(sessionId);
+
+        if (mutations == null) {
+            return;
+        }
+
+        gameStates.put(sessionId, gameStateRepository.update(sessionId, gameState -> {
+            for (GameStateMutation<?> mutation : mutations) {
+                mutation.apply(gameState);
+            }
+
+            return gameState;
+        }));
+    }
+}
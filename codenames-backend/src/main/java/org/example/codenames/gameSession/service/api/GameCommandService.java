@@ -0,0 +1,26 @@
+package org.example.codenames.gameSession.service.api;
+
+import org.example.codenames.gameSession.entity.GameEvent;
+import org.example.codenames.gameSession.repository.api.GameSessionMutation;
+import org.example.codenames.gameState.repository.api.GameStateMutation;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Service executing the commands of each game session one at a time, in the order they were submitted.
+ */
+public interface GameCommandService {
+    <R> R updateSession(UUID gameId, GameSessionMutation<R> mutation);
+
+    <R> R updateSession(UUID gameId, GameEvent event, GameSessionMutation<R> mutation);
+
+    <R> R updateState(UUID gameId, GameStateMutation<R> mutation);
+
+    <R> R updateState(UUID gameId, GameEvent event, GameStateMutation<R> mutation);
+
+    <R> CompletableFuture<R> updateStateAsync(UUID gameId, GameEvent event, GameStateMutation<R> mutation);
+
+    <R> R execute(UUID gameId, Supplier<R> command);
+}
@@ -0,0 +1,20 @@
+package org.example.codenames.gameSession.service.api;
+
+import org.example.codenames.gameSession.entity.GameEvent;
+import org.example.codenames.gameSession.entity.dto.GameEventPageDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service keeping the event log of each game session, from which clients catch up after missing updates.
+ */
+public interface GameEventService {
+    void append(UUID gameId, List<GameEvent> events);
+
+    GameEventPageDTO getEvents(UUID gameId, long since, String userId);
+
+    List<GameEvent> getLoggedEvents(UUID gameId);
+
+    void forget(UUID gameId);
+}
@@ -2,8 +2,10 @@ package org.example.codenames.gameSession.service.api;
 
 import org.example.codenames.gameSession.entity.CreateGameRequest;
 import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.LobbyQuery;
+import org.example.codenames.gameSession.entity.dto.GameSessionLobbyPageDTO;
 import org.example.codenames.gameSession.entity.dto.LeaderVoteState;
-import org.example.codenames.user.entity.User;
+import org.example.codenames.user.entity.PlayerRef;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,13 +21,15 @@ public interface GameSessionService {
 
     String[] getCardsBySessionId(UUID sessionId);
 
-    Integer[] getCardsColorsBySessionId(UUID sessionId);
+    int[] getCardsColorsBySessionId(UUID sessionId);
 
     void submitVote(UUID id, String userId, String votedUserId);
 
     void assignTeamLeaders(UUID sessionId);
 
-    User findLeader(List<User> team, List<Integer> teamVotes);
+    boolean assignTeamLeadersOnce(UUID sessionId);
+
+    PlayerRef findLeader(List<PlayerRef> team, List<Integer> teamVotes);
 
     boolean addPlayerToSession(UUID sessionId, String userId, int teamIndex);
 
@@ -33,6 +37,8 @@ public interface GameSessionService {
 
     List<GameSession> getAllGameSessions();
 
+    GameSessionLobbyPageDTO getLobbyPage(LobbyQuery query);
+
     boolean removePlayerFromSession(UUID gameId, String userId);
 
     void revealCard(UUID gameId, String cardIndex);
@@ -40,5 +46,7 @@ public interface GameSessionService {
     boolean isPlayerInSession(UUID gameId, String userId);
 
     Optional<LeaderVoteState> getLeaderVoteState(UUID gameId);
+
+    void deleteGameSession(UUID gameId);
 }
 
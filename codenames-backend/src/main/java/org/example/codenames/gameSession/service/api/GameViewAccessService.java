@@ -0,0 +1,17 @@
+package org.example.codenames.gameSession.service.api;
+
+import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.GameViewRole;
+
+import java.util.UUID;
+
+/**
+ * Service deciding which view of a game session the authenticated user may receive.
+ */
+public interface GameViewAccessService {
+    String getAuthenticatedUserId(String authorization);
+
+    GameViewRole getViewRole(GameSession gameSession, String authorization);
+
+    GameViewRole getViewRole(UUID gameId, String authorization);
+}
@@ -0,0 +1,26 @@
+package org.example.codenames.gameSession.service.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.GameView;
+import org.example.codenames.gameSession.entity.GameViewRole;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Service rendering the role specific views of game sessions, cached per game session version.
+ */
+public interface GameViewService {
+    long versionOf(GameSession gameSession);
+
+    boolean isNewer(long version, long than);
+
+    JsonNode toTree(GameSession gameSession);
+
+    Map<GameViewRole, GameView> render(UUID gameId, long version, JsonNode gameSessionTree);
+
+    GameView getView(GameSession gameSession, GameViewRole role);
+
+    void forget(UUID gameId);
+}
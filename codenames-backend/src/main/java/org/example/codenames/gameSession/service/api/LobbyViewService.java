@@ -0,0 +1,21 @@
+package org.example.codenames.gameSession.service.api;
+
+import org.example.codenames.gameSession.entity.LobbyDelta;
+import org.example.codenames.gameSession.entity.LobbySnapshot;
+import org.example.codenames.gameSession.entity.dto.GameSessionLobbySnapshotDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service maintaining the materialized lobby list.
+ */
+public interface LobbyViewService {
+    LobbySnapshot getSnapshot();
+
+    GameSessionLobbySnapshotDTO getSequencedSnapshot();
+
+    void refresh(UUID sessionId);
+
+    List<LobbyDelta> drainDeltas();
+}
@@ -0,0 +1,502 @@
+package org.example.codenames.gameSession.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codenames.gameSession.entity.GameEvent;
+import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.repository.api.GameSessionMutation;
+import org.example.codenames.gameSession.repository.api.GameSessionRepository;
+import org.example.codenames.gameSession.service.api.GameCommandService;
+import org.example.codenames.gameSession.service.api.GameEventService;
+import org.example.codenames.gameState.repository.api.GameStateMutation;
+import org.example.codenames.gameState.repository.api.GameStateRepository;
+import org.example.codenames.socket.service.api.SocketService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Default implementation of the {@link GameCommandService}.
+ * Every game session is assigned to one of a fixed number of stripes by its id, each stripe is executed by a single writer thread.
+ * Commands of one game are therefore never executed concurrently and never retried, no matter which request thread submitted them.
+ * A writer takes all commands queued on its stripe at once, consecutive mutations of the same game and record are written
+ * in a single update, and the changed game session is emitted once after all its commands of the batch.
+ * The events of the applied mutations are appended to the log of the game right after each update, in the order of the commands.
+ * Callers block until their command was executed and get its result or its exception.
+ */
+@Slf4j
+@Service
+public class DefaultGameCommandService implements GameCommandService {
+    /**
+     * Game session repository.
+     */
+    private final GameSessionRepository gameSessionRepository;
+
+    /**
+     * Game state repository.
+     */
+    private final GameStateRepository gameStateRepository;
+
+    /**
+     * Socket service emitting the changed game sessions.
+     */
+    private final SocketService socketService;
+
+    /**
+     * Event service logging the applied mutations.
+     */
+    private final GameEventService gameEventService;
+
+    /**
+     * Maximum number of commands taken from a stripe at once.
+     */
+    private final int maxBatch;
+
+    /**
+     * The stripes, each with its own queue and writer thread.
+     */
+    private final List<Stripe> stripes = new ArrayList<>();
+
+    /**
+     * Creates a new instance of the {@link DefaultGameCommandService}.
+     *
+     * @param gameSessionRepository Game session repository
+     * @param gameStateRepository   Game state repository
+     * @param socketService         Socket service emitting the changed game sessions
+     * @param gameEventService      Event service logging the applied mutations
+     * @param stripes               Number of single writer threads, one per processor if not positive
+     * @param maxBatch              Maximum number of commands taken from a stripe at once
+     */
+    @Autowired
+    public DefaultGameCommandService(GameSessionRepository gameSessionRepository, GameStateRepository gameStateRepository, SocketService socketService,
+                                     GameEventService gameEventService,
+                                     @Value("${codenames.game-commands.stripes:0}") int stripes,
+                                     @Value("${codenames.game-commands.max-batch:64}") int maxBatch) {
+        this.gameSessionRepository = gameSessionRepository;
+        this.gameStateRepository = gameStateRepository;
+        this.socketService = socketService;
+        this.gameEventService = gameEventService;
+        this.maxBatch = Math.max(1, maxBatch);
+
+        int stripeCount = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes.add(new Stripe());
+        }
+    }
+
+    /**
+     * Starts the writer threads after construction.
+     */
+    @PostConstruct
+    public void startWriters() {
+        for (int i = 0; i < stripes.size(); i++) {
+            Thread writer = new Thread(stripes.get(i), "game-commands-" + i);
+            writer.setDaemon(true);
+            stripes.get(i).writer = writer;
+            writer.start();
+        }
+    }
+
+    /**
+     * Stops the writer threads before shutdown, queued commands are not executed.
+     */
+    @PreDestroy
+    public void stopWriters() {
+        for (Stripe stripe : stripes) {
+            if (stripe.writer != null) {
+                stripe.writer.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Applies a mutation to the stored game session and emits the changed game session.
+     *
+     * @param gameId   The ID of the game session.
+     * @param mutation The mutation to apply.
+     * @param <R>      type of the mutation result
+     * @return the mutation result
+     */
+    @Override
+    public <R> R updateSession(UUID gameId, GameSessionMutation<R> mutation) {
+        return updateSession(gameId, null, mutation);
+    }
+
+    /**
+     * Applies a mutation to the stored game session, logs its event and emits the changed game session.
+     *
+     * @param gameId   The ID of the game session.
+     * @param event    The event logged if the mutation succeeds, or null.
+     * @param mutation The mutation to apply.
+     * @param <R>      type of the mutation result
+     * @return the mutation result
+     */
+    @Override
+    public <R> R updateSession(UUID gameId, GameEvent event, GameSessionMutation<R> mutation) {
+        return submit(new PendingCommand<>(gameId, commandType.SESSION, mutation, event));
+    }
+
+    /**
+     * Applies a mutation to the stored game state and emits the changed game session.
+     *
+     * @param gameId   The ID of the game session.
+     * @param mutation The mutation to apply.
+     * @param <R>      type of the mutation result
+     * @return the mutation result
+     */
+    @Override
+    public <R> R updateState(UUID gameId, GameStateMutation<R> mutation) {
+        return updateState(gameId, null, mutation);
+    }
+
+    /**
+     * Applies a mutation to the stored game state, logs its event and emits the changed game session.
+     *
+     * @param gameId   The ID of the game session.
+     * @param event    The event logged if the mutation succeeds, or null.
+     * @param mutation The mutation to apply.
+     * @param <R>      type of the mutation result
+     * @return the mutation result
+     */
+    @Override
+    public <R> R updateState(UUID gameId, GameEvent event, GameStateMutation<R> mutation) {
+        return submit(new PendingCommand<>(gameId, commandType.STATE, mutation, event));
+    }
+
+    /**
+     * Queues a mutation of the stored game state without waiting for it, the changed game session is emitted as usual.
+     * Commands submitted later by the same thread are executed after it.
+     *
+     * @param gameId   The ID of the game session.
+     * @param event    The event logged if the mutation succeeds, or null.
+     * @param mutation The mutation to apply.
+     * @param <R>      type of the mutation result
+     * @return the future result of the mutation
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> CompletableFuture<R> updateStateAsync(UUID gameId, GameEvent event, GameStateMutation<R> mutation) {
+        return (CompletableFuture<R>) enqueue(new PendingCommand<>(gameId, commandType.STATE, mutation, event));
+    }
+
+    /**
+     * Runs a command on the writer of the game session, e.g. one reading and writing several records.
+     * Nothing is emitted or logged, the command emits and logs what it changed itself.
+     *
+     * @param gameId  The ID of the game session.
+     * @param command The command to run.
+     * @param <R>     type of the command result
+     * @return the command result
+     */
+    @Override
+    public <R> R execute(UUID gameId, Supplier<R> command) {
+        return submit(new PendingCommand<>(gameId, commandType.TASK, command, null));
+    }
+
+    /**
+     * Queues a command on the stripe of its game and waits for its result.
+     *
+     * @param command The command to execute.
+     * @param <R>     type of the command result
+     * @return the command result
+     */
+    @SuppressWarnings("unchecked")
+    private <R> R submit(PendingCommand<R> command) {
+        try {
+            return (R) enqueue(command).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a command of game " + command.gameId, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Queues a command on the stripe of its game.
+     * A command submitted by the writer of its own stripe is executed right away, waiting for it would never end.
+     *
+     * @param command The command to execute.
+     * @return the future result of the command
+     */
+    private CompletableFuture<Object> enqueue(PendingCommand<?> command) {
+        Stripe stripe = stripes.get(Math.floorMod(command.gameId.hashCode(), stripes.size()));
+
+        if (Thread.currentThread() == stripe.writer) {
+            executeGame(command.gameId, List.of(command));
+        } else {
+            stripe.queue.add(command);
+        }
+
+        return command.result;
+    }
+
+    /**
+     * Executes a batch taken from a stripe, grouped by game in the order of their first command.
+     *
+     * @param batch The commands taken from the stripe.
+     */
+    private void executeBatch(List<PendingCommand<?>> batch) {
+        Map<UUID, List<PendingCommand<?>>> commandsByGame = new LinkedHashMap<>();
+
+        for (PendingCommand<?> command : batch) {
+            commandsByGame.computeIfAbsent(command.gameId, id -> new ArrayList<>()).add(command);
+        }
+
+        commandsByGame.forEach(this::executeGame);
+    }
+
+    /**
+     * Executes the commands of one game in order, runs of mutations of the same record in one update,
+     * then emits the game session once if any mutation succeeded and completes the callers.
+     *
+     * @param gameId   The ID of the game session.
+     * @param commands The commands of the game in submission order.
+     */
+    private void executeGame(UUID gameId, List<PendingCommand<?>> commands) {
+        Map<PendingCommand<?>, Object> results = new LinkedHashMap<>();
+        boolean changed = false;
+        int start = 0;
+
+        while (start < commands.size()) {
+            commandType type = commands.get(start).type;
+            int end = start + 1;
+
+            while (type != commandType.TASK && end < commands.size() && commands.get(end).type == type) {
+                end++;
+            }
+
+            changed |= executeRun(gameId, type, commands.subList(start, end), results);
+            start = end;
+        }
+
+        if (changed) {
+            try {
+                Optional<GameSession> gameSession = gameSessionRepository.findBySessionId(gameId);
+
+                if (gameSession.isPresent()) {
+                    socketService.sendGameSessionDelta(gameId, gameSession.get());
+                }
+            } catch (Exception e) {
+                log.error("[COMMANDS] Could not emit game session {}", gameId, e);
+            }
+        }
+
+        results.forEach((command, result) -> {
+            if (result instanceof CommandFailure failure) {
+                command.result.completeExceptionally(failure.cause);
+            } else {
+                command.result.complete(result);
+            }
+        });
+    }
+
+    /**
+     * Executes consecutive commands of one game and type.
+     * If a batched update fails, its mutations are applied one by one, so only the failing command fails.
+     *
+     * @param gameId   The ID of the game session.
+     * @param type     The type of the commands.
+     * @param commands The commands to execute.
+     * @param results  Collects the result or failure of every command.
+     * @return true if a mutation was written
+     */
+    private boolean executeRun(UUID gameId, commandType type, List<PendingCommand<?>> commands, Map<PendingCommand<?>, Object> results) {
+        if (commands.size() > 1) {
+            try {
+                List<Object> batchResults = update(gameId, type, commands);
+
+                for (int i = 0; i < commands.size(); i++) {
+                    results.put(commands.get(i), batchResults.get(i));
+                }
+
+                appendEvents(gameId, commands, results);
+
+                return true;
+            } catch (RuntimeException e) {
+                log.debug("[COMMANDS] Batched update of game {} failed, applying its {} commands one by one", gameId, commands.size(), e);
+            }
+        }
+
+        boolean changed = false;
+
+        for (PendingCommand<?> command : commands) {
+            try {
+                results.put(command, type == commandType.TASK
+                        ? ((Supplier<?>) command.command).get()
+                        : update(gameId, type, List.of(command)).get(0));
+                changed |= type != commandType.TASK;
+            } catch (RuntimeException e) {
+                results.put(command, new CommandFailure(e));
+            }
+        }
+
+        appendEvents(gameId, commands, results);
+
+        return changed;
+    }
+
+    /**
+     * Logs the events of the commands that succeeded.
+     * A failure to log is not a failure of the commands, which are already written.
+     *
+     * @param gameId   The ID of the game session.
+     * @param commands The executed commands.
+     * @param results  The result or failure of every command.
+     */
+    private void appendEvents(UUID gameId, List<PendingCommand<?>> commands, Map<PendingCommand<?>, Object> results) {
+        List<GameEvent> events = new ArrayList<>();
+
+        for (PendingCommand<?> command : commands) {
+            if (command.event != null && !(results.get(command) instanceof CommandFailure)) {
+                events.add(command.event);
+            }
+        }
+
+        try {
+            gameEventService.append(gameId, events);
+        } catch (RuntimeException e) {
+            log.error("[COMMANDS] Could not log {} events of game {}", events.size(), gameId, e);
+        }
+    }
+
+    /**
+     * Applies the mutations of several commands in a single update of the stored record.
+     *
+     * @param gameId   The ID of the game session.
+     * @param type     Whether the mutations change the session or the game state.
+     * @param commands The commands carrying the mutations.
+     * @return the mutation results in command order
+     */
+    private List<Object> update(UUID gameId, commandType type, List<PendingCommand<?>> commands) {
+        if (type == commandType.SESSION) {
+            ArrayList<GameSessionMutation<?>> mutations = new ArrayList<>();
+            commands.forEach(command -> mutations.add((GameSessionMutation<?>) command.command));
+
+            return gameSessionRepository.update(gameId, session -> {
+                ArrayList<Object> mutationResults = new ArrayList<>();
+                mutations.forEach(mutation -> mutationResults.add(mutation.apply(session)));
+                return mutationResults;
+            });
+        }
+
+        ArrayList<GameStateMutation<?>> mutations = new ArrayList<>();
+        commands.forEach(command -> mutations.add((GameStateMutation<?>) command.command));
+
+        return gameStateRepository.update(gameId, gameState -> {
+            ArrayList<Object> mutationResults = new ArrayList<>();
+            mutations.forEach(mutation -> mutationResults.add(mutation.apply(gameState)));
+            return mutationResults;
+        });
+    }
+
+    /**
+     * Kind of a game command.
+     */
+    private enum commandType {
+        SESSION,
+        STATE,
+        TASK
+    }
+
+    /**
+     * Command waiting on its stripe, completed by the writer with the result of the command.
+     *
+     * @param <R> type of the command result
+     */
+    private static class PendingCommand<R> {
+        /**
+         * Id of the game session the command belongs to.
+         */
+        private final UUID gameId;
+
+        /**
+         * Kind of the command.
+         */
+        private final commandType type;
+
+        /**
+         * The mutation or task of the command.
+         */
+        private final Object command;
+
+        /**
+         * Event logged if the command succeeds, or null.
+         */
+        private final GameEvent event;
+
+        /**
+         * Result handed back to the caller.
+         */
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        private PendingCommand(UUID gameId, commandType type, Object command, GameEvent event) {
+            this.gameId = gameId;
+            this.type = type;
+            this.command = command;
+            this.event = event;
+        }
+    }
+
+    /**
+     * Exception of a failed command, kept apart from regular results until the callers are completed.
+     */
+    private record CommandFailure(RuntimeException cause) {
+    }
+
+    /**
+     * Queue of commands and its single writer.
+     */
+    private class Stripe implements Runnable {
+        /**
+         * Commands waiting for the writer.
+         */
+        private final BlockingQueue<PendingCommand<?>> queue = new LinkedBlockingQueue<>();
+
+        /**
+         * The writer thread of the stripe.
+         */
+        private volatile Thread writer;
+
+        /**
+         * Executes the queued commands in batches until the thread is interrupted.
+         */
+        @Override
+        public void run() {
+            List<PendingCommand<?>> batch = new ArrayList<>();
+
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    batch.add(queue.take());
+                    queue.drainTo(batch, maxBatch - 1);
+                    executeBatch(batch);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Exception e) {
+                    log.error("[COMMANDS] Could not execute a batch of {} commands", batch.size(), e);
+                    batch.forEach(command -> command.result.completeExceptionally(e));
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package org.example.codenames.gameSession.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codenames.gameSession.entity.GameEvent;
+import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.GameSnapshot;
+import org.example.codenames.gameSession.entity.GameViewRole;
+import org.example.codenames.gameSession.entity.dto.GameEventPageDTO;
+import org.example.codenames.gameSession.repository.api.GameEventRepository;
+import org.example.codenames.gameSession.repository.api.GameSessionRepository;
+import org.example.codenames.gameSession.service.api.GameEventService;
+import org.example.codenames.gameSession.service.api.GameViewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Default implementation of the {@link GameEventService}.
+ * Events are appended by the writer of their game, so the log has the order in which the commands were applied.
+ * Every few events the session is saved as a snapshot, a client that fell further behind than the log reaches
+ * gets the view of its role at the snapshot and the events after it.
+ */
+@Slf4j
+@Service
+public class DefaultGameEventService implements GameEventService {
+    /**
+     * Maximum number of events returned at once, clients ask again from the last one they got.
+     */
+    private static final int MAX_PAGE_SIZE = 256;
+
+    /**
+     * Event repository.
+     */
+    private final GameEventRepository gameEventRepository;
+
+    /**
+     * Game session repository, the source of the snapshots.
+     */
+    private final GameSessionRepository gameSessionRepository;
+
+    /**
+     * View service rendering the snapshots for the role of the client.
+     */
+    private final GameViewService gameViewService;
+
+    /**
+     * Number of events between two snapshots of a session.
+     */
+    private final int snapshotEvery;
+
+    /**
+     * Object mapper used to store and read the snapshots.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Creates a new instance of the {@link DefaultGameEventService}.
+     *
+     * @param gameEventRepository   Event repository
+     * @param gameSessionRepository Game session repository
+     * @param gameViewService       View service rendering the snapshots
+     * @param snapshotEvery         Number of events between two snapshots of a session
+     */
+    @Autowired
+    public DefaultGameEventService(GameEventRepository gameEventRepository, GameSessionRepository gameSessionRepository, GameViewService gameViewService,
+                                   @Value("${codenames.game-events.snapshot-every:50}") int snapshotEvery) {
+        this.gameEventRepository = gameEventRepository;
+        this.gameSessionRepository = gameSessionRepository;
+        this.gameViewService = gameViewService;
+        this.snapshotEvery = Math.max(1, snapshotEvery);
+    }
+
+    /**
+     * Appends events to the log of a game, then saves a snapshot if they reached the next multiple of the snapshot interval.
+     * Must be called by the writer of the game after the commands of the events were applied.
+     *
+     * @param gameId The ID of the game session.
+     * @param events The events in the order they were applied.
+     */
+    @Override
+    public void append(UUID gameId, List<GameEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        long first = -1;
+        long last = -1;
+
+        for (GameEvent event : events) {
+            last = gameEventRepository.append(gameId, event);
+            first = first < 0 ? last : first;
+        }
+
+        if (Math.floorDiv(last, snapshotEvery) > Math.floorDiv(first - 1, snapshotEvery)) {
+            saveSnapshot(gameId, last);
+        }
+    }
+
+    /**
+     * Returns the events of a game after the given sequence.
+     * If some of them are no longer logged, the view of the role of the user at the latest snapshot is returned with the events after it.
+     *
+     * @param gameId The ID of the game session.
+     * @param since  Sequence of the last event the client has applied, -1 for none.
+     * @param userId ID of the authenticated user, deciding the role the snapshot is rendered for, or null.
+     * @return the page of events
+     * @throws IllegalArgumentException if the game session does not exist
+     */
+    @Override
+    public GameEventPageDTO getEvents(UUID gameId, long since, String userId) {
+        GameSession gameSession = gameSessionRepository.findBySessionId(gameId)
+                .orElseThrow(() -> new IllegalArgumentException("Game session not found for ID: " + gameId));
+        long head = gameEventRepository.headSequence(gameId);
+        long tail = gameEventRepository.tailSequence(gameId);
+
+        if (since + 1 >= head) {
+            return GameEventPageDTO.builder()
+                    .lastSequence(tail)
+                    .events(gameEventRepository.read(gameId, since + 1, MAX_PAGE_SIZE))
+                    .build();
+        }
+
+        GameViewRole role = GameViewRole.of(gameSession, userId);
+        Optional<GameSnapshot> snapshot = gameEventRepository.findSnapshot(gameId)
+                .filter(stored -> stored.getSequence() + 1 >= head);
+
+        if (snapshot.isEmpty()) {
+            // Events after the latest snapshot expired, so the game has been idle and the current session is as good as a snapshot
+            return GameEventPageDTO.builder()
+                    .lastSequence(tail)
+                    .snapshot(gameViewService.getView(gameSession, role).getJson())
+                    .snapshotSequence(tail)
+                    .events(List.of())
+                    .build();
+        }
+
+        return GameEventPageDTO.builder()
+                .lastSequence(tail)
+                .snapshot(render(gameId, snapshot.get(), role))
+                .snapshotSequence(snapshot.get().getSequence())
+                .events(gameEventRepository.read(gameId, snapshot.get().getSequence() + 1, MAX_PAGE_SIZE))
+                .build();
+    }
+
+    /**
+     * Returns every event of a game still in its log, oldest first.
+     *
+     * @param gameId The ID of the game session.
+     * @return the logged events
+     */
+    @Override
+    public List<GameEvent> getLoggedEvents(UUID gameId) {
+        List<GameEvent> events = new ArrayList<>();
+        long next = gameEventRepository.headSequence(gameId);
+        long tail = gameEventRepository.tailSequence(gameId);
+
+        while (next <= tail) {
+            List<GameEvent> page = gameEventRepository.read(gameId, next, MAX_PAGE_SIZE);
+
+            if (page.isEmpty()) {
+                break;
+            }
+
+            events.addAll(page);
+            next = page.get(page.size() - 1).getSequence() + 1;
+        }
+
+        return events;
+    }
+
+    /**
+     * Removes the log and the snapshot of a game, e.g. after the game has finished.
+     *
+     * @param gameId The ID of the game session.
+     */
+    @Override
+    public void forget(UUID gameId) {
+        gameEventRepository.deleteById(gameId);
+    }
+
+    /**
+     * Saves the current game session as the snapshot after the given event.
+     * Called by the writer of the game, so no command changes the session in between.
+     *
+     * @param gameId   The ID of the game session.
+     * @param sequence Sequence of the last appended event.
+     */
+    private void saveSnapshot(UUID gameId, long sequence) {
+        try {
+            Optional<GameSession> gameSession = gameSessionRepository.findBySessionId(gameId);
+
+            if (gameSession.isPresent()) {
+                String session = objectMapper.writeValueAsString(gameViewService.toTree(gameSession.get()));
+                gameEventRepository.saveSnapshot(gameId, new GameSnapshot(sequence, gameViewService.versionOf(gameSession.get()), session));
+            }
+        } catch (JsonProcessingException e) {
+            log.error("[EVENTS] Could not save the snapshot of game {} at event {}", gameId, sequence, e);
+        }
+    }
+
+    /**
+     * Renders a snapshot for a role.
+     *
+     * @param gameId   The ID of the game session.
+     * @param snapshot The stored snapshot.
+     * @param role     The role of the requesting user.
+     * @return the serialized view of the role
+     */
+    private String render(UUID gameId, GameSnapshot snapshot, GameViewRole role) {
+        try {
+            JsonNode gameSessionTree = objectMapper.readTree(snapshot.getSession());
+
+            return gameViewService.render(gameId, snapshot.getVersion(), gameSessionTree).get(role).getJson();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read the snapshot of game " + gameId, e);
+        }
+    }
+}
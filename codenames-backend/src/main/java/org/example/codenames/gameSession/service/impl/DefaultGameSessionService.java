@@ -1,21 +1,38 @@
 package org.example.codenames.gameSession.service.impl;
 
 import org.example.codenames.gameSession.entity.CreateGameRequest;
+import org.example.codenames.gameSession.entity.GameEvent;
 import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.LobbyQuery;
+import org.example.codenames.gameSession.entity.dto.GameSessionJoinGameDTO;
+import org.example.codenames.gameSession.entity.dto.GameSessionLobbyPageDTO;
 import org.example.codenames.gameSession.entity.dto.LeaderVoteState;
 import org.example.codenames.gameSession.repository.api.GameSessionRepository;
+import org.example.codenames.gameSession.service.api.GameCommandService;
+import org.example.codenames.gameSession.service.api.GameEventService;
 import org.example.codenames.gameSession.service.api.GameSessionService;
+import org.example.codenames.gameSession.service.api.GameViewService;
 import org.example.codenames.gameState.entity.GameState;
+import org.example.codenames.gameState.repository.api.GameStateRepository;
+import org.example.codenames.gameState.service.api.CardVoteAggregator;
 import org.example.codenames.gameState.service.api.GameStateService;
+import org.example.codenames.gameState.service.impl.DefaultGameStateService;
+import org.example.codenames.gameTimer.entity.GameTimer;
+import org.example.codenames.gameTimer.service.api.GameTimerService;
+import org.example.codenames.socket.service.api.SocketService;
+import org.example.codenames.user.entity.PlayerRef;
 import org.example.codenames.user.entity.User;
 import org.example.codenames.user.service.api.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 
+import static org.example.codenames.user.entity.mapper.UserMapper.toPlayerRef;
+
 /**
  * Default implementation of the {@link GameSessionService}.
  * Handles operations related to game sessions, such as creation, retrieval, and player management.
@@ -27,6 +44,41 @@ public class DefaultGameSessionService implements GameSessionService {
      */
     private final GameSessionRepository gameSessionRepository;
 
+    /**
+     * Game state repository.
+     */
+    private final GameStateRepository gameStateRepository;
+
+    /**
+     * Command service executing the commands of each game one at a time.
+     */
+    private final GameCommandService gameCommandService;
+
+    /**
+     * Aggregator collecting the card votes until they are written.
+     */
+    private final CardVoteAggregator cardVoteAggregator;
+
+    /**
+     * Event service logging the commands that are not plain mutations.
+     */
+    private final GameEventService gameEventService;
+
+    /**
+     * Timer service scheduling the deadlines of the game.
+     */
+    private final GameTimerService gameTimerService;
+
+    /**
+     * View service caching the rendered views of each game.
+     */
+    private final GameViewService gameViewService;
+
+    /**
+     * Socket service keeping the last sent state of each game.
+     */
+    private final SocketService socketService;
+
     /**
      * User service.
      */
@@ -43,17 +95,37 @@ public class DefaultGameSessionService implements GameSessionService {
      */
     private final PasswordEncoder passwordEncoder;
 
+    /**
+     * Maximum number of attempts of a version-checked session update.
+     */
+    @Value("${codenames.game-session.optimistic.max-attempts:5}")
+    private int optimisticMaxAttempts;
+
     /**
      * Creates a new instance of the {@link DefaultGameSessionService}.
      *
      * @param gameSessionRepository Game session repository
+     * @param gameStateRepository   Game state repository
+     * @param gameCommandService    Command service executing the commands of each game one at a time
+     * @param cardVoteAggregator    Aggregator collecting the card votes until they are written
+     * @param gameEventService      Event service logging the commands that are not plain mutations
+     * @param gameTimerService      Timer service scheduling the deadlines of the game
+     * @param gameViewService       View service caching the rendered views of each game
+     * @param socketService         Socket service keeping the last sent state of each game
      * @param userService           User service
      * @param gameStateService      Game state service
      * @param passwordEncoder       Password encoder
      */
     @Autowired
-    public DefaultGameSessionService(GameSessionRepository gameSessionRepository, UserService userService, GameStateService gameStateService, PasswordEncoder passwordEncoder) {
+    public DefaultGameSessionService(GameSessionRepository gameSessionRepository, GameStateRepository gameStateRepository, GameCommandService gameCommandService, CardVoteAggregator cardVoteAggregator, GameEventService gameEventService, GameTimerService gameTimerService, GameViewService gameViewService, SocketService socketService, UserService userService, GameStateService gameStateService, PasswordEncoder passwordEncoder) {
         this.gameSessionRepository = gameSessionRepository;
+        this.gameStateRepository = gameStateRepository;
+        this.gameCommandService = gameCommandService;
+        this.cardVoteAggregator = cardVoteAggregator;
+        this.gameEventService = gameEventService;
+        this.gameTimerService = gameTimerService;
+        this.gameViewService = gameViewService;
+        this.socketService = socketService;
         this.userService = userService;
         this.gameStateService = gameStateService;
         this.passwordEncoder = passwordEncoder;
@@ -69,15 +141,11 @@ public class DefaultGameSessionService implements GameSessionService {
     @Override
     public String createGameSession(CreateGameRequest request) {
         GameState gameState = new GameState();
-        gameStateService.generateRandomCardsNames(gameState, request.getLanguage());
-        gameStateService.generateRandomCardsColors(gameState);
+        gameStateService.generateBoard(gameState, request.getLanguage());
         gameState.setTeamTurn(0);
         gameState.setBlueTeamScore(0);
         gameState.setRedTeamScore(0);
-
-        List<Integer> cardsVotes = new ArrayList<>(Collections.nCopies(gameState.getCards().length, 0));
-
-        gameState.setCardsVotes(cardsVotes);
+        gameState.setCardsVotes(new int[gameState.getCardIndexes().length]);
 
         GameSession newGame = new GameSession(
                 GameSession.sessionStatus.CREATED,
@@ -95,7 +163,8 @@ public class DefaultGameSessionService implements GameSessionService {
                 }},
                 gameState,
                 System.currentTimeMillis(),
-                null
+                null,
+                0L
         );
 
         gameSessionRepository.save(newGame);
@@ -128,14 +197,9 @@ public class DefaultGameSessionService implements GameSessionService {
      */
     @Override
     public String[] getCardsBySessionId(UUID sessionId) {
-        return gameSessionRepository.findBySessionId(sessionId)
-                .map(gameSession -> {
-                    if (gameSession.getGameState() != null) {
-                        return gameSession.getGameState().getCards();
-                    }
-                    throw new IllegalStateException("GameState is null for the given session.");
-                })
-                .orElseThrow(() -> new IllegalArgumentException("GameSession not found with ID: " + sessionId));
+        return gameStateRepository.findBySessionId(sessionId)
+                .map(gameStateService::getCardNames)
+                .orElseThrow(() -> missingGameState(sessionId));
     }
 
     /**
@@ -146,19 +210,30 @@ public class DefaultGameSessionService implements GameSessionService {
      * @return An array of card colors.
      */
     @Override
-    public Integer[] getCardsColorsBySessionId(UUID sessionId) {
-        return gameSessionRepository.findBySessionId(sessionId)
-                .map(gameSession -> {
-                    if (gameSession.getGameState() != null) {
-                        return gameSession.getGameState().getCardsColors();
-                    }
-                    throw new IllegalStateException("GameState is null for the given session.");
-                })
-                .orElseThrow(() -> new IllegalArgumentException("GameSession not found with ID: " + sessionId));
+    public int[] getCardsColorsBySessionId(UUID sessionId) {
+        return gameStateRepository.findBySessionId(sessionId)
+                .map(GameState::getCardsColorsAsInts)
+                .orElseThrow(() -> missingGameState(sessionId));
+    }
+
+    /**
+     * Creates the exception thrown when a game session has no stored game state.
+     *
+     * @param sessionId The UUID of the game session.
+     *
+     * @return IllegalArgumentException if the session does not exist, otherwise IllegalStateException.
+     */
+    private RuntimeException missingGameState(UUID sessionId) {
+        if (!gameSessionRepository.existsById(sessionId)) {
+            return new IllegalArgumentException("GameSession not found with ID: " + sessionId);
+        }
+
+        return new IllegalStateException("GameState is null for the given session.");
     }
 
     /**
      * Submits a vote for a user in a given session.
+     * The vote is written and sent to the clients by the writer of the game.
      *
      * @param sessionId   The UUID of the game session.
      * @param userId      The ID of the user submitting the vote.
@@ -167,30 +242,32 @@ public class DefaultGameSessionService implements GameSessionService {
      */
     @Override
     public void submitVote(UUID sessionId, String userId, String votedUserId) {
-        GameSession session = gameSessionRepository.findBySessionId(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found"));
-
-        for (int teamIndex = 0; teamIndex < session.getConnectedUsers().size(); teamIndex++) {
-            List<User> team = session.getConnectedUsers().get(teamIndex);
+        GameEvent event = GameEvent.of(GameEvent.eventType.LEADER_VOTE).userId(userId).votedUserId(votedUserId).build();
+
+        gameCommandService.updateSession(sessionId, event, session -> {
+            for (int teamIndex = 0; teamIndex < session.getConnectedUsers().size(); teamIndex++) {
+                List<PlayerRef> team = session.getConnectedUsers().get(teamIndex);
+
+                if (team.stream().anyMatch(user -> user.getId().equals(userId))) {
+                    int votedIndex = -1;
+                    for (int i = 0; i < team.size(); i++) {
+                        if (team.get(i).getId().equals(votedUserId)) {
+                            votedIndex = i;
+                            break;
+                        }
+                    }
 
-            if (team.stream().anyMatch(user -> user.getId().equals(userId))) {
-                int votedIndex = -1;
-                for (int i = 0; i < team.size(); i++) {
-                    if (team.get(i).getId().equals(votedUserId)) {
-                        votedIndex = i;
-                        break;
+                    if (votedIndex == -1) {
+                        throw new RuntimeException("Voted user not found in the team");
                     }
-                }
 
-                if (votedIndex == -1) {
-                    throw new RuntimeException("Voted user not found in the team");
+                    session.getVotes().get(teamIndex).set(votedIndex, session.getVotes().get(teamIndex).get(votedIndex) + 1);
+                    return null;
                 }
-
-                session.getVotes().get(teamIndex).set(votedIndex, session.getVotes().get(teamIndex).get(votedIndex) + 1);
-                gameSessionRepository.save(session);
-                return;
             }
-        }
+
+            return null;
+        });
     }
 
     /**
@@ -200,26 +277,84 @@ public class DefaultGameSessionService implements GameSessionService {
      */
     @Override
     public void assignTeamLeaders(UUID sessionId) {
-        GameSession session = gameSessionRepository.findBySessionId(sessionId)
-                .orElseThrow(() -> new RuntimeException("Session not found"));
+        applyTeamLeaders(sessionId, false);
+    }
+
+    /**
+     * Starts the game: assigns team leaders and the first card selection leader, unless the game is already in progress.
+     * Every player requests this at the same moment, the requests are queued on the writer of the game and only the first one
+     * finds the game not started yet. The version check on the session status still guards against writes from elsewhere.
+     *
+     * @param sessionId The UUID of the game session.
+     * @return true if this call assigned the leaders, false if they were already assigned
+     */
+    @Override
+    public boolean assignTeamLeadersOnce(UUID sessionId) {
+        return gameCommandService.execute(sessionId, () -> startGameOnce(sessionId));
+    }
+
+    /**
+     * Sets the session in progress and assigns the leaders, unless the game is already in progress.
+     *
+     * @param sessionId The UUID of the game session.
+     * @return true if the leaders were assigned
+     */
+    private boolean startGameOnce(UUID sessionId) {
+        boolean started = gameSessionRepository.updateOptimistically(sessionId, session -> {
+            if (session.getStatus() == GameSession.sessionStatus.IN_PROGRESS) {
+                return false;
+            }
+
+            session.setStatus(GameSession.sessionStatus.IN_PROGRESS);
+
+            return true;
+        }, optimisticMaxAttempts);
+
+        if (started) {
+            applyTeamLeaders(sessionId, true);
+            gameEventService.append(sessionId, List.of(GameEvent.of(GameEvent.eventType.START).build()));
+
+            // The vote ended before its deadline, the first turn and the Discord invite start now
+            gameTimerService.cancel(sessionId, GameTimer.timerType.LEADER_VOTE);
+            gameTimerService.schedule(sessionId, GameTimer.timerType.TURN_LIMIT);
+            gameTimerService.schedule(sessionId, GameTimer.timerType.DISCORD_INVITE);
+        }
+
+        return started;
+    }
+
+    /**
+     * Assigns the most voted player of each team as its leader.
+     * The votes are read from the session metadata, only the game state is written.
+     *
+     * @param sessionId           The UUID of the game session.
+     * @param withSelectionLeader Whether to also select the first card selection leader.
+     */
+    private void applyTeamLeaders(UUID sessionId, boolean withSelectionLeader) {
+        GameSession session = gameSessionRepository.findMetadataBySessionId(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Game session not found for ID: " + sessionId));
 
-        List<List<User>> teams = session.getConnectedUsers();
+        List<List<PlayerRef>> teams = session.getConnectedUsers();
         List<List<Integer>> votes = session.getVotes();
 
         if (teams.size() != 2 || votes.size() != 2) {
             throw new IllegalStateException("Expected exactly two teams for leader assignment.");
         }
 
-        User redTeamLeader = findLeader(teams.get(0), votes.get(0));
-        User blueTeamLeader = findLeader(teams.get(1), votes.get(1));
+        PlayerRef redTeamLeader = leaderByVotes(teams.get(0), votes.get(0));
+        PlayerRef blueTeamLeader = leaderByVotes(teams.get(1), votes.get(1));
 
-        // Create or update GameState with the leaders
-        GameState gameState = session.getGameState();
+        // Update GameState with the leaders
+        gameStateRepository.update(sessionId, gameState -> {
+            gameState.setBlueTeamLeader(blueTeamLeader);
+            gameState.setRedTeamLeader(redTeamLeader);
 
-        gameState.setBlueTeamLeader(blueTeamLeader);
-        gameState.setRedTeamLeader(redTeamLeader);
+            if (withSelectionLeader) {
+                DefaultGameStateService.applyRandomCurrentLeader(gameState, teams);
+            }
 
-        gameSessionRepository.save(session);
+            return null;
+        });
     }
 
     /**
@@ -231,9 +366,21 @@ public class DefaultGameSessionService implements GameSessionService {
      * @return The leader of the team.
      */
     @Override
-    public User findLeader(List<User> team, List<Integer> teamVotes) {
+    public PlayerRef findLeader(List<PlayerRef> team, List<Integer> teamVotes) {
+        return leaderByVotes(team, teamVotes);
+    }
+
+    /**
+     * Finds the player with the most votes in a team.
+     *
+     * @param team      The team to find the leader for.
+     * @param teamVotes The votes for each player in the team.
+     *
+     * @return The leader of the team.
+     */
+    private static PlayerRef leaderByVotes(List<PlayerRef> team, List<Integer> teamVotes) {
         int maxVotes = -1;
-        User leader = null;
+        PlayerRef leader = null;
 
         for (int i = 0; i < team.size(); i++) {
             if (teamVotes.get(i) > maxVotes) {
@@ -250,7 +397,7 @@ public class DefaultGameSessionService implements GameSessionService {
     }
 
     /**
-     * Adds a player to a game session.
+     * Adds a player to a game session, on the writer of the game so the join is logged in order.
      *
      * @param sessionId The UUID of the game session.
      * @param userId    The ID of the user to add.
@@ -260,38 +407,55 @@ public class DefaultGameSessionService implements GameSessionService {
      */
     @Override
     public boolean addPlayerToSession(UUID sessionId, String userId, int teamIndex) {
-        GameSession gameSession = getGameSessionById(sessionId);
+        Optional<User> user = userService.getUserById(userId);
+        PlayerRef player = toPlayerRef(user.orElseThrow(() -> new IllegalArgumentException("User not found for ID: " + userId)));
 
-        if (gameSession == null) {
-            throw new IllegalArgumentException("Game session not found for ID: " + sessionId);
-        }
+        return gameCommandService.execute(sessionId, () -> {
+            boolean added = addPlayer(sessionId, player, teamIndex);
 
-        if (gameSession.getMaxPlayers() == gameSession.getConnectedUsers().stream().mapToInt(List::size).sum()) {
-            return false;
-        }
+            if (added) {
+                gameEventService.append(sessionId, List.of(GameEvent.of(GameEvent.eventType.JOIN).userId(userId).teamIndex(teamIndex).build()));
+            }
 
-        List<List<User>> connectedUsers = gameSession.getConnectedUsers();
-        List<List<Integer>> votes = gameSession.getVotes();
+            return added;
+        });
+    }
 
-        if (teamIndex < 0 || teamIndex >= connectedUsers.size()) {
-            return false;
-        }
+    /**
+     * Adds a player to the stored game session unless it is full or the player is already connected.
+     *
+     * @param sessionId The UUID of the game session.
+     * @param player    The player to add.
+     * @param teamIndex The index of the team to add the player to.
+     *
+     * @return True if the player was added, otherwise false.
+     */
+    private boolean addPlayer(UUID sessionId, PlayerRef player, int teamIndex) {
+        String userId = player.getId();
 
-        for (List<User> team : connectedUsers) {
-            if (team.stream().anyMatch(user -> user.getId().equals(userId))) {
+        return gameSessionRepository.update(sessionId, gameSession -> {
+            if (gameSession.getMaxPlayers() == gameSession.getConnectedUsers().stream().mapToInt(List::size).sum()) {
                 return false;
             }
-        }
 
-        Optional<User> user = userService.getUserById(userId);
-        User actualUser = user.orElseThrow(() -> new IllegalArgumentException("User not found for ID: " + userId));
+            List<List<PlayerRef>> connectedUsers = gameSession.getConnectedUsers();
+            List<List<Integer>> votes = gameSession.getVotes();
+
+            if (teamIndex < 0 || teamIndex >= connectedUsers.size()) {
+                return false;
+            }
 
-        connectedUsers.get(teamIndex).add(actualUser);
-        votes.get(teamIndex).add(0);
+            for (List<PlayerRef> team : connectedUsers) {
+                if (team.stream().anyMatch(connectedUser -> connectedUser.getId().equals(userId))) {
+                    return false;
+                }
+            }
 
-        gameSessionRepository.save(gameSession);
+            connectedUsers.get(teamIndex).add(player);
+            votes.get(teamIndex).add(0);
 
-        return true;
+            return true;
+        });
     }
 
     /**
@@ -324,7 +488,28 @@ public class DefaultGameSessionService implements GameSessionService {
     }
 
     /**
-     * Removes a player from a game session.
+     * Retrieves one page of lobby rows matching the query.
+     *
+     * @param query The lobby filters and page.
+     *
+     * @return The page of lobby rows with the cursor of the next page.
+     */
+    @Override
+    public GameSessionLobbyPageDTO getLobbyPage(LobbyQuery query) {
+        List<GameSessionJoinGameDTO> sessions = gameSessionRepository.findLobbyPage(query);
+
+        String nextCursor = sessions.size() == query.getLimit()
+                ? sessions.get(sessions.size() - 1).getSessionId().toString()
+                : null;
+
+        return GameSessionLobbyPageDTO.builder()
+                .sessions(sessions)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Removes a player from a game session, on the writer of the game so the leave is logged in order.
      *
      * @param sessionId The UUID of the game session.
      * @param userId    The ID of the user to remove.
@@ -333,63 +518,108 @@ public class DefaultGameSessionService implements GameSessionService {
      */
     @Override
     public boolean removePlayerFromSession(UUID sessionId, String userId) {
-        GameSession gameSession = getGameSessionById(sessionId);
+        return gameCommandService.execute(sessionId, () -> {
+            boolean removed = removePlayer(sessionId, userId);
 
-        if (gameSession == null) {
-            throw new IllegalArgumentException("Game session not found for ID: " + sessionId);
-        }
+            if (removed) {
+                gameEventService.append(sessionId, List.of(GameEvent.of(GameEvent.eventType.LEAVE).userId(userId).build()));
+            }
 
-        List<List<User>> connectedUsers = gameSession.getConnectedUsers();
+            return removed;
+        });
+    }
 
-        if (connectedUsers == null || connectedUsers.isEmpty()) {
-            return false;
-        }
+    /**
+     * Removes a player from the stored game session and hands over their leadership.
+     *
+     * @param sessionId The UUID of the game session.
+     * @param userId    The ID of the user to remove.
+     *
+     * @return True if the player was removed, otherwise false.
+     */
+    private boolean removePlayer(UUID sessionId, String userId) {
+        // The teams left after the removal, or null if the user was not connected
+        List<List<PlayerRef>> remainingTeams = gameSessionRepository.update(sessionId, gameSession -> {
+            List<List<PlayerRef>> connectedUsers = gameSession.getConnectedUsers();
 
-        boolean removed = false;
-        // Remove the user from the first team that contains them
-        for (List<User> team : connectedUsers) {
-            if (team.removeIf(user -> user.getId().equals(userId))) {
-                removed = true;
-                break;
+            if (connectedUsers == null || connectedUsers.isEmpty()) {
+                return null;
+            }
+
+            // Remove the user from the first team that contains them
+            for (List<PlayerRef> team : connectedUsers) {
+                if (team.removeIf(user -> user.getId().equals(userId))) {
+                    return connectedUsers;
+                }
             }
+
+            return null;
+        });
+
+        if (remainingTeams == null) {
+            return false;
         }
 
-        GameState gameState = gameSession.getGameState();
+        List<PlayerRef> redTeamPlayers = remainingTeams.get(0);
 
-        List<User> redTeamPlayers = connectedUsers.get(0);
+        List<PlayerRef> blueTeamPlayers = remainingTeams.get(1);
 
-        List<User> blueTeamPlayers = connectedUsers.get(1);
+        GameState gameState = gameStateRepository.findBySessionId(sessionId).orElse(null);
 
-        if (gameState.getRedTeamLeader() != null && gameState.getRedTeamLeader().getId().equals(userId)) {
-            gameState.setRedTeamLeader(redTeamPlayers.isEmpty() ? null : redTeamPlayers.get(0));
-        }
+        // Only hand over the leadership if the removed user was a leader
+        if (gameState != null && (isUser(gameState.getRedTeamLeader(), userId) || isUser(gameState.getBlueTeamLeader(), userId))) {
+            gameStateRepository.update(sessionId, state -> {
+                if (isUser(state.getRedTeamLeader(), userId)) {
+                    state.setRedTeamLeader(redTeamPlayers.isEmpty() ? null : redTeamPlayers.get(0));
+                }
 
-        if (gameState.getBlueTeamLeader() != null && gameState.getBlueTeamLeader().getId().equals(userId)) {
-            gameState.setBlueTeamLeader(blueTeamPlayers.isEmpty() ? null : blueTeamPlayers.get(0));
-        }
+                if (isUser(state.getBlueTeamLeader(), userId)) {
+                    state.setBlueTeamLeader(blueTeamPlayers.isEmpty() ? null : blueTeamPlayers.get(0));
+                }
 
-        if (removed) {
-            gameSession.setGameState(gameState);
-            gameSessionRepository.save(gameSession);
+                return null;
+            });
         }
 
-        return removed;
+        return true;
+    }
+
+    /**
+     * Checks if the given player has the given ID.
+     *
+     * @param user   The player, may be null.
+     * @param userId The ID to compare with.
+     *
+     * @return True if the user is not null and has the given ID, otherwise false.
+     */
+    private static boolean isUser(PlayerRef user, String userId) {
+        return user != null && user.getId().equals(userId);
     }
 
     /**
-     * Reveal a card.
+     * Reveal a card, written and sent to the clients by the writer of the game.
      *
      * @param gameId    id of the game
      * @param cardIndex index of the card chosen
      */
     @Override
     public void revealCard(UUID gameId, String cardIndex) {
-        GameSession gameSession = gameSessionRepository.findBySessionId(gameId)
-                .orElseThrow(() -> new RuntimeException("Session not found"));
+        int chosenCardIndex = Integer.parseInt(cardIndex);
 
-        gameStateService.cardsChosen(gameSession, Integer.parseInt(cardIndex));
+        // Votes cast before the reveal are written before the reveal may clear them
+        cardVoteAggregator.flush(gameId);
+        GameEvent event = GameEvent.of(GameEvent.eventType.REVEAL).cardIndex(chosenCardIndex).build();
 
-        gameSessionRepository.save(gameSession);
+        boolean turnChanged = gameCommandService.updateState(gameId, event, gameState -> {
+            boolean hintTurn = gameState.isHintTurn();
+            DefaultGameStateService.applyCardChosen(gameState, chosenCardIndex);
+            return hintTurn != gameState.isHintTurn();
+        });
+
+        // A wrong card ends the turn like a turn change does
+        if (turnChanged) {
+            gameTimerService.schedule(gameId, GameTimer.timerType.TURN_LIMIT);
+        }
     }
 
     /**
@@ -402,10 +632,10 @@ public class DefaultGameSessionService implements GameSessionService {
      */
     @Override
     public boolean isPlayerInSession(UUID gameId, String userId) {
-        GameSession gameSession = gameSessionRepository.findBySessionId(gameId)
+        GameSession gameSession = gameSessionRepository.findMetadataBySessionId(gameId)
                 .orElseThrow(() -> new RuntimeException("Session not found"));
 
-        for (List<User> team : gameSession.getConnectedUsers()) {
+        for (List<PlayerRef> team : gameSession.getConnectedUsers()) {
             if (team.stream().anyMatch(user -> user.getId().equals(userId))) {
                 return true;
             }
@@ -421,7 +651,7 @@ public class DefaultGameSessionService implements GameSessionService {
      */
     @Override
     public Optional<LeaderVoteState> getLeaderVoteState(UUID gameId) {
-        Optional<GameSession> gameSession = gameSessionRepository.findBySessionId(gameId);
+        Optional<GameSession> gameSession = gameSessionRepository.findMetadataBySessionId(gameId);
 
         if (gameSession.isEmpty()) {
             return Optional.empty();
@@ -443,5 +673,21 @@ public class DefaultGameSessionService implements GameSessionService {
 
         return Optional.of(state);
     }
-}
 
+    /**
+     * Deletes a game session together with its game state and the state kept for it on the side,
+     * e.g. when the session was abandoned. Caches of this member are dropped directly,
+     * the other members drop theirs when they run the same cleanup or find the session gone.
+     *
+     * @param gameId The UUID of the game session.
+     */
+    @Override
+    public void deleteGameSession(UUID gameId) {
+        gameSessionRepository.deleteById(gameId);
+        gameTimerService.cancelAll(gameId);
+        cardVoteAggregator.forget(gameId);
+        gameEventService.forget(gameId);
+        gameViewService.forget(gameId);
+        socketService.forgetGameSession(gameId);
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.codenames.gameSession.service.impl;
+
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.GameViewRole;
+import org.example.codenames.gameSession.repository.api.GameSessionRepository;
+import org.example.codenames.gameSession.service.api.GameViewAccessService;
+import org.example.codenames.jwt.JwtService;
+import org.example.codenames.user.entity.User;
+import org.example.codenames.user.service.api.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Default implementation of the {@link GameViewAccessService}.
+ * The role is always derived from the token of the request, never from an id sent by the client,
+ * so only the team leaders themselves receive the spymaster view.
+ */
+@Slf4j
+@Service
+public class DefaultGameViewAccessService implements GameViewAccessService {
+    /**
+     * Prefix of the authorization header carrying the token.
+     */
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * Service validating the tokens.
+     */
+    private final JwtService jwtService;
+
+    /**
+     * Service resolving the users of the tokens.
+     */
+    private final UserService userService;
+
+    /**
+     * Game session repository.
+     */
+    private final GameSessionRepository gameSessionRepository;
+
+    /**
+     * Creates a new instance of the {@link DefaultGameViewAccessService}.
+     *
+     * @param jwtService            Service validating the tokens
+     * @param userService           Service resolving the users of the tokens
+     * @param gameSessionRepository Game session repository
+     */
+    @Autowired
+    public DefaultGameViewAccessService(JwtService jwtService, UserService userService, GameSessionRepository gameSessionRepository) {
+        this.jwtService = jwtService;
+        this.userService = userService;
+        this.gameSessionRepository = gameSessionRepository;
+    }
+
+    /**
+     * Returns the id of the user the token of a request belongs to.
+     *
+     * @param authorization The authorization header of the request, or null.
+     * @return the id of the user, or null if the token is missing or invalid
+     */
+    @Override
+    public String getAuthenticatedUserId(String authorization) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+
+        try {
+            String username = jwtService.getUsernameFromToken(authorization.substring(BEARER_PREFIX.length()));
+
+            return userService.getUserByUsername(username).map(User::getId).orElse(null);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Rejected the token of a game view request", e);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the role of the authenticated user in a game session, spymaster for both team leaders.
+     *
+     * @param gameSession   The game session with its game state attached.
+     * @param authorization The authorization header of the request, or null.
+     * @return the role, operative if the user is not authenticated
+     */
+    @Override
+    public GameViewRole getViewRole(GameSession gameSession, String authorization) {
+        return GameViewRole.of(gameSession, getAuthenticatedUserId(authorization));
+    }
+
+    /**
+     * Returns the role of the authenticated user in a game session, spymaster for both team leaders.
+     *
+     * @param gameId        The ID of the game session.
+     * @param authorization The authorization header of the request, or null.
+     * @return the role, operative if the user is not authenticated
+     * @throws IllegalArgumentException if the game session does not exist
+     */
+    @Override
+    public GameViewRole getViewRole(UUID gameId, String authorization) {
+        GameSession gameSession = gameSessionRepository.findBySessionId(gameId)
+                .orElseThrow(() -> new IllegalArgumentException("Game session not found for ID: " + gameId));
+
+        return getViewRole(gameSession, authorization);
+    }
+}
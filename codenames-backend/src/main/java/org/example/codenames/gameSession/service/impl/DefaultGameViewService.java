@@ -0,0 +1,222 @@
+package org.example.codenames.gameSession.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.GameView;
+import org.example.codenames.gameSession.entity.GameViewRole;
+import org.example.codenames.gameSession.service.api.GameViewService;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Default implementation of the {@link GameViewService}.
+ * Every version of a game session is rendered once into a spymaster and an operative view, each serialized once.
+ * The views of the latest version of each game are kept until a newer version is rendered or the game is forgotten.
+ * Neither view carries the session password or the Discord channel id, the operative view only carries the colors of revealed cards.
+ */
+@Service
+public class DefaultGameViewService implements GameViewService {
+    /**
+     * Fields of the game session never sent to clients.
+     */
+    private static final List<String> HIDDEN_FIELDS = List.of("password", "discordChannelId");
+
+    /**
+     * Color sent to operatives for cards not revealed yet, the neutral color.
+     */
+    private static final int UNKNOWN_COLOR = 0;
+
+    /**
+     * Number of low bits of the combined version holding the game state version.
+     */
+    private static final int STATE_VERSION_BITS = 32;
+
+    /**
+     * Mask of the game state version in the combined version.
+     */
+    private static final long STATE_VERSION_MASK = (1L << STATE_VERSION_BITS) - 1;
+
+    /**
+     * Object mapper used to build and serialize the views.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Views of the latest rendered version of each game session.
+     */
+    private final Map<UUID, Map<GameViewRole, GameView>> views = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the version sent to clients, identifying the pair of the session metadata version and the game state version.
+     * The session version takes the high bits and the game state version the low bits, so different pairs never share a version
+     * and a version newer in both records is always greater.
+     *
+     * @param gameSession The game session with its game state attached.
+     * @return the combined version of the game session
+     */
+    @Override
+    public long versionOf(GameSession gameSession) {
+        long stateVersion = gameSession.getGameState() != null ? gameSession.getGameState().getVersion() : 0L;
+
+        return (gameSession.getVersion() << STATE_VERSION_BITS) | (stateVersion & STATE_VERSION_MASK);
+    }
+
+    /**
+     * Checks whether a combined version is newer than another one, not older in either record and different in at least one.
+     * The two records are read separately, so of two reads each can be newer in a different record, then neither is newer.
+     *
+     * @param version The combined version to check.
+     * @param than    The combined version to compare with.
+     * @return true if the version is newer
+     */
+    @Override
+    public boolean isNewer(long version, long than) {
+        return version != than
+                && version >>> STATE_VERSION_BITS >= than >>> STATE_VERSION_BITS
+                && (version & STATE_VERSION_MASK) >= (than & STATE_VERSION_MASK);
+    }
+
+    /**
+     * Converts the game session to a tree carrying the combined version, the source of its views.
+     *
+     * @param gameSession The game session with its game state attached.
+     * @return the game session tree
+     */
+    @Override
+    public JsonNode toTree(GameSession gameSession) {
+        ObjectNode gameSessionTree = objectMapper.valueToTree(gameSession);
+        gameSessionTree.put("version", versionOf(gameSession));
+
+        return gameSessionTree;
+    }
+
+    /**
+     * Returns the views of a version of a game session, rendering them only if that version is not cached.
+     * A version not newer than the cached one is rendered without replacing the cache.
+     *
+     * @param gameId          The ID of the game session.
+     * @param version         The combined version of the game session.
+     * @param gameSessionTree The game session tree, which is not modified.
+     * @return the view of every role
+     */
+    @Override
+    public Map<GameViewRole, GameView> render(UUID gameId, long version, JsonNode gameSessionTree) {
+        Map<GameViewRole, GameView> cached = views.get(gameId);
+
+        if (cached != null && versionOf(cached) == version) {
+            return cached;
+        }
+
+        Map<GameViewRole, GameView> rendered = renderViews(version, gameSessionTree);
+        views.merge(gameId, rendered, (current, next) -> isNewer(versionOf(next), versionOf(current)) ? next : current);
+
+        return rendered;
+    }
+
+    /**
+     * Returns the view of a game session for one role.
+     *
+     * @param gameSession The game session with its game state attached.
+     * @param role        The role of the requesting user.
+     * @return the view of the role
+     */
+    @Override
+    public GameView getView(GameSession gameSession, GameViewRole role) {
+        long version = versionOf(gameSession);
+        Map<GameViewRole, GameView> cached = views.get(gameSession.getSessionId());
+
+        if (cached != null && versionOf(cached) == version) {
+            return cached.get(role);
+        }
+
+        return render(gameSession.getSessionId(), version, toTree(gameSession)).get(role);
+    }
+
+    /**
+     * Drops the cached views of a game session, e.g. after the game has finished.
+     *
+     * @param gameId The ID of the game session.
+     */
+    @Override
+    public void forget(UUID gameId) {
+        views.remove(gameId);
+    }
+
+    /**
+     * Renders and serializes the view of every role.
+     *
+     * @param version         The combined version of the game session.
+     * @param gameSessionTree The game session tree.
+     * @return the view of every role
+     */
+    private Map<GameViewRole, GameView> renderViews(long version, JsonNode gameSessionTree) {
+        ObjectNode spymasterTree = gameSessionTree.deepCopy();
+        spymasterTree.remove(HIDDEN_FIELDS);
+
+        ObjectNode operativeTree = spymasterTree.deepCopy();
+        maskUnrevealedColors(operativeTree);
+
+        Map<GameViewRole, GameView> rendered = new EnumMap<>(GameViewRole.class);
+        rendered.put(GameViewRole.SPYMASTER, serialize(GameViewRole.SPYMASTER, version, spymasterTree));
+        rendered.put(GameViewRole.OPERATIVE, serialize(GameViewRole.OPERATIVE, version, operativeTree));
+
+        return Collections.unmodifiableMap(rendered);
+    }
+
+    /**
+     * Replaces the colors of the cards not revealed yet with the neutral color.
+     *
+     * @param viewTree The view tree to modify.
+     */
+    private static void maskUnrevealedColors(ObjectNode viewTree) {
+        JsonNode gameState = viewTree.path("gameState");
+
+        if (!(gameState.get("cardsColors") instanceof ArrayNode colors)) {
+            return;
+        }
+
+        Set<Integer> revealed = new HashSet<>();
+        gameState.path("cardsChosen").forEach(card -> revealed.add(card.asInt()));
+
+        for (int card = 0; card < colors.size(); card++) {
+            if (!revealed.contains(card)) {
+                colors.set(card, colors.numberNode(UNKNOWN_COLOR));
+            }
+        }
+    }
+
+    /**
+     * Serializes a view tree once.
+     *
+     * @param role     The role of the view.
+     * @param version  The combined version of the game session.
+     * @param viewTree The view tree.
+     * @return the serialized view
+     */
+    private GameView serialize(GameViewRole role, long version, JsonNode viewTree) {
+        try {
+            String json = objectMapper.writeValueAsString(viewTree);
+
+            return new GameView(role, version, viewTree, json, json.getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the " + role + " view", e);
+        }
+    }
+
+    private static long versionOf(Map<GameViewRole, GameView> rendered) {
+        return rendered.get(GameViewRole.SPYMASTER).getVersion();
+    }
+}
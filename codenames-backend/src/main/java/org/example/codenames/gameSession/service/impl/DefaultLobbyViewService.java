@@ -0,0 +1,412 @@
+package org.example.codenames.gameSession.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.LobbyDelta;
+import org.example.codenames.gameSession.entity.LobbySnapshot;
+import org.example.codenames.gameSession.entity.dto.GameSessionJoinGameDTO;
+import org.example.codenames.gameSession.entity.dto.GameSessionLobbySnapshotDTO;
+import org.example.codenames.gameSession.repository.api.GameSessionRepository;
+import org.example.codenames.gameSession.service.api.LobbyViewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.example.codenames.gameSession.entity.dto.GameSessionMapper.toJoinGameDTO;
+
+/**
+ * Default implementation of the {@link LobbyViewService}.
+ * Keeps one lobby row per game session, updated incrementally from game session map events,
+ * and serializes the whole list at most once per lobby version.
+ * Changed rows are collected on every member, only the owner of the lobby drains them as lobby deltas,
+ * numbered with the sequence shared by the whole cluster, the other members discard them.
+ */
+@Slf4j
+@Service
+public class DefaultLobbyViewService implements LobbyViewService {
+    /**
+     * Time in milliseconds a removed row is remembered, longer than any read of its session can be in flight.
+     */
+    private static final long TOMBSTONE_TTL_MS = 60_000;
+
+    /**
+     * Game session repository.
+     */
+    private final GameSessionRepository gameSessionRepository;
+
+    /**
+     * Object mapper used to serialize the lobby list.
+     */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Lobby rows keyed by session id, ordered like the lobby pages.
+     */
+    private final ConcurrentNavigableMap<String, GameSessionJoinGameDTO> rows = new ConcurrentSkipListMap<>();
+
+    /**
+     * Guards storing rows and their versions, so an older session never overwrites a newer one.
+     */
+    private final Object rowsLock = new Object();
+
+    /**
+     * Version of the session each row was mapped from, rows loaded at startup have none.
+     * Guarded by {@link #rowsLock}.
+     */
+    private final Map<String, Long> rowVersions = new HashMap<>();
+
+    /**
+     * Removal time of each recently removed row, oldest first. Session ids are never reused,
+     * so a session read before its removal never brings the row back. Guarded by {@link #rowsLock}.
+     */
+    private final Map<String, Long> removedRows = new LinkedHashMap<>();
+
+    /**
+     * Current lobby version.
+     */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Rows changed since the last drain, mapped to whether the row existed at the last drain.
+     * Guarded by {@link #rowsLock}.
+     */
+    private final Map<String, Boolean> changedRows = new LinkedHashMap<>();
+
+    /**
+     * Whether this member emitted the lobby deltas at the last drain. Guarded by {@link #rowsLock}.
+     */
+    private boolean emitting;
+
+    /**
+     * Random prefix of the entity tags, so tags of different instances or restarts never collide.
+     */
+    private final String eTagPrefix = Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+    /**
+     * Last serialized lobby.
+     */
+    private volatile LobbySnapshot snapshot;
+
+    /**
+     * Id of the game session map listener registration.
+     */
+    private UUID listenerRegistration;
+
+    /**
+     * Creates a new instance of the {@link DefaultLobbyViewService}.
+     *
+     * @param gameSessionRepository Game session repository
+     */
+    @Autowired
+    public DefaultLobbyViewService(GameSessionRepository gameSessionRepository) {
+        this.gameSessionRepository = gameSessionRepository;
+    }
+
+    /**
+     * Subscribes to game session changes and loads the current lobby.
+     * The listener is registered first, so no change between the two steps is missed.
+     * Events carry the changed session, so rows are mapped from them without querying the cluster.
+     */
+    @PostConstruct
+    public void initialize() {
+        listenerRegistration = gameSessionRepository.addEntryListener(new LobbyRowListener(), true);
+
+        synchronized (rowsLock) {
+            for (GameSessionJoinGameDTO row : gameSessionRepository.findAllLobbySessions()) {
+                if (rows.putIfAbsent(row.getSessionId().toString(), row) == null) {
+                    version.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    /**
+     * Unsubscribes from game session changes.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (listenerRegistration != null) {
+            gameSessionRepository.removeEntryListener(listenerRegistration);
+        }
+    }
+
+    /**
+     * Returns the serialized lobby, serializing it first if it changed since the last call.
+     *
+     * @return the current lobby snapshot
+     */
+    @Override
+    public LobbySnapshot getSnapshot() {
+        LobbySnapshot current = snapshot;
+
+        if (current != null && current.getVersion() == version.get()) {
+            return current;
+        }
+
+        synchronized (this) {
+            long currentVersion = version.get();
+
+            if (snapshot == null || snapshot.getVersion() != currentVersion) {
+                snapshot = serialize(currentVersion);
+            }
+
+            return snapshot;
+        }
+    }
+
+    /**
+     * Returns all lobby rows together with the sequence number of the last drained delta.
+     * The sequence is read first, so rows changed after that delta are already included, their deltas are safe to apply again.
+     *
+     * @return the lobby rows and the lobby sequence number
+     */
+    @Override
+    public GameSessionLobbySnapshotDTO getSequencedSnapshot() {
+        long sequence = gameSessionRepository.getLobbySequence();
+
+        synchronized (rowsLock) {
+            return GameSessionLobbySnapshotDTO.builder()
+                    .sequence(sequence)
+                    .sessions(new ArrayList<>(rows.values()))
+                    .build();
+        }
+    }
+
+    /**
+     * Reloads the lobby row of a game session right away,
+     * so that a broadcast following a change does not wait for the map event.
+     * The session is read through the near cache before taking the lock.
+     *
+     * @param sessionId The UUID of the game session.
+     */
+    @Override
+    public void refresh(UUID sessionId) {
+        Optional<GameSession> session = gameSessionRepository.findMetadataBySessionId(sessionId);
+
+        if (session.isPresent()) {
+            update(session.get());
+        } else {
+            remove(sessionId.toString());
+        }
+    }
+
+    /**
+     * Returns one delta for every row changed since the last drain, numbered with consecutive sequence numbers.
+     * Several changes of the same row are reported once, with its latest state.
+     * Only the owner of the lobby returns deltas, so every change is emitted once by the cluster.
+     * A member taking the lobby over skips a sequence number, the gap makes clients reload the lobby
+     * instead of missing the changes discarded before.
+     *
+     * @return the lobby deltas in sequence order, empty if nothing changed or another member emits them
+     */
+    @Override
+    public List<LobbyDelta> drainDeltas() {
+        boolean owner = gameSessionRepository.isLobbyOwner();
+
+        synchronized (rowsLock) {
+            if (!owner) {
+                emitting = false;
+                changedRows.clear();
+                return List.of();
+            }
+
+            if (!emitting) {
+                emitting = true;
+                gameSessionRepository.reserveLobbySequences(1);
+            }
+
+            if (changedRows.isEmpty()) {
+                return List.of();
+            }
+
+            List<Map.Entry<String, Boolean>> emitted = new ArrayList<>(changedRows.size());
+
+            for (Map.Entry<String, Boolean> changed : changedRows.entrySet()) {
+                // Added and removed again within one drain, clients never saw it
+                if (rows.containsKey(changed.getKey()) || changed.getValue()) {
+                    emitted.add(changed);
+                }
+            }
+
+            List<LobbyDelta> deltas = new ArrayList<>(emitted.size());
+            long sequence = emitted.isEmpty() ? 0 : gameSessionRepository.reserveLobbySequences(emitted.size()) - emitted.size();
+
+            for (Map.Entry<String, Boolean> changed : emitted) {
+                GameSessionJoinGameDTO row = rows.get(changed.getKey());
+                LobbyDelta.deltaType type = row == null ? LobbyDelta.deltaType.REMOVED
+                        : changed.getValue() ? LobbyDelta.deltaType.UPDATED : LobbyDelta.deltaType.ADDED;
+
+                deltas.add(new LobbyDelta(type, ++sequence, UUID.fromString(changed.getKey()), row));
+            }
+
+            changedRows.clear();
+
+            return deltas;
+        }
+    }
+
+    /**
+     * Stores the lobby row of a changed game session, unless the row was already mapped from a newer version or removed.
+     *
+     * @param session the changed game session
+     */
+    private void update(GameSession session) {
+        String key = session.getSessionId().toString();
+        GameSessionJoinGameDTO row = toJoinGameDTO(session);
+
+        synchronized (rowsLock) {
+            Long stored = rowVersions.get(key);
+
+            if (removedRows.containsKey(key) || stored != null && stored > session.getVersion()) {
+                return;
+            }
+
+            rowVersions.put(key, session.getVersion());
+            apply(key, Optional.of(row));
+        }
+    }
+
+    /**
+     * Drops the lobby row of a removed game session, remembering the removal for a while.
+     *
+     * @param key the session id
+     */
+    private void remove(String key) {
+        synchronized (rowsLock) {
+            rowVersions.remove(key);
+            bury(key);
+            apply(key, Optional.empty());
+        }
+    }
+
+    /**
+     * Remembers the removal of a row and forgets the removals older than {@link #TOMBSTONE_TTL_MS}.
+     * Called with {@link #rowsLock} held.
+     *
+     * @param key the session id
+     */
+    private void bury(String key) {
+        long now = System.currentTimeMillis();
+        Iterator<Long> removedAt = removedRows.values().iterator();
+
+        while (removedAt.hasNext() && removedAt.next() < now - TOMBSTONE_TTL_MS) {
+            removedAt.remove();
+        }
+
+        removedRows.remove(key);
+        removedRows.put(key, now);
+    }
+
+    /**
+     * Stores the new lobby row of a session and bumps the version if the row changed.
+     *
+     * @param key the session id
+     * @param row the new row, or empty if the session was removed
+     */
+    private void apply(String key, Optional<GameSessionJoinGameDTO> row) {
+        GameSessionJoinGameDTO previous = row.isPresent() ? rows.put(key, row.get()) : rows.remove(key);
+
+        if (!Objects.equals(previous, row.orElse(null))) {
+            version.incrementAndGet();
+            changedRows.putIfAbsent(key, previous != null);
+        }
+    }
+
+    /**
+     * Serializes the current lobby rows.
+     *
+     * @param currentVersion the version the rows belong to
+     * @return the lobby snapshot
+     */
+    private LobbySnapshot serialize(long currentVersion) {
+        try {
+            String json = objectMapper.writeValueAsString(new ArrayList<>(rows.values()));
+
+            return new LobbySnapshot(
+                    currentVersion,
+                    "\"lobby-" + eTagPrefix + "-" + currentVersion + "\"",
+                    rows.size(),
+                    json,
+                    json.getBytes(StandardCharsets.UTF_8)
+            );
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the lobby", e);
+        }
+    }
+
+    /**
+     * Listener keeping the lobby rows in sync with the game session map.
+     * Rows are mapped from the session carried by the event, the lock is held only to store them.
+     */
+    private class LobbyRowListener implements EntryAddedListener<String, GameSession>, EntryUpdatedListener<String, GameSession>,
+            EntryRemovedListener<String, GameSession>, EntryEvictedListener<String, GameSession>,
+            EntryExpiredListener<String, GameSession>, MapClearedListener {
+
+        @Override
+        public void entryAdded(EntryEvent<String, GameSession> event) {
+            update(event.getValue());
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<String, GameSession> event) {
+            update(event.getValue());
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<String, GameSession> event) {
+            remove(event.getKey());
+        }
+
+        @Override
+        public void entryEvicted(EntryEvent<String, GameSession> event) {
+            remove(event.getKey());
+        }
+
+        @Override
+        public void entryExpired(EntryEvent<String, GameSession> event) {
+            remove(event.getKey());
+        }
+
+        @Override
+        public void mapCleared(MapEvent event) {
+            log.info("Game sessions map cleared, emptying the lobby view.");
+
+            synchronized (rowsLock) {
+                for (String key : rows.keySet()) {
+                    changedRows.putIfAbsent(key, true);
+                    bury(key);
+                }
+
+                rows.clear();
+                rowVersions.clear();
+                version.incrementAndGet();
+            }
+        }
+    }
+}
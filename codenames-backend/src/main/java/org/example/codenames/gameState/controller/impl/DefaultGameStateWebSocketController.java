@@ -2,8 +2,6 @@ package org.example.codenames.gameState.controller.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.AllArgsConstructor;
-import org.example.codenames.gameSession.entity.GameSession;
-import org.example.codenames.gameSession.repository.api.GameSessionRepository;
 import org.example.codenames.gameSession.service.api.GameSessionService;
 import org.example.codenames.gameState.controller.api.GameSateWebSocketController;
 import org.example.codenames.gameState.entity.CardsVoteRequest;
@@ -28,11 +26,6 @@ public class DefaultGameStateWebSocketController implements GameSateWebSocketCon
      */
     private final GameStateService gameStateService;
 
-    /**
-     * The GameSessionRepository instance used to interact with the game session database
-     */
-    private final GameSessionRepository gameSessionRepository;
-
     /**
      * The SocketService instance used to send messages to connected clients
      */
@@ -49,14 +42,9 @@ public class DefaultGameStateWebSocketController implements GameSateWebSocketCon
     @Override
     @PostMapping("/{gameId}/vote-cards")
     public ResponseEntity<?> submitVotes(@PathVariable UUID gameId, @RequestBody CardsVoteRequest voteRequest) throws JsonProcessingException {
+        // The votes are aggregated and sent to all clients with the next flush
         gameStateService.updateVotes(gameId, voteRequest);
 
-        GameSession gameSession = gameSessionRepository.findBySessionId(gameId).orElseThrow(() ->
-                new IllegalArgumentException("Game with an ID of " + gameId + " does not exist."));
-
-        // Send the game session to all clients
-        socketService.sendGameSessionUpdate(gameId, gameSession);
-
         return ResponseEntity.ok("Votes submitted successfully, sent to game");
     }
 }
@@ -0,0 +1,31 @@
+package org.example.codenames.gameState.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Board of a game, stored next to the cards and colors it was expanded to.
+ * The same board always expands to the same cards in the same colors, so a board also reproduces a game.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class Board {
+    /**
+     * Language of the card names
+     */
+    private final String language;
+
+    /**
+     * Version of the cards the board was drawn from
+     */
+    private final long deckVersion;
+
+    /**
+     * Seed of the random draw of the cards and their colors
+     */
+    private final long seed;
+}
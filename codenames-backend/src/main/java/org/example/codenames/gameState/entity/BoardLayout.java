@@ -0,0 +1,22 @@
+package org.example.codenames.gameState.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Cards and colors a board expands to, shared by every game state of the board and not to be modified.
+ * The cards are indexes into the deck of the board.
+ */
+@Getter
+@AllArgsConstructor
+public class BoardLayout {
+    /**
+     * Cards in the game, as indexes into the deck
+     */
+    private final short[] cardIndexes;
+
+    /**
+     * Cards colors: 0 neutral, 1 red, 2 blue, 3 assassin
+     */
+    private final byte[] cardsColors;
+}
@@ -1,12 +1,13 @@
 package org.example.codenames.gameState.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
-import org.example.codenames.user.entity.User;
-
-import java.util.List;
+import org.example.codenames.user.entity.PlayerRef;
 
 /**
  * GameState entity
@@ -19,17 +20,17 @@ public class GameState {
     /**
      * Blue team leader
      */
-    private User blueTeamLeader;
+    private PlayerRef blueTeamLeader;
 
     /**
      * Red team leader
      */
-    private User redTeamLeader;
+    private PlayerRef redTeamLeader;
 
     /**
      * Leader with privilege to select cards
      */
-    private User currentSelectionLeader;
+    private PlayerRef currentSelectionLeader;
 
     /**
      * Blue team score
@@ -47,24 +48,33 @@ public class GameState {
     private Integer teamTurn = 1;
 
     /**
-     * Cards in the game
+     * Board the cards and colors were expanded from, null for game states without one.
+     * Never sent to clients, as it reveals the colors of all cards.
      */
-    private String[] cards;
+    @JsonIgnore
+    private Board board;
 
     /**
-     * Cards colors
+     * Cards in the game, as indexes into the card dictionary of the board
      */
-    private Integer[] cardsColors;
+    private short[] cardIndexes;
+
+    /**
+     * Cards colors: 0 neutral, 1 red, 2 blue, 3 assassin
+     */
+    @JsonIgnore
+    private byte[] cardsColors;
 
     /**
      * Votes for cards
      */
-    private List<Integer> cardsVotes;
+    private int[] cardsVotes;
 
     /**
-     * Cards chosen to be revealed
+     * Cards chosen to be revealed, bit i is set once card i was revealed (boards of up to 64 cards)
      */
-    private List<Integer> cardsChosen;
+    @JsonIgnore
+    private long revealedCards;
 
     /**
      * Hint
@@ -90,4 +100,102 @@ public class GameState {
      * Is guessing turn
      */
     private boolean isGuessingTurn = false;
+
+    /**
+     * Version of the game state, incremented on every update of the stored game state
+     */
+    @JsonIgnore
+    private long version;
+
+    /**
+     * Returns the cards colors as numbers, the form sent to clients
+     *
+     * @return the cards colors
+     */
+    @JsonProperty("cardsColors")
+    public int[] getCardsColorsAsInts() {
+        if (cardsColors == null) {
+            return null;
+        }
+
+        int[] colors = new int[cardsColors.length];
+
+        for (int i = 0; i < cardsColors.length; i++) {
+            colors[i] = cardsColors[i];
+        }
+
+        return colors;
+    }
+
+    /**
+     * Returns the language of the card dictionary the card indexes point into, the form sent to clients
+     *
+     * @return the language, null if the game state has no board
+     */
+    @JsonProperty("dictionaryLanguage")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getDictionaryLanguage() {
+        return board != null ? board.getLanguage() : null;
+    }
+
+    /**
+     * Returns the version of the card dictionary the card indexes point into, the form sent to clients.
+     * Hexadecimal, as JavaScript numbers cannot hold every 64-bit version.
+     *
+     * @return the version, null if the game state has no board
+     */
+    @JsonProperty("dictionaryVersion")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getDictionaryVersion() {
+        return board != null ? Long.toHexString(board.getDeckVersion()) : null;
+    }
+
+    /**
+     * Returns the indexes of the revealed cards in ascending order, the form sent to clients
+     *
+     * @return the indexes of the revealed cards
+     */
+    @JsonProperty("cardsChosen")
+    public int[] getCardsChosen() {
+        int[] chosen = new int[Long.bitCount(revealedCards)];
+        long remaining = revealedCards;
+
+        for (int i = 0; i < chosen.length; i++) {
+            chosen[i] = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+        }
+
+        return chosen;
+    }
+
+    /**
+     * Sets the board and the cards and colors it expands to
+     *
+     * @param board  the board
+     * @param layout the cards and colors of the board
+     */
+    public void setBoard(Board board, BoardLayout layout) {
+        this.board = board;
+        this.cardIndexes = layout.getCardIndexes();
+        this.cardsColors = layout.getCardsColors();
+    }
+
+    /**
+     * Marks a card as revealed
+     *
+     * @param cardIndex the index of the card
+     */
+    public void revealCard(int cardIndex) {
+        revealedCards |= 1L << cardIndex;
+    }
+
+    /**
+     * Checks if a card was revealed
+     *
+     * @param cardIndex the index of the card
+     * @return true if the card was revealed
+     */
+    public boolean isCardRevealed(int cardIndex) {
+        return (revealedCards & (1L << cardIndex)) != 0;
+    }
 }
@@ -0,0 +1,22 @@
+package org.example.codenames.gameState.repository.api;
+
+import org.example.codenames.gameState.entity.GameState;
+
+import java.io.Serializable;
+
+/**
+ * In-place mutation of a game state, executed on the cluster member that owns the game state entry.
+ * Mutations are shipped to that member, so they may only capture serializable values.
+ *
+ * @param <R> type of the result returned to the caller
+ */
+@FunctionalInterface
+public interface GameStateMutation<R> extends Serializable {
+    /**
+     * Applies the mutation to the stored game state.
+     *
+     * @param gameState the current game state, modified in place
+     * @return the result returned to the caller
+     */
+    R apply(GameState gameState);
+}
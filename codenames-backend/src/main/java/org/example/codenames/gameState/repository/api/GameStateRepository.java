@@ -0,0 +1,73 @@
+package org.example.codenames.gameState.repository.api;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.example.codenames.gameState.entity.GameState;
+import org.example.codenames.hazelcast.entryProcessors.GameStateUpdateEntryProcessor;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+/**
+ * Repository for GameState entity.
+ * Game states are keyed by the id of their game session, so both records of a game live in the same partition.
+ */
+@Repository
+public class GameStateRepository {
+
+    private final IMap<String, GameState> gameStateMap;
+
+    public GameStateRepository(HazelcastInstance hazelcastInstance) {
+        this.gameStateMap = hazelcastInstance.getMap("gameStateMap");
+    }
+
+    public void save(UUID sessionId, GameState gameState) {
+        gameStateMap.put(sessionId.toString(), gameState);
+    }
+
+    /**
+     * Atomically applies a mutation to the stored game state on the member owning its partition.
+     * The session metadata is neither read nor written, so its version and lobby row stay untouched.
+     *
+     * @param sessionId the id of the game session
+     * @param mutation  the mutation to apply
+     * @param <R>       type of the mutation result
+     * @return the mutation result
+     * @throws IllegalArgumentException if the game state does not exist
+     */
+    public <R> R update(UUID sessionId, GameStateMutation<R> mutation) {
+        return gameStateMap.executeOnKey(sessionId.toString(), new GameStateUpdateEntryProcessor<>(mutation));
+    }
+
+    public Optional<GameState> findBySessionId(UUID sessionId) {
+        return Optional.ofNullable(gameStateMap.get(sessionId.toString()));
+    }
+
+    /**
+     * Checks whether a game state is stored, without transferring it.
+     *
+     * @param sessionId the id of the game session
+     * @return true if the game state exists
+     */
+    public boolean existsBySessionId(UUID sessionId) {
+        return gameStateMap.containsKey(sessionId.toString());
+    }
+
+    /**
+     * Finds the game states of several game sessions in one call.
+     *
+     * @param sessionIds the ids of the game sessions
+     * @return the game states keyed by session id, sessions without a game state are missing
+     */
+    public Map<String, GameState> findAllBySessionIds(Set<String> sessionIds) {
+        return gameStateMap.getAll(sessionIds);
+    }
+
+    public void deleteById(UUID sessionId) {
+        gameStateMap.remove(sessionId.toString());
+    }
+
+    public void deleteAll() {
+        gameStateMap.clear();
+    }
+}
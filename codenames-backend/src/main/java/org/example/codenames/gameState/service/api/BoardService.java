@@ -0,0 +1,13 @@
+package org.example.codenames.gameState.service.api;
+
+import org.example.codenames.gameState.entity.Board;
+import org.example.codenames.gameState.entity.BoardLayout;
+
+/**
+ * Service drawing boards and expanding them to their cards and colors.
+ */
+public interface BoardService {
+    Board newBoard(String language);
+
+    BoardLayout expand(Board board);
+}
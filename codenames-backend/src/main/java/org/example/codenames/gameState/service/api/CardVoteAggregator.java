@@ -0,0 +1,16 @@
+package org.example.codenames.gameState.service.api;
+
+import java.util.UUID;
+
+/**
+ * Aggregates the card votes of the operatives in memory, written to the game state and emitted periodically.
+ */
+public interface CardVoteAggregator {
+    void addVote(UUID gameId, int cardIndex, boolean addingVote);
+
+    void flush();
+
+    void flush(UUID gameId);
+
+    void forget(UUID gameId);
+}
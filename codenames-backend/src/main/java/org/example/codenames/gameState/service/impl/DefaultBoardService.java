@@ -0,0 +1,126 @@
+package org.example.codenames.gameState.service.impl;
+
+import org.example.codenames.card.entity.CardDeck;
+import org.example.codenames.card.service.api.CardService;
+import org.example.codenames.gameState.entity.Board;
+import org.example.codenames.gameState.entity.BoardLayout;
+import org.example.codenames.gameState.service.api.BoardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Default implementation of the {@link BoardService}.
+ * A board is expanded with a {@link SplittableRandom} seeded by the board, whose sequence is the same on every JVM,
+ * so every instance expands a board to the same cards and colors.
+ * A board is expanded once, when it is drawn, game states store its cards and colors next to it.
+ */
+@Service
+public class DefaultBoardService implements BoardService {
+    /**
+     * Number of red cards, the starting team
+     */
+    private static final int CARDS_RED = 9;
+
+    /**
+     * Number of blue cards
+     */
+    private static final int CARDS_BLUE = 8;
+
+    /**
+     * The service holding the card decks.
+     */
+    private final CardService cardService;
+
+    /**
+     * Number of cards on a board.
+     */
+    private final int cardsTotal;
+
+    /**
+     * Constructs a new DefaultBoardService.
+     *
+     * @param cardService the service holding the card decks
+     * @param cardsTotal  the number of cards on a board
+     */
+    @Autowired
+    public DefaultBoardService(CardService cardService, @Value("${codenames.game.cards-total}") int cardsTotal) {
+        this.cardService = cardService;
+        this.cardsTotal = cardsTotal;
+    }
+
+    /**
+     * Draws a new board from the current cards in the given language.
+     *
+     * @param language the language for the card names
+     * @return the board
+     */
+    @Override
+    public Board newBoard(String language) {
+        CardDeck deck = cardService.getDeck(language);
+
+        return new Board(deck.getLanguage(), deck.getVersion(), ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Expands a board to its cards and colors.
+     * Draws the cards with a partial Fisher-Yates shuffle of the deck, then shuffles the colors, both with the random of the board.
+     * Positions swapped out of the deck are tracked in a map instead of copying the deck, so a draw takes time in the number of cards on the board only.
+     *
+     * @param board the board
+     * @return the layout of the board
+     * @throws IllegalStateException if the cards the board was drawn from were never stored
+     */
+    @Override
+    public BoardLayout expand(Board board) {
+        int deckSize = cardService.getDeck(board.getLanguage(), board.getDeckVersion()).getNames().length;
+
+        if (cardsTotal > deckSize) {
+            throw new IllegalStateException("Cannot draw " + cardsTotal + " cards from a deck of " + deckSize + " cards.");
+        }
+
+        if (deckSize > Short.MAX_VALUE + 1) {
+            throw new IllegalStateException("A deck of " + deckSize + " cards cannot be indexed by short card indexes.");
+        }
+
+        SplittableRandom random = new SplittableRandom(board.getSeed());
+        Map<Integer, Integer> swapped = new HashMap<>(cardsTotal * 2);
+        short[] cardIndexes = new short[cardsTotal];
+
+        for (int i = 0; i < cardsTotal; i++) {
+            int j = random.nextInt(i, deckSize);
+            int atJ = swapped.getOrDefault(j, j);
+
+            swapped.put(j, swapped.getOrDefault(i, i));
+            cardIndexes[i] = (short) atJ;
+        }
+
+        byte[] cardsColors = new byte[cardsTotal];
+        int index = 0;
+
+        for (int i = 0; i < CARDS_RED; i++) {
+            cardsColors[index++] = 1;
+        }
+
+        for (int i = 0; i < CARDS_BLUE; i++) {
+            cardsColors[index++] = 2;
+        }
+
+        // Adding the assassin card, the remaining cards stay neutral (0)
+        cardsColors[index] = 3;
+
+        for (int i = cardsColors.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte color = cardsColors[i];
+            cardsColors[i] = cardsColors[j];
+            cardsColors[j] = color;
+        }
+
+        return new BoardLayout(cardIndexes, cardsColors);
+    }
+}
@@ -0,0 +1,191 @@
+package org.example.codenames.gameState.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.codenames.gameSession.entity.GameEvent;
+import org.example.codenames.gameSession.service.api.GameCommandService;
+import org.example.codenames.gameState.repository.api.GameStateRepository;
+import org.example.codenames.gameState.service.api.CardVoteAggregator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default implementation of the {@link CardVoteAggregator}.
+ * Request threads only add to a striped counter per game and card, so concurrent votes on the same card never contend.
+ * On every tick the counters of each game are drained into one vote vector, written to the game state by the writer
+ * of the game in a single update and emitted once. Vote changes of one game are therefore written at most once per tick.
+ * The counters of a game idle for a while are dropped once its game state is gone.
+ */
+@Slf4j
+@Service
+public class DefaultCardVoteAggregator implements CardVoteAggregator {
+    /**
+     * Number of flushes without changes after which a game is checked to still exist.
+     */
+    private static final int IDLE_FLUSHES_BEFORE_CHECK = 100;
+
+    /**
+     * Command service writing the aggregated votes.
+     */
+    private final GameCommandService gameCommandService;
+
+    /**
+     * Game state repository, checked for the games whose counters stay idle.
+     */
+    private final GameStateRepository gameStateRepository;
+
+    /**
+     * Number of cards of a game, the valid card indexes.
+     */
+    private final int cardsTotal;
+
+    /**
+     * Vote changes not written yet, per game and card.
+     */
+    private final Map<UUID, GameVotes> pendingVotes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance of the {@link DefaultCardVoteAggregator}.
+     *
+     * @param gameCommandService  Command service writing the aggregated votes
+     * @param gameStateRepository Game state repository
+     * @param cardsTotal          Number of cards of a game
+     */
+    @Autowired
+    public DefaultCardVoteAggregator(GameCommandService gameCommandService, GameStateRepository gameStateRepository,
+                                     @Value("${codenames.game.cards-total}") int cardsTotal) {
+        this.gameCommandService = gameCommandService;
+        this.gameStateRepository = gameStateRepository;
+        this.cardsTotal = cardsTotal;
+    }
+
+    /**
+     * Adds or removes a vote for a card, written with the next flush.
+     *
+     * @param gameId     The ID of the game session.
+     * @param cardIndex  The index of the card voted for.
+     * @param addingVote Whether the vote is an addition.
+     * @throws IllegalArgumentException if the card index is out of range
+     */
+    @Override
+    public void addVote(UUID gameId, int cardIndex, boolean addingVote) {
+        if (cardIndex < 0 || cardIndex >= cardsTotal) {
+            throw new IllegalArgumentException("Incorrect card index: " + cardIndex);
+        }
+
+        pendingVotes.computeIfAbsent(gameId, id -> new GameVotes(newCounters())).counters[cardIndex].add(addingVote ? 1 : -1);
+    }
+
+    /**
+     * Writes the vote changes of every game, one update and one emit per game with changes.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${codenames.game.card-votes.flush-ms:75}")
+    public void flush() {
+        pendingVotes.keySet().forEach(this::flush);
+    }
+
+    /**
+     * Writes the vote changes of one game right away, before a command that depends on the votes, e.g. revealing a card.
+     * The votes are queued on the writer of the game ahead of the commands the calling thread submits afterwards.
+     * Counters idle for {@link #IDLE_FLUSHES_BEFORE_CHECK} flushes are dropped if the game state no longer exists.
+     *
+     * @param gameId The ID of the game session.
+     */
+    @Override
+    public void flush(UUID gameId) {
+        GameVotes votes = pendingVotes.get(gameId);
+
+        if (votes == null) {
+            return;
+        }
+
+        // Draining and queueing together keeps the vote vectors of one game in order
+        synchronized (votes) {
+            LongAdder[] counters = votes.counters;
+            int[] changes = new int[counters.length];
+            boolean changed = false;
+
+            for (int card = 0; card < counters.length; card++) {
+                changes[card] = (int) counters[card].sumThenReset();
+                changed |= changes[card] != 0;
+            }
+
+            if (changed) {
+                votes.idleFlushes = 0;
+                writeVotes(gameId, changes);
+            } else if (++votes.idleFlushes >= IDLE_FLUSHES_BEFORE_CHECK) {
+                votes.idleFlushes = 0;
+
+                // The game was deleted without its counters being forgotten
+                if (!gameStateRepository.existsBySessionId(gameId)) {
+                    pendingVotes.remove(gameId, votes);
+                }
+            }
+        }
+    }
+
+    /**
+     * Queues the write of a vote vector on the writer of the game.
+     *
+     * @param gameId  The ID of the game session.
+     * @param changes The vote change of every card.
+     */
+    private void writeVotes(UUID gameId, int[] changes) {
+        GameEvent event = GameEvent.of(GameEvent.eventType.CARD_VOTES).cardVotes(changes).build();
+
+        gameCommandService.updateStateAsync(gameId, event, gameState -> {
+            int[] cardsVotes = gameState.getCardsVotes();
+
+            for (int card = 0; card < changes.length && card < cardsVotes.length; card++) {
+                cardsVotes[card] = Math.max(0, cardsVotes[card] + changes[card]);
+            }
+
+            return null;
+        }).exceptionally(e -> {
+            // The game no longer exists, its votes are dropped
+            log.warn("Could not write the card votes of game {}", gameId, e);
+            pendingVotes.remove(gameId);
+            return null;
+        });
+    }
+
+    /**
+     * Drops the vote counters of a game, e.g. after the game has finished.
+     *
+     * @param gameId The ID of the game session.
+     */
+    @Override
+    public void forget(UUID gameId) {
+        pendingVotes.remove(gameId);
+    }
+
+    private LongAdder[] newCounters() {
+        LongAdder[] counters = new LongAdder[cardsTotal];
+
+        for (int card = 0; card < cardsTotal; card++) {
+            counters[card] = new LongAdder();
+        }
+
+        return counters;
+    }
+
+    /**
+     * Vote counters of one game. The idle flush count is guarded by the instance.
+     */
+    private static class GameVotes {
+        private final LongAdder[] counters;
+
+        private int idleFlushes;
+
+        private GameVotes(LongAdder[] counters) {
+            this.counters = counters;
+        }
+    }
+}
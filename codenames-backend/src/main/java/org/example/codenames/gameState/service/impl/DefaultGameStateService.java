@@ -1,16 +1,22 @@
 package org.example.codenames.gameState.service.impl;
 
 import org.example.codenames.card.entity.Card;
-import org.example.codenames.card.repository.CardRepository;
-import org.example.codenames.gameSession.controller.impl.DefaultGameSessionWebSocketController;
+import org.example.codenames.card.service.api.CardService;
+import org.example.codenames.gameSession.entity.GameEvent;
 import org.example.codenames.gameSession.entity.GameSession;
 import org.example.codenames.gameSession.repository.api.GameSessionRepository;
+import org.example.codenames.gameSession.service.api.GameCommandService;
+import org.example.codenames.gameState.entity.Board;
 import org.example.codenames.gameState.entity.CardsVoteRequest;
 import org.example.codenames.gameState.entity.GameState;
+import org.example.codenames.gameState.repository.api.GameStateRepository;
+import org.example.codenames.gameState.service.api.BoardService;
+import org.example.codenames.gameState.service.api.CardVoteAggregator;
 import org.example.codenames.gameState.service.api.GameStateService;
-import org.example.codenames.user.entity.User;
+import org.example.codenames.gameTimer.entity.GameTimer;
+import org.example.codenames.gameTimer.service.api.GameTimerService;
+import org.example.codenames.user.entity.PlayerRef;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -21,55 +27,71 @@ import java.util.*;
 @Service
 public class DefaultGameStateService implements GameStateService {
     /**
-     * The repository for cards.
+     * The service holding the card decks.
      */
-    private final CardRepository cardRepository;
+    private final CardService cardService;
 
     /**
-     * The repository for game sessions.
+     * The service drawing and expanding boards.
+     */
+    private final BoardService boardService;
+
+    /**
+     * The game session repository, read outside of requests.
      */
     private final GameSessionRepository gameSessionRepository;
 
     /**
-     * Game parameters specified in application.properties file
+     * The command service executing the commands of each game one at a time.
      */
-    @Value("${codenames.game.cards-total}")
-    private int cardsTotal;
+    private final GameCommandService gameCommandService;
 
-    @Value("9")
-    private int cardsRed;
+    /**
+     * The aggregator collecting the card votes until they are written.
+     */
+    private final CardVoteAggregator cardVoteAggregator;
 
-    @Value("8")
-    private int cardsBlue;
+    /**
+     * The timer service limiting the duration of the turns.
+     */
+    private final GameTimerService gameTimerService;
 
     /**
      * Constructs a new DefaultGameStateService.
      *
-     * @param cardRepository        the repository for cards
-     * @param gameSessionRepository the repository for game sessions
+     * @param cardService           the service holding the card decks
+     * @param boardService          the service drawing and expanding boards
+     * @param gameSessionRepository the game session repository, read outside of requests
+     * @param gameCommandService    the command service executing the commands of each game one at a time
+     * @param cardVoteAggregator    the aggregator collecting the card votes until they are written
+     * @param gameTimerService      the timer service limiting the duration of the turns
      */
     @Autowired
-    public DefaultGameStateService(CardRepository cardRepository, GameSessionRepository gameSessionRepository) {
-        this.cardRepository = cardRepository;
+    public DefaultGameStateService(CardService cardService, BoardService boardService, GameSessionRepository gameSessionRepository, GameCommandService gameCommandService, CardVoteAggregator cardVoteAggregator, GameTimerService gameTimerService) {
+        this.cardService = cardService;
+        this.boardService = boardService;
         this.gameSessionRepository = gameSessionRepository;
+        this.gameCommandService = gameCommandService;
+        this.cardVoteAggregator = cardVoteAggregator;
+        this.gameTimerService = gameTimerService;
     }
 
     /**
      * Selects a new leader to select cards this round.
      *
-     * @param gameSession    the game session
+     * @param gameState      the game state
      * @param connectedUsers the connected users to the game session
      * @return the new leader
      */
-    private static User getNewLeader(GameSession gameSession, List<List<User>> connectedUsers) {
-        int currentTeamIndex = gameSession.getGameState().getTeamTurn();
+    private static PlayerRef getNewLeader(GameState gameState, List<List<PlayerRef>> connectedUsers) {
+        int currentTeamIndex = gameState.getTeamTurn();
 
-        List<User> currentTeamPlayers = connectedUsers.get(currentTeamIndex);
+        List<PlayerRef> currentTeamPlayers = connectedUsers.get(currentTeamIndex);
 
-        List<User> availablePlayers = new ArrayList<>(currentTeamPlayers);
+        List<PlayerRef> availablePlayers = new ArrayList<>(currentTeamPlayers);
 
-        availablePlayers.remove(gameSession.getGameState().getRedTeamLeader());
-        availablePlayers.remove(gameSession.getGameState().getBlueTeamLeader());
+        availablePlayers.remove(gameState.getRedTeamLeader());
+        availablePlayers.remove(gameState.getBlueTeamLeader());
 
         Random rand = new Random();
 
@@ -77,33 +99,40 @@ public class DefaultGameStateService implements GameStateService {
     }
 
     /**
-     * Generates a set of random card names based on the selected language.
+     * Draws a new board in the selected language and sets its cards and colors.
+     * The board is drawn from the in-memory deck of the language, without reading the database.
      *
      * @param gameState the game state to update
      * @param language  the language for the card names
      */
     @Override
-    public void generateRandomCardsNames(GameState gameState, String language) {
-        List<Card> allCards = cardRepository.findAll();
+    public void generateBoard(GameState gameState, String language) {
+        Board board = boardService.newBoard(language);
 
-        Random random = new Random();
-        Set<Integer> selectedIndexes = new HashSet<>();
+        gameState.setBoard(board, boardService.expand(board));
+    }
 
-        // Select random cards
-        while (selectedIndexes.size() < cardsTotal) {
-            selectedIndexes.add(random.nextInt(allCards.size()));
+    /**
+     * Returns the names of the cards of a game state, resolved in the card dictionary of its board.
+     *
+     * @param gameState the game state
+     * @return the card names in board order
+     * @throws IllegalStateException if the game state has no board or its cards are not loaded
+     */
+    @Override
+    public String[] getCardNames(GameState gameState) {
+        if (gameState.getBoard() == null || gameState.getCardIndexes() == null) {
+            throw new IllegalStateException("GameState has no board.");
         }
 
-        String[] cards = new String[cardsTotal];
-        int i = 0;
+        String[] dictionary = cardService.getDeck(gameState.getBoard().getLanguage(), gameState.getBoard().getDeckVersion()).getNames();
+        String[] names = new String[gameState.getCardIndexes().length];
 
-        for (Integer index : selectedIndexes) {
-            Card card = allCards.get(index);
-            String cardName = getCardNameInLanguage(card, language);
-            cards[i++] = cardName;
+        for (int i = 0; i < names.length; i++) {
+            names[i] = dictionary[gameState.getCardIndexes()[i]];
         }
 
-        gameState.setCards(cards);
+        return names;
     }
 
     /**
@@ -115,105 +144,52 @@ public class DefaultGameStateService implements GameStateService {
      */
     @Override
     public String getCardNameInLanguage(Card card, String language) {
-        if ("pl".equals(language)) {
-            return card.getId();
-        } else if ("en".equals(language)) {
-            return card.getNames().getOrDefault("en", card.getId());
-        }
-        return card.getId();
-    }
-
-    /**
-     * Generates and assigns random colors to the 25 cards.
-     * 9 red, 8 blue, 1 assassin, and 7 neutral cards.
-     *
-     * @param gameState the game state to update
-     */
-    @Override
-    public void generateRandomCardsColors(GameState gameState) {
-        List<Integer> cardColorsList = new ArrayList<>();
-
-        for (int i = 0; i < cardsRed; i++) {
-            cardColorsList.add(1);
-        }
-
-        for (int i = 0; i < cardsBlue; i++) {
-            cardColorsList.add(2);
-        }
-        // Adding neutral cards
-        cardColorsList.add(3);
-        for (int i = 0; i < cardsTotal - (cardsRed + cardsBlue + 1); i++) {
-            cardColorsList.add(0);
-        }
-
-        Collections.shuffle(cardColorsList);
-
-        gameState.setCardsColors(cardColorsList.toArray(new Integer[0]));
+        return cardService.getCardNameInLanguage(card, language);
     }
 
     /**
-     * Updates vote counts for selected card.
+     * Updates vote counts for selected card, aggregated with the other votes of the game until the next flush.
      *
      * @param gameId      the game session ID
      * @param voteRequest the entity containing the cardIndex and whether the vote is an addition.
      */
     @Override
     public void updateVotes(UUID gameId, CardsVoteRequest voteRequest) {
-        GameSession gameSession = gameSessionRepository.findBySessionId(gameId).orElseThrow(() ->
-                new IllegalArgumentException("Game with an ID of " + gameId + " does not exist."));
-        GameState gameState = gameSession.getGameState();
-
         int cardIndex = voteRequest.getCardIndex();
+        boolean addingVote = voteRequest.isAddingVote();
 
-        if (cardIndex >= 0 && cardIndex < gameState.getCardsVotes().size()) {
-            int currentVotes = gameState.getCardsVotes().get(cardIndex);
-
-            if (voteRequest.isAddingVote()) {
-                gameState.getCardsVotes().set(cardIndex, currentVotes + 1);
-            } else {
-                gameState.getCardsVotes().set(cardIndex, Math.max(0, currentVotes - 1));
-            }
-        } else {
-            throw new IllegalArgumentException("Incorrect card index: " + cardIndex);
-        }
-
-        gameSessionRepository.save(gameSession);
+        cardVoteAggregator.addVote(gameId, cardIndex, addingVote);
     }
 
     /**
-     * Determines which cards have been chosen based on votes.
+     * Reveals the chosen card, updates the scores and switches the turn if needed.
+     * Only modifies the given game state, so it can be used inside a {@link GameStateRepository#update}
+     * or a state update of the {@link GameCommandService}.
      *
-     * @param gameSession the current game session
-     * @param cardIndex   the index of the card that was chosen
+     * @param gameState the current game state
+     * @param cardIndex the index of the card that was chosen
      */
-    @Override
-    public void cardsChosen(GameSession gameSession, int cardIndex) {
-        GameState gameState = gameSession.getGameState();
-
-        if (gameState.getCardsChosen() == null) {
-            gameState.setCardsChosen(new ArrayList<>());
-        }
+    public static void applyCardChosen(GameState gameState, int cardIndex) {
+        byte cardColor = gameState.getCardsColors()[cardIndex];
 
-        gameState.getCardsChosen().add(cardIndex);
+        gameState.revealCard(cardIndex);
         gameState.setHintNumber(Math.max(-1, gameState.getHintNumber() - 1));
 
-        if (gameState.getCardsColors()[cardIndex] == 1) {
+        if (cardColor == 1) {
             gameState.setRedTeamScore(gameState.getRedTeamScore() + 1);
 
             if (gameState.getTeamTurn() != 0) {
-                this.toogleTurn(gameSession);
-                gameSessionRepository.save(gameSession);
+                applyToggleTurn(gameState);
                 return;
             }
-        } else if (gameState.getCardsColors()[cardIndex] == 2) {
+        } else if (cardColor == 2) {
             gameState.setBlueTeamScore(gameState.getBlueTeamScore() + 1);
 
             if (gameState.getTeamTurn() != 1) {
-                this.toogleTurn(gameSession);
-                gameSessionRepository.save(gameSession);
+                applyToggleTurn(gameState);
                 return;
             }
-        } else if (gameState.getCardsColors()[cardIndex] == 3) {
+        } else if (cardColor == 3) {
             if (gameState.getTeamTurn() == 0) {
                 gameState.setBlueTeamScore(100);
             } else {
@@ -221,36 +197,20 @@ public class DefaultGameStateService implements GameStateService {
             }
         }
 
-        if (gameState.getHintNumber() == -1 || (gameState.getCardsColors()[cardIndex] == 0)) {
+        if (gameState.getHintNumber() == -1 || (cardColor == 0)) {
             gameState.setHintNumber(0);
             gameState.setInitialHintNumber("0");
-            this.toogleTurn(gameSession);
+            applyToggleTurn(gameState);
         }
-
-        gameSessionRepository.save(gameSession);
     }
 
     /**
-     * Gets the current team's turn.
+     * Toggles the turn of the given game state, switching between the teams' turns,
+     * the hint turn, and the guessing turn, and clears the card votes.
      *
-     * @param gameSession the game session
-     * @return the team turn index
+     * @param gameState the game state
      */
-    @Override
-    public int getTeamSize(GameSession gameSession) {
-        return gameSession.getGameState().getTeamTurn();
-    }
-
-    /**
-     * Toggles the turn of the current game session, switching between the teams' turns,
-     * the hint turn, and the guessing turn.
-     *
-     * @param gameSession the game session
-     */
-    @Override
-    public void toogleTurn(GameSession gameSession) {
-        GameState gameState = gameSession.getGameState();
-
+    public static void applyToggleTurn(GameState gameState) {
         if (!gameState.isHintTurn()) {
             gameState.setTeamTurn((gameState.getTeamTurn() == 0) ? 1 : 0);
         }
@@ -259,45 +219,58 @@ public class DefaultGameStateService implements GameStateService {
 
         gameState.setGuessingTurn(!gameState.isGuessingTurn());
 
+        clearCardsVotes(gameState);
+    }
 
-        DefaultGameSessionWebSocketController.clearVotes(gameSession, gameSessionRepository);
+    /**
+     * Resets the votes of all cards to zero, reusing the votes array when it has the right size.
+     *
+     * @param gameState the game state
+     */
+    public static void clearCardsVotes(GameState gameState) {
+        int[] cardsVotes = gameState.getCardsVotes();
 
+        if (cardsVotes != null && cardsVotes.length == gameState.getCardIndexes().length) {
+            Arrays.fill(cardsVotes, 0);
+        } else {
+            gameState.setCardsVotes(new int[gameState.getCardIndexes().length]);
+        }
     }
 
     /**
-     * Changes the turn of the game session.
+     * Changes the turn of the game session and selects a new turn leader.
+     * Both changes are written together and sent to the clients by the writer of the game, then the turn limit is restarted.
+     * The teams are read by the writer of the game from the repository, so the turn can also be changed by a timer outside of a request.
      *
      * @param gameId The UUID of the game session.
      */
     @Override
     public void changeTurn(UUID gameId) {
-        GameSession gameSession = gameSessionRepository.findBySessionId(gameId)
-                .orElseThrow(() -> new RuntimeException("Session not found"));
-
-        this.toogleTurn(gameSession);
-
-        this.chooseRandomCurrentLeader(gameId);
-        gameSession = gameSessionRepository.findBySessionId(gameId)
-                .orElseThrow(() -> new RuntimeException("Session not found"));
-        gameSessionRepository.save(gameSession);
+        // Votes of the ending turn are written before they are cleared
+        cardVoteAggregator.flush(gameId);
+        gameCommandService.execute(gameId, () -> {
+            List<List<PlayerRef>> connectedUsers = gameSessionRepository.findMetadataBySessionId(gameId)
+                    .map(GameSession::getConnectedUsers)
+                    .orElseThrow(() -> new IllegalArgumentException("Game session not found for ID: " + gameId));
+
+            return gameCommandService.updateState(gameId, GameEvent.of(GameEvent.eventType.TURN_CHANGE).build(), gameState -> {
+                applyToggleTurn(gameState);
+                gameState.setCurrentSelectionLeader(getNewLeader(gameState, connectedUsers));
+                return null;
+            });
+        });
+
+        // The new turn gets the full time
+        gameTimerService.schedule(gameId, GameTimer.timerType.TURN_LIMIT);
     }
 
     /**
-     * Selects new turn leader.
+     * Selects a random leader of the current team to select cards.
      *
-     * @param gameId The UUID of the game session.
+     * @param gameState      The game state to update.
+     * @param connectedUsers The connected users to the game session.
      */
-    @Override
-    public void chooseRandomCurrentLeader(UUID gameId) {
-        GameSession gameSession = gameSessionRepository.findBySessionId(gameId)
-                .orElseThrow(() -> new RuntimeException("Session not found"));
-
-        List<List<User>> connectedUsers = gameSession.getConnectedUsers();
-
-        User newLeader = getNewLeader(gameSession, connectedUsers);
-
-        gameSession.getGameState().setCurrentSelectionLeader(newLeader);
-
-        gameSessionRepository.save(gameSession);
+    public static void applyRandomCurrentLeader(GameState gameState, List<List<PlayerRef>> connectedUsers) {
+        gameState.setCurrentSelectionLeader(getNewLeader(gameState, connectedUsers));
     }
-}
\ No newline at end of file
+}
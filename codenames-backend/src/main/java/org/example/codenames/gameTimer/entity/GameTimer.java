@@ -0,0 +1,60 @@
+package org.example.codenames.gameTimer.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * GameTimer is a deadline of a game session, stored next to the session until it fires or is cancelled.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class GameTimer implements Serializable {
+    /**
+     * The id of the game session the timer belongs to.
+     */
+    private final UUID sessionId;
+
+    /**
+     * What happens when the timer fires, a session has at most one timer of each type.
+     */
+    private final timerType type;
+
+    /**
+     * The time the timer fires at, in milliseconds since the epoch.
+     */
+    private final long deadline;
+
+    /**
+     * Returns the key the timer is stored under.
+     *
+     * @return the key of the timer
+     */
+    public GameTimerKey getKey() {
+        return new GameTimerKey(sessionId, type);
+    }
+
+    /**
+     * Enum representing the types of game timers.
+     */
+    public enum timerType {
+        /**
+         * End of the leader vote, the leaders are assigned if the players have not done it yet.
+         */
+        LEADER_VOTE,
+
+        /**
+         * End of the current turn.
+         */
+        TURN_LIMIT,
+
+        /**
+         * Delayed invite to the Discord channel of the game.
+         */
+        DISCORD_INVITE
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.codenames.gameTimer.entity;
+
+import com.hazelcast.partition.PartitionAware;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * GameTimerKey identifies a timer of a game session.
+ * It is partitioned by the session id, so the timers of a session are stored in the partition of the session.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class GameTimerKey implements PartitionAware<String>, Serializable {
+    /**
+     * The id of the game session the timer belongs to.
+     */
+    private final UUID sessionId;
+
+    /**
+     * The type of the timer.
+     */
+    private final GameTimer.timerType type;
+
+    /**
+     * Returns the key of the session in the game sessions map.
+     *
+     * @return the partition key of the timer
+     */
+    @Override
+    public String getPartitionKey() {
+        return sessionId.toString();
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.codenames.gameTimer.repository.api;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.listener.MapListener;
+import org.example.codenames.gameTimer.entity.GameTimer;
+import org.example.codenames.gameTimer.entity.GameTimerKey;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Repository for the timers of game sessions.
+ * Timers are stored in the partition of their session, so they are owned and backed up together with it.
+ */
+@Repository
+public class GameTimerRepository {
+    /**
+     * Name of the timers map.
+     */
+    public static final String MAP_NAME = "gameTimers";
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final IMap<GameTimerKey, GameTimer> timerMap;
+
+    public GameTimerRepository(HazelcastInstance hazelcastInstance) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.timerMap = hazelcastInstance.getMap(MAP_NAME);
+    }
+
+    /**
+     * Stores a timer, replacing the timer of the same session and type.
+     *
+     * @param timer the timer to store
+     */
+    public void save(GameTimer timer) {
+        timerMap.set(timer.getKey(), timer);
+    }
+
+    /**
+     * Finds a timer.
+     *
+     * @param key the key of the timer
+     * @return the timer, empty if it fired or was cancelled
+     */
+    public Optional<GameTimer> findByKey(GameTimerKey key) {
+        return Optional.ofNullable(timerMap.get(key));
+    }
+
+    /**
+     * Removes a timer if it is still the given one, i.e. it was neither cancelled nor rescheduled.
+     * Only one caller can remove a timer, so only one fires it.
+     *
+     * @param timer the timer to remove
+     * @return true if the timer was removed
+     */
+    public boolean remove(GameTimer timer) {
+        return timerMap.remove(timer.getKey(), timer);
+    }
+
+    /**
+     * Removes a timer.
+     *
+     * @param key the key of the timer
+     */
+    public void delete(GameTimerKey key) {
+        timerMap.delete(key);
+    }
+
+    /**
+     * Removes all timers of a session.
+     *
+     * @param sessionId the id of the game session
+     */
+    public void deleteBySessionId(UUID sessionId) {
+        for (GameTimer.timerType type : GameTimer.timerType.values()) {
+            timerMap.delete(new GameTimerKey(sessionId, type));
+        }
+    }
+
+    /**
+     * Returns the timers stored in the partitions owned by this member.
+     *
+     * @return the local timers
+     */
+    public Collection<GameTimer> findLocal() {
+        Set<GameTimerKey> keys = timerMap.localKeySet();
+
+        return timerMap.getAll(keys).values();
+    }
+
+    /**
+     * Checks whether this member owns the partition of a timer.
+     *
+     * @param key the key of the timer
+     * @return true if the timer is local, false if it is not or the owner is not known yet
+     */
+    public boolean isLocal(GameTimerKey key) {
+        Member owner = hazelcastInstance.getPartitionService().getPartition(key).getOwner();
+
+        // The owner is unknown while the partition is being migrated
+        return owner != null && owner.localMember();
+    }
+
+    /**
+     * Registers a listener notified of the changes of the timers owned by this member.
+     *
+     * @param listener the listener to register
+     * @return the id of the registration
+     */
+    public UUID addLocalEntryListener(MapListener listener) {
+        return timerMap.addLocalEntryListener(listener);
+    }
+
+    /**
+     * Removes a listener registered with {@link #addLocalEntryListener(MapListener)}.
+     *
+     * @param registrationId the id of the registration
+     */
+    public void removeEntryListener(UUID registrationId) {
+        timerMap.removeEntryListener(registrationId);
+    }
+}
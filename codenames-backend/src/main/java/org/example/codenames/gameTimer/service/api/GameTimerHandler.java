@@ -0,0 +1,11 @@
+package org.example.codenames.gameTimer.service.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.example.codenames.gameTimer.entity.GameTimer;
+
+/**
+ * Handler running the action of a fired game timer.
+ */
+public interface GameTimerHandler {
+    void onTimer(GameTimer timer) throws JsonProcessingException;
+}
@@ -0,0 +1,22 @@
+package org.example.codenames.gameTimer.service.api;
+
+import org.example.codenames.gameTimer.entity.GameTimer;
+
+import java.util.UUID;
+
+/**
+ * Service scheduling the timers of game sessions, each fired once by the member owning its session.
+ */
+public interface GameTimerService {
+    void schedule(UUID sessionId, GameTimer.timerType type);
+
+    void schedule(UUID sessionId, GameTimer.timerType type, long delayMs);
+
+    void cancel(UUID sessionId, GameTimer.timerType type);
+
+    void cancelAll(UUID sessionId);
+
+    void tick();
+
+    void reconcile();
+}
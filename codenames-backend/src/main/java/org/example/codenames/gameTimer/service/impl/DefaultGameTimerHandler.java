@@ -0,0 +1,106 @@
+package org.example.codenames.gameTimer.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codenames.discord.service.impl.DiscordGuildService;
+import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.repository.api.GameSessionRepository;
+import org.example.codenames.gameSession.service.api.GameSessionService;
+import org.example.codenames.gameState.service.api.GameStateService;
+import org.example.codenames.gameTimer.entity.GameTimer;
+import org.example.codenames.gameTimer.service.api.GameTimerHandler;
+import org.example.codenames.socket.service.api.SocketService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Default implementation of the {@link GameTimerHandler}.
+ * Every action checks the state of the game first, a timer may fire for a game that has moved on.
+ */
+@Slf4j
+@Service
+public class DefaultGameTimerHandler implements GameTimerHandler {
+    /**
+     * Game session repository.
+     */
+    private final GameSessionRepository gameSessionRepository;
+
+    /**
+     * Game session service assigning the leaders when the vote ends.
+     */
+    private final GameSessionService gameSessionService;
+
+    /**
+     * Game state service changing the turn when its time is up.
+     */
+    private final GameStateService gameStateService;
+
+    /**
+     * Socket service sending the Discord invites.
+     */
+    private final SocketService socketService;
+
+    /**
+     * Discord guild service creating the Discord invites.
+     */
+    private final DiscordGuildService discordGuildService;
+
+    /**
+     * Creates a new instance of the {@link DefaultGameTimerHandler}.
+     *
+     * @param gameSessionRepository Game session repository
+     * @param gameSessionService    Game session service assigning the leaders when the vote ends
+     * @param gameStateService      Game state service changing the turn when its time is up
+     * @param socketService         Socket service sending the Discord invites
+     * @param discordGuildService   Discord guild service creating the Discord invites
+     */
+    @Autowired
+    public DefaultGameTimerHandler(GameSessionRepository gameSessionRepository, GameSessionService gameSessionService, GameStateService gameStateService,
+                                   SocketService socketService, DiscordGuildService discordGuildService) {
+        this.gameSessionRepository = gameSessionRepository;
+        this.gameSessionService = gameSessionService;
+        this.gameStateService = gameStateService;
+        this.socketService = socketService;
+        this.discordGuildService = discordGuildService;
+    }
+
+    /**
+     * Runs the action of a fired timer.
+     *
+     * @param timer the fired timer
+     * @throws JsonProcessingException if the Discord invite cannot be serialized
+     */
+    @Override
+    public void onTimer(GameTimer timer) throws JsonProcessingException {
+        UUID sessionId = timer.getSessionId();
+        Optional<GameSession> session = gameSessionRepository.findMetadataBySessionId(sessionId);
+
+        if (session.isEmpty()) {
+            return;
+        }
+
+        GameSession.sessionStatus status = session.get().getStatus();
+
+        switch (timer.getType()) {
+            case LEADER_VOTE -> {
+                // The players did not end the vote themselves
+                if (status == GameSession.sessionStatus.LEADER_SELECTION && gameSessionService.assignTeamLeadersOnce(sessionId)) {
+                    log.info("[TIMERS] Leader vote of game {} ended by its deadline", sessionId);
+                }
+            }
+            case TURN_LIMIT -> {
+                if (status == GameSession.sessionStatus.IN_PROGRESS) {
+                    gameStateService.changeTurn(sessionId);
+                }
+            }
+            case DISCORD_INVITE -> {
+                if (status == GameSession.sessionStatus.IN_PROGRESS) {
+                    socketService.sendDiscordLinkInvite(sessionId, discordGuildService.createInvite(session.get().getDiscordChannelId()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package org.example.codenames.gameTimer.service.impl;
+
+import com.hazelcast.core.EntryEvent;
+import com.hazelcast.map.listener.EntryAddedListener;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codenames.gameTimer.entity.GameTimer;
+import org.example.codenames.gameTimer.entity.GameTimerKey;
+import org.example.codenames.gameTimer.repository.api.GameTimerRepository;
+import org.example.codenames.gameTimer.service.api.GameTimerHandler;
+import org.example.codenames.gameTimer.service.api.GameTimerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Default implementation of the {@link GameTimerService}.
+ * Timers are stored in the partition of their session, which makes them survive the failure of a member like the session does.
+ * Every member keeps the timers of the partitions it owns in a local {@link HashedTimingWheel}, filled by a local entry listener
+ * and reconciled with the stored timers periodically, which picks up the timers of partitions migrated or promoted from backups.
+ * When a timer expires, the member removes it with a conditional remove and fires it only if the remove succeeded,
+ * so a timer fires once even if it was rescheduled or cancelled meanwhile, or expired on two members during a migration.
+ */
+@Slf4j
+@Service
+public class DefaultGameTimerService implements GameTimerService {
+    /**
+     * Game timer repository.
+     */
+    private final GameTimerRepository gameTimerRepository;
+
+    /**
+     * Handler running the actions of the fired timers, resolved lazily as its actions use the services scheduling timers.
+     */
+    private final GameTimerHandler gameTimerHandler;
+
+    /**
+     * The timers of the partitions owned by this member.
+     */
+    private final HashedTimingWheel<GameTimerKey> wheel;
+
+    /**
+     * Delays of the timer types, a type with a delay that is not positive is disabled.
+     */
+    private final Map<GameTimer.timerType, Long> delays = new EnumMap<>(GameTimer.timerType.class);
+
+    /**
+     * Threads running the actions of the fired timers, so a slow action does not delay the next tick.
+     */
+    private final ExecutorService firing;
+
+    /**
+     * Id of the registration of the local entry listener.
+     */
+    private UUID listenerRegistration;
+
+    /**
+     * Creates a new instance of the {@link DefaultGameTimerService}.
+     *
+     * @param gameTimerRepository Game timer repository
+     * @param gameTimerHandler    Handler running the actions of the fired timers
+     * @param tickMs              Length of a tick of the timing wheel in milliseconds
+     * @param wheelSize           Number of ticks of one revolution of the timing wheel
+     * @param fireThreads         Number of threads running the actions of the fired timers
+     * @param leaderVoteMs        Duration of the leader vote
+     * @param turnLimitMs         Duration of a turn, turns are not limited if not positive
+     * @param discordInviteMs     Delay of the Discord invite after the game started
+     */
+    @Autowired
+    public DefaultGameTimerService(GameTimerRepository gameTimerRepository, @Lazy GameTimerHandler gameTimerHandler,
+                                   @Value("${codenames.game.timers.tick-ms:100}") long tickMs,
+                                   @Value("${codenames.game.timers.wheel-size:512}") int wheelSize,
+                                   @Value("${codenames.game.timers.fire-threads:2}") int fireThreads,
+                                   @Value("${codenames.game.timers.leader-vote-ms:125000}") long leaderVoteMs,
+                                   @Value("${codenames.game.timers.turn-limit-ms:0}") long turnLimitMs,
+                                   @Value("${codenames.game.timers.discord-invite-ms:3000}") long discordInviteMs) {
+        this.gameTimerRepository = gameTimerRepository;
+        this.gameTimerHandler = gameTimerHandler;
+        this.wheel = new HashedTimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        this.delays.put(GameTimer.timerType.LEADER_VOTE, leaderVoteMs);
+        this.delays.put(GameTimer.timerType.TURN_LIMIT, turnLimitMs);
+        this.delays.put(GameTimer.timerType.DISCORD_INVITE, discordInviteMs);
+
+        AtomicInteger threads = new AtomicInteger();
+
+        this.firing = Executors.newFixedThreadPool(Math.max(1, fireThreads), runnable -> {
+            Thread thread = new Thread(runnable, "game-timers-" + threads.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts following the local timers and loads the ones already stored.
+     */
+    @PostConstruct
+    public void start() {
+        listenerRegistration = gameTimerRepository.addLocalEntryListener(new LocalTimerListener());
+        reconcile();
+    }
+
+    /**
+     * Stops following the local timers, the timers of this member are fired by the next owners of its partitions.
+     */
+    @PreDestroy
+    public void stop() {
+        if (listenerRegistration != null) {
+            gameTimerRepository.removeEntryListener(listenerRegistration);
+        }
+
+        firing.shutdownNow();
+    }
+
+    /**
+     * Schedules a timer of a session with the configured delay of its type, replacing its timer of the same type.
+     * Nothing is scheduled if the type is disabled.
+     *
+     * @param sessionId the id of the game session
+     * @param type      the type of the timer
+     */
+    @Override
+    public void schedule(UUID sessionId, GameTimer.timerType type) {
+        long delayMs = delays.get(type);
+
+        if (delayMs > 0) {
+            schedule(sessionId, type, delayMs);
+        }
+    }
+
+    /**
+     * Schedules a timer of a session, replacing its timer of the same type.
+     *
+     * @param sessionId the id of the game session
+     * @param type      the type of the timer
+     * @param delayMs   the delay after which the timer fires, in milliseconds
+     */
+    @Override
+    public void schedule(UUID sessionId, GameTimer.timerType type, long delayMs) {
+        gameTimerRepository.save(new GameTimer(sessionId, type, System.currentTimeMillis() + delayMs));
+    }
+
+    /**
+     * Cancels a timer of a session.
+     *
+     * @param sessionId the id of the game session
+     * @param type      the type of the timer
+     */
+    @Override
+    public void cancel(UUID sessionId, GameTimer.timerType type) {
+        gameTimerRepository.delete(new GameTimerKey(sessionId, type));
+    }
+
+    /**
+     * Cancels all timers of a session, e.g. when the game is finished.
+     *
+     * @param sessionId the id of the game session
+     */
+    @Override
+    public void cancelAll(UUID sessionId) {
+        gameTimerRepository.deleteBySessionId(sessionId);
+    }
+
+    /**
+     * Advances the timing wheel and fires the expired timers.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${codenames.game.timers.tick-ms:100}")
+    public void tick() {
+        for (GameTimerKey key : wheel.advance(System.currentTimeMillis())) {
+            try {
+                firing.execute(() -> fire(key));
+            } catch (RuntimeException e) {
+                log.error("[TIMERS] Could not fire timer {} of game {}", key.getType(), key.getSessionId(), e);
+            }
+        }
+    }
+
+    /**
+     * Adds the stored timers of the partitions owned by this member that are missing from the timing wheel.
+     * Entries migrated to this member or promoted from backups raise no entry events, they are picked up here.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${codenames.game.timers.reconcile-ms:5000}")
+    public void reconcile() {
+        try {
+            for (GameTimer timer : gameTimerRepository.findLocal()) {
+                if (wheel.deadlineOf(timer.getKey()) != timer.getDeadline()) {
+                    wheel.schedule(timer.getKey(), timer.getDeadline());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("[TIMERS] Could not reconcile the local timers", e);
+        }
+    }
+
+    /**
+     * Fires an expired timer if this member still owns it and nobody rescheduled, cancelled or fired it meanwhile.
+     *
+     * @param key the key of the expired timer
+     */
+    private void fire(GameTimerKey key) {
+        if (!gameTimerRepository.isLocal(key)) {
+            return;
+        }
+
+        GameTimer timer = gameTimerRepository.findByKey(key).orElse(null);
+
+        if (timer == null) {
+            return;
+        }
+
+        // Rescheduled to a later deadline after it was put in the wheel
+        if (timer.getDeadline() > System.currentTimeMillis()) {
+            wheel.schedule(key, timer.getDeadline());
+            return;
+        }
+
+        if (!gameTimerRepository.remove(timer)) {
+            return;
+        }
+
+        try {
+            gameTimerHandler.onTimer(timer);
+        } catch (Exception e) {
+            log.error("[TIMERS] Timer {} of game {} failed", timer.getType(), timer.getSessionId(), e);
+        }
+    }
+
+    /**
+     * Listener keeping the timing wheel in sync with the stored timers owned by this member.
+     */
+    private class LocalTimerListener implements EntryAddedListener<GameTimerKey, GameTimer>, EntryUpdatedListener<GameTimerKey, GameTimer>,
+            EntryRemovedListener<GameTimerKey, GameTimer>, EntryEvictedListener<GameTimerKey, GameTimer>, EntryExpiredListener<GameTimerKey, GameTimer> {
+        @Override
+        public void entryAdded(EntryEvent<GameTimerKey, GameTimer> event) {
+            wheel.schedule(event.getKey(), event.getValue().getDeadline());
+        }
+
+        @Override
+        public void entryUpdated(EntryEvent<GameTimerKey, GameTimer> event) {
+            wheel.schedule(event.getKey(), event.getValue().getDeadline());
+        }
+
+        @Override
+        public void entryRemoved(EntryEvent<GameTimerKey, GameTimer> event) {
+            wheel.cancel(event.getKey());
+        }
+
+        @Override
+        public void entryEvicted(EntryEvent<GameTimerKey, GameTimer> event) {
+            wheel.cancel(event.getKey());
+        }
+
+        @Override
+        public void entryExpired(EntryEvent<GameTimerKey, GameTimer> event) {
+            wheel.cancel(event.getKey());
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package org.example.codenames.gameTimer.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel holding many timers with a constant cost to add, cancel and expire each of them.
+ * Time is divided into ticks, every tick is hashed to one bucket of the wheel. A timer further away than one
+ * revolution stays in its bucket for the remaining rounds. The wheel is advanced by its owner, expired keys are
+ * returned to the caller instead of being run on the wheel.
+ *
+ * @param <K> type of the timer keys, a key has at most one timer
+ */
+public class HashedTimingWheel<K> {
+    /**
+     * Length of a tick in milliseconds.
+     */
+    private final long tickMs;
+
+    /**
+     * The buckets, each a doubly linked list of its timers.
+     */
+    private final Timeout<K>[] buckets;
+
+    /**
+     * Mask hashing a tick to its bucket, the number of buckets is a power of two.
+     */
+    private final int mask;
+
+    /**
+     * The timers by their keys.
+     */
+    private final Map<K, Timeout<K>> timeouts = new HashMap<>();
+
+    /**
+     * The next tick to expire.
+     */
+    private long currentTick;
+
+    /**
+     * Creates a new timing wheel starting at the given time.
+     *
+     * @param tickMs  length of a tick in milliseconds
+     * @param size    number of buckets, rounded up to a power of two
+     * @param startMs the current time in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMs, int size, long startMs) {
+        if (tickMs < 1 || size < 1 || size > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid timing wheel of " + size + " ticks of " + tickMs + " ms");
+        }
+
+        int buckets = Integer.highestOneBit(size);
+
+        if (buckets < size) {
+            buckets <<= 1;
+        }
+
+        this.tickMs = tickMs;
+        this.buckets = new Timeout[buckets];
+        this.mask = buckets - 1;
+        this.currentTick = startMs / tickMs;
+    }
+
+    /**
+     * Adds a timer, replacing the timer of the same key.
+     * The timer expires on the first advance at or after its deadline, up to one tick late.
+     * A deadline that has already passed expires on the next advance.
+     *
+     * @param key        the key of the timer
+     * @param deadlineMs the time the timer expires at, in milliseconds
+     */
+    public synchronized void schedule(K key, long deadlineMs) {
+        cancel(key);
+
+        // Rounded up, a timer never expires before its deadline
+        long tick = Math.max(Math.floorDiv(deadlineMs + tickMs - 1, tickMs), currentTick);
+        Timeout<K> timeout = new Timeout<>(key, deadlineMs, (tick - currentTick) / buckets.length, (int) (tick & mask));
+
+        timeout.next = buckets[timeout.bucket];
+
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+
+        buckets[timeout.bucket] = timeout;
+        timeouts.put(key, timeout);
+    }
+
+    /**
+     * Removes the timer of a key.
+     *
+     * @param key the key of the timer
+     * @return true if the key had a timer
+     */
+    public synchronized boolean cancel(K key) {
+        Timeout<K> timeout = timeouts.remove(key);
+
+        if (timeout == null) {
+            return false;
+        }
+
+        unlink(timeout);
+
+        return true;
+    }
+
+    /**
+     * Returns the deadline of the timer of a key.
+     *
+     * @param key the key of the timer
+     * @return the deadline in milliseconds, or -1 if the key has no timer
+     */
+    public synchronized long deadlineOf(K key) {
+        Timeout<K> timeout = timeouts.get(key);
+
+        return timeout != null ? timeout.deadlineMs : -1;
+    }
+
+    /**
+     * Returns the number of timers in the wheel.
+     *
+     * @return the number of timers
+     */
+    public synchronized int size() {
+        return timeouts.size();
+    }
+
+    /**
+     * Advances the wheel up to the given time and removes the timers expired on the way.
+     *
+     * @param nowMs the current time in milliseconds
+     * @return the keys of the expired timers, in the order of their ticks
+     */
+    public synchronized List<K> advance(long nowMs) {
+        long targetTick = nowMs / tickMs;
+        List<K> expired = new ArrayList<>();
+
+        while (currentTick <= targetTick) {
+            Timeout<K> timeout = buckets[(int) (currentTick & mask)];
+
+            while (timeout != null) {
+                Timeout<K> next = timeout.next;
+
+                if (timeout.rounds <= 0) {
+                    timeouts.remove(timeout.key);
+                    unlink(timeout);
+                    expired.add(timeout.key);
+                } else {
+                    timeout.rounds--;
+                }
+
+                timeout = next;
+            }
+
+            currentTick++;
+        }
+
+        return expired;
+    }
+
+    /**
+     * Removes a timer from its bucket.
+     *
+     * @param timeout the timer to remove
+     */
+    private void unlink(Timeout<K> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[timeout.bucket] = timeout.next;
+        }
+
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    /**
+     * Timer in a bucket of the wheel.
+     *
+     * @param <K> type of the timer key
+     */
+    private static class Timeout<K> {
+        private final K key;
+
+        private final long deadlineMs;
+
+        /**
+         * Revolutions of the wheel left before the timer expires.
+         */
+        private long rounds;
+
+        private final int bucket;
+
+        private Timeout<K> prev;
+
+        private Timeout<K> next;
+
+        private Timeout(K key, long deadlineMs, long rounds, int bucket) {
+            this.key = key;
+            this.deadlineMs = deadlineMs;
+            this.rounds = rounds;
+            this.bucket = bucket;
+        }
+    }
+}
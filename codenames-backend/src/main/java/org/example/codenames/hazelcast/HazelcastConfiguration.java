@@ -1,11 +1,24 @@
 package org.example.codenames.hazelcast;
 
 import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.config.ReliableTopicConfig;
+import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.TopicOverloadPolicy;
+import org.example.codenames.gameSession.repository.api.GameEventRepository;
+import org.example.codenames.gameTimer.repository.api.GameTimerRepository;
 import org.example.codenames.hazelcast.compactSerializers.gameSessionSerializers.GameSessionCompactSerializer;
 import org.example.codenames.hazelcast.compactSerializers.gameSessionSerializers.GameStateCompactSerializer;
+import org.example.codenames.hazelcast.compactSerializers.gameSessionSerializers.PlayerRefCompactSerializer;
 import org.example.codenames.hazelcast.compactSerializers.gameSessionSerializers.UserCompactSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -21,6 +34,36 @@ public class HazelcastConfiguration {
     @Value("${codenames.hazelcast.users-map.ttl}")
     private int activeUsersTtl;
 
+    /**
+     * Whether reads of game sessions are served from a near cache on each member.
+     */
+    @Value("${codenames.hazelcast.game-sessions.near-cache.enabled:true}")
+    private boolean gameSessionsNearCacheEnabled;
+
+    /**
+     * Maximum number of game sessions held in the near cache.
+     */
+    @Value("${codenames.hazelcast.game-sessions.near-cache.max-size:10000}")
+    private int gameSessionsNearCacheMaxSize;
+
+    /**
+     * Time after which an unread game session is evicted from the near cache.
+     */
+    @Value("${codenames.hazelcast.game-sessions.near-cache.max-idle-seconds:600}")
+    private int gameSessionsNearCacheMaxIdle;
+
+    /**
+     * Number of events kept in the log of each game session, older ones are overwritten.
+     */
+    @Value("${codenames.game-events.capacity:512}")
+    private int gameEventsCapacity;
+
+    /**
+     * Time after which logged events and snapshots of a game session expire.
+     */
+    @Value("${codenames.game-events.ttl-seconds:7200}")
+    private int gameEventsTtl;
+
     @Bean
     public Config hazelcastConfig() {
 
@@ -29,21 +72,68 @@ public class HazelcastConfiguration {
                 .addMapConfig(new MapConfig()
                         .setName("activeUsers")
                         .setTimeToLiveSeconds(activeUsersTtl))
-                .addMapConfig(new MapConfig()
-                        .setName("gameSessions"))
+                .addMapConfig(gameSessionsMapConfig())
                 .addMapConfig(new MapConfig()
                         .setName("userMap"))
+                // Hot game state of each session, keyed by the session id and thus in the partition of its session.
+                // Changes on every vote, so it has no near cache.
                 .addMapConfig(new MapConfig()
-                        .setName("gameStateMap"));
+                        .setName("gameStateMap"))
+                // Event log of each game session, named after the session and placed in its partition
+                .addRingBufferConfig(new RingbufferConfig(GameEventRepository.LOG_PREFIX + "*")
+                        .setCapacity(gameEventsCapacity)
+                        .setTimeToLiveSeconds(gameEventsTtl))
+                .addMapConfig(new MapConfig()
+                        .setName("gameSnapshots")
+                        .setTimeToLiveSeconds(gameEventsTtl))
+                // Timers of each game session, partitioned by the session and backed up with it.
+                // Timers of abandoned games expire together with their event logs.
+                .addMapConfig(new MapConfig()
+                        .setName(GameTimerRepository.MAP_NAME)
+                        .setTimeToLiveSeconds(gameEventsTtl))
+                // Socket events are only useful while fresh, publishers overwrite the oldest ones instead of waiting
+                .addReliableTopicConfig(new ReliableTopicConfig("socketEvents.*")
+                        .setTopicOverloadPolicy(TopicOverloadPolicy.DISCARD_OLDEST));
         config.getSerializationConfig()
                 .getCompactSerializationConfig()
                 .addSerializer(new UserCompactSerializer())
+                .addSerializer(new PlayerRefCompactSerializer())
                 .addSerializer(new GameStateCompactSerializer())
                 .addSerializer(new GameSessionCompactSerializer());
 
         return config;
     }
 
+    /**
+     * Creates the configuration of the game sessions map.
+     * The near cache is invalidated on every change, so polling endpoints never read a stale session.
+     * Indexes cover the lobby filters and the session id used as the pagination cursor.
+     *
+     * @return the game sessions map configuration
+     */
+    private MapConfig gameSessionsMapConfig() {
+        MapConfig mapConfig = new MapConfig()
+                .setName("gameSessions")
+                .addIndexConfig(new IndexConfig(IndexType.SORTED, "__key"))
+                .addIndexConfig(new IndexConfig(IndexType.HASH, "status"))
+                .addIndexConfig(new IndexConfig(IndexType.SORTED, "freeSlots"))
+                .addIndexConfig(new IndexConfig(IndexType.HASH, "hasPassword"));
+
+        if (gameSessionsNearCacheEnabled) {
+            mapConfig.setNearCacheConfig(new NearCacheConfig("gameSessions")
+                    // Read sessions are modified by their readers, every read must get its own copy
+                    .setInMemoryFormat(InMemoryFormat.BINARY)
+                    .setInvalidateOnChange(true)
+                    .setMaxIdleSeconds(gameSessionsNearCacheMaxIdle)
+                    .setEvictionConfig(new EvictionConfig()
+                            .setEvictionPolicy(EvictionPolicy.LRU)
+                            .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                            .setSize(gameSessionsNearCacheMaxSize)));
+        }
+
+        return mapConfig;
+    }
+
     @Bean
     @Primary
     public HazelcastInstance hazelcastInstance() {
@@ -5,7 +5,7 @@ import com.hazelcast.nio.serialization.compact.CompactSerializer;
 import com.hazelcast.nio.serialization.compact.CompactWriter;
 import org.example.codenames.gameSession.entity.GameSession;
 import org.example.codenames.gameSession.entity.GameSession.sessionStatus;
-import org.example.codenames.user.entity.User;
+import org.example.codenames.user.entity.PlayerRef;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -46,18 +46,19 @@ public class GameSessionCompactSerializer implements CompactSerializer<GameSessi
         writer.writeString("password", session.getPassword());
         writer.writeInt64("votingStartTime", session.getVotingStartTime() != null ? session.getVotingStartTime() : 0L);
         writer.writeString("discordChannelId", session.getDiscordChannelId() != null ? session.getDiscordChannelId().toString() : null);
+        writer.writeInt64("version", session.getVersion());
 
-        // Flatten List<List<User>> into a single list and store nested sizes
-        List<User> flatUsers = new ArrayList<>();
+        // Flatten List<List<PlayerRef>> into a single list and store nested sizes
+        List<PlayerRef> flatUsers = new ArrayList<>();
         List<Integer> userGroupSizes = new ArrayList<>();
         if (session.getConnectedUsers() != null) {
-            for (List<User> group : session.getConnectedUsers()) {
+            for (List<PlayerRef> group : session.getConnectedUsers()) {
                 userGroupSizes.add(group.size());
                 flatUsers.addAll(group);
             }
         }
         writer.writeArrayOfInt32("userGroupSizes", userGroupSizes.stream().mapToInt(i -> i).toArray());
-        writer.writeArrayOfCompact("connectedUsersFlat", flatUsers.toArray(new User[0]));
+        writer.writeArrayOfCompact("connectedPlayersFlat", flatUsers.toArray(new PlayerRef[0]));
 
         // Flatten List<List<Integer>> into a single list and store nested sizes
         List<Integer> flatVotes = new ArrayList<>();
@@ -71,8 +72,17 @@ public class GameSessionCompactSerializer implements CompactSerializer<GameSessi
         writer.writeArrayOfInt32("voteGroupSizes", voteGroupSizes.stream().mapToInt(i -> i).toArray());
         writer.writeArrayOfInt32("votesFlat", flatVotes.stream().mapToInt(i -> i).toArray());
 
-        // Write GameState (Compact)
-        writer.writeCompact("gameState", session.getGameState());
+        // The game state is stored in its own map, see GameStateRepository
+
+        // Derived lobby fields, only written so that lobby queries can be indexed and projected
+        int redTeamPlayers = userGroupSizes.size() > 0 ? userGroupSizes.get(0) : 0;
+        int blueTeamPlayers = userGroupSizes.size() > 1 ? userGroupSizes.get(1) : 0;
+        int maxPlayers = session.getMaxPlayers() != null ? session.getMaxPlayers() : 0;
+
+        writer.writeInt32("redTeamPlayers", redTeamPlayers);
+        writer.writeInt32("blueTeamPlayers", blueTeamPlayers);
+        writer.writeInt32("freeSlots", Math.max(0, maxPlayers - redTeamPlayers - blueTeamPlayers));
+        writer.writeBoolean("hasPassword", session.getPassword() != null && !session.getPassword().isEmpty());
     }
 
     /**
@@ -97,13 +107,15 @@ public class GameSessionCompactSerializer implements CompactSerializer<GameSessi
         builder.votingStartTime(reader.readInt64("votingStartTime"));
         builder.discordChannelId(reader.readString("discordChannelId"));
 
+        builder.version(reader.readInt64("version"));
+
         // Reconstruct connectedUsers
         int[] userGroupSizes = reader.readArrayOfInt32("userGroupSizes");
-        User[] flatUsers = reader.readArrayOfCompact("connectedUsersFlat", User.class);
-        List<List<User>> connectedUsers = new ArrayList<>();
+        PlayerRef[] flatUsers = reader.readArrayOfCompact("connectedPlayersFlat", PlayerRef.class);
+        List<List<PlayerRef>> connectedUsers = new ArrayList<>();
         int userIndex = 0;
         for (int size : userGroupSizes) {
-            List<User> group = new ArrayList<>();
+            List<PlayerRef> group = new ArrayList<>();
             for (int i = 0; i < size; i++) {
                 group.add(flatUsers[userIndex++]);
             }
@@ -125,8 +137,6 @@ public class GameSessionCompactSerializer implements CompactSerializer<GameSessi
         }
         builder.votes(votes);
 
-        builder.gameState(reader.readCompact("gameState"));
-
         return builder.build();
     }
 }
@@ -3,13 +3,15 @@ package org.example.codenames.hazelcast.compactSerializers.gameSessionSerializer
 import com.hazelcast.nio.serialization.compact.CompactReader;
 import com.hazelcast.nio.serialization.compact.CompactSerializer;
 import com.hazelcast.nio.serialization.compact.CompactWriter;
+import org.example.codenames.gameState.entity.Board;
 import org.example.codenames.gameState.entity.GameState;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-
+/**
+ * Compact serializer of the game state.
+ * The cards and colors are always stored, the board they were drawn from is stored next to them,
+ * so reading a game state never depends on the cards loaded by the reading member.
+ */
 public class GameStateCompactSerializer implements CompactSerializer<GameState> {
-
     @Override
     public String getTypeName() {
         return "GameState";
@@ -29,21 +31,23 @@ public class GameStateCompactSerializer implements CompactSerializer<GameState>
         writer.writeInt32("redTeamScore", gs.getRedTeamScore());
         writer.writeInt32("teamTurn", gs.getTeamTurn());
 
-        writer.writeArrayOfString("cards", gs.getCards());
-        writer.writeArrayOfInt32("cardsColors", Arrays.stream(gs.getCardsColors()).mapToInt(Integer::intValue).toArray());
-        writer.writeArrayOfInt32("cardsVotes", gs.getCardsVotes().stream().mapToInt(Integer::intValue).toArray());
-        writer.writeArrayOfInt32(
-                "cardsChosen",
-                gs.getCardsChosen() != null
-                        ? gs.getCardsChosen().stream().mapToInt(i -> i).toArray()
-                        : new int[0]
-        );
+        Board board = gs.getBoard();
+        writer.writeString("boardLanguage", board != null ? board.getLanguage() : null);
+        writer.writeInt64("boardDeckVersion", board != null ? board.getDeckVersion() : 0L);
+        writer.writeInt64("boardSeed", board != null ? board.getSeed() : 0L);
+
+        // Primitive arrays and the revealed cards mask are written as they are, without intermediate collections
+        writer.writeArrayOfInt16("cardIndexes", gs.getCardIndexes());
+        writer.writeArrayOfInt8("cardsColors", gs.getCardsColors());
+        writer.writeArrayOfInt32("cardsVotes", gs.getCardsVotes());
+        writer.writeInt64("revealedCards", gs.getRevealedCards());
 
         writer.writeString("hint", gs.getHint());
         writer.writeInt32("hintNumber", gs.getHintNumber());
         writer.writeString("initialHintNumber", gs.getInitialHintNumber());
         writer.writeBoolean("isHintTurn", gs.isHintTurn());
         writer.writeBoolean("isGuessingTurn", gs.isGuessingTurn());
+        writer.writeInt64("version", gs.getVersion());
     }
 
     @Override
@@ -56,16 +60,15 @@ public class GameStateCompactSerializer implements CompactSerializer<GameState>
         gs.setRedTeamScore(reader.readInt32("redTeamScore"));
         gs.setTeamTurn(reader.readInt32("teamTurn"));
 
-        gs.setCards(reader.readArrayOfString("cards"));
-        gs.setCardsColors(Arrays.stream(reader.readArrayOfInt32("cardsColors")).boxed().toArray(Integer[]::new));
+        gs.setCardIndexes(reader.readArrayOfInt16("cardIndexes"));
+        gs.setCardsColors(reader.readArrayOfInt8("cardsColors"));
+        gs.setCardsVotes(reader.readArrayOfInt32("cardsVotes"));
+        gs.setRevealedCards(reader.readInt64("revealedCards"));
 
-        gs.setCardsVotes(new ArrayList<>(Arrays.stream(reader.readArrayOfInt32("cardsVotes"))
-                .boxed()
-                .toList()));
-
-        gs.setCardsChosen(new ArrayList<>(Arrays.stream(reader.readArrayOfInt32("cardsChosen"))
-                .boxed()
-                .toList()));
+        String boardLanguage = reader.readString("boardLanguage");
+        if (boardLanguage != null) {
+            gs.setBoard(new Board(boardLanguage, reader.readInt64("boardDeckVersion"), reader.readInt64("boardSeed")));
+        }
 
         gs.setHint(reader.readString("hint"));
         gs.setHintNumber(reader.readInt32("hintNumber"));
@@ -73,6 +76,8 @@ public class GameStateCompactSerializer implements CompactSerializer<GameState>
         gs.setHintTurn(reader.readBoolean("isHintTurn"));
         gs.setGuessingTurn(reader.readBoolean("isGuessingTurn"));
 
+        gs.setVersion(reader.readInt64("version"));
+
         return gs;
     }
 }
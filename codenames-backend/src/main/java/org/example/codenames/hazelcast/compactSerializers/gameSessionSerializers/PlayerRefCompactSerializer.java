@@ -0,0 +1,40 @@
+package org.example.codenames.hazelcast.compactSerializers.gameSessionSerializers;
+
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import org.example.codenames.user.entity.PlayerRef;
+import org.example.codenames.user.entity.User;
+
+public class PlayerRefCompactSerializer implements CompactSerializer<PlayerRef> {
+
+    @Override
+    public String getTypeName() {
+        return "PlayerRef";
+    }
+
+    @Override
+    public Class<PlayerRef> getCompactClass() {
+        return PlayerRef.class;
+    }
+
+    @Override
+    public void write(CompactWriter writer, PlayerRef player) {
+        writer.writeString("id", player.getId());
+        writer.writeString("username", player.getUsername());
+        writer.writeInt32("profilePic", player.getProfilePic());
+        writer.writeString("status", player.getStatus() != null ? player.getStatus().name() : null);
+    }
+
+    @Override
+    public PlayerRef read(CompactReader reader) {
+        String status = reader.readString("status");
+
+        return PlayerRef.builder()
+                .id(reader.readString("id"))
+                .username(reader.readString("username"))
+                .profilePic(reader.readInt32("profilePic"))
+                .status(status != null ? User.userStatus.valueOf(status) : null)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.codenames.hazelcast.entryProcessors;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import org.example.codenames.gameSession.entity.GameSession;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Entry processor replicating an already computed game session to backup replicas.
+ * The session is written through the Hazelcast serialization service, so it uses its compact serializer.
+ *
+ * @param <R> result type of the primary entry processor
+ */
+public class GameSessionBackupEntryProcessor<R> implements EntryProcessor<String, GameSession, R>, DataSerializable {
+    /**
+     * Session state computed on the primary replica.
+     */
+    private GameSession session;
+
+    /**
+     * Constructor used by the Hazelcast serialization.
+     */
+    public GameSessionBackupEntryProcessor() {
+    }
+
+    /**
+     * Creates a new backup entry processor.
+     *
+     * @param session the session state computed on the primary replica
+     */
+    public GameSessionBackupEntryProcessor(GameSession session) {
+        this.session = session;
+    }
+
+    @Override
+    public R process(Map.Entry<String, GameSession> entry) {
+        entry.setValue(session);
+        return null;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(session);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        session = in.readObject();
+    }
+}
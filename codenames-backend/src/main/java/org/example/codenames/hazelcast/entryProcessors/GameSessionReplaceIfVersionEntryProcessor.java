@@ -0,0 +1,90 @@
+package org.example.codenames.hazelcast.entryProcessors;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import org.example.codenames.gameSession.entity.GameSession;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Entry processor replacing a stored game session only if it still has the expected version.
+ * Only the version is compared on the partition owner, not the whole serialized session.
+ */
+public class GameSessionReplaceIfVersionEntryProcessor implements EntryProcessor<String, GameSession, Boolean>, DataSerializable {
+    /**
+     * New session state, already carrying the incremented version.
+     */
+    private GameSession session;
+
+    /**
+     * Version the stored session must have.
+     */
+    private long expectedVersion;
+
+    /**
+     * Whether the session was replaced on the primary replica.
+     */
+    private transient boolean replaced;
+
+    /**
+     * Constructor used by the Hazelcast serialization.
+     */
+    public GameSessionReplaceIfVersionEntryProcessor() {
+    }
+
+    /**
+     * Creates a new entry processor replacing the session if it is still at the expected version.
+     *
+     * @param session         the new session state
+     * @param expectedVersion the version the stored session must have
+     */
+    public GameSessionReplaceIfVersionEntryProcessor(GameSession session, long expectedVersion) {
+        this.session = session;
+        this.expectedVersion = expectedVersion;
+    }
+
+    /**
+     * Writes the new session if the stored one was not changed in the meantime.
+     *
+     * @param entry the game session entry
+     * @return true if the session was replaced, false if it is missing or has another version
+     */
+    @Override
+    public Boolean process(Map.Entry<String, GameSession> entry) {
+        GameSession stored = entry.getValue();
+
+        if (stored == null || stored.getVersion() != expectedVersion) {
+            return false;
+        }
+
+        entry.setValue(session);
+        replaced = true;
+
+        return true;
+    }
+
+    /**
+     * Backups receive the new session as-is, the version was already checked on the primary replica.
+     *
+     * @return the backup entry processor, or null if the session was not replaced
+     */
+    @Override
+    public EntryProcessor<String, GameSession, Boolean> getBackupProcessor() {
+        return replaced ? new GameSessionBackupEntryProcessor<>(session) : null;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(session);
+        out.writeLong(expectedVersion);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        session = in.readObject();
+        expectedVersion = in.readLong();
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.codenames.hazelcast.entryProcessors;
+
+import com.hazelcast.map.EntryProcessor;
+import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.repository.api.GameSessionMutation;
+
+import java.util.Map;
+
+/**
+ * Entry processor applying a {@link GameSessionMutation} on the partition owner of the session.
+ * The whole read-modify-write happens under the partition lock, so concurrent updates are never lost.
+ *
+ * @param <R> type of the mutation result
+ */
+public class GameSessionUpdateEntryProcessor<R> implements EntryProcessor<String, GameSession, R> {
+    /**
+     * Mutation applied to the stored session.
+     */
+    private final GameSessionMutation<R> mutation;
+
+    /**
+     * Session state after the mutation, replicated as-is to the backups.
+     */
+    private transient GameSession updatedSession;
+
+    /**
+     * Creates a new entry processor for the given mutation.
+     *
+     * @param mutation the mutation to apply
+     */
+    public GameSessionUpdateEntryProcessor(GameSessionMutation<R> mutation) {
+        this.mutation = mutation;
+    }
+
+    /**
+     * Applies the mutation to the stored session, increments its version and writes the result back.
+     *
+     * @param entry the game session entry
+     * @return the mutation result
+     * @throws IllegalArgumentException if the session does not exist
+     */
+    @Override
+    public R process(Map.Entry<String, GameSession> entry) {
+        GameSession session = entry.getValue();
+
+        if (session == null) {
+            throw new IllegalArgumentException("Game session not found for ID: " + entry.getKey());
+        }
+
+        R result = mutation.apply(session);
+        session.setVersion(session.getVersion() + 1);
+
+        entry.setValue(session);
+        updatedSession = session;
+
+        return result;
+    }
+
+    /**
+     * Backups receive the computed session instead of re-running the mutation,
+     * which may be non-deterministic (e.g. random leader selection).
+     *
+     * @return the backup entry processor
+     */
+    @Override
+    public EntryProcessor<String, GameSession, R> getBackupProcessor() {
+        return updatedSession != null ? new GameSessionBackupEntryProcessor<>(updatedSession) : null;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.codenames.hazelcast.entryProcessors;
+
+import com.hazelcast.map.EntryProcessor;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import org.example.codenames.gameState.entity.GameState;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Entry processor replicating an already computed game state to backup replicas.
+ * The game state is written through the Hazelcast serialization service, so it uses its compact serializer.
+ *
+ * @param <R> result type of the primary entry processor
+ */
+public class GameStateBackupEntryProcessor<R> implements EntryProcessor<String, GameState, R>, DataSerializable {
+    /**
+     * Game state computed on the primary replica.
+     */
+    private GameState gameState;
+
+    /**
+     * Constructor used by the Hazelcast serialization.
+     */
+    public GameStateBackupEntryProcessor() {
+    }
+
+    /**
+     * Creates a new backup entry processor.
+     *
+     * @param gameState the game state computed on the primary replica
+     */
+    public GameStateBackupEntryProcessor(GameState gameState) {
+        this.gameState = gameState;
+    }
+
+    @Override
+    public R process(Map.Entry<String, GameState> entry) {
+        entry.setValue(gameState);
+        return null;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeObject(gameState);
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        gameState = in.readObject();
+    }
+}
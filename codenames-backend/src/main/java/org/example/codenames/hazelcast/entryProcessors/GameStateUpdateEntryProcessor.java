@@ -0,0 +1,69 @@
+package org.example.codenames.hazelcast.entryProcessors;
+
+import com.hazelcast.map.EntryProcessor;
+import org.example.codenames.gameState.entity.GameState;
+import org.example.codenames.gameState.repository.api.GameStateMutation;
+
+import java.util.Map;
+
+/**
+ * Entry processor applying a {@link GameStateMutation} on the partition owner of the game state.
+ * Only the game state is read and written, the session metadata stays untouched.
+ *
+ * @param <R> type of the mutation result
+ */
+public class GameStateUpdateEntryProcessor<R> implements EntryProcessor<String, GameState, R> {
+    /**
+     * Mutation applied to the stored game state.
+     */
+    private final GameStateMutation<R> mutation;
+
+    /**
+     * Game state after the mutation, replicated as-is to the backups.
+     */
+    private transient GameState updatedGameState;
+
+    /**
+     * Creates a new entry processor for the given mutation.
+     *
+     * @param mutation the mutation to apply
+     */
+    public GameStateUpdateEntryProcessor(GameStateMutation<R> mutation) {
+        this.mutation = mutation;
+    }
+
+    /**
+     * Applies the mutation to the stored game state, increments its version and writes the result back.
+     *
+     * @param entry the game state entry
+     * @return the mutation result
+     * @throws IllegalArgumentException if the game state does not exist
+     */
+    @Override
+    public R process(Map.Entry<String, GameState> entry) {
+        GameState gameState = entry.getValue();
+
+        if (gameState == null) {
+            throw new IllegalArgumentException("Game state not found for ID: " + entry.getKey());
+        }
+
+        R result = mutation.apply(gameState);
+        gameState.setVersion(gameState.getVersion() + 1);
+
+        entry.setValue(gameState);
+        updatedGameState = gameState;
+
+        return result;
+    }
+
+    /**
+     * Backups receive the computed game state instead of re-running the mutation,
+     * which may be non-deterministic (e.g. random leader selection).
+     *
+     * @return the backup entry processor
+     */
+    @Override
+    public EntryProcessor<String, GameState, R> getBackupProcessor() {
+        return updatedGameState != null ? new GameStateBackupEntryProcessor<>(updatedGameState) : null;
+    }
+}
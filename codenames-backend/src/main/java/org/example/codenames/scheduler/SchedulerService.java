@@ -4,7 +4,12 @@ package org.example.codenames.scheduler;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
 import lombok.extern.slf4j.Slf4j;
+import org.example.codenames.card.service.api.CardService;
+import org.example.codenames.gameArchive.repository.api.GameArchiveRepository;
 import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.service.api.GameSessionService;
+import org.example.codenames.gameState.entity.Board;
+import org.example.codenames.gameState.entity.GameState;
 import org.example.codenames.user.entity.User;
 import org.example.codenames.user.repository.api.UserRepository;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,7 +17,9 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * SchedulerService is responsible for managing scheduled tasks.
@@ -33,21 +40,50 @@ public class SchedulerService {
      */
     private final IMap<String, GameSession> gameSessionMap;
 
+    /**
+     * The gameStateMap is a Hazelcast distributed map that stores the game states of the live games.
+     * The key is the game session ID and the value is the GameState object.
+     */
+    private final IMap<String, GameState> gameStateMap;
+
+    /**
+     * The gameSessionService deletes abandoned game sessions together with their game states and side state.
+     */
+    private final GameSessionService gameSessionService;
+
     /**
      * The userRepository is a Spring Data JPA repository that provides CRUD operations for User entities.
      */
     private final UserRepository userRepository;
 
+    /**
+     * The cardService deletes the stored versions of the cards no game uses anymore.
+     */
+    private final CardService cardService;
+
+    /**
+     * The gameArchiveRepository tells which versions of the cards the archived games were played with.
+     */
+    private final GameArchiveRepository gameArchiveRepository;
+
     /**
      * Constructor for SchedulerService.
      *
-     * @param hazelcastInstance the Hazelcast instance used for distributed data storage
-     * @param userRepository    the user repository used for CRUD operations
+     * @param hazelcastInstance     the Hazelcast instance used for distributed data storage
+     * @param gameSessionService    the game session service used to delete abandoned game sessions
+     * @param userRepository        the user repository used for CRUD operations
+     * @param cardService           the card service used to delete unused versions of the cards
+     * @param gameArchiveRepository the game archive repository used to find the versions of the cards archived games use
      */
-    public SchedulerService(HazelcastInstance hazelcastInstance, UserRepository userRepository) {
+    public SchedulerService(HazelcastInstance hazelcastInstance, GameSessionService gameSessionService, UserRepository userRepository,
+                            CardService cardService, GameArchiveRepository gameArchiveRepository) {
         this.activityMap = hazelcastInstance.getMap("activeUsers");
         this.gameSessionMap = hazelcastInstance.getMap("gameSessions");
+        this.gameStateMap = hazelcastInstance.getMap("gameStateMap");
+        this.gameSessionService = gameSessionService;
         this.userRepository = userRepository;
+        this.cardService = cardService;
+        this.gameArchiveRepository = gameArchiveRepository;
     }
 
     /**
@@ -93,8 +129,30 @@ public class SchedulerService {
             gameSession.getConnectedUsers().get(0).removeIf(user -> !activityKeys.contains(user.getId()));
             gameSession.getConnectedUsers().get(1).removeIf(user -> !activityKeys.contains(user.getId()));
             if (gameSession.getConnectedUsers().get(0).isEmpty() && gameSession.getConnectedUsers().get(1).isEmpty()) {
-                gameSessionMap.delete(gameSession.getSessionId());
+                gameSessionService.deleteGameSession(gameSession.getSessionId());
             }
         }
     }
+
+    /**
+     * Scheduled task to clean up the stored versions of the cards.
+     * This task runs every midnight.
+     * It deletes the versions no live game is played with and no archived game was played with.
+     * The live games are read first, so a game archived and evicted in the meantime is found in the archive.
+     */
+    @Scheduled(cron = "@midnight")
+    public void cleanCardDeckVersions() {
+        Set<Long> liveVersions = gameStateMap.values().stream()
+                .map(GameState::getBoard)
+                .filter(Objects::nonNull)
+                .map(Board::getDeckVersion)
+                .collect(Collectors.toSet());
+
+        int deleted = cardService.deleteUnusedDeckVersions(version ->
+                liveVersions.contains(version) || gameArchiveRepository.existsByBoardDeckVersion(version));
+
+        if (deleted > 0) {
+            log.info("Deleted {} unused versions of the cards.", deleted);
+        }
+    }
 }
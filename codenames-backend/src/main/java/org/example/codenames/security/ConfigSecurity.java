@@ -89,6 +89,7 @@ public class ConfigSecurity {
                                 "api/game-session/**", "api/game-state/**", "api/cards/**"
                         ).permitAll()
                         .requestMatchers("/oauth2/**", "/login/oauth2/**", "/api/auth/**", "/api/discord/link/**").permitAll()
+                        .requestMatchers("/ws/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -0,0 +1,67 @@
+package org.example.codenames.socket;
+
+import org.example.codenames.socket.service.impl.GameViewSubscriptionInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+
+/**
+ * Configuration of the in-process STOMP broker.
+ * Browsers connect to {@code /ws} and subscribe to {@code /topic/...}, messages to {@code /app/...} go to the message mapping controllers.
+ * The game, lobby and profile events are published here when {@code codenames.socket.mode} is {@code stomp}.
+ * Subscriptions to the spymaster views of a game are checked by the {@link GameViewSubscriptionInterceptor}.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer {
+    /**
+     * Interceptor rejecting subscriptions to the spymaster views of users who are not team leaders.
+     */
+    private final GameViewSubscriptionInterceptor gameViewSubscriptionInterceptor;
+
+    /**
+     * Creates a new instance of the {@link WebSocketConfiguration}.
+     *
+     * @param gameViewSubscriptionInterceptor Interceptor checking the subscriptions to the spymaster views
+     */
+    @Autowired
+    public WebSocketConfiguration(GameViewSubscriptionInterceptor gameViewSubscriptionInterceptor) {
+        this.gameViewSubscriptionInterceptor = gameViewSubscriptionInterceptor;
+    }
+
+    /**
+     * Registers the WebSocket endpoint the browsers connect to.
+     *
+     * @param registry The {@link StompEndpointRegistry} to register the endpoint with.
+     */
+    @Override
+    public void registerStompEndpoints(StompEndpointRegistry registry) {
+        registry.addEndpoint("/ws")
+                .setAllowedOriginPatterns("*");
+    }
+
+    /**
+     * Enables the simple broker for the topics and sets the prefix of the application destinations.
+     *
+     * @param registry The {@link MessageBrokerRegistry} to configure.
+     */
+    @Override
+    public void configureMessageBroker(MessageBrokerRegistry registry) {
+        registry.enableSimpleBroker("/topic");
+        registry.setApplicationDestinationPrefixes("/app");
+    }
+
+    /**
+     * Checks the frames sent by the clients before they reach the broker.
+     *
+     * @param registration The {@link ChannelRegistration} of the client inbound channel.
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(gameViewSubscriptionInterceptor);
+    }
+}
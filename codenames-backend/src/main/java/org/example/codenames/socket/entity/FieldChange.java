@@ -0,0 +1,22 @@
+package org.example.codenames.socket.entity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * FieldChange is a class that represents a single changed field of a serialized object.
+ */
+@Data
+@AllArgsConstructor
+public class FieldChange {
+    /**
+     * Path of the changed field, e.g. {@code gameState.cardsVotes[7]}.
+     */
+    private String path;
+
+    /**
+     * New value of the field, a JSON null if the field was removed.
+     */
+    private JsonNode value;
+}
@@ -0,0 +1,28 @@
+package org.example.codenames.socket.entity;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * GameSessionDelta is a class that represents the field-level changes between two versions of a game session.
+ */
+@Data
+@Builder
+public class GameSessionDelta {
+    /**
+     * Version of the game session the changes apply to.
+     */
+    private long baseVersion;
+
+    /**
+     * Version of the game session after applying the changes.
+     */
+    private long version;
+
+    /**
+     * Changed fields.
+     */
+    private List<FieldChange> changes;
+}
@@ -0,0 +1,36 @@
+package org.example.codenames.socket.entity;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * LobbyBroadcastStats is a class that represents the counters of the coalesced lobby broadcasts.
+ */
+@Data
+@Builder
+public class LobbyBroadcastStats {
+    /**
+     * Number of lobby broadcasts requested after a lobby change.
+     */
+    private long requested;
+
+    /**
+     * Number of lobby deltas actually emitted.
+     */
+    private long emitted;
+
+    /**
+     * Number of requests merged into another emit or skipped because the lobby did not change.
+     */
+    private long suppressed;
+
+    /**
+     * Sequence number of the last emitted lobby delta.
+     */
+    private long lastSequence;
+
+    /**
+     * Length of the coalescing window in milliseconds.
+     */
+    private long windowMs;
+}
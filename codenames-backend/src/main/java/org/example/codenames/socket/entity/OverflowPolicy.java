@@ -0,0 +1,17 @@
+package org.example.codenames.socket.entity;
+
+/**
+ * OverflowPolicy decides what happens to the outbound socket events when a namespace queue is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Every event is queued, the oldest event is dropped when the queue is full.
+     */
+    DROP_OLDEST,
+
+    /**
+     * A queued state event of a game is replaced by a newer one of the same game,
+     * the oldest event is dropped when the queue is still full.
+     */
+    COALESCE_PER_GAME
+}
@@ -0,0 +1,75 @@
+package org.example.codenames.socket.entity;
+
+import java.util.Map;
+
+/**
+ * ProfileEvent is a friend list change pushed to the profile room of a single user.
+ */
+public enum ProfileEvent {
+    FRIEND_REQUEST_RECEIVED("friendRequestReceived", "from", "sendFriendRequest", "from", "to"),
+    FRIEND_REQUEST_ACCEPTED("friendRequestAccepted", "by", "acceptFriendRequest", "to", "from"),
+    FRIEND_REQUEST_DECLINED("friendRequestDeclined", "by", "declineFriendRequest", "to", "from"),
+    FRIEND_REMOVED("friendRemoved", "by", "removeFriend", "user", "friend");
+
+    /**
+     * Name of the event received by the clients.
+     */
+    private final String eventName;
+
+    /**
+     * Key of the user causing the event in the payload received by the clients.
+     */
+    private final String actorKey;
+
+    /**
+     * Name of the event sent to the socket.io relay, which turns it into the client event.
+     */
+    private final String relayEventName;
+
+    /**
+     * Key of the user causing the event in the payload sent to the relay.
+     */
+    private final String relayActorKey;
+
+    /**
+     * Key of the user receiving the event in the payload sent to the relay.
+     */
+    private final String relayRecipientKey;
+
+    ProfileEvent(String eventName, String actorKey, String relayEventName, String relayActorKey, String relayRecipientKey) {
+        this.eventName = eventName;
+        this.actorKey = actorKey;
+        this.relayEventName = relayEventName;
+        this.relayActorKey = relayActorKey;
+        this.relayRecipientKey = relayRecipientKey;
+    }
+
+    public String getEventName() {
+        return eventName;
+    }
+
+    public String getRelayEventName() {
+        return relayEventName;
+    }
+
+    /**
+     * Returns the payload received by the clients.
+     *
+     * @param actor the username of the user causing the event
+     * @return the client payload
+     */
+    public Map<String, String> payload(String actor) {
+        return Map.of(actorKey, actor);
+    }
+
+    /**
+     * Returns the payload sent to the socket.io relay.
+     *
+     * @param actor     the username of the user causing the event
+     * @param recipient the username of the user receiving the event
+     * @return the relay payload
+     */
+    public Map<String, String> relayPayload(String actor, String recipient) {
+        return Map.of(relayActorKey, actor, relayRecipientKey, recipient);
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.codenames.socket.entity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * SocketEvent is a serialized socket event travelling over the socket event bus,
+ * from the instance that caused it to the instance delivering it to the browsers.
+ */
+@Getter
+@Builder
+public class SocketEvent implements Serializable {
+    /**
+     * Kind of the socket event.
+     */
+    public enum eventType {
+        ROOM_UPDATE(SocketNamespace.GAME),
+        LOBBY(SocketNamespace.GAME),
+        GAME_DATA(SocketNamespace.GAME),
+        GAME_STATE(SocketNamespace.GAME),
+        FORGET(SocketNamespace.GAME),
+        PROFILE(SocketNamespace.PROFILE),
+        CHAT(SocketNamespace.CHAT);
+
+        /**
+         * Namespace the events of this kind are emitted in.
+         */
+        private final SocketNamespace namespace;
+
+        eventType(SocketNamespace namespace) {
+            this.namespace = namespace;
+        }
+
+        public SocketNamespace getNamespace() {
+            return namespace;
+        }
+    }
+
+    /**
+     * Kind of the event.
+     */
+    private final eventType type;
+
+    /**
+     * Id of the game session the event belongs to, null for lobby and profile events.
+     */
+    private final UUID gameId;
+
+    /**
+     * Name of the emitted event, for room and lobby events.
+     */
+    private final String eventName;
+
+    /**
+     * Serialized payload, the game session tree for game data and game state events.
+     * Null for game state events that never leave this instance, which carry the tree instead.
+     */
+    private final String payload;
+
+    /**
+     * Game session tree of game data and game state events, only kept within this instance.
+     */
+    private final transient JsonNode tree;
+
+    /**
+     * Version of the game session for game data and game state events.
+     */
+    private final long version;
+
+    /**
+     * Friend list event of profile events.
+     */
+    private final ProfileEvent profileEvent;
+
+    /**
+     * Username of the user causing a profile event, or the sender of a chat message.
+     */
+    private final String actor;
+
+    /**
+     * Username of the user receiving a profile event.
+     */
+    private final String recipient;
+
+    /**
+     * Returns the key whose partition owner delivers the event when only one instance may deliver it.
+     * Game events use the session id, the same key as the session record.
+     *
+     * @return the ownership key of the event
+     */
+    public String getOwnerKey() {
+        return switch (type) {
+            case LOBBY -> "lobby";
+            case PROFILE -> recipient;
+            default -> gameId.toString();
+        };
+    }
+}
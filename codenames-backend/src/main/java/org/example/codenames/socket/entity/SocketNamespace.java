@@ -0,0 +1,21 @@
+package org.example.codenames.socket.entity;
+
+/**
+ * SocketNamespace groups the socket events sharing one connection and one outbound queue.
+ */
+public enum SocketNamespace {
+    /**
+     * Game session and lobby events.
+     */
+    GAME,
+
+    /**
+     * Friend list events.
+     */
+    PROFILE,
+
+    /**
+     * Chat messages sent by the server.
+     */
+    CHAT
+}
@@ -0,0 +1,16 @@
+package org.example.codenames.socket.service.api;
+
+import org.example.codenames.socket.entity.LobbyBroadcastStats;
+
+import java.util.UUID;
+
+/**
+ * Service coalescing lobby list broadcasts.
+ */
+public interface LobbyBroadcastService {
+    void markDirty(UUID sessionId);
+
+    void flush();
+
+    LobbyBroadcastStats getStats();
+}
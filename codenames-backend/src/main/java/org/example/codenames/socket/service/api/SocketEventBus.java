@@ -0,0 +1,17 @@
+package org.example.codenames.socket.service.api;
+
+import org.example.codenames.socket.entity.SocketEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries serialized socket events from the instance causing them to the instance delivering them,
+ * either within this instance or across the cluster, chosen with {@code codenames.socket.cluster-bus.enabled}.
+ */
+public interface SocketEventBus {
+    boolean isClustered();
+
+    void publish(SocketEvent event);
+
+    void subscribe(Consumer<SocketEvent> consumer);
+}
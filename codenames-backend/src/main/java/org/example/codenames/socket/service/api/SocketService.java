@@ -2,6 +2,7 @@ package org.example.codenames.socket.service.api;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.LobbyDelta;
 import org.example.codenames.gameSession.entity.dto.GameSessionJoinGameDTO;
 import org.example.codenames.gameSession.entity.dto.GameSessionRoomLobbyDTO;
 
@@ -13,8 +14,14 @@ public interface SocketService {
 
     void sendGameSessionsList(List<GameSessionJoinGameDTO> gameSessions) throws JsonProcessingException;
 
+    void sendLobbyDelta(LobbyDelta lobbyDelta) throws JsonProcessingException;
+
     void sendGameSessionUpdate(UUID gameId, GameSession gameSession) throws JsonProcessingException;
 
+    void sendGameSessionDelta(UUID gameId, GameSession gameSession) throws JsonProcessingException;
+
+    void forgetGameSession(UUID gameId);
+
     void emitFriendRequestEvent(String receiverUsername, String senderUsername) throws JsonProcessingException;
 
     void emitFriendRequestDeclineEvent(String receiverUsername, String senderUsername) throws JsonProcessingException;
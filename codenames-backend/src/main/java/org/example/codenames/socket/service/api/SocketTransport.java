@@ -0,0 +1,28 @@
+package org.example.codenames.socket.service.api;
+
+import org.example.codenames.gameSession.entity.GameViewRole;
+import org.example.codenames.socket.entity.ProfileEvent;
+import org.example.codenames.socket.entity.SocketNamespace;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Delivers serialized socket events to the browsers, either through the socket.io relay
+ * or directly over the STOMP broker of this instance, chosen with {@code codenames.socket.mode}.
+ */
+public interface SocketTransport {
+    boolean isConnected(SocketNamespace namespace);
+
+    boolean isShared();
+
+    void emitToGame(UUID gameId, String event, String payload);
+
+    void emitToGameView(UUID gameId, GameViewRole role, String event, String payload);
+
+    void emitToLobby(String event, String payload);
+
+    void emitProfileEvent(ProfileEvent event, String actor, String recipient);
+
+    void emitChatMessage(UUID gameId, Map<String, Object> message);
+}
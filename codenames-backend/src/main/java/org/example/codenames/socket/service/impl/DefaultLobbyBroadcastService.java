@@ -0,0 +1,151 @@
+package org.example.codenames.socket.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.codenames.gameSession.entity.LobbyDelta;
+import org.example.codenames.gameSession.service.api.LobbyViewService;
+import org.example.codenames.socket.entity.LobbyBroadcastStats;
+import org.example.codenames.socket.service.api.LobbyBroadcastService;
+import org.example.codenames.socket.service.api.SocketService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Default implementation of the {@link LobbyBroadcastService}.
+ * Request threads only mark the changed sessions, the lobby changes are emitted
+ * as sequenced deltas at most once per window from the scheduler thread.
+ * Every member refreshes its own lobby rows, only the owner of the lobby emits the deltas.
+ */
+@Slf4j
+@Service
+public class DefaultLobbyBroadcastService implements LobbyBroadcastService {
+    /**
+     * Lobby view collecting the lobby deltas.
+     */
+    private final LobbyViewService lobbyViewService;
+
+    /**
+     * Socket service used to emit the lobby deltas.
+     */
+    private final SocketService socketService;
+
+    /**
+     * Length of the coalescing window in milliseconds.
+     */
+    private final long windowMs;
+
+    /**
+     * Sessions changed since the last flush.
+     */
+    private final Set<UUID> dirtySessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Number of broadcasts requested since the last flush.
+     */
+    private final AtomicLong pendingRequests = new AtomicLong();
+
+    /**
+     * Sequence number of the last emitted lobby delta.
+     */
+    private volatile long lastSequence;
+
+    /**
+     * Number of requested broadcasts.
+     */
+    private final AtomicLong requested = new AtomicLong();
+
+    /**
+     * Number of emitted lobby deltas.
+     */
+    private final AtomicLong emitted = new AtomicLong();
+
+    /**
+     * Number of requested broadcasts that did not result in their own emit.
+     */
+    private final AtomicLong suppressed = new AtomicLong();
+
+    /**
+     * Creates a new instance of the {@link DefaultLobbyBroadcastService}.
+     *
+     * @param lobbyViewService Lobby view service
+     * @param socketService    Socket service
+     * @param windowMs         Length of the coalescing window in milliseconds
+     */
+    @Autowired
+    public DefaultLobbyBroadcastService(LobbyViewService lobbyViewService, SocketService socketService,
+                                        @Value("${codenames.socket.lobby-broadcast.window-ms:250}") long windowMs) {
+        this.lobbyViewService = lobbyViewService;
+        this.socketService = socketService;
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * Marks the lobby row of a session as changed, its delta is emitted with the next flush.
+     *
+     * @param sessionId The UUID of the changed game session.
+     */
+    @Override
+    public void markDirty(UUID sessionId) {
+        dirtySessions.add(sessionId);
+        pendingRequests.incrementAndGet();
+        requested.incrementAndGet();
+    }
+
+    /**
+     * Refreshes the changed lobby rows and emits one delta per changed row if this member owns the lobby.
+     * Rows changed through map events without a request are emitted as well.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${codenames.socket.lobby-broadcast.window-ms:250}")
+    public synchronized void flush() {
+        long pending = pendingRequests.getAndSet(0);
+
+        for (UUID sessionId : dirtySessions) {
+            dirtySessions.remove(sessionId);
+
+            try {
+                lobbyViewService.refresh(sessionId);
+            } catch (Exception e) {
+                log.error("Could not refresh the lobby row of session {}", sessionId, e);
+            }
+        }
+
+        List<LobbyDelta> deltas = lobbyViewService.drainDeltas();
+
+        for (LobbyDelta delta : deltas) {
+            try {
+                socketService.sendLobbyDelta(delta);
+            } catch (Exception e) {
+                log.error("Could not emit lobby delta {}", delta.getSequence(), e);
+            }
+
+            lastSequence = delta.getSequence();
+        }
+
+        emitted.addAndGet(deltas.size());
+        suppressed.addAndGet(Math.max(0, pending - deltas.size()));
+    }
+
+    /**
+     * Returns the counters of the lobby broadcasts.
+     *
+     * @return the lobby broadcast statistics
+     */
+    @Override
+    public LobbyBroadcastStats getStats() {
+        return LobbyBroadcastStats.builder()
+                .requested(requested.get())
+                .emitted(emitted.get())
+                .suppressed(suppressed.get())
+                .lastSequence(lastSequence)
+                .windowMs(windowMs)
+                .build();
+    }
+}
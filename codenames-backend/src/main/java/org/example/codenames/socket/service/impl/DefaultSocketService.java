@@ -1,157 +1,285 @@
 package org.example.codenames.socket.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.hazelcast.topic.Message;
-import io.socket.client.IO;
-import io.socket.client.Socket;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.example.codenames.chat.entity.ChatMessage;
 import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.GameView;
+import org.example.codenames.gameSession.entity.GameViewRole;
+import org.example.codenames.gameSession.entity.LobbyDelta;
 import org.example.codenames.gameSession.entity.dto.GameSessionJoinGameDTO;
 import org.example.codenames.gameSession.entity.dto.GameSessionRoomLobbyDTO;
+import org.example.codenames.gameSession.service.api.GameViewService;
+import org.example.codenames.socket.entity.FieldChange;
+import org.example.codenames.socket.entity.GameSessionDelta;
+import org.example.codenames.socket.entity.OverflowPolicy;
+import org.example.codenames.socket.entity.ProfileEvent;
+import org.example.codenames.socket.entity.SocketEvent;
+import org.example.codenames.socket.entity.SocketNamespace;
+import org.example.codenames.socket.service.api.SocketEventBus;
 import org.example.codenames.socket.service.api.SocketService;
+import org.example.codenames.socket.service.api.SocketTransport;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Default implementation of the {@link SocketService}.
+ * Events are only queued on the calling thread, serialized and published to the {@link SocketEventBus} by one publisher thread per namespace.
+ * The bus hands each event to the instance delivering it, which queues it again and emits it from one dispatcher thread per namespace,
+ * computing the game session deltas on the way.
+ * Game sessions are sent as role specific views to one room per role, each view and delta is serialized once per version.
+ * While the transport of a namespace is disconnected on the delivering instance its events stay buffered in the bounded delivery queue,
+ * after the game namespace reconnects the latest state of every game delivered here is replayed before the buffered events.
+ * The game sessions handed to this service must not be modified afterwards.
+ */
 @Slf4j
 @Service
 public class DefaultSocketService implements SocketService {
 
     private final ObjectMapper objectMapper = new ObjectMapper();
-    private final String socketServerUrl;
-    private Socket gameSocket;
-    private Socket profileSocket;
-    private Socket chatSocket;
 
-    public DefaultSocketService(@Value("${socketServer.url}") String socketServerUrl) {
-        this.socketServerUrl = socketServerUrl;
-    }
+    /**
+     * Transport delivering the serialized events to the browsers.
+     */
+    private final SocketTransport socketTransport;
+
+    /**
+     * Bus carrying the serialized events to the delivering instance.
+     */
+    private final SocketEventBus socketEventBus;
 
     /**
-     * Initializes the sockets after construction.
+     * Service rendering the role specific views of the game sessions.
+     */
+    private final GameViewService gameViewService;
+
+    /**
+     * Time in milliseconds between the connection checks of a disconnected namespace.
+     */
+    private final long retryMs;
+
+    /**
+     * Outbound queue of each namespace, holding the events caused here until they are published.
+     */
+    private final Map<SocketNamespace, OutboundEventQueue> queues = new EnumMap<>(SocketNamespace.class);
+
+    /**
+     * Delivery queue of each namespace, holding the events delivered here until they are emitted.
+     */
+    private final Map<SocketNamespace, OutboundEventQueue> deliveries = new EnumMap<>(SocketNamespace.class);
+
+    /**
+     * Publisher and dispatcher threads of each namespace.
+     */
+    private final List<Thread> dispatchers = new ArrayList<>();
+
+    /**
+     * Last game session views sent to the rooms of each game by this instance, the bases of the next deltas.
+     */
+    private final Map<UUID, SentGameSession> sentGameSessions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new instance of the {@link DefaultSocketService}.
      *
-     * @throws URISyntaxException if the socket server URL is invalid.
+     * @param socketTransport Transport delivering the serialized events
+     * @param socketEventBus  Bus carrying the serialized events to the delivering instance
+     * @param gameViewService Service rendering the role specific views of the game sessions
+     * @param capacity        Maximum number of queued events per namespace and queue
+     * @param overflowPolicy  Policy applied to the events of a full queue
+     * @param retryMs         Time in milliseconds between the connection checks of a disconnected namespace
+     */
+    @Autowired
+    public DefaultSocketService(SocketTransport socketTransport, SocketEventBus socketEventBus, GameViewService gameViewService,
+                                @Value("${codenames.socket.outbound.capacity:1000}") int capacity,
+                                @Value("${codenames.socket.outbound.overflow-policy:COALESCE_PER_GAME}") OverflowPolicy overflowPolicy,
+                                @Value("${codenames.socket.outbound.retry-ms:500}") long retryMs) {
+        this.socketTransport = socketTransport;
+        this.socketEventBus = socketEventBus;
+        this.gameViewService = gameViewService;
+        this.retryMs = retryMs;
+
+        for (SocketNamespace namespace : SocketNamespace.values()) {
+            queues.put(namespace, new OutboundEventQueue(capacity, overflowPolicy));
+            deliveries.put(namespace, new OutboundEventQueue(capacity, overflowPolicy));
+        }
+    }
+
+    /**
+     * Subscribes to the event bus and starts the publisher and dispatcher threads after construction.
      */
     @PostConstruct
-    public void initializeSockets() throws URISyntaxException {
-        IO.Options options = IO.Options.builder()
-                .setTransports(new String[]{"websocket"})
-                .setReconnection(true)
-                .setReconnectionAttempts(10)
-                .setReconnectionDelay(1000)
-                .build();
+    public void startDispatchers() {
+        socketEventBus.subscribe(this::deliver);
 
-        gameSocket = IO.socket(socketServerUrl + "/game", options);
-        gameSocket.on(Socket.EVENT_CONNECT, args -> log.info("[GAME SOCKET] Connected to /game namespace"));
-        gameSocket.on(Socket.EVENT_CONNECT_ERROR, args -> log.error("[GAME SOCKET] Connection error: {}", args[0]));
-        gameSocket.connect();
+        for (SocketNamespace namespace : SocketNamespace.values()) {
+            start(() -> publish(namespace), "socket-publisher-" + namespace.name().toLowerCase());
+            start(() -> dispatch(namespace), "socket-dispatcher-" + namespace.name().toLowerCase());
+        }
+    }
 
-        profileSocket = IO.socket(socketServerUrl + "/profile", options);
-        profileSocket.on(Socket.EVENT_CONNECT, args -> log.info("[PROFILE SOCKET] Connected to /profile namespace"));
-        profileSocket.on(Socket.EVENT_CONNECT_ERROR, args -> log.error("[PROFILE SOCKET] Connection error: {}", args[0]));
-        profileSocket.connect();
+    /**
+     * Starts a daemon thread stopped together with the dispatchers.
+     * @param task The task of the thread.
+     * @param name The name of the thread.
+     */
+    private void start(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        dispatchers.add(thread);
+    }
 
-        IO.Options options1 = IO.Options.builder()
-                        .setTransports(new String[]{"websocket"})
-                        .build();
-        chatSocket = IO.socket(socketServerUrl + "/chat", options1);
-        chatSocket.on(Socket.EVENT_CONNECT, args -> log.info("[CHAT SOCKET] Connected to /chat namespace"));
-        chatSocket.on(Socket.EVENT_CONNECT_ERROR, args -> log.error("[CHAT SOCKET] Connection error: {}", args[0]));
-        chatSocket.connect();
+    /**
+     * Stops the publisher and dispatcher threads before shutdown, queued events are dropped.
+     */
+    @PreDestroy
+    public void stopDispatchers() {
+        dispatchers.forEach(Thread::interrupt);
+        dispatchers.clear();
     }
 
     /**
      * Sends a game session update to connected clients.
      * @param gameId      The ID of the game session.
      * @param gameSession The game session data to send.
-     * @throws JsonProcessingException if there is an error during JSON processing.
      */
     @Override
-    public void sendGameSessionUpdate(UUID gameId, GameSessionRoomLobbyDTO gameSession) throws JsonProcessingException {
-        if (gameSocket.connected()) {
-            String gameSessionJson = objectMapper.writeValueAsString(gameSession);
-            gameSocket.emit("gameSessionUpdate", gameId.toString(), gameSessionJson);
-        } else {
-            System.err.println("[SOCKET] Socket niepołączony – nie wysłano gameSessionUpdate");
-        }
+    public void sendGameSessionUpdate(UUID gameId, GameSessionRoomLobbyDTO gameSession) {
+        enqueue(SocketNamespace.GAME, "room:" + gameId, () -> SocketEvent.builder()
+                .type(SocketEvent.eventType.ROOM_UPDATE)
+                .gameId(gameId)
+                .eventName("gameSessionUpdate")
+                .payload(objectMapper.writeValueAsString(gameSession))
+                .build());
     }
 
     /**
      * Sends a list of game sessions to connected clients.
      * @param gameSessions The list of game sessions to send.
-     * @throws JsonProcessingException if there is an error during JSON processing.
      */
     @Override
-    public void sendGameSessionsList(List<GameSessionJoinGameDTO> gameSessions) throws JsonProcessingException {
-        if (gameSocket.connected()) {
-            String gameSessionJson = objectMapper.writeValueAsString(gameSessions);
-            gameSocket.emit("gameSessionsList", gameSessionJson);
-        } else {
-            System.err.println("[SOCKET] Socket niepołączony – nie wysłano gameSessionsList");
-        }
+    public void sendGameSessionsList(List<GameSessionJoinGameDTO> gameSessions) {
+        enqueue(SocketNamespace.GAME, "lobby", () -> SocketEvent.builder()
+                .type(SocketEvent.eventType.LOBBY)
+                .eventName("gameSessionsList")
+                .payload(objectMapper.writeValueAsString(gameSessions))
+                .build());
     }
 
     /**
-     * Sends a game session update to connected clients.
+     * Sends a single change of the lobby list to connected clients.
+     * Added and updated sessions carry the new lobby row, removed sessions only their id.
+     * Lobby changes are never coalesced, clients detect dropped ones by the gap in the sequence.
+     * @param lobbyDelta The lobby change to send.
+     */
+    @Override
+    public void sendLobbyDelta(LobbyDelta lobbyDelta) {
+        enqueue(SocketNamespace.GAME, null, () -> {
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("sequence", lobbyDelta.getSequence());
+
+            if (lobbyDelta.getType() == LobbyDelta.deltaType.REMOVED) {
+                payload.put("sessionId", lobbyDelta.getSessionId().toString());
+            } else {
+                payload.put("session", lobbyDelta.getSession());
+            }
+
+            return SocketEvent.builder()
+                    .type(SocketEvent.eventType.LOBBY)
+                    .eventName(lobbyDelta.getType().getEventName())
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .build();
+        });
+    }
+
+    /**
+     * Sends the full game session to connected clients.
+     * Used when a client joins the game or detects a gap in the received versions.
+     * If a newer version was already sent, that version is sent whole instead.
+     * @param gameId      The ID of the game session.
+     * @param gameSession The game session data to send.
+     */
+    @Override
+    public void sendGameSessionUpdate(UUID gameId, GameSession gameSession) {
+        enqueue(SocketNamespace.GAME, "data:" + gameId, () -> gameSessionEvent(SocketEvent.eventType.GAME_DATA, gameId, gameSession));
+    }
+
+    /**
+     * Sends the fields of the game session changed since the last sent version to connected clients.
+     * The full game session is sent if no previous version was sent, a version older than the last sent one is skipped.
+     * A queued delta of the game is replaced by a newer one, whose changes are computed from the last sent version.
+     * @param gameId      The ID of the game session.
+     * @param gameSession The game session data to send.
+     */
+    @Override
+    public void sendGameSessionDelta(UUID gameId, GameSession gameSession) {
+        enqueue(SocketNamespace.GAME, "state:" + gameId, () -> gameSessionEvent(SocketEvent.eventType.GAME_STATE, gameId, gameSession));
+    }
+
+    /**
+     * Creates the event carrying the game session tree.
+     * The tree is serialized only if the event may be delivered by another instance.
+     * @param type        The kind of the event.
      * @param gameId      The ID of the game session.
      * @param gameSession The game session data to send.
+     * @return the game session event
      * @throws JsonProcessingException if there is an error during JSON processing.
      */
+    private SocketEvent gameSessionEvent(SocketEvent.eventType type, UUID gameId, GameSession gameSession) throws JsonProcessingException {
+        long version = gameViewService.versionOf(gameSession);
+        JsonNode gameSessionTree = gameViewService.toTree(gameSession);
+
+        return SocketEvent.builder()
+                .type(type)
+                .gameId(gameId)
+                .version(version)
+                .tree(gameSessionTree)
+                .payload(socketEventBus.isClustered() ? objectMapper.writeValueAsString(gameSessionTree) : null)
+                .build();
+    }
+
+    /**
+     * Drops the last sent state of a game session after its queued events, e.g. after the game has finished.
+     * @param gameId The ID of the game session.
+     */
     @Override
-    public void sendGameSessionUpdate(UUID gameId, GameSession gameSession) throws JsonProcessingException {
-        if (gameSocket.connected()) {
-            String gameSessionJson = objectMapper.writeValueAsString(gameSession);
-            gameSocket.emit("gameSessionData", gameId.toString(), gameSessionJson);
-        } else {
-            System.err.println("[SOCKET] Socket niepołączony – nie wysłano gameSessionData");
-        }
+    public void forgetGameSession(UUID gameId) {
+        enqueue(SocketNamespace.GAME, null, () -> SocketEvent.builder()
+                .type(SocketEvent.eventType.FORGET)
+                .gameId(gameId)
+                .build());
     }
 
     @Override
-    public void emitFriendRequestEvent(String senderUsername, String receiverUsername) throws JsonProcessingException {
-        if (profileSocket.connected()) {
-            Map<String, String> payload = Map.of("from", senderUsername, "to", receiverUsername);
-            profileSocket.emit("sendFriendRequest", objectMapper.writeValueAsString(payload));
-        } else {
-            System.err.println("[SOCKET] Socket niepołączony – nie wysłano friendRequest");
-        }
+    public void emitFriendRequestEvent(String senderUsername, String receiverUsername) {
+        enqueue(SocketNamespace.PROFILE, null, () -> profileEvent(ProfileEvent.FRIEND_REQUEST_RECEIVED, senderUsername, receiverUsername));
     }
 
     @Override
-    public void emitFriendRequestDeclineEvent(String senderUsername, String receiverUsername) throws JsonProcessingException {
-        if (profileSocket.connected()) {
-            Map<String, String> payload = Map.of("from", senderUsername, "to", receiverUsername);
-            profileSocket.emit("declineFriendRequest", objectMapper.writeValueAsString(payload));
-        } else {
-            System.err.println("[SOCKET] Socket niepołączony – nie wysłano friendRequest");
-        }
+    public void emitFriendRequestDeclineEvent(String senderUsername, String receiverUsername) {
+        enqueue(SocketNamespace.PROFILE, null, () -> profileEvent(ProfileEvent.FRIEND_REQUEST_DECLINED, receiverUsername, senderUsername));
     }
 
     @Override
-    public void emitFriendRequestAcceptEvent(String senderUsername, String receiverUsername) throws JsonProcessingException {
-        if (profileSocket.connected()) {
-            Map<String, String> payload = Map.of("from", senderUsername, "to", receiverUsername);
-            profileSocket.emit("acceptFriendRequest", objectMapper.writeValueAsString(payload));
-        } else {
-            System.err.println("[SOCKET] Socket niepołączony – nie wysłano friendRequest");
-        }
+    public void emitFriendRequestAcceptEvent(String senderUsername, String receiverUsername) {
+        enqueue(SocketNamespace.PROFILE, null, () -> profileEvent(ProfileEvent.FRIEND_REQUEST_ACCEPTED, receiverUsername, senderUsername));
     }
 
     @Override
-    public void emitRemoveFriendEvent(String removerUsername, String removedUsername) throws JsonProcessingException {
-        if (profileSocket.connected()) {
-            Map<String, String> payload = Map.of("user", removerUsername, "friend", removedUsername);
-            profileSocket.emit("removeFriend", objectMapper.writeValueAsString(payload));
-        } else {
-            System.err.println("[SOCKET] Socket niepołączony – nie wysłano removeFriend");
-        }
+    public void emitRemoveFriendEvent(String removerUsername, String removedUsername) {
+        enqueue(SocketNamespace.PROFILE, null, () -> profileEvent(ProfileEvent.FRIEND_REMOVED, removerUsername, removedUsername));
     }
 
     /**
@@ -161,16 +289,250 @@ public class DefaultSocketService implements SocketService {
      */
     @Override
     public void sendDiscordLinkInvite(UUID gameId, String discordLink) {
-        Map<String, Object> msg = Map.of(
-                "sender", "admin",
-                "content", "Voice chat is now available! Join your teammates here: " + discordLink,
-                "gameID", gameId.toString()
-        );
-
-        if (chatSocket.connected()) {
-            chatSocket.emit("chatMessage", msg);
-        } else {
-            System.err.println("[SOCKET] Socket niepołączony – nie wysłano wiadomosci");
+        enqueue(SocketNamespace.CHAT, null, () -> SocketEvent.builder()
+                .type(SocketEvent.eventType.CHAT)
+                .gameId(gameId)
+                .actor("admin")
+                .payload("Voice chat is now available! Join your teammates here: " + discordLink)
+                .build());
+    }
+
+    /**
+     * Creates the event of a friend list change.
+     * @param profileEvent The friend list event.
+     * @param actor        The username of the user causing the event.
+     * @param recipient    The username of the user receiving the event.
+     * @return the profile event
+     */
+    private static SocketEvent profileEvent(ProfileEvent profileEvent, String actor, String recipient) {
+        return SocketEvent.builder()
+                .type(SocketEvent.eventType.PROFILE)
+                .profileEvent(profileEvent)
+                .actor(actor)
+                .recipient(recipient)
+                .build();
+    }
+
+    /**
+     * Queues an event handed over by the event bus to this instance, emitted once the transport of its namespace is connected here.
+     * Game session events still queued are replaced by newer ones of the same game, their deltas are computed from the last emitted version.
+     * @param event The event to deliver.
+     */
+    private void deliver(SocketEvent event) {
+        deliveries.get(event.getType().getNamespace()).offer(deliveryKey(event), () -> emit(event));
+    }
+
+    /**
+     * Returns the coalescing key of a delivered event, the same key it was queued with before publishing.
+     * @param event The delivered event.
+     * @return the coalescing key, or null if the event must never be replaced
+     */
+    private static Object deliveryKey(SocketEvent event) {
+        return switch (event.getType()) {
+            case ROOM_UPDATE -> "room:" + event.getGameId();
+            case GAME_DATA -> "data:" + event.getGameId();
+            case GAME_STATE -> "state:" + event.getGameId();
+            case LOBBY -> "gameSessionsList".equals(event.getEventName()) ? "lobby" : null;
+            default -> null;
+        };
+    }
+
+    /**
+     * Emits an event delivered by this instance.
+     * Game session events are applied per game in order, so deltas are computed against the last version sent from here.
+     * @param event The event to emit.
+     */
+    private void emit(SocketEvent event) {
+        switch (event.getType()) {
+            case ROOM_UPDATE -> socketTransport.emitToGame(event.getGameId(), event.getEventName(), event.getPayload());
+            case LOBBY -> socketTransport.emitToLobby(event.getEventName(), event.getPayload());
+            case GAME_DATA, GAME_STATE -> sentGameSessions.compute(event.getGameId(), (gameId, previous) -> deliverGameSession(event, previous));
+            case FORGET -> {
+                sentGameSessions.remove(event.getGameId());
+                gameViewService.forget(event.getGameId());
+            }
+            case PROFILE -> socketTransport.emitProfileEvent(event.getProfileEvent(), event.getActor(), event.getRecipient());
+            case CHAT -> socketTransport.emitChatMessage(event.getGameId(), Map.of(
+                    "sender", event.getActor(),
+                    "content", event.getPayload(),
+                    "gameID", event.getGameId().toString()
+            ));
+        }
+    }
+
+    /**
+     * Emits the views of a game session event as full data or as the deltas to the previously sent views.
+     * Deltas are only computed from views older in both the session metadata and the game state,
+     * a game session read with one record newer and the other older than the sent views is sent whole.
+     * @param event    The game data or game state event.
+     * @param previous The game session views sent before, or null.
+     * @return the game session views sent now
+     */
+    private SentGameSession deliverGameSession(SocketEvent event, SentGameSession previous) {
+        try {
+            boolean newer = previous == null || gameViewService.isNewer(event.getVersion(), previous.version);
+
+            if (!newer && (previous.version == event.getVersion() || gameViewService.isNewer(previous.version, event.getVersion()))) {
+                // An older full update is answered with the newer views, an older delta is skipped
+                if (event.getType() == SocketEvent.eventType.GAME_DATA) {
+                    emitViews(event.getGameId(), previous.views);
+                }
+
+                return previous;
+            }
+
+            JsonNode gameSessionTree = event.getTree() != null ? event.getTree() : objectMapper.readTree(event.getPayload());
+            Map<GameViewRole, GameView> views = gameViewService.render(event.getGameId(), event.getVersion(), gameSessionTree);
+
+            if (!newer || previous == null || event.getType() == SocketEvent.eventType.GAME_DATA) {
+                emitViews(event.getGameId(), views);
+            } else {
+                for (GameView view : views.values()) {
+                    List<FieldChange> changes = JsonTreeDiff.diff(previous.views.get(view.getRole()).getTree(), view.getTree());
+                    GameSessionDelta delta = GameSessionDelta.builder()
+                            .baseVersion(previous.version)
+                            .version(event.getVersion())
+                            .changes(changes)
+                            .build();
+
+                    socketTransport.emitToGameView(event.getGameId(), view.getRole(), "gameSessionDelta", objectMapper.writeValueAsString(delta));
+                }
+            }
+
+            return new SentGameSession(event.getVersion(), views);
+        } catch (JsonProcessingException e) {
+            log.error("[SOCKET] Could not serialize the update of game session {}", event.getGameId(), e);
+            return previous;
+        }
+    }
+
+    /**
+     * Emits the already serialized view of every role to the room of that role.
+     * @param gameId The ID of the game session.
+     * @param views  The views of the game session.
+     */
+    private void emitViews(UUID gameId, Map<GameViewRole, GameView> views) {
+        for (GameView view : views.values()) {
+            socketTransport.emitToGameView(gameId, view.getRole(), "gameSessionData", view.getJson());
+        }
+    }
+
+    /**
+     * Queues an event of a namespace, created and published to the event bus by the publisher thread.
+     * @param namespace The namespace of the event.
+     * @param key       The coalescing key of the event, or null if the event must never be replaced.
+     * @param event     The factory serializing the event.
+     */
+    private void enqueue(SocketNamespace namespace, Object key, EventFactory event) {
+        queues.get(namespace).offer(key, () -> {
+            try {
+                socketEventBus.publish(event.create());
+            } catch (JsonProcessingException e) {
+                log.error("[SOCKET] Could not serialize a {} event", namespace, e);
+            }
+        });
+    }
+
+    /**
+     * Publishes the queued events of a namespace to the event bus, until the thread is interrupted.
+     * Whether they can be emitted is decided by the delivering instance.
+     * @param namespace The namespace of the events.
+     */
+    private void publish(SocketNamespace namespace) {
+        OutboundEventQueue queue = queues.get(namespace);
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Runnable event = queue.poll(retryMs);
+
+                if (event != null) {
+                    event.run();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("[SOCKET] Could not publish a {} event", namespace, e);
+            }
+        }
+    }
+
+    /**
+     * Emits the delivered events of a namespace while its transport is connected here, until the thread is interrupted.
+     * @param namespace The namespace of the events.
+     */
+    private void dispatch(SocketNamespace namespace) {
+        OutboundEventQueue queue = deliveries.get(namespace);
+        boolean connected = false;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (!socketTransport.isConnected(namespace)) {
+                    if (connected) {
+                        log.warn("[SOCKET] {} disconnected, buffering up to the queue capacity", namespace);
+                        connected = false;
+                    }
+
+                    Thread.sleep(retryMs);
+                    continue;
+                }
+
+                if (!connected) {
+                    connected = true;
+                    log.info("[SOCKET] {} connected, {} events buffered, {} dropped and {} coalesced so far",
+                            namespace, queue.size(), queue.getDropped(), queue.getCoalesced());
+
+                    if (namespace == SocketNamespace.GAME) {
+                        replayGameSessions();
+                    }
+                }
+
+                Runnable event = queue.poll(retryMs);
+
+                if (event != null) {
+                    event.run();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("[SOCKET] Could not emit a {} event", namespace, e);
+            }
+        }
+    }
+
+    /**
+     * Sends the last sent views of every game delivered here whole, so clients that missed events while disconnected catch up.
+     */
+    private void replayGameSessions() {
+        for (Map.Entry<UUID, SentGameSession> sent : sentGameSessions.entrySet()) {
+            emitViews(sent.getKey(), sent.getValue().views);
+        }
+    }
+
+    /**
+     * Factory serializing an event on the publisher thread.
+     */
+    @FunctionalInterface
+    private interface EventFactory {
+        SocketEvent create() throws JsonProcessingException;
+    }
+
+    /**
+     * Game session views sent to the rooms of a game, kept to compute the next deltas.
+     */
+    private static class SentGameSession {
+        /**
+         * Version of the sent game session.
+         */
+        private final long version;
+
+        /**
+         * The sent view of every role.
+         */
+        private final Map<GameViewRole, GameView> views;
+
+        private SentGameSession(long version, Map<GameViewRole, GameView> views) {
+            this.version = version;
+            this.views = views;
         }
     }
 }
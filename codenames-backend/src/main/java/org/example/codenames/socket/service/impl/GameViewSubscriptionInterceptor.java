@@ -0,0 +1,128 @@
+package org.example.codenames.socket.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.codenames.gameSession.entity.GameViewRole;
+import org.example.codenames.gameSession.service.api.GameViewAccessService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Interceptor of the inbound STOMP frames letting only the team leaders subscribe to the spymaster topic of a game.
+ * The token is taken from the {@code Authorization} header of the CONNECT frame, or of the SUBSCRIBE frame itself,
+ * and the role is checked against the stored game session on every subscription.
+ * The broker matches subscriptions as Ant-style patterns, so subscriptions to patterns are rejected,
+ * every destination the clients use is literal.
+ */
+@Slf4j
+@Component
+public class GameViewSubscriptionInterceptor implements ChannelInterceptor {
+    /**
+     * Destination of the spymaster views of a game.
+     */
+    private static final Pattern SPYMASTER_TOPIC = Pattern.compile("^/topic/game/([^/]+)/" + GameViewRole.SPYMASTER.name().toLowerCase() + "$");
+
+    /**
+     * Characters making a destination an Ant-style pattern for the broker.
+     */
+    private static final String PATTERN_CHARACTERS = "*?{";
+
+    /**
+     * Session attribute keeping the authorization header of the CONNECT frame.
+     */
+    private static final String AUTHORIZATION_ATTRIBUTE = "authorization";
+
+    /**
+     * Service deciding which view the authenticated user may receive.
+     */
+    private final GameViewAccessService gameViewAccessService;
+
+    /**
+     * Creates a new instance of the {@link GameViewSubscriptionInterceptor}.
+     *
+     * @param gameViewAccessService Service deciding which view the authenticated user may receive
+     */
+    @Autowired
+    public GameViewSubscriptionInterceptor(GameViewAccessService gameViewAccessService) {
+        this.gameViewAccessService = gameViewAccessService;
+    }
+
+    /**
+     * Remembers the token of a connection and rejects subscriptions to the spymaster topic of users who are not team leaders.
+     * Subscriptions to patterns are rejected for everybody, since they could match the spymaster topics.
+     *
+     * @param message The inbound frame.
+     * @param channel The client inbound channel.
+     * @return the frame
+     * @throws MessageDeliveryException if the user may not receive the spymaster views or the destination is a pattern
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+
+        if (accessor == null) {
+            return message;
+        }
+
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+
+        if (StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String authorization = accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION);
+
+            if (authorization != null && attributes != null) {
+                attributes.put(AUTHORIZATION_ATTRIBUTE, authorization);
+            }
+        } else if (StompCommand.SUBSCRIBE.equals(accessor.getCommand()) && accessor.getDestination() != null) {
+            String destination = accessor.getDestination();
+
+            if (destination.chars().anyMatch(c -> PATTERN_CHARACTERS.indexOf(c) >= 0)) {
+                throw new MessageDeliveryException("Subscriptions to destination patterns are not allowed: " + destination);
+            }
+
+            Matcher matcher = SPYMASTER_TOPIC.matcher(destination);
+
+            if (matcher.matches()) {
+                String authorization = accessor.getFirstNativeHeader(HttpHeaders.AUTHORIZATION);
+
+                if (authorization == null && attributes != null) {
+                    authorization = (String) attributes.get(AUTHORIZATION_ATTRIBUTE);
+                }
+
+                authorize(matcher.group(1), authorization);
+            }
+        }
+
+        return message;
+    }
+
+    /**
+     * Checks that the authenticated user is a team leader of the game.
+     *
+     * @param gameId        The id of the game session from the destination.
+     * @param authorization The authorization header of the connection, or null.
+     * @throws MessageDeliveryException if the user may not receive the spymaster views
+     */
+    private void authorize(String gameId, String authorization) {
+        try {
+            if (gameViewAccessService.getViewRole(UUID.fromString(gameId), authorization) == GameViewRole.SPYMASTER) {
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected the spymaster subscription of unknown game {}", gameId, e);
+        }
+
+        throw new MessageDeliveryException("Only team leaders may subscribe to the spymaster views of game " + gameId);
+    }
+}
@@ -0,0 +1,172 @@
+package org.example.codenames.socket.service.impl;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.ReliableMessageListener;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codenames.socket.entity.SocketEvent;
+import org.example.codenames.socket.service.api.SocketEventBus;
+import org.example.codenames.socket.service.api.SocketTransport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+
+/**
+ * {@link SocketEventBus} publishing the events to Hazelcast reliable topics, one per kind of event:
+ * {@value #TOPIC_PREFIX}game, {@value #TOPIC_PREFIX}lobby, {@value #TOPIC_PREFIX}profile and {@value #TOPIC_PREFIX}chat.
+ * Every instance receives every event. If the transport reaches all clients of the cluster, like the socket.io relay,
+ * only the owner of the partition of the event's key delivers it, so game events are emitted once by the instance owning the session.
+ * Otherwise every instance delivers the event to the clients connected to it.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "codenames.socket.cluster-bus.enabled", havingValue = "true")
+public class HazelcastSocketEventBus implements SocketEventBus {
+    /**
+     * Prefix of the names of the socket event topics.
+     */
+    public static final String TOPIC_PREFIX = "socketEvents.";
+
+    /**
+     * Hazelcast instance holding the topics.
+     */
+    private final HazelcastInstance hazelcastInstance;
+
+    /**
+     * Transport the events are delivered with.
+     */
+    private final SocketTransport socketTransport;
+
+    /**
+     * Creates a new instance of the {@link HazelcastSocketEventBus}.
+     *
+     * @param hazelcastInstance Hazelcast instance holding the topics
+     * @param socketTransport   Transport the events are delivered with
+     */
+    @Autowired
+    public HazelcastSocketEventBus(HazelcastInstance hazelcastInstance, SocketTransport socketTransport) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.socketTransport = socketTransport;
+    }
+
+    /**
+     * Events are delivered by any instance of the cluster.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isClustered() {
+        return true;
+    }
+
+    /**
+     * Publishes the event to the topic of its kind.
+     *
+     * @param event The event to publish.
+     */
+    @Override
+    public void publish(SocketEvent event) {
+        topicOf(topicName(event.getType())).publish(event);
+    }
+
+    /**
+     * Listens to all socket event topics, passing the events this instance delivers to the consumer.
+     *
+     * @param consumer The consumer delivering the events.
+     */
+    @Override
+    public void subscribe(Consumer<SocketEvent> consumer) {
+        for (String name : new String[]{"game", "lobby", "profile", "chat"}) {
+            topicOf(name).addMessageListener(new DeliveringListener(consumer));
+        }
+    }
+
+    /**
+     * Returns the name of the topic of a kind of event, without the prefix.
+     *
+     * @param type The kind of the event.
+     * @return the topic name
+     */
+    private static String topicName(SocketEvent.eventType type) {
+        return switch (type) {
+            case LOBBY -> "lobby";
+            case PROFILE -> "profile";
+            case CHAT -> "chat";
+            default -> "game";
+        };
+    }
+
+    private ITopic<SocketEvent> topicOf(String name) {
+        return hazelcastInstance.getReliableTopic(TOPIC_PREFIX + name);
+    }
+
+    /**
+     * Decides whether this instance delivers an event.
+     * While the partition of the event has no owner, e.g. during a migration, the publishing instance delivers it.
+     *
+     * @param message The received message.
+     * @return true if this instance delivers the event
+     */
+    private boolean delivers(Message<SocketEvent> message) {
+        if (!socketTransport.isShared()) {
+            return true;
+        }
+
+        Member owner = hazelcastInstance.getPartitionService().getPartition(message.getMessageObject().getOwnerKey()).getOwner();
+
+        if (owner == null) {
+            return message.getPublishingMember() != null && message.getPublishingMember().localMember();
+        }
+
+        return owner.localMember();
+    }
+
+    /**
+     * Listener passing the delivered events to the consumer.
+     * Loss tolerant, so a listener falling behind the ring buffer skips the overwritten events instead of stopping.
+     */
+    private class DeliveringListener implements ReliableMessageListener<SocketEvent> {
+        /**
+         * Consumer delivering the events.
+         */
+        private final Consumer<SocketEvent> consumer;
+
+        private DeliveringListener(Consumer<SocketEvent> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void onMessage(Message<SocketEvent> message) {
+            try {
+                if (delivers(message)) {
+                    consumer.accept(message.getMessageObject());
+                }
+            } catch (Exception e) {
+                log.error("[SOCKET] Could not deliver a {} event", message.getMessageObject().getType(), e);
+            }
+        }
+
+        @Override
+        public long retrieveInitialSequence() {
+            return -1;
+        }
+
+        @Override
+        public void storeSequence(long sequence) {
+        }
+
+        @Override
+        public boolean isLossTolerant() {
+            return true;
+        }
+
+        @Override
+        public boolean isTerminal(Throwable failure) {
+            return false;
+        }
+    }
+}
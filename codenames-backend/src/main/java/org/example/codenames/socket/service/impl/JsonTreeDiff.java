@@ -0,0 +1,80 @@
+package org.example.codenames.socket.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import org.example.codenames.socket.entity.FieldChange;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Computes field-level changes between two JSON trees.
+ * Objects are compared field by field and arrays of equal length element by element,
+ * any other difference replaces the whole value.
+ */
+public final class JsonTreeDiff {
+
+    private JsonTreeDiff() {
+    }
+
+    /**
+     * Returns the changes turning the previous tree into the current one.
+     *
+     * @param previous the previous tree
+     * @param current  the current tree
+     * @return the changed fields, empty if the trees are equal
+     */
+    public static List<FieldChange> diff(JsonNode previous, JsonNode current) {
+        List<FieldChange> changes = new ArrayList<>();
+        diff("", previous, current, changes);
+
+        return changes;
+    }
+
+    /**
+     * Collects the changes below the given path.
+     *
+     * @param path     path of the compared nodes
+     * @param previous the previous node
+     * @param current  the current node
+     * @param changes  the collected changes
+     */
+    private static void diff(String path, JsonNode previous, JsonNode current, List<FieldChange> changes) {
+        if (previous.equals(current)) {
+            return;
+        }
+
+        if (previous.isObject() && current.isObject()) {
+            Iterator<String> currentFields = current.fieldNames();
+
+            while (currentFields.hasNext()) {
+                String field = currentFields.next();
+                JsonNode previousValue = previous.get(field);
+                String fieldPath = path.isEmpty() ? field : path + "." + field;
+
+                if (previousValue == null) {
+                    changes.add(new FieldChange(fieldPath, current.get(field)));
+                } else {
+                    diff(fieldPath, previousValue, current.get(field), changes);
+                }
+            }
+
+            Iterator<String> previousFields = previous.fieldNames();
+
+            while (previousFields.hasNext()) {
+                String field = previousFields.next();
+
+                if (!current.has(field)) {
+                    changes.add(new FieldChange(path.isEmpty() ? field : path + "." + field, NullNode.getInstance()));
+                }
+            }
+        } else if (previous.isArray() && current.isArray() && previous.size() == current.size()) {
+            for (int i = 0; i < current.size(); i++) {
+                diff(path + "[" + i + "]", previous.get(i), current.get(i), changes);
+            }
+        } else {
+            changes.add(new FieldChange(path, current));
+        }
+    }
+}
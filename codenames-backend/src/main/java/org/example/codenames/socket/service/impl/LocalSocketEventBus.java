@@ -0,0 +1,51 @@
+package org.example.codenames.socket.service.impl;
+
+import org.example.codenames.socket.entity.SocketEvent;
+import org.example.codenames.socket.service.api.SocketEventBus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Consumer;
+
+/**
+ * {@link SocketEventBus} delivering every event on the publishing thread of this instance.
+ * Used unless {@code codenames.socket.cluster-bus.enabled} is set.
+ */
+@Service
+@ConditionalOnProperty(name = "codenames.socket.cluster-bus.enabled", havingValue = "false", matchIfMissing = true)
+public class LocalSocketEventBus implements SocketEventBus {
+    /**
+     * Consumer delivering the events.
+     */
+    private volatile Consumer<SocketEvent> consumer = event -> { };
+
+    /**
+     * Events never leave this instance.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isClustered() {
+        return false;
+    }
+
+    /**
+     * Delivers the event directly.
+     *
+     * @param event The event to deliver.
+     */
+    @Override
+    public void publish(SocketEvent event) {
+        consumer.accept(event);
+    }
+
+    /**
+     * Sets the consumer delivering the events.
+     *
+     * @param consumer The consumer delivering the events.
+     */
+    @Override
+    public void subscribe(Consumer<SocketEvent> consumer) {
+        this.consumer = consumer;
+    }
+}
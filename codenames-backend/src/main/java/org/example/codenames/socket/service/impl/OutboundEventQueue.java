@@ -0,0 +1,114 @@
+package org.example.codenames.socket.service.impl;
+
+import org.example.codenames.socket.entity.OverflowPolicy;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded queue of the outbound socket events of one namespace, drained by a single dispatcher thread.
+ * Events offered with a coalescing key replace the queued event with the same key under {@link OverflowPolicy#COALESCE_PER_GAME},
+ * keeping its place in the queue.
+ */
+public class OutboundEventQueue {
+    /**
+     * Maximum number of queued events.
+     */
+    private final int capacity;
+
+    /**
+     * Policy applied to new events.
+     */
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * Queued events in order, by their coalescing key.
+     */
+    private final Map<Object, Runnable> events = new LinkedHashMap<>();
+
+    /**
+     * Number of events dropped because the queue was full.
+     */
+    private long dropped;
+
+    /**
+     * Number of events replaced by a newer event with the same key.
+     */
+    private long coalesced;
+
+    /**
+     * Creates a new instance of the {@link OutboundEventQueue}.
+     *
+     * @param capacity       Maximum number of queued events
+     * @param overflowPolicy Policy applied to new events
+     */
+    public OutboundEventQueue(int capacity, OverflowPolicy overflowPolicy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The outbound queue capacity must be positive.");
+        }
+
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Queues an event, dropping the oldest queued event if the queue is full.
+     *
+     * @param key   the coalescing key of the event, or null if the event must never be replaced
+     * @param event the event to send
+     */
+    public synchronized void offer(Object key, Runnable event) {
+        if (key != null && overflowPolicy == OverflowPolicy.COALESCE_PER_GAME && events.containsKey(key)) {
+            events.put(key, event);
+            coalesced++;
+            return;
+        }
+
+        if (events.size() >= capacity) {
+            Iterator<Runnable> oldest = events.values().iterator();
+            oldest.next();
+            oldest.remove();
+            dropped++;
+        }
+
+        events.put(key != null && overflowPolicy == OverflowPolicy.COALESCE_PER_GAME ? key : new Object(), event);
+        notifyAll();
+    }
+
+    /**
+     * Removes the oldest event, waiting for one if the queue is empty.
+     *
+     * @param timeoutMs maximum time to wait in milliseconds
+     * @return the oldest event, or null if none was queued in time
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public synchronized Runnable poll(long timeoutMs) throws InterruptedException {
+        if (events.isEmpty()) {
+            wait(timeoutMs);
+        }
+
+        Iterator<Runnable> oldest = events.values().iterator();
+
+        if (!oldest.hasNext()) {
+            return null;
+        }
+
+        Runnable event = oldest.next();
+        oldest.remove();
+
+        return event;
+    }
+
+    public synchronized int size() {
+        return events.size();
+    }
+
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    public synchronized long getCoalesced() {
+        return coalesced;
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.codenames.socket.service.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Fixed pool of connections of one namespace, keys are assigned to connections by consistent hashing.
+ * Every connection is placed on the hash ring several times, a key goes to the first healthy connection clockwise from its hash.
+ * A key therefore stays on one connection as long as it is healthy, which keeps the events of one key in order,
+ * and only the keys of a dropped connection move, spread over the remaining ones.
+ *
+ * @param <C> type of the connections
+ */
+public class SocketConnectionPool<C> {
+    /**
+     * Number of places of each connection on the hash ring.
+     */
+    private static final int VIRTUAL_NODES = 64;
+
+    /**
+     * The pooled connections.
+     */
+    private final List<C> connections;
+
+    /**
+     * Decides whether a connection is healthy.
+     */
+    private final Predicate<C> healthy;
+
+    /**
+     * Hash ring, from the hash of a place to the index of its connection.
+     */
+    private final NavigableMap<Integer, Integer> ring = new TreeMap<>();
+
+    /**
+     * Creates a new instance of the {@link SocketConnectionPool}.
+     *
+     * @param connections The pooled connections
+     * @param healthy     Decides whether a connection is healthy
+     */
+    public SocketConnectionPool(List<C> connections, Predicate<C> healthy) {
+        if (connections.isEmpty()) {
+            throw new IllegalArgumentException("A connection pool needs at least one connection.");
+        }
+
+        this.connections = List.copyOf(connections);
+        this.healthy = healthy;
+
+        for (int connection = 0; connection < connections.size(); connection++) {
+            for (int node = 0; node < VIRTUAL_NODES; node++) {
+                ring.put(hash("connection-" + connection + "#" + node), connection);
+            }
+        }
+    }
+
+    /**
+     * Returns the connection of a key, the first healthy one clockwise from the hash of the key.
+     * If no connection is healthy, the key's own connection is returned, which buffers until it reconnects.
+     *
+     * @param key the key, e.g. the game id
+     * @return the connection of the key
+     */
+    public C forKey(String key) {
+        int hash = hash(key);
+        C connection = firstHealthy(ring.tailMap(hash, true).values());
+
+        if (connection == null) {
+            connection = firstHealthy(ring.headMap(hash, false).values());
+        }
+
+        if (connection == null) {
+            Map.Entry<Integer, Integer> own = ring.ceilingEntry(hash);
+            connection = connections.get((own != null ? own : ring.firstEntry()).getValue());
+        }
+
+        return connection;
+    }
+
+    /**
+     * Returns whether at least one connection is healthy.
+     *
+     * @return true if events can be emitted
+     */
+    public boolean isAnyHealthy() {
+        return connections.stream().anyMatch(healthy);
+    }
+
+    /**
+     * Returns the number of healthy connections.
+     *
+     * @return the number of healthy connections
+     */
+    public int healthyCount() {
+        return (int) connections.stream().filter(healthy).count();
+    }
+
+    public List<C> getConnections() {
+        return connections;
+    }
+
+    /**
+     * Returns the first healthy connection of consecutive places of the ring.
+     *
+     * @param places the indexes of the connections of the places, in clockwise order
+     * @return the first healthy connection, or null if none is healthy
+     */
+    private C firstHealthy(Iterable<Integer> places) {
+        for (Integer place : places) {
+            C connection = connections.get(place);
+
+            if (healthy.test(connection)) {
+                return connection;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Hashes a key with the murmur3 finalizer, spreading similar keys over the whole ring.
+     *
+     * @param key the key
+     * @return the hash of the key
+     */
+    private static int hash(String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+
+        return h;
+    }
+}
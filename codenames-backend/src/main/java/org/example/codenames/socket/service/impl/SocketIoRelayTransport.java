@@ -0,0 +1,197 @@
+package org.example.codenames.socket.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.socket.client.IO;
+import io.socket.client.Socket;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.codenames.gameSession.entity.GameViewRole;
+import org.example.codenames.socket.entity.ProfileEvent;
+import org.example.codenames.socket.entity.SocketNamespace;
+import org.example.codenames.socket.service.api.SocketTransport;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@link SocketTransport} emitting the events to the codenames socket.io server, which re-broadcasts them to its rooms.
+ * Every namespace has a pool of {@code codenames.socket.relay.connections} connections, games are spread over them
+ * by consistent hashing on the game id, so the events of one game keep their order on one connection.
+ * Used unless {@code codenames.socket.mode} is set to {@code stomp}.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "codenames.socket.mode", havingValue = "relay", matchIfMissing = true)
+public class SocketIoRelayTransport implements SocketTransport {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String socketServerUrl;
+
+    /**
+     * Number of connections per namespace.
+     */
+    private final int connections;
+
+    private SocketConnectionPool<Socket> gameSockets;
+    private SocketConnectionPool<Socket> profileSockets;
+    private SocketConnectionPool<Socket> chatSockets;
+
+    public SocketIoRelayTransport(@Value("${socketServer.url}") String socketServerUrl,
+                                  @Value("${codenames.socket.relay.connections:1}") int connections) {
+        this.socketServerUrl = socketServerUrl;
+        this.connections = connections;
+    }
+
+    /**
+     * Initializes the sockets after construction.
+     *
+     * @throws URISyntaxException if the socket server URL is invalid.
+     */
+    @PostConstruct
+    public void initializeSockets() throws URISyntaxException {
+        gameSockets = connect("GAME", "/game");
+        profileSockets = connect("PROFILE", "/profile");
+        chatSockets = connect("CHAT", "/chat");
+    }
+
+    /**
+     * Opens the pool of connections of a namespace.
+     * Each connection has its own engine, so the connections do not share one underlying WebSocket.
+     *
+     * @param name      The name of the namespace used in the logs.
+     * @param namespace The path of the namespace.
+     * @return the connection pool
+     * @throws URISyntaxException if the socket server URL is invalid.
+     */
+    private SocketConnectionPool<Socket> connect(String name, String namespace) throws URISyntaxException {
+        IO.Options options = IO.Options.builder()
+                .setForceNew(true)
+                .setTransports(new String[]{"websocket"})
+                .setReconnection(true)
+                .setReconnectionDelay(1000)
+                .setReconnectionDelayMax(10000)
+                .build();
+
+        List<Socket> sockets = new ArrayList<>();
+
+        for (int i = 0; i < Math.max(1, connections); i++) {
+            int index = i;
+            Socket socket = IO.socket(socketServerUrl + namespace, options);
+            socket.on(Socket.EVENT_CONNECT, args -> log.info("[{} SOCKET {}] Connected to {} namespace", name, index, namespace));
+            socket.on(Socket.EVENT_DISCONNECT, args -> log.warn("[{} SOCKET {}] Disconnected, its games move to the other connections", name, index));
+            socket.on(Socket.EVENT_CONNECT_ERROR, args -> log.error("[{} SOCKET {}] Connection error: {}", name, index, args[0]));
+            socket.connect();
+            sockets.add(socket);
+        }
+
+        return new SocketConnectionPool<>(sockets, Socket::connected);
+    }
+
+    /**
+     * Closes the sockets before shutdown.
+     */
+    @PreDestroy
+    public void closeSockets() {
+        for (SocketConnectionPool<Socket> pool : List.of(gameSockets, profileSockets, chatSockets)) {
+            pool.getConnections().forEach(Socket::close);
+        }
+    }
+
+    /**
+     * Returns whether at least one socket of the namespace is connected to the relay.
+     *
+     * @param namespace The namespace of the events.
+     * @return true if events of the namespace can be emitted
+     */
+    @Override
+    public boolean isConnected(SocketNamespace namespace) {
+        return switch (namespace) {
+            case GAME -> gameSockets.isAnyHealthy();
+            case PROFILE -> profileSockets.isAnyHealthy();
+            case CHAT -> chatSockets.isAnyHealthy();
+        };
+    }
+
+    /**
+     * All instances emit to the same relay, which reaches every client.
+     *
+     * @return true
+     */
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    /**
+     * Emits an event to the relay, which sends it to the room of the game.
+     *
+     * @param gameId  The ID of the game session.
+     * @param event   The name of the event.
+     * @param payload The serialized payload.
+     */
+    @Override
+    public void emitToGame(UUID gameId, String event, String payload) {
+        gameSockets.forKey(gameId.toString()).emit(event, gameId.toString(), payload);
+    }
+
+    /**
+     * Emits an event to the relay, which sends it to the room of one role of the game.
+     * Uses the connection of the game, keeping the events of all rooms of one game in order.
+     *
+     * @param gameId  The ID of the game session.
+     * @param role    The role the payload is rendered for.
+     * @param event   The name of the event.
+     * @param payload The serialized payload.
+     */
+    @Override
+    public void emitToGameView(UUID gameId, GameViewRole role, String event, String payload) {
+        gameSockets.forKey(gameId.toString()).emit(event, role.roomOf(gameId), payload);
+    }
+
+    /**
+     * Emits an event to the relay, which sends it to all clients of the game namespace.
+     * All lobby events use the same connection, keeping the lobby sequence in order.
+     *
+     * @param event   The name of the event.
+     * @param payload The serialized payload.
+     */
+    @Override
+    public void emitToLobby(String event, String payload) {
+        gameSockets.forKey("lobby").emit(event, payload);
+    }
+
+    /**
+     * Emits a friend list event to the relay, which sends it to the profile room of the recipient.
+     *
+     * @param event     The friend list event.
+     * @param actor     The username of the user causing the event.
+     * @param recipient The username of the user receiving the event.
+     */
+    @Override
+    public void emitProfileEvent(ProfileEvent event, String actor, String recipient) {
+        try {
+            profileSockets.forKey(recipient).emit(event.getRelayEventName(), objectMapper.writeValueAsString(event.relayPayload(actor, recipient)));
+        } catch (JsonProcessingException e) {
+            log.error("[SOCKET] Could not serialize {}", event.getRelayEventName(), e);
+        }
+    }
+
+    /**
+     * Emits a chat message to the relay, which sends it to the chat room of the game.
+     *
+     * @param gameId  The ID of the game session.
+     * @param message The chat message.
+     */
+    @Override
+    public void emitChatMessage(UUID gameId, Map<String, Object> message) {
+        chatSockets.forKey(gameId.toString()).emit("chatMessage", message);
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.codenames.socket.service.impl;
+
+import org.example.codenames.chat.entity.ChatMessage;
+import org.example.codenames.gameSession.entity.GameViewRole;
+import org.example.codenames.socket.entity.ProfileEvent;
+import org.example.codenames.socket.entity.SocketNamespace;
+import org.example.codenames.socket.service.api.SocketTransport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@link SocketTransport} publishing the events directly to the STOMP broker of this instance.
+ * The event name travels in the {@value #EVENT_HEADER} header, the payload is the same JSON the relay clients receive.
+ * Destinations:
+ * <ul>
+ *     <li>{@code /topic/game/{gameId}} - room updates of one game</li>
+ *     <li>{@code /topic/game/{gameId}/{role}} - game session views and deltas of one game for spymasters or operatives</li>
+ *     <li>{@code /topic/lobby} - lobby list and lobby deltas</li>
+ *     <li>{@code /topic/profile/{username}} - friend list events of one user</li>
+ *     <li>{@code /topic/{gameId}/messages} - chat messages, the same topic the chat controller answers on</li>
+ * </ul>
+ */
+@Service
+@ConditionalOnProperty(name = "codenames.socket.mode", havingValue = "stomp")
+public class StompSocketTransport implements SocketTransport {
+    /**
+     * Name of the STOMP header carrying the event name.
+     */
+    public static final String EVENT_HEADER = "event";
+
+    /**
+     * Template sending messages to the broker.
+     */
+    private final SimpMessagingTemplate messagingTemplate;
+
+    /**
+     * Creates a new instance of the {@link StompSocketTransport}.
+     *
+     * @param messagingTemplate Template sending messages to the broker
+     */
+    @Autowired
+    public StompSocketTransport(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * The broker runs in this instance, so it is always available.
+     *
+     * @param namespace The namespace of the events.
+     * @return true
+     */
+    @Override
+    public boolean isConnected(SocketNamespace namespace) {
+        return true;
+    }
+
+    /**
+     * The broker only reaches the browsers connected to this instance.
+     *
+     * @return false
+     */
+    @Override
+    public boolean isShared() {
+        return false;
+    }
+
+    /**
+     * Publishes an event to the topic of the game.
+     *
+     * @param gameId  The ID of the game session.
+     * @param event   The name of the event.
+     * @param payload The serialized payload.
+     */
+    @Override
+    public void emitToGame(UUID gameId, String event, String payload) {
+        send("/topic/game/" + gameId, event, payload);
+    }
+
+    /**
+     * Publishes an event to the topic of one role of the game.
+     *
+     * @param gameId  The ID of the game session.
+     * @param role    The role the payload is rendered for.
+     * @param event   The name of the event.
+     * @param payload The serialized payload.
+     */
+    @Override
+    public void emitToGameView(UUID gameId, GameViewRole role, String event, String payload) {
+        send("/topic/game/" + gameId + "/" + role.name().toLowerCase(), event, payload);
+    }
+
+    /**
+     * Publishes an event to the lobby topic.
+     *
+     * @param event   The name of the event.
+     * @param payload The serialized payload.
+     */
+    @Override
+    public void emitToLobby(String event, String payload) {
+        send("/topic/lobby", event, payload);
+    }
+
+    /**
+     * Publishes a friend list event to the profile topic of the recipient.
+     *
+     * @param event     The friend list event.
+     * @param actor     The username of the user causing the event.
+     * @param recipient The username of the user receiving the event.
+     */
+    @Override
+    public void emitProfileEvent(ProfileEvent event, String actor, String recipient) {
+        messagingTemplate.convertAndSend("/topic/profile/" + recipient, event.payload(actor),
+                Map.of(EVENT_HEADER, event.getEventName()));
+    }
+
+    /**
+     * Publishes a chat message to the chat topic of the game.
+     *
+     * @param gameId  The ID of the game session.
+     * @param message The chat message.
+     */
+    @Override
+    public void emitChatMessage(UUID gameId, Map<String, Object> message) {
+        messagingTemplate.convertAndSend("/topic/" + gameId + "/messages",
+                new ChatMessage(String.valueOf(message.get("sender")), String.valueOf(message.get("content"))));
+    }
+
+    /**
+     * Sends an already serialized payload with the event name header.
+     *
+     * @param destination The destination topic.
+     * @param event       The name of the event.
+     * @param payload     The serialized payload.
+     */
+    private void send(String destination, String event, String payload) {
+        messagingTemplate.convertAndSend(destination, payload, Map.of(EVENT_HEADER, event));
+    }
+}
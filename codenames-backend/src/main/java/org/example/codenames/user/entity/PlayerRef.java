@@ -0,0 +1,59 @@
+package org.example.codenames.user.entity;
+
+import lombok.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Lightweight reference to a user taking part in a game session.
+ * Holds only what the game views display, the full profile is loaded from the users collection when needed.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+@ToString
+public class PlayerRef implements Serializable {
+    /**
+     * The unique identifier of the user.
+     */
+    private String id;
+    /**
+     * The username of the user.
+     */
+    private String username;
+    /**
+     * The number of profile picture of the user.
+     */
+    private int profilePic;
+    /**
+     * User status.
+     */
+    private User.userStatus status;
+
+    /**
+     * Override the equals method to compare two PlayerRef objects by the user they refer to.
+     *
+     * @param obj the object to compare to
+     * @return true if both refer to the same user, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        PlayerRef playerRef = (PlayerRef) obj;
+        return Objects.equals(id, playerRef.id);
+    }
+
+    /**
+     * Override the hashCode method to generate a hash code for the PlayerRef object.
+     *
+     * @return the hash code for the PlayerRef object
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.codenames.user.entity.mapper;
 
+import org.example.codenames.user.entity.PlayerRef;
 import org.example.codenames.user.entity.User;
 import org.example.codenames.user.entity.dto.GetUserProfileDetailsResponse;
 import org.example.codenames.user.entity.dto.GetUserResponse;
@@ -15,13 +16,13 @@ import java.util.List;
  */
 public class UserMapper {
     /**
-     * Converts a User object to a UserRoomLobbyDTO object.
+     * Converts a User object to the PlayerRef stored in game sessions.
      *
      * @param user the User object to convert
-     * @return the converted UserRoomLobbyDTO object
+     * @return the converted PlayerRef object
      */
-    public static UserRoomLobbyDTO toRoomLobbyDTO(User user) {
-        return UserRoomLobbyDTO.builder()
+    public static PlayerRef toPlayerRef(User user) {
+        return PlayerRef.builder()
                 .id(user.getId())
                 .username(user.getUsername())
                 .profilePic(user.getProfilePic())
@@ -30,12 +31,27 @@ public class UserMapper {
     }
 
     /**
-     * Converts a list of User objects to a list of UserRoomLobbyDTO objects.
+     * Converts a PlayerRef object to a UserRoomLobbyDTO object.
+     *
+     * @param player the PlayerRef object to convert
+     * @return the converted UserRoomLobbyDTO object
+     */
+    public static UserRoomLobbyDTO toRoomLobbyDTO(PlayerRef player) {
+        return UserRoomLobbyDTO.builder()
+                .id(player.getId())
+                .username(player.getUsername())
+                .profilePic(player.getProfilePic())
+                .status(player.getStatus())
+                .build();
+    }
+
+    /**
+     * Converts a list of PlayerRef objects to a list of UserRoomLobbyDTO objects.
      *
-     * @param users the list of User objects to convert
+     * @param users the list of PlayerRef objects to convert
      * @return the list of converted UserRoomLobbyDTO objects
      */
-    public static List<List<UserRoomLobbyDTO>> toRoomLobbyDTOList(List<List<User>> users) {
+    public static List<List<UserRoomLobbyDTO>> toRoomLobbyDTOList(List<List<PlayerRef>> users) {
         return users.stream()
                 .map(innerList -> innerList.stream()
                         .map(UserMapper::toRoomLobbyDTO)
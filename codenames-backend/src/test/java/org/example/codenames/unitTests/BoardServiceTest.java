@@ -0,0 +1,102 @@
+package org.example.codenames.unitTests;
+
+import org.example.codenames.card.entity.CardDeck;
+import org.example.codenames.card.service.api.CardService;
+import org.example.codenames.gameState.entity.Board;
+import org.example.codenames.gameState.entity.BoardLayout;
+import org.example.codenames.gameState.service.api.BoardService;
+import org.example.codenames.gameState.service.impl.DefaultBoardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the {@link BoardService} interface default implementation.
+ */
+public class BoardServiceTest {
+
+    private static final String[] NAMES = IntStream.range(0, 40).mapToObj(i -> "card" + i).toArray(String[]::new);
+
+    private CardService cardService;
+
+    private BoardService boardService;
+
+    @BeforeEach
+    public void setUp() {
+        cardService = mock(CardService.class);
+        CardDeck deck = new CardDeck("en", 7L, NAMES);
+        when(cardService.getDeck("en")).thenReturn(deck);
+        when(cardService.getDeck("en", 7L)).thenReturn(deck);
+        when(cardService.getDeck("en", 8L)).thenThrow(new IllegalStateException("Cards of version 8 are not loaded."));
+        boardService = new DefaultBoardService(cardService, 25);
+    }
+
+    /**
+     * Tests that a board always expands to the same distinct cards and colors.
+     */
+    @Test
+    public void shouldExpandBoardDeterministically() {
+        Board board = boardService.newBoard("en");
+        BoardLayout layout = boardService.expand(board);
+        BoardLayout again = new DefaultBoardService(cardService, 25).expand(new Board("en", 7L, board.getSeed()));
+
+        assertEquals(7L, board.getDeckVersion());
+        assertEquals(25, toList(layout.getCardIndexes()).stream().distinct().count());
+        assertArrayEquals(layout.getCardIndexes(), again.getCardIndexes());
+        assertArrayEquals(layout.getCardsColors(), again.getCardsColors());
+        verify(cardService, times(2)).getDeck("en", 7L);
+    }
+
+    /**
+     * Tests that every board has 9 red, 8 blue, 1 assassin and 7 neutral cards, and that seeds give different boards.
+     */
+    @Test
+    public void shouldDrawColorsAndCardsBySeed() {
+        Set<List<Short>> boards = new HashSet<>();
+
+        for (long seed = 0; seed < 20; seed++) {
+            BoardLayout layout = boardService.expand(new Board("en", 7L, seed));
+            int[] counts = new int[4];
+
+            for (byte color : layout.getCardsColors()) {
+                counts[color]++;
+            }
+
+            assertArrayEquals(new int[]{7, 9, 8, 1}, counts);
+            boards.add(toList(layout.getCardIndexes()));
+        }
+
+        assertEquals(20, boards.size());
+    }
+
+    /**
+     * Tests that a board of cards no longer loaded cannot be expanded.
+     */
+    @Test
+    public void shouldNotExpandBoardOfUnknownCards() {
+        assertThrows(IllegalStateException.class, () -> boardService.expand(new Board("en", 8L, 1L)));
+    }
+
+    private static List<Short> toList(short[] indexes) {
+        List<Short> list = new ArrayList<>();
+
+        for (short index : indexes) {
+            list.add(index);
+        }
+
+        return list;
+    }
+}
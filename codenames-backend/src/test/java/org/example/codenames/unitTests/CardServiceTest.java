@@ -1,7 +1,12 @@
 package org.example.codenames.unitTests;
 
 
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
 import org.example.codenames.card.entity.Card;
+import org.example.codenames.card.entity.CardDeck;
+import org.example.codenames.card.entity.CardDeckVersion;
+import org.example.codenames.card.repository.CardDeckVersionRepository;
 import org.example.codenames.card.repository.CardRepository;
 import org.example.codenames.card.service.api.CardService;
 import org.example.codenames.card.service.impl.DefaultCardService;
@@ -11,11 +16,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -28,6 +37,15 @@ public class CardServiceTest {
     @Mock
     private CardRepository cardRepository;
 
+    @Mock
+    private CardDeckVersionRepository cardDeckVersionRepository;
+
+    @Mock
+    private HazelcastInstance hazelcastInstance;
+
+    @Mock
+    private ITopic<Object> invalidations;
+
     @InjectMocks
     private DefaultCardService cardService;
 
@@ -61,10 +79,12 @@ public class CardServiceTest {
      */
     @Test
     public void shouldCreateCard() {
-        Card card = new Card();
+        Card card = new Card("jablko");
         when(cardRepository.save(card)).thenReturn(card);
+        when(hazelcastInstance.getTopic(DefaultCardService.INVALIDATIONS_TOPIC)).thenReturn(invalidations);
         Card result = cardService.createCard(card);
         verify(cardRepository).save(card);
+        verify(invalidations).publish("jablko");
         assertEquals(card, result);
     }
 
@@ -150,6 +170,95 @@ public class CardServiceTest {
         verify(cardRepository).findAll();
     }
 
+    /**
+     * Tests that the decks of all languages are built from the cards loaded once.
+     */
+    @Test
+    public void shouldBuildDecksFromLoadedCards() {
+        Card card1 = new Card("jablko");
+        card1.setNames(Map.of("en", "Apple"));
+        Card card2 = new Card("banan");
+        Card card3 = new Card("gruszka");
+        card3.setNames(Map.of("en", "Pear"));
+
+        when(cardRepository.findAll()).thenReturn(List.of(card1, card2, card3));
+
+        CardDeck english = cardService.getDeck("en");
+        assertArrayEquals(new String[]{"banan", "Pear", "Apple"}, english.getNames());
+        assertArrayEquals(new String[]{"banan", "gruszka", "jablko"}, cardService.getDeck("de").getNames());
+        assertSame(english, cardService.getDeck("en", english.getVersion()));
+        assertEquals(List.of("Pear", "Apple"), cardService.getCardsInLanguage("en"));
+        assertThrows(IllegalStateException.class, () -> cardService.getDeck("en", english.getVersion() + 1));
+        verify(cardRepository, times(1)).findAll();
+    }
+
+    /**
+     * Tests that the cards are loaded again after a card was created, keeping the previous version.
+     */
+    @Test
+    public void shouldReloadDeckAfterCardIsCreated() {
+        Card card1 = new Card("jablko");
+        Card card2 = new Card("banan");
+
+        when(cardRepository.findAll()).thenReturn(List.of(card1), List.of(card1, card2));
+        when(cardRepository.save(card2)).thenReturn(card2);
+        when(hazelcastInstance.getTopic(DefaultCardService.INVALIDATIONS_TOPIC)).thenReturn(invalidations);
+
+        CardDeck before = cardService.getDeck("pl");
+        cardService.createCard(card2);
+        CardDeck after = cardService.getDeck("pl");
+
+        assertArrayEquals(new String[]{"jablko"}, before.getNames());
+        assertArrayEquals(new String[]{"banan", "jablko"}, after.getNames());
+        assertNotEquals(before.getVersion(), after.getVersion());
+        assertSame(before, cardService.getDeck("pl", before.getVersion()));
+        verify(cardRepository, times(2)).findAll();
+        verify(cardDeckVersionRepository, times(2)).save(any(CardDeckVersion.class));
+    }
+
+    /**
+     * Tests that a version of the cards loaded on another instance is read back from the stored versions.
+     */
+    @Test
+    public void shouldLoadStoredVersionOfCards() {
+        Card card1 = new Card("jablko");
+        Card card2 = new Card("banan");
+        long version = 42L;
+
+        when(cardRepository.findAll()).thenReturn(List.of(card1));
+        when(cardDeckVersionRepository.findById(Long.toHexString(version)))
+                .thenReturn(Optional.of(new CardDeckVersion(Long.toHexString(version), List.of(card2, card1), LocalDateTime.now())));
+
+        CardDeck stored = cardService.getDeck("pl", version);
+
+        assertArrayEquals(new String[]{"banan", "jablko"}, stored.getNames());
+        assertEquals(version, stored.getVersion());
+        assertSame(stored, cardService.getDeck("pl", version));
+        verify(cardDeckVersionRepository, times(1)).findById(Long.toHexString(version));
+    }
+
+    /**
+     * Tests that only stored versions of the cards that are neither current nor used by a game are deleted.
+     */
+    @Test
+    public void shouldDeleteUnusedDeckVersions() {
+        when(cardRepository.findAll()).thenReturn(List.of(new Card("jablko")));
+
+        String currentId = Long.toHexString(cardService.getDeck("pl").getVersion());
+        String usedId = Long.toHexString(-7L);
+        String unusedId = Long.toHexString(42L);
+
+        when(cardDeckVersionRepository.findIdsByCreatedAtBefore(any())).thenReturn(List.of(
+                new CardDeckVersion(currentId, null, null),
+                new CardDeckVersion(usedId, null, null),
+                new CardDeckVersion(unusedId, null, null)));
+
+        int deleted = cardService.deleteUnusedDeckVersions(version -> version == -7L);
+
+        assertEquals(1, deleted);
+        verify(cardDeckVersionRepository).deleteAllById(List.of(unusedId));
+    }
+
     /**
      * Tests the retrieval of card names in a specific language when the language is null or empty.
      * This tests the behavior of the method when the language parameter is not valid.
@@ -0,0 +1,113 @@
+package org.example.codenames.unitTests;
+
+import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.GameViewRole;
+import org.example.codenames.gameSession.repository.api.GameSessionRepository;
+import org.example.codenames.gameSession.service.impl.DefaultGameViewAccessService;
+import org.example.codenames.gameState.entity.GameState;
+import org.example.codenames.jwt.JwtService;
+import org.example.codenames.socket.service.impl.GameViewSubscriptionInterceptor;
+import org.example.codenames.user.entity.PlayerRef;
+import org.example.codenames.user.entity.User;
+import org.example.codenames.user.service.api.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GameViewAccessServiceTest {
+    private final UUID gameId = UUID.randomUUID();
+    private final JwtService jwtService = new JwtService();
+    private final UserService userService = mock(UserService.class);
+    private final GameSessionRepository gameSessionRepository = mock(GameSessionRepository.class);
+    private DefaultGameViewAccessService accessService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService.SECRET = "mysecretkeymysecretkeymysecretkeymysecretkey";
+        accessService = new DefaultGameViewAccessService(jwtService, userService, gameSessionRepository);
+
+        GameState gameState = new GameState();
+        gameState.setRedTeamLeader(PlayerRef.builder().id("leader-id").username("leader").build());
+        GameSession gameSession = GameSession.builder().sessionId(gameId).gameState(gameState).build();
+
+        when(gameSessionRepository.findBySessionId(gameId)).thenReturn(Optional.of(gameSession));
+        when(userService.getUserByUsername("leader")).thenReturn(Optional.of(User.builder().id("leader-id").username("leader").build()));
+        when(userService.getUserByUsername("operative")).thenReturn(Optional.of(User.builder().id("operative-id").username("operative").build()));
+    }
+
+    @Test
+    void testRoleIsDerivedFromTheToken() {
+        assertEquals(GameViewRole.SPYMASTER, accessService.getViewRole(gameId, bearer("leader")));
+        assertEquals(GameViewRole.OPERATIVE, accessService.getViewRole(gameId, bearer("operative")));
+        assertEquals(GameViewRole.OPERATIVE, accessService.getViewRole(gameId, null));
+        assertEquals(GameViewRole.OPERATIVE, accessService.getViewRole(gameId, "Bearer not-a-token"));
+        assertNull(accessService.getAuthenticatedUserId("leader-id"));
+        assertThrows(IllegalArgumentException.class, () -> accessService.getViewRole(UUID.randomUUID(), bearer("leader")));
+    }
+
+    @Test
+    void testOnlyLeadersSubscribeToTheSpymasterTopic() {
+        GameViewSubscriptionInterceptor interceptor = new GameViewSubscriptionInterceptor(accessService);
+        MessageChannel channel = mock(MessageChannel.class);
+        Map<String, Object> leaderSession = new HashMap<>();
+        Map<String, Object> operativeSession = new HashMap<>();
+
+        interceptor.preSend(frame(StompCommand.CONNECT, null, bearer("leader"), leaderSession), channel);
+        interceptor.preSend(frame(StompCommand.CONNECT, null, bearer("operative"), operativeSession), channel);
+
+        String spymasterTopic = "/topic/game/" + gameId + "/spymaster";
+        assertDoesNotThrow(() -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, spymasterTopic, null, leaderSession), channel));
+        assertThrows(MessageDeliveryException.class, () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, spymasterTopic, null, operativeSession), channel));
+        assertThrows(MessageDeliveryException.class, () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, spymasterTopic, null, new HashMap<>()), channel));
+        assertDoesNotThrow(() -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/game/" + gameId + "/operative", null, operativeSession), channel));
+    }
+
+    @Test
+    void testNobodySubscribesToDestinationPatterns() {
+        GameViewSubscriptionInterceptor interceptor = new GameViewSubscriptionInterceptor(accessService);
+        MessageChannel channel = mock(MessageChannel.class);
+        Map<String, Object> leaderSession = new HashMap<>();
+        interceptor.preSend(frame(StompCommand.CONNECT, null, bearer("leader"), leaderSession), channel);
+
+        for (String pattern : new String[]{"/topic/game/" + gameId + "/*", "/topic/game/" + gameId + "/spymast?r",
+                "/topic/**", "/topic/game/*/spymaster", "/topic/game/{id}/spymaster"}) {
+            assertThrows(MessageDeliveryException.class, () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, pattern, null, new HashMap<>()), channel));
+            assertThrows(MessageDeliveryException.class, () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, pattern, null, leaderSession), channel));
+        }
+
+        assertDoesNotThrow(() -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/lobby", null, new HashMap<>()), channel));
+    }
+
+    private String bearer(String username) {
+        return "Bearer " + jwtService.generateToken(username);
+    }
+
+    private static Message<byte[]> frame(StompCommand command, String destination, String authorization, Map<String, Object> sessionAttributes) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setSessionAttributes(sessionAttributes);
+
+        if (authorization != null) {
+            accessor.setNativeHeader("Authorization", authorization);
+        }
+
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
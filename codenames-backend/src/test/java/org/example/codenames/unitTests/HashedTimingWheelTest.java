@@ -0,0 +1,65 @@
+package org.example.codenames.unitTests;
+
+import org.example.codenames.gameTimer.service.impl.HashedTimingWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Basic unit tests for the {@link HashedTimingWheel} class.
+ */
+public class HashedTimingWheelTest {
+
+    /**
+     * Tests that timers expire on the first tick at or after their deadline, in the order of their ticks.
+     */
+    @Test
+    public void shouldExpireTimersAtTheirTicks() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.schedule("b", 250);
+        wheel.schedule("a", 120);
+        wheel.schedule("late", 0);
+
+        assertEquals(List.of("late"), wheel.advance(50));
+        assertEquals(List.of(), wheel.advance(199));
+        assertEquals(List.of("a"), wheel.advance(200));
+        assertEquals(List.of("b"), wheel.advance(399));
+        assertEquals(0, wheel.size());
+    }
+
+    /**
+     * Tests that timers further away than one revolution wait for their remaining rounds.
+     */
+    @Test
+    public void shouldWaitForRemainingRounds() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 6, 0);
+        wheel.schedule("far", 2_550);
+        wheel.schedule("near", 350);
+
+        assertEquals(List.of("near"), wheel.advance(1_700));
+        assertEquals(List.of(), wheel.advance(2_599));
+        assertEquals(List.of("far"), wheel.advance(2_600));
+    }
+
+    /**
+     * Tests that a rescheduled timer replaces the previous one and a cancelled timer never expires.
+     */
+    @Test
+    public void shouldRescheduleAndCancelTimers() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(100, 8, 0);
+        wheel.schedule("turn", 300);
+        wheel.schedule("turn", 1_500);
+        wheel.schedule("invite", 200);
+
+        assertEquals(1_500, wheel.deadlineOf("turn"));
+        assertTrue(wheel.cancel("invite"));
+        assertFalse(wheel.cancel("invite"));
+        assertEquals(List.of(), wheel.advance(1_000));
+        assertEquals(List.of("turn"), wheel.advance(1_500));
+        assertEquals(-1, wheel.deadlineOf("turn"));
+    }
+}
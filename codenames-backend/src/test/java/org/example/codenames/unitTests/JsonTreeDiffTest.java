@@ -0,0 +1,66 @@
+package org.example.codenames.unitTests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.codenames.socket.entity.FieldChange;
+import org.example.codenames.socket.service.impl.JsonTreeDiff;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Basic unit tests for the {@link JsonTreeDiff} class.
+ */
+public class JsonTreeDiffTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JsonNode tree(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+
+    /**
+     * Tests that equal trees have no changes.
+     */
+    @Test
+    public void shouldReturnNoChangesForEqualTrees() throws Exception {
+        String json = "{\"version\":1,\"gameState\":{\"cardsVotes\":[0,0,0],\"hint\":\"sea\"}}";
+
+        assertTrue(JsonTreeDiff.diff(tree(json), tree(json)).isEmpty());
+    }
+
+    /**
+     * Tests that a changed array element is reported with its index only.
+     */
+    @Test
+    public void shouldReportChangedArrayElement() throws Exception {
+        List<FieldChange> changes = JsonTreeDiff.diff(
+                tree("{\"version\":1,\"gameState\":{\"cardsVotes\":[0,0,0],\"hint\":\"sea\"}}"),
+                tree("{\"version\":2,\"gameState\":{\"cardsVotes\":[0,2,0],\"hint\":\"sea\"}}"));
+
+        assertEquals(2, changes.size());
+        assertEquals("version", changes.get(0).getPath());
+        assertEquals(2, changes.get(0).getValue().asInt());
+        assertEquals("gameState.cardsVotes[1]", changes.get(1).getPath());
+        assertEquals(2, changes.get(1).getValue().asInt());
+    }
+
+    /**
+     * Tests that arrays of a different length and removed fields replace the whole value.
+     */
+    @Test
+    public void shouldReplaceResizedArraysAndRemovedFields() throws Exception {
+        List<FieldChange> changes = JsonTreeDiff.diff(
+                tree("{\"cardsChosen\":[1],\"hint\":\"sea\"}"),
+                tree("{\"cardsChosen\":[1,4]}"));
+
+        assertEquals(2, changes.size());
+        assertEquals("cardsChosen", changes.get(0).getPath());
+        assertEquals(2, changes.get(0).getValue().size());
+        assertEquals("hint", changes.get(1).getPath());
+        assertTrue(changes.get(1).getValue().isNull());
+    }
+}
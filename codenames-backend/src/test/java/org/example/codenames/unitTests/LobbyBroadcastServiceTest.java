@@ -0,0 +1,100 @@
+package org.example.codenames.unitTests;
+
+import org.example.codenames.gameSession.entity.LobbyDelta;
+import org.example.codenames.gameSession.service.api.LobbyViewService;
+import org.example.codenames.socket.entity.LobbyBroadcastStats;
+import org.example.codenames.socket.service.api.LobbyBroadcastService;
+import org.example.codenames.socket.service.api.SocketService;
+import org.example.codenames.socket.service.impl.DefaultLobbyBroadcastService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Basic unit tests for the {@link LobbyBroadcastService} interface default implementation.
+ */
+@ExtendWith(MockitoExtension.class)
+public class LobbyBroadcastServiceTest {
+
+    @Mock
+    private LobbyViewService lobbyViewService;
+
+    @Mock
+    private SocketService socketService;
+
+    private DefaultLobbyBroadcastService lobbyBroadcastService;
+
+    @BeforeEach
+    public void setUp() {
+        lobbyBroadcastService = new DefaultLobbyBroadcastService(lobbyViewService, socketService, 250);
+    }
+
+    private static LobbyDelta delta(long sequence, UUID sessionId) {
+        return new LobbyDelta(LobbyDelta.deltaType.UPDATED, sequence, sessionId, null);
+    }
+
+    /**
+     * Tests that several changes of one session within one window result in a single delta.
+     */
+    @Test
+    public void shouldCoalesceChangesIntoOneDeltaPerSession() throws Exception {
+        UUID sessionId = UUID.randomUUID();
+        UUID otherSessionId = UUID.randomUUID();
+        LobbyDelta first = delta(1, sessionId);
+        LobbyDelta second = delta(2, otherSessionId);
+        when(lobbyViewService.drainDeltas()).thenReturn(List.of(first, second));
+
+        lobbyBroadcastService.markDirty(sessionId);
+        lobbyBroadcastService.markDirty(sessionId);
+        lobbyBroadcastService.markDirty(otherSessionId);
+        lobbyBroadcastService.flush();
+
+        verify(lobbyViewService, times(1)).refresh(sessionId);
+        verify(lobbyViewService, times(1)).refresh(otherSessionId);
+        verify(socketService).sendLobbyDelta(first);
+        verify(socketService).sendLobbyDelta(second);
+        LobbyBroadcastStats stats = lobbyBroadcastService.getStats();
+        assertEquals(3, stats.getRequested());
+        assertEquals(2, stats.getEmitted());
+        assertEquals(1, stats.getSuppressed());
+        assertEquals(2, stats.getLastSequence());
+    }
+
+    /**
+     * Tests that nothing is emitted when nothing changed.
+     */
+    @Test
+    public void shouldNotEmitWithoutChanges() {
+        when(lobbyViewService.drainDeltas()).thenReturn(List.of());
+
+        lobbyBroadcastService.flush();
+
+        verifyNoInteractions(socketService);
+        verify(lobbyViewService, never()).refresh(any());
+    }
+
+    /**
+     * Tests that a request which did not change the lobby emits nothing.
+     */
+    @Test
+    public void shouldSuppressUnchangedLobby() throws Exception {
+        when(lobbyViewService.drainDeltas()).thenReturn(List.of(delta(1, UUID.randomUUID())), List.of());
+
+        lobbyBroadcastService.markDirty(UUID.randomUUID());
+        lobbyBroadcastService.flush();
+        lobbyBroadcastService.markDirty(UUID.randomUUID());
+        lobbyBroadcastService.flush();
+
+        verify(socketService, times(1)).sendLobbyDelta(any(LobbyDelta.class));
+        assertEquals(1, lobbyBroadcastService.getStats().getSuppressed());
+    }
+}
@@ -0,0 +1,316 @@
+package org.example.codenames.unitTests;
+
+import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.GameViewRole;
+import org.example.codenames.gameSession.service.impl.DefaultGameViewService;
+import org.example.codenames.gameState.entity.GameState;
+import org.example.codenames.user.entity.PlayerRef;
+import org.example.codenames.socket.entity.OverflowPolicy;
+import org.example.codenames.socket.entity.ProfileEvent;
+import org.example.codenames.socket.entity.SocketEvent;
+import org.example.codenames.socket.entity.SocketNamespace;
+import org.example.codenames.socket.service.api.SocketService;
+import org.example.codenames.socket.service.api.SocketTransport;
+import org.example.codenames.socket.service.impl.DefaultSocketService;
+import org.example.codenames.socket.service.impl.LocalSocketEventBus;
+import org.example.codenames.socket.service.impl.OutboundEventQueue;
+import org.example.codenames.socket.service.impl.SocketConnectionPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Basic unit tests for the {@link SocketService} interface default implementation.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class SocketServiceTest {
+
+    @Mock
+    private SocketTransport socketTransport;
+
+    private DefaultSocketService socketService;
+
+    @BeforeEach
+    public void setUp() {
+        socketService = new DefaultSocketService(socketTransport, new LocalSocketEventBus(), new DefaultGameViewService(), 100, OverflowPolicy.COALESCE_PER_GAME, 10);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        socketService.stopDispatchers();
+    }
+
+    private static GameSession gameSession(UUID gameId, long version, String gameName) {
+        return GameSession.builder()
+                .sessionId(gameId)
+                .gameName(gameName)
+                .version(version)
+                .build();
+    }
+
+    /**
+     * Tests that the first update of a game is sent whole and the next ones as deltas over the transport.
+     */
+    @Test
+    public void shouldSendFullSessionThenDeltas() throws Exception {
+        UUID gameId = UUID.randomUUID();
+        when(socketTransport.isConnected(any())).thenReturn(true);
+        socketService.startDispatchers();
+
+        socketService.sendGameSessionDelta(gameId, gameSession(gameId, 1, "first"));
+        verify(socketTransport, timeout(1000)).emitToGameView(eq(gameId), eq(GameViewRole.OPERATIVE), eq("gameSessionData"), contains("first"));
+        socketService.sendGameSessionDelta(gameId, gameSession(gameId, 2, "second"));
+        verify(socketTransport, timeout(1000)).emitToGameView(eq(gameId), eq(GameViewRole.OPERATIVE), eq("gameSessionDelta"), contains("second"));
+        socketService.sendGameSessionDelta(gameId, gameSession(gameId, 1, "stale"));
+        socketService.sendGameSessionDelta(gameId, gameSession(gameId, 3, "third"));
+
+        verify(socketTransport, timeout(1000)).emitToGameView(eq(gameId), eq(GameViewRole.OPERATIVE), eq("gameSessionDelta"), contains("third"));
+        verify(socketTransport, never()).emitToGameView(eq(gameId), any(), anyString(), contains("stale"));
+    }
+
+    /**
+     * Tests that game sessions read with different versions of their records never share a version,
+     * and that a read newer in one record but older in the other is sent whole instead of as a delta.
+     */
+    @Test
+    public void shouldSendMixedReadsWhole() throws Exception {
+        UUID gameId = UUID.randomUUID();
+        DefaultGameViewService gameViewService = new DefaultGameViewService();
+        GameSession first = gameSession(gameId, 3, "first");
+        first.setGameState(gameState(5));
+        GameSession mixed = gameSession(gameId, 4, "mixed");
+        mixed.setGameState(gameState(4));
+        GameSession next = gameSession(gameId, 4, "next");
+        next.setGameState(gameState(6));
+
+        assertNotEquals(gameViewService.versionOf(first), gameViewService.versionOf(mixed));
+        assertFalse(gameViewService.isNewer(gameViewService.versionOf(mixed), gameViewService.versionOf(first)));
+        assertFalse(gameViewService.isNewer(gameViewService.versionOf(first), gameViewService.versionOf(mixed)));
+
+        when(socketTransport.isConnected(any())).thenReturn(true);
+        socketService.startDispatchers();
+        socketService.sendGameSessionDelta(gameId, first);
+        verify(socketTransport, timeout(1000)).emitToGameView(eq(gameId), eq(GameViewRole.OPERATIVE), eq("gameSessionData"), contains("first"));
+        socketService.sendGameSessionDelta(gameId, mixed);
+        verify(socketTransport, timeout(1000)).emitToGameView(eq(gameId), eq(GameViewRole.OPERATIVE), eq("gameSessionData"), contains("mixed"));
+        socketService.sendGameSessionDelta(gameId, next);
+        verify(socketTransport, timeout(1000)).emitToGameView(eq(gameId), eq(GameViewRole.OPERATIVE), eq("gameSessionDelta"), contains("next"));
+        verify(socketTransport, never()).emitToGameView(eq(gameId), any(), eq("gameSessionDelta"), contains("mixed"));
+    }
+
+    private static GameState gameState(long version) {
+        GameState gameState = new GameState();
+        gameState.setCardsColors(new byte[]{1, 2, 3});
+        gameState.setVersion(version);
+
+        return gameState;
+    }
+
+    /**
+     * Tests that events are buffered while the transport is disconnected, coalesced per game
+     * and emitted after the latest state of every game is replayed on reconnect.
+     */
+    @Test
+    public void shouldBufferWhileDisconnectedAndReplayOnReconnect() throws Exception {
+        UUID gameId = UUID.randomUUID();
+        UUID otherGameId = UUID.randomUUID();
+        // Stubbed once, re-stubbing would race with the dispatcher threads calling the mock
+        AtomicBoolean gameConnected = new AtomicBoolean(true);
+        when(socketTransport.isConnected(any())).thenAnswer(invocation ->
+                invocation.getArgument(0) != SocketNamespace.GAME || gameConnected.get());
+        socketService.startDispatchers();
+        socketService.sendGameSessionDelta(otherGameId, gameSession(otherGameId, 1, "sent"));
+        verify(socketTransport, timeout(1000)).emitToGameView(eq(otherGameId), eq(GameViewRole.OPERATIVE), eq("gameSessionData"), contains("sent"));
+
+        gameConnected.set(false);
+        Thread.sleep(100);
+        socketService.sendGameSessionDelta(gameId, gameSession(gameId, 1, "buffered"));
+        socketService.sendGameSessionDelta(gameId, gameSession(gameId, 2, "latest"));
+        Thread.sleep(100);
+        verify(socketTransport, never()).emitToGameView(eq(gameId), any(), anyString(), anyString());
+
+        gameConnected.set(true);
+
+        verify(socketTransport, timeout(1000)).emitToGameView(eq(gameId), eq(GameViewRole.OPERATIVE), eq("gameSessionData"), contains("latest"));
+        InOrder inOrder = inOrder(socketTransport);
+        inOrder.verify(socketTransport, times(2)).emitToGameView(eq(otherGameId), eq(GameViewRole.OPERATIVE), eq("gameSessionData"), contains("sent"));
+        inOrder.verify(socketTransport).emitToGameView(eq(gameId), eq(GameViewRole.OPERATIVE), eq("gameSessionData"), contains("latest"));
+        verify(socketTransport, never()).emitToGameView(eq(gameId), any(), anyString(), contains("buffered"));
+    }
+
+    /**
+     * Tests that events are published to the bus while the transport is disconnected here,
+     * since whether they can be emitted is up to the instance delivering them.
+     */
+    @Test
+    public void shouldPublishWhileDisconnected() throws Exception {
+        UUID gameId = UUID.randomUUID();
+        List<SocketEvent> published = new CopyOnWriteArrayList<>();
+        LocalSocketEventBus bus = new LocalSocketEventBus() {
+            @Override
+            public void publish(SocketEvent event) {
+                published.add(event);
+                super.publish(event);
+            }
+        };
+        socketService.stopDispatchers();
+        socketService = new DefaultSocketService(socketTransport, bus, new DefaultGameViewService(), 100, OverflowPolicy.COALESCE_PER_GAME, 10);
+        when(socketTransport.isConnected(any())).thenReturn(false);
+        socketService.startDispatchers();
+
+        socketService.sendGameSessionDelta(gameId, gameSession(gameId, 1, "published"));
+        socketService.emitFriendRequestEvent("alice", "bob");
+
+        verify(socketTransport, after(200).never()).emitToGameView(any(), any(), anyString(), anyString());
+        verify(socketTransport, never()).emitProfileEvent(any(), anyString(), anyString());
+        assertEquals(List.of(SocketEvent.eventType.GAME_STATE, SocketEvent.eventType.PROFILE),
+                published.stream().map(SocketEvent::getType).sorted().toList());
+    }
+
+    /**
+     * Tests that operatives only receive the colors of revealed cards, spymasters all of them,
+     * and that neither view carries the session password.
+     */
+    @Test
+    public void shouldSendRoleSpecificViews() throws Exception {
+        UUID gameId = UUID.randomUUID();
+        GameState gameState = new GameState();
+        gameState.setRedTeamLeader(PlayerRef.builder().id("red-leader").build());
+        gameState.setCardsColors(new byte[]{1, 2, 3});
+        gameState.revealCard(1);
+        GameSession gameSession = gameSession(gameId, 1, "roles");
+        gameSession.setGameState(gameState);
+        gameSession.setPassword("secret");
+        when(socketTransport.isConnected(any())).thenReturn(true);
+        socketService.startDispatchers();
+
+        socketService.sendGameSessionUpdate(gameId, gameSession);
+
+        verify(socketTransport, timeout(1000)).emitToGameView(eq(gameId), eq(GameViewRole.SPYMASTER), eq("gameSessionData"), contains("\"cardsColors\":[1,2,3]"));
+        verify(socketTransport, timeout(1000)).emitToGameView(eq(gameId), eq(GameViewRole.OPERATIVE), eq("gameSessionData"), contains("\"cardsColors\":[0,2,0]"));
+        verify(socketTransport, never()).emitToGameView(eq(gameId), any(), anyString(), contains("secret"));
+        assertEquals(GameViewRole.SPYMASTER, GameViewRole.of(gameSession, "red-leader"));
+        assertEquals(GameViewRole.OPERATIVE, GameViewRole.of(gameSession, "someone"));
+    }
+
+    /**
+     * Tests that friend list events are addressed to the user who did not cause them.
+     */
+    @Test
+    public void shouldAddressProfileEventsToTheOtherUser() throws Exception {
+        when(socketTransport.isConnected(any())).thenReturn(true);
+        socketService.startDispatchers();
+
+        socketService.emitFriendRequestEvent("alice", "bob");
+        socketService.emitFriendRequestAcceptEvent("alice", "bob");
+        socketService.emitRemoveFriendEvent("bob", "alice");
+
+        verify(socketTransport, timeout(1000)).emitProfileEvent(ProfileEvent.FRIEND_REQUEST_RECEIVED, "alice", "bob");
+        verify(socketTransport, timeout(1000)).emitProfileEvent(ProfileEvent.FRIEND_REQUEST_ACCEPTED, "bob", "alice");
+        verify(socketTransport, timeout(1000)).emitProfileEvent(ProfileEvent.FRIEND_REMOVED, "bob", "alice");
+    }
+
+    /**
+     * Tests that a full queue drops its oldest event and coalesces only keyed events under the coalescing policy.
+     */
+    @Test
+    public void shouldDropOldestAndCoalesceKeyedEvents() throws Exception {
+        List<String> emitted = new ArrayList<>();
+        OutboundEventQueue coalescing = new OutboundEventQueue(2, OverflowPolicy.COALESCE_PER_GAME);
+        coalescing.offer("state:a", () -> emitted.add("a1"));
+        coalescing.offer("state:b", () -> emitted.add("b1"));
+        coalescing.offer("state:a", () -> emitted.add("a2"));
+        coalescing.offer(null, () -> emitted.add("c"));
+
+        drain(coalescing);
+        assertEquals(List.of("b1", "c"), emitted);
+        assertEquals(1, coalescing.getCoalesced());
+        assertEquals(1, coalescing.getDropped());
+
+        emitted.clear();
+        OutboundEventQueue dropping = new OutboundEventQueue(2, OverflowPolicy.DROP_OLDEST);
+        dropping.offer("state:a", () -> emitted.add("a1"));
+        dropping.offer("state:a", () -> emitted.add("a2"));
+        dropping.offer("state:a", () -> emitted.add("a3"));
+
+        drain(dropping);
+        assertEquals(List.of("a2", "a3"), emitted);
+        assertEquals(1, dropping.getDropped());
+    }
+
+    private static void drain(OutboundEventQueue queue) throws InterruptedException {
+        for (Runnable event = queue.poll(1); event != null; event = queue.poll(1)) {
+            event.run();
+        }
+    }
+
+    /**
+     * Tests that keys stay on their connection and only the keys of a dropped connection move.
+     */
+    @Test
+    public void shouldOnlyMoveKeysOfDroppedConnection() {
+        Set<String> down = new HashSet<>();
+        SocketConnectionPool<String> pool = new SocketConnectionPool<>(List.of("a", "b", "c", "d"), connection -> !down.contains(connection));
+        Map<String, String> assigned = new HashMap<>();
+
+        for (int i = 0; i < 1000; i++) {
+            String key = UUID.randomUUID().toString();
+            assigned.put(key, pool.forKey(key));
+            assertEquals(assigned.get(key), pool.forKey(key));
+        }
+
+        assertEquals(4, new HashSet<>(assigned.values()).size());
+
+        down.add("b");
+
+        for (Map.Entry<String, String> entry : assigned.entrySet()) {
+            String connection = pool.forKey(entry.getKey());
+
+            if (entry.getValue().equals("b")) {
+                assertNotEquals("b", connection);
+            } else {
+                assertEquals(entry.getValue(), connection);
+            }
+        }
+
+        down.addAll(List.of("a", "c", "d"));
+        assertFalse(pool.isAnyHealthy());
+        assertEquals(assigned.values().iterator().next(), pool.forKey(assigned.keySet().iterator().next()));
+    }
+
+    /**
+     * Tests that the relay payloads of the friend list events keep the shape the socket.io server expects.
+     */
+    @Test
+    public void shouldKeepRelayPayloadsOfProfileEvents() {
+        assertEquals(Map.of("from", "alice", "to", "bob"), ProfileEvent.FRIEND_REQUEST_RECEIVED.relayPayload("alice", "bob"));
+        assertEquals(Map.of("from", "alice", "to", "bob"), ProfileEvent.FRIEND_REQUEST_ACCEPTED.relayPayload("bob", "alice"));
+        assertEquals(Map.of("user", "bob", "friend", "alice"), ProfileEvent.FRIEND_REMOVED.relayPayload("bob", "alice"));
+        assertEquals(Map.of("by", "bob"), ProfileEvent.FRIEND_REQUEST_ACCEPTED.payload("bob"));
+    }
+}
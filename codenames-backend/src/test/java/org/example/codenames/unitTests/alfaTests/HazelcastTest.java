@@ -1,29 +1,102 @@
 package org.example.codenames.unitTests.alfaTests;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
+import org.example.codenames.card.service.api.CardService;
+import org.example.codenames.discord.service.impl.DiscordGuildService;
+import org.example.codenames.gameArchive.entity.GameArchive;
+import org.example.codenames.gameArchive.repository.api.GameArchiveRepository;
+import org.example.codenames.gameArchive.service.impl.DefaultGameArchiveService;
+import org.example.codenames.gameSession.entity.GameEvent;
 import org.example.codenames.gameSession.entity.GameSession;
+import org.example.codenames.gameSession.entity.LobbyDelta;
+import org.example.codenames.gameSession.entity.LobbyQuery;
+import org.example.codenames.gameSession.entity.LobbySnapshot;
+import org.example.codenames.gameSession.entity.dto.GameEventPageDTO;
+import org.example.codenames.gameSession.entity.dto.GameSessionJoinGameDTO;
+import org.example.codenames.gameSession.entity.dto.GameSessionLobbySnapshotDTO;
+import org.example.codenames.gameSession.repository.api.GameEventRepository;
+import org.example.codenames.gameSession.repository.api.GameSessionRepository;
+import org.example.codenames.gameSession.repository.api.GameSessionUnitOfWork;
+import org.example.codenames.gameSession.service.api.GameSessionService;
+import org.example.codenames.gameSession.service.impl.DefaultGameCommandService;
+import org.example.codenames.gameSession.service.impl.DefaultGameEventService;
+import org.example.codenames.gameSession.service.impl.DefaultGameViewService;
+import org.example.codenames.gameSession.service.impl.DefaultLobbyViewService;
+import org.example.codenames.gameState.entity.Board;
 import org.example.codenames.gameState.entity.GameState;
+import org.example.codenames.gameState.repository.api.GameStateRepository;
+import org.example.codenames.gameState.service.api.BoardService;
+import org.example.codenames.gameState.service.impl.DefaultCardVoteAggregator;
+import org.example.codenames.gameState.service.impl.DefaultGameStateService;
+import org.example.codenames.gameTimer.entity.GameTimer;
+import org.example.codenames.gameTimer.repository.api.GameTimerRepository;
+import org.example.codenames.gameTimer.service.api.GameTimerHandler;
+import org.example.codenames.gameTimer.service.api.GameTimerService;
+import org.example.codenames.gameTimer.service.impl.DefaultGameTimerHandler;
+import org.example.codenames.gameTimer.service.impl.DefaultGameTimerService;
 import org.example.codenames.hazelcast.HazelcastConfiguration;
+import org.example.codenames.socket.entity.SocketEvent;
+import org.example.codenames.socket.service.api.SocketService;
+import org.example.codenames.socket.service.api.SocketTransport;
+import org.example.codenames.socket.service.impl.HazelcastSocketEventBus;
+import org.example.codenames.user.entity.PlayerRef;
 import org.example.codenames.user.entity.User;
+import org.example.codenames.user.entity.mapper.UserMapper;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class HazelcastTest {
 
     private HazelcastInstance hazelcastInstance;
     private IMap<String, GameSession> gameSessionMap;
+    private GameStateRepository gameStateRepository;
+    private GameSessionRepository repository;
 
     @AfterAll
     public static void afterAll() {
@@ -33,28 +106,27 @@ public class HazelcastTest {
     @BeforeEach
     public void setUp() {
         HazelcastConfiguration hazelcastConfig = new HazelcastConfiguration();
+        ReflectionTestUtils.setField(hazelcastConfig, "gameEventsCapacity", 512);
+        ReflectionTestUtils.setField(hazelcastConfig, "gameEventsTtl", 7200);
         hazelcastInstance = hazelcastConfig.hazelcastInstance();
         gameSessionMap = hazelcastInstance.getMap("gameSessions");
+        gameStateRepository = new GameStateRepository(hazelcastInstance);
+        repository = new GameSessionRepository(hazelcastInstance, gameStateRepository);
 
         // Test record
-        String[] cards = new String[3];
-        cards[0] = "cardA";
-        cards[1] = "cardB";
-        cards[2] = "cardC";
-        Integer[] cardsTypes = new Integer[3];
+        short[] cardIndexes = new short[]{0, 1, 2};
+        byte[] cardsTypes = new byte[3];
         cardsTypes[0] = 1;
         cardsTypes[1] = 2;
         cardsTypes[2] = 3;
         GameState gameState = new GameState();
-        gameState.setCards(cards);
+        gameState.setCardIndexes(cardIndexes);
         gameState.setCardsColors(cardsTypes);
         gameState.setTeamTurn(0);
         gameState.setBlueTeamScore(0);
         gameState.setRedTeamScore(0);
 
-        List<Integer> cardsVotes = new ArrayList<>(Collections.nCopies(gameState.getCards().length, 0));
-
-        gameState.setCardsVotes(cardsVotes);
+        gameState.setCardsVotes(new int[gameState.getCardIndexes().length]);
 
         GameSession newGame = new GameSession(
                 GameSession.sessionStatus.CREATED,
@@ -72,38 +144,34 @@ public class HazelcastTest {
                 }},
                 gameState,
                 System.currentTimeMillis(),
-                null
+                null,
+                0L
         );
 
-        gameSessionMap.put(newGame.getSessionId().toString(), newGame);
+        repository.save(newGame);
     }
 
     @AfterEach
     public void tearDown() {
-        gameSessionMap.clear();
+        repository.deleteAll();
         hazelcastInstance.shutdown();
     }
 
     @Test
     public void testEmptyGameSessionSerialization() {
-        String[] cards = new String[3];
-        cards[0] = "card1";
-        cards[1] = "card2";
-        cards[2] = "card3";
-        Integer[] cardsTypes = new Integer[3];
+        short[] cardIndexes = new short[]{0, 1, 2};
+        byte[] cardsTypes = new byte[3];
         cardsTypes[0] = 1;
         cardsTypes[1] = 2;
         cardsTypes[2] = 3;
         GameState gameState = new GameState();
-        gameState.setCards(cards);
+        gameState.setCardIndexes(cardIndexes);
         gameState.setCardsColors(cardsTypes);
         gameState.setTeamTurn(0);
         gameState.setBlueTeamScore(0);
         gameState.setRedTeamScore(0);
 
-        List<Integer> cardsVotes = new ArrayList<>(Collections.nCopies(gameState.getCards().length, 0));
-
-        gameState.setCardsVotes(cardsVotes);
+        gameState.setCardsVotes(new int[gameState.getCardIndexes().length]);
 
         GameSession newGame = new GameSession(
                 GameSession.sessionStatus.CREATED,
@@ -121,21 +189,22 @@ public class HazelcastTest {
                 }},
                 gameState,
                 System.currentTimeMillis(),
-                null
+                null,
+                0L
         );
 
-        gameSessionMap.put(newGame.getSessionId().toString(), newGame);
+        repository.save(newGame);
 
-        assertDoesNotThrow(() -> gameSessionMap.get(newGame.getSessionId().toString()));
-        GameSession retrievedGame = gameSessionMap.get(newGame.getSessionId().toString());
+        assertDoesNotThrow(() -> repository.findBySessionId(newGame.getSessionId()));
+        GameSession retrievedGame = repository.findBySessionId(newGame.getSessionId()).orElseThrow();
         GameState retrievedGameState = retrievedGame.getGameState();
         assertEquals(retrievedGame.getGameName(), newGame.getGameName());
         assertEquals(retrievedGame.getMaxPlayers(), newGame.getMaxPlayers());
         assertEquals(retrievedGame.getStatus(), newGame.getStatus());
         assertEquals(retrievedGame.getPassword(), newGame.getPassword());
-        assertEquals(retrievedGameState.getCards()[0], newGame.getGameState().getCards()[0]);
-        assertEquals(retrievedGameState.getCards()[1], newGame.getGameState().getCards()[1]);
-        assertEquals(retrievedGameState.getCards()[2], newGame.getGameState().getCards()[2]);
+        assertEquals(retrievedGameState.getCardIndexes()[0], newGame.getGameState().getCardIndexes()[0]);
+        assertEquals(retrievedGameState.getCardIndexes()[1], newGame.getGameState().getCardIndexes()[1]);
+        assertEquals(retrievedGameState.getCardIndexes()[2], newGame.getGameState().getCardIndexes()[2]);
         assertEquals(retrievedGameState.getCardsColors()[0], newGame.getGameState().getCardsColors()[0]);
         assertEquals(retrievedGameState.getCardsColors()[1], newGame.getGameState().getCardsColors()[1]);
         assertEquals(retrievedGameState.getCardsColors()[2], newGame.getGameState().getCardsColors()[2]);
@@ -143,6 +212,53 @@ public class HazelcastTest {
 
     }
 
+    @Test
+    public void testRevealedCardsAreStoredAsBitmask() {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+
+        gameStateRepository.update(sessionId, gameState -> {
+            gameState.revealCard(2);
+            gameState.revealCard(0);
+            return null;
+        });
+
+        GameState gameState = gameStateRepository.findBySessionId(sessionId).orElseThrow();
+        assertTrue(gameState.isCardRevealed(0));
+        assertFalse(gameState.isCardRevealed(1));
+        assertArrayEquals(new int[]{0, 2}, gameState.getCardsChosen());
+        assertArrayEquals(new int[]{1, 2, 3}, gameState.getCardsColorsAsInts());
+
+        // Clients keep receiving plain number arrays
+        JsonNode json = new ObjectMapper().valueToTree(gameState);
+        assertEquals("[1,2,3]", json.get("cardsColors").toString());
+        assertEquals("[0,2]", json.get("cardsChosen").toString());
+        assertFalse(json.has("revealedCards"));
+    }
+
+    @Test
+    public void testDeletingSessionRemovesItsGameState() {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+
+        repository.deleteById(sessionId);
+
+        assertTrue(repository.findMetadataBySessionId(sessionId).isEmpty());
+        assertTrue(gameStateRepository.findBySessionId(sessionId).isEmpty());
+    }
+
+    @Test
+    public void testGameStateIsStoredWithItsCardsAndBoard() {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+        GameState stored = gameStateRepository.findBySessionId(sessionId).orElseThrow();
+        stored.setBoard(new Board("en", 0x8000_0000_0000_0001L, 42L));
+        gameStateRepository.save(sessionId, stored);
+
+        // Read back without any card service, the board only describes where the cards came from
+        GameState gameState = gameStateRepository.findBySessionId(sessionId).orElseThrow();
+        assertEquals(new Board("en", 0x8000_0000_0000_0001L, 42L), gameState.getBoard());
+        assertArrayEquals(new short[]{0, 1, 2}, gameState.getCardIndexes());
+        assertArrayEquals(new byte[]{1, 2, 3}, gameState.getCardsColors());
+    }
+
     @Test
     public void testAddingUsersToGameSession() {
         String sessionId = gameSessionMap.keySet().iterator().next();
@@ -159,10 +275,591 @@ public class HazelcastTest {
                 .build();
 
         // Add the user to the first team in the connected users list
-        gameSession.getConnectedUsers().get(0).add(testUser);
+        gameSession.getConnectedUsers().get(0).add(UserMapper.toPlayerRef(testUser));
 
         // Assert that the user was added successfully
         assertEquals(1, gameSession.getConnectedUsers().get(0).size());
         assertEquals("testUser", gameSession.getConnectedUsers().get(0).get(0).getUsername());
     }
+
+    @Test
+    public void testSessionsStoreOnlyPlayerReferences() {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+        User testUser = User.builder()
+                .username("testUser")
+                .password("testPassword")
+                .email("test@example.com")
+                .id(UUID.randomUUID().toString())
+                .profilePic(3)
+                .status(User.userStatus.ACTIVE)
+                .friends(List.of("friendA", "friendB"))
+                .build();
+        PlayerRef player = UserMapper.toPlayerRef(testUser);
+
+        repository.update(sessionId, session -> session.getConnectedUsers().get(1).add(player));
+        gameStateRepository.update(sessionId, gameState -> {
+            gameState.setBlueTeamLeader(player);
+            return null;
+        });
+
+        GameSession gameSession = repository.findBySessionId(sessionId).orElseThrow();
+        PlayerRef stored = gameSession.getConnectedUsers().get(1).get(0);
+        assertEquals(testUser.getId(), stored.getId());
+        assertEquals("testUser", stored.getUsername());
+        assertEquals(3, stored.getProfilePic());
+        assertEquals(User.userStatus.ACTIVE, stored.getStatus());
+        assertEquals(player, gameSession.getGameState().getBlueTeamLeader());
+    }
+
+    @Test
+    public void testUpdatingGameSessionInPlace() {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+
+        String gameName = repository.update(sessionId, session -> {
+            session.setMaxPlayers(6);
+            return session.getGameName();
+        });
+
+        assertEquals("testName", gameName);
+        assertEquals(6, repository.findBySessionId(sessionId).orElseThrow().getMaxPlayers());
+        assertEquals(3, repository.findBySessionId(sessionId).orElseThrow().getGameState().getCardIndexes().length);
+    }
+
+    @Test
+    public void testUpdatingGameStateLeavesSessionUntouched() {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+
+        gameStateRepository.update(sessionId, gameState -> gameState.getCardsVotes()[1] = 5);
+
+        GameSession gameSession = repository.findBySessionId(sessionId).orElseThrow();
+        assertEquals(5, gameSession.getGameState().getCardsVotes()[1]);
+        assertEquals(1, gameSession.getGameState().getVersion());
+        assertEquals(0, gameSession.getVersion());
+        assertNull(repository.findMetadataBySessionId(sessionId).orElseThrow().getGameState());
+    }
+
+    @Test
+    public void testUnitOfWorkWritesRecordedChangesOnce() {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+        GameSessionUnitOfWork unitOfWork = new GameSessionUnitOfWork(repository, gameStateRepository);
+
+        unitOfWork.updateState(sessionId, gameState -> gameState.getCardsVotes()[0] = 2);
+        unitOfWork.updateState(sessionId, gameState -> gameState.getCardsVotes()[1] = 3);
+        unitOfWork.updateSession(sessionId, session -> session.getMaxPlayers());
+
+        assertEquals(0, repository.findBySessionId(sessionId).orElseThrow().getGameState().getVersion());
+
+        GameSession gameSession = unitOfWork.findBySessionId(sessionId).orElseThrow();
+        assertEquals(2, gameSession.getGameState().getCardsVotes()[0]);
+        assertEquals(3, gameSession.getGameState().getCardsVotes()[1]);
+        assertEquals(1, gameSession.getGameState().getVersion());
+        assertEquals(1, gameSession.getVersion());
+        assertSame(gameSession, unitOfWork.findBySessionId(sessionId).orElseThrow());
+        assertEquals(1, repository.findBySessionId(sessionId).orElseThrow().getGameState().getVersion());
+    }
+
+    @Test
+    public void testSocketEventBusDeliversEventsOwnedByThisMember() throws InterruptedException {
+        SocketTransport socketTransport = mock(SocketTransport.class);
+        when(socketTransport.isShared()).thenReturn(true);
+        HazelcastSocketEventBus eventBus = new HazelcastSocketEventBus(hazelcastInstance, socketTransport);
+        List<SocketEvent> delivered = new CopyOnWriteArrayList<>();
+        eventBus.subscribe(delivered::add);
+
+        UUID gameId = UUID.randomUUID();
+        eventBus.publish(SocketEvent.builder()
+                .type(SocketEvent.eventType.GAME_STATE)
+                .gameId(gameId)
+                .version(3)
+                .payload("{\"version\":3}")
+                .build());
+        eventBus.publish(SocketEvent.builder()
+                .type(SocketEvent.eventType.LOBBY)
+                .eventName("gameSessionsList")
+                .payload("[]")
+                .build());
+
+        for (int i = 0; i < 100 && delivered.size() < 2; i++) {
+            Thread.sleep(50);
+        }
+
+        // A single member owns every partition, so it delivers every event exactly once
+        assertEquals(2, delivered.size());
+        SocketEvent state = delivered.stream().filter(event -> event.getType() == SocketEvent.eventType.GAME_STATE).findFirst().orElseThrow();
+        assertEquals(gameId, state.getGameId());
+        assertEquals(3, state.getVersion());
+        assertNull(state.getTree());
+    }
+
+    @Test
+    public void testConcurrentUpdatesAreNotLost() throws InterruptedException {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 100; i++) {
+            executor.submit(() -> gameStateRepository.update(sessionId, gameState -> {
+                gameState.getCardsVotes()[0]++;
+                return null;
+            }));
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(100, repository.findBySessionId(sessionId).orElseThrow().getGameState().getCardsVotes()[0]);
+        assertEquals(100, repository.findBySessionId(sessionId).orElseThrow().getGameState().getVersion());
+    }
+
+    @Test
+    public void testGameCommandsAreBatchedPerGameAndFailIndividually() throws Exception {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+        SocketService socketService = mock(SocketService.class);
+        DefaultGameCommandService commandService = new DefaultGameCommandService(repository, gameStateRepository, socketService, eventService(), 2, 64);
+        commandService.startWriters();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Integer> results = new CopyOnWriteArrayList<>();
+
+        try {
+            for (int i = 0; i < 100; i++) {
+                executor.submit(() -> results.add(commandService.updateState(sessionId, gameState -> ++gameState.getCardsVotes()[0])));
+            }
+
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            assertThrows(IllegalArgumentException.class, () -> commandService.updateState(sessionId, gameState -> {
+                throw new IllegalArgumentException("Incorrect card index");
+            }));
+        } finally {
+            commandService.stopWriters();
+        }
+
+        // Every command saw the result of the previous one, several commands may share one write and one emit
+        GameState gameState = repository.findBySessionId(sessionId).orElseThrow().getGameState();
+        assertEquals(100, gameState.getCardsVotes()[0]);
+        assertEquals(100, new HashSet<>(results).size());
+        assertTrue(gameState.getVersion() <= 100);
+        verify(socketService, atMost((int) gameState.getVersion())).sendGameSessionDelta(eq(sessionId), any());
+        verify(socketService, atLeastOnce()).sendGameSessionDelta(eq(sessionId), any());
+    }
+
+    @Test
+    public void testCardVotesAreAggregatedIntoOneWritePerFlush() throws Exception {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+        SocketService socketService = mock(SocketService.class);
+        DefaultGameCommandService commandService = new DefaultGameCommandService(repository, gameStateRepository, socketService, eventService(), 2, 64);
+        DefaultCardVoteAggregator aggregator = new DefaultCardVoteAggregator(commandService, gameStateRepository, 3);
+        commandService.startWriters();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        try {
+            for (int i = 0; i < 100; i++) {
+                boolean addingVote = i % 4 != 0;
+                executor.submit(() -> aggregator.addVote(sessionId, 1, addingVote));
+            }
+
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+            assertThrows(IllegalArgumentException.class, () -> aggregator.addVote(sessionId, 3, true));
+            assertEquals(0, repository.findBySessionId(sessionId).orElseThrow().getGameState().getVersion());
+
+            aggregator.flush();
+            aggregator.flush();
+            // Queued behind the vote write but never batched with it, so it returns once the votes are written
+            commandService.execute(sessionId, () -> null);
+        } finally {
+            commandService.stopWriters();
+        }
+
+        // 75 additions and 25 removals, written with a single update, the second flush had nothing to write
+        GameState gameState = repository.findBySessionId(sessionId).orElseThrow().getGameState();
+        assertEquals(50, gameState.getCardsVotes()[1]);
+        assertEquals(0, gameState.getCardsVotes()[0]);
+        assertEquals(1, gameState.getVersion());
+    }
+
+    @Test
+    public void testGameEventsAreLoggedAndCaughtUpFromSnapshot() {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+        DefaultGameEventService eventService = eventService();
+        DefaultGameCommandService commandService = new DefaultGameCommandService(repository, gameStateRepository, mock(SocketService.class), eventService, 2, 64);
+        commandService.startWriters();
+
+        try {
+            commandService.updateState(sessionId, GameEvent.of(GameEvent.eventType.REVEAL).cardIndex(1).build(), gameState -> null);
+            assertThrows(IllegalArgumentException.class, () -> commandService.updateState(sessionId, GameEvent.of(GameEvent.eventType.REVEAL).cardIndex(2).build(), gameState -> {
+                throw new IllegalArgumentException("Incorrect card index");
+            }));
+        } finally {
+            commandService.stopWriters();
+        }
+
+        // Only the applied command is logged
+        GameEventPageDTO logged = eventService.getEvents(sessionId, -1, null);
+        assertEquals(0, logged.getLastSequence());
+        assertNull(logged.getSnapshot());
+        assertEquals(1, logged.getEvents().size());
+        assertEquals(1, logged.getEvents().get(0).getCardIndex());
+        assertEquals(0, logged.getEvents().get(0).getSequence());
+
+        List<GameEvent> events = new ArrayList<>();
+        for (int i = 0; i < 599; i++) {
+            events.add(GameEvent.of(GameEvent.eventType.CARD_VOTES).cardVotes(new int[]{1, 0, 0}).build());
+        }
+        eventService.append(sessionId, events);
+        eventService.append(sessionId, List.of(GameEvent.of(GameEvent.eventType.TURN_CHANGE).build(), GameEvent.of(GameEvent.eventType.TURN_CHANGE).build()));
+        eventService.append(sessionId, List.of(GameEvent.of(GameEvent.eventType.HINT).hint("tree").hintNumber(2).build()));
+
+        // Still logged events are returned as they are
+        GameEventPageDTO recent = eventService.getEvents(sessionId, 595, null);
+        assertNull(recent.getSnapshot());
+        assertEquals(602, recent.getLastSequence());
+        assertEquals(List.of(596L, 597L, 598L, 599L, 600L, 601L, 602L), recent.getEvents().stream().map(GameEvent::getSequence).toList());
+        assertTrue(eventService.getEvents(sessionId, 602, null).getEvents().isEmpty());
+
+        // The first events were overwritten, so the operative view of the snapshot after the second batch comes first
+        GameEventPageDTO caughtUp = eventService.getEvents(sessionId, -1, null);
+        assertEquals(601, caughtUp.getSnapshotSequence());
+        assertFalse(caughtUp.getSnapshot().contains("password"));
+        assertEquals(1, caughtUp.getEvents().size());
+        assertEquals("tree", caughtUp.getEvents().get(0).getHint());
+        assertEquals(602, caughtUp.getEvents().get(0).getSequence());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFinishedGamesAreArchivedInBulkAndEvicted() throws Exception {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+        DefaultGameEventService eventService = eventService();
+        GameArchiveRepository archiveRepository = mock(GameArchiveRepository.class);
+        DefaultGameArchiveService archiveService = new DefaultGameArchiveService(archiveRepository, repository, eventService, new DefaultGameViewService(), 100);
+
+        repository.update(sessionId, session -> {
+            session.setStatus(GameSession.sessionStatus.FINISHED);
+            return null;
+        });
+        eventService.append(sessionId, List.of(GameEvent.of(GameEvent.eventType.HINT).hint("tree").hintNumber(2).build()));
+
+        // A failed write keeps the game stored and queued
+        when(archiveRepository.insert(anyList())).thenThrow(new DataAccessResourceFailureException("down"));
+        when(archiveRepository.save(any(GameArchive.class))).thenThrow(new DataAccessResourceFailureException("down"));
+        archiveService.archive(sessionId);
+        archiveService.archive(UUID.randomUUID());
+        archiveService.flush();
+        assertTrue(repository.findBySessionId(sessionId).isPresent());
+
+        ArgumentCaptor<List<GameArchive>> written = ArgumentCaptor.forClass(List.class);
+        reset(archiveRepository);
+        archiveService.flush();
+        verify(archiveRepository).insert(written.capture());
+        verify(archiveRepository, never()).save(any(GameArchive.class));
+
+        GameArchive archive = written.getValue().get(0);
+        assertEquals(1, written.getValue().size());
+        assertEquals(sessionId.toString(), archive.getId());
+        assertEquals(1, archive.getEventCount());
+
+        String json;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(archive.getData()))) {
+            json = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        JsonNode document = new ObjectMapper().readTree(json);
+        assertEquals(archive.getUncompressedSize(), json.getBytes(StandardCharsets.UTF_8).length);
+        assertEquals("tree", document.path("events").get(0).path("hint").asText());
+        assertEquals("FINISHED", document.path("session").path("status").asText());
+        assertFalse(document.path("session").has("password"));
+
+        // The archived game is evicted with its event log
+        assertTrue(repository.findBySessionId(sessionId).isEmpty());
+        assertEquals(-1, new GameEventRepository(hazelcastInstance).tailSequence(sessionId));
+    }
+
+    @Test
+    public void testReplaceIfVersionRejectsStaleSession() {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+        GameSession first = repository.findBySessionId(sessionId).orElseThrow();
+        GameSession second = repository.findBySessionId(sessionId).orElseThrow();
+
+        first.setGameName("first");
+        second.setGameName("second");
+
+        assertTrue(repository.replaceIfVersion(first));
+        assertFalse(repository.replaceIfVersion(second));
+        assertEquals("first", repository.findBySessionId(sessionId).orElseThrow().getGameName());
+        assertEquals(1, repository.findBySessionId(sessionId).orElseThrow().getVersion());
+    }
+
+    @Test
+    public void testConcurrentOptimisticUpdatesAreNotLost() throws InterruptedException {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 50; i++) {
+            executor.submit(() -> repository.updateOptimistically(sessionId, session -> {
+                session.setMaxPlayers(session.getMaxPlayers() + 1);
+                return true;
+            }, 1000));
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(58, repository.findBySessionId(sessionId).orElseThrow().getMaxPlayers());
+        assertFalse(repository.updateOptimistically(sessionId, session -> false, 1));
+        assertEquals(50, repository.findBySessionId(sessionId).orElseThrow().getVersion());
+    }
+
+    @Test
+    public void testUpdatingMissingGameSession() {
+
+        assertThrows(IllegalArgumentException.class, () -> repository.update(UUID.randomUUID(), session -> null));
+    }
+
+    @Test
+    public void testLobbyPagesAreFilteredAndOrdered() {
+        UUID existingSessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+
+        for (int i = 0; i < 5; i++) {
+            GameSession publicGame = repository.findBySessionId(existingSessionId).orElseThrow();
+            publicGame.setSessionId(UUID.randomUUID());
+            publicGame.setGameName("public" + i);
+            publicGame.setPassword("");
+            repository.save(publicGame);
+        }
+
+        LobbyQuery firstQuery = LobbyQuery.builder()
+                .status(GameSession.sessionStatus.CREATED)
+                .hasPassword(false)
+                .minFreeSlots(1)
+                .limit(3)
+                .build();
+        List<GameSessionJoinGameDTO> firstPage = repository.findLobbyPage(firstQuery);
+
+        LobbyQuery secondQuery = LobbyQuery.builder()
+                .status(GameSession.sessionStatus.CREATED)
+                .hasPassword(false)
+                .minFreeSlots(1)
+                .cursor(firstPage.get(firstPage.size() - 1).getSessionId().toString())
+                .limit(3)
+                .build();
+        List<GameSessionJoinGameDTO> secondPage = repository.findLobbyPage(secondQuery);
+
+        assertEquals(3, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertTrue(firstPage.get(2).getSessionId().toString().compareTo(secondPage.get(0).getSessionId().toString()) < 0);
+        assertTrue(secondPage.stream().allMatch(dto -> dto.getGameName().startsWith("public")));
+        assertEquals(8, secondPage.get(0).getMaxPlayers());
+        assertEquals(6, repository.findAllLobbySessions().size());
+    }
+
+    @Test
+    public void testLobbyViewIsVersionedAndReused() {
+        DefaultLobbyViewService lobbyViewService = new DefaultLobbyViewService(repository);
+        lobbyViewService.initialize();
+
+        LobbySnapshot initial = lobbyViewService.getSnapshot();
+        assertEquals(1, initial.getSize());
+        assertSame(initial, lobbyViewService.getSnapshot());
+
+        GameSession newGame = repository.findBySessionId(UUID.fromString(gameSessionMap.keySet().iterator().next())).orElseThrow();
+        newGame.setSessionId(UUID.randomUUID());
+        newGame.setGameName("anotherGame");
+        repository.save(newGame);
+        lobbyViewService.refresh(newGame.getSessionId());
+
+        LobbySnapshot updated = lobbyViewService.getSnapshot();
+        assertEquals(2, updated.getSize());
+        assertTrue(updated.getVersion() > initial.getVersion());
+        assertNotEquals(initial.getETag(), updated.getETag());
+        assertTrue(updated.getJson().contains("anotherGame"));
+
+        lobbyViewService.shutdown();
+    }
+
+    @Test
+    public void testLobbyViewDrainsSequencedDeltas() {
+        DefaultLobbyViewService lobbyViewService = new DefaultLobbyViewService(repository);
+        lobbyViewService.initialize();
+        // Takes the lobby over, also draining the event of the session saved before the listener was registered if it comes late
+        lobbyViewService.drainDeltas();
+        long sequence = lobbyViewService.getSequencedSnapshot().getSequence();
+
+        GameSession newGame = repository.findBySessionId(UUID.fromString(gameSessionMap.keySet().iterator().next())).orElseThrow();
+        newGame.setSessionId(UUID.randomUUID());
+        newGame.setGameName("anotherGame");
+        repository.save(newGame);
+        lobbyViewService.refresh(newGame.getSessionId());
+
+        List<LobbyDelta> added = lobbyViewService.drainDeltas();
+        assertEquals(1, added.size());
+        assertEquals(LobbyDelta.deltaType.ADDED, added.get(0).getType());
+        assertEquals(sequence + 1, added.get(0).getSequence());
+        assertEquals("anotherGame", added.get(0).getSession().getGameName());
+
+        repository.deleteById(newGame.getSessionId());
+        lobbyViewService.refresh(newGame.getSessionId());
+
+        List<LobbyDelta> removed = lobbyViewService.drainDeltas();
+        assertEquals(1, removed.size());
+        assertEquals(LobbyDelta.deltaType.REMOVED, removed.get(0).getType());
+        assertEquals(sequence + 2, removed.get(0).getSequence());
+
+        GameSessionLobbySnapshotDTO snapshot = lobbyViewService.getSequencedSnapshot();
+        assertEquals(sequence + 2, snapshot.getSequence());
+        assertEquals(1, snapshot.getSessions().size());
+
+        lobbyViewService.shutdown();
+    }
+
+    @Test
+    public void testStaleRefreshDoesNotBringRemovedLobbyRowBack() {
+        GameSessionRepository member = spy(repository);
+        DefaultLobbyViewService lobbyViewService = new DefaultLobbyViewService(member);
+        lobbyViewService.initialize();
+
+        GameSession newGame = repository.findBySessionId(UUID.fromString(gameSessionMap.keySet().iterator().next())).orElseThrow();
+        newGame.setSessionId(UUID.randomUUID());
+        newGame.setGameName("removedGame");
+        repository.save(newGame);
+        lobbyViewService.refresh(newGame.getSessionId());
+        GameSession stale = repository.findMetadataBySessionId(newGame.getSessionId()).orElseThrow();
+        lobbyViewService.drainDeltas();
+
+        repository.deleteById(newGame.getSessionId());
+        lobbyViewService.refresh(newGame.getSessionId());
+
+        // A refresh that read the session before it was deleted
+        doReturn(Optional.of(stale)).when(member).findMetadataBySessionId(newGame.getSessionId());
+        lobbyViewService.refresh(newGame.getSessionId());
+
+        List<LobbyDelta> deltas = lobbyViewService.drainDeltas();
+        assertEquals(1, deltas.size());
+        assertEquals(LobbyDelta.deltaType.REMOVED, deltas.get(0).getType());
+        assertTrue(lobbyViewService.getSequencedSnapshot().getSessions().stream()
+                .noneMatch(row -> row.getSessionId().equals(newGame.getSessionId())));
+
+        lobbyViewService.shutdown();
+    }
+
+    @Test
+    public void testOnlyTheLobbyOwnerEmitsLobbyDeltas() {
+        GameSessionRepository member = spy(repository);
+        doReturn(false).when(member).isLobbyOwner();
+        DefaultLobbyViewService lobbyViewService = new DefaultLobbyViewService(member);
+        lobbyViewService.initialize();
+
+        GameSession newGame = repository.findBySessionId(UUID.fromString(gameSessionMap.keySet().iterator().next())).orElseThrow();
+        newGame.setSessionId(UUID.randomUUID());
+        newGame.setGameName("anotherGame");
+        repository.save(newGame);
+        lobbyViewService.refresh(newGame.getSessionId());
+
+        long sequence = repository.getLobbySequence();
+        assertTrue(lobbyViewService.drainDeltas().isEmpty());
+        assertEquals(2, lobbyViewService.getSequencedSnapshot().getSessions().size());
+
+        // Taking the lobby over leaves a gap, so clients reload the changes discarded before
+        doReturn(true).when(member).isLobbyOwner();
+        newGame.setGameName("renamedGame");
+        repository.save(newGame);
+        lobbyViewService.refresh(newGame.getSessionId());
+
+        List<LobbyDelta> deltas = lobbyViewService.drainDeltas();
+        assertEquals(1, deltas.size());
+        assertEquals(sequence + 2, deltas.get(0).getSequence());
+        assertEquals(sequence + 2, lobbyViewService.getSequencedSnapshot().getSequence());
+
+        lobbyViewService.shutdown();
+    }
+
+    @Test
+    public void testGameTimersFireOnceAndAreRecoveredFromTheMap() throws Exception {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+        GameTimerRepository timerRepository = new GameTimerRepository(hazelcastInstance);
+        GameTimerHandler handler = mock(GameTimerHandler.class);
+
+        // Stored before the services started, as if its member had failed
+        timerRepository.save(new GameTimer(sessionId, GameTimer.timerType.DISCORD_INVITE, System.currentTimeMillis() - 1));
+
+        // Both services follow the same partitions, a timer must still fire once
+        DefaultGameTimerService first = new DefaultGameTimerService(timerRepository, handler, 10, 64, 2, 1_000, 0, 3_000);
+        DefaultGameTimerService second = new DefaultGameTimerService(timerRepository, handler, 10, 64, 2, 1_000, 0, 3_000);
+        first.start();
+        second.start();
+
+        try {
+            first.schedule(sessionId, GameTimer.timerType.LEADER_VOTE, 50);
+            first.schedule(sessionId, GameTimer.timerType.TURN_LIMIT);
+            second.schedule(sessionId, GameTimer.timerType.DISCORD_INVITE, 60_000);
+            second.schedule(sessionId, GameTimer.timerType.DISCORD_INVITE, 0);
+
+            long end = System.currentTimeMillis() + 500;
+            while (System.currentTimeMillis() < end) {
+                first.tick();
+                second.tick();
+                Thread.sleep(10);
+            }
+
+            ArgumentCaptor<GameTimer> fired = ArgumentCaptor.forClass(GameTimer.class);
+            verify(handler, timeout(2_000).times(2)).onTimer(fired.capture());
+            Thread.sleep(100);
+            verify(handler, times(2)).onTimer(any());
+
+            // The disabled turn limit was never stored
+            assertEquals(new HashSet<>(List.of(GameTimer.timerType.LEADER_VOTE, GameTimer.timerType.DISCORD_INVITE)),
+                    new HashSet<>(fired.getAllValues().stream().map(GameTimer::getType).toList()));
+            assertTrue(timerRepository.findLocal().isEmpty());
+
+            // A cancelled timer never fires
+            first.schedule(sessionId, GameTimer.timerType.LEADER_VOTE, 20);
+            first.cancelAll(sessionId);
+            Thread.sleep(50);
+            first.tick();
+            second.tick();
+            Thread.sleep(50);
+            verify(handler, times(2)).onTimer(any());
+        } finally {
+            first.stop();
+            second.stop();
+        }
+    }
+
+    @Test
+    public void testTurnLimitChangesTheTurnOutsideOfARequest() throws Exception {
+        UUID sessionId = UUID.fromString(gameSessionMap.keySet().iterator().next());
+        PlayerRef redPlayer = UserMapper.toPlayerRef(User.builder().id(UUID.randomUUID().toString()).username("red").build());
+        PlayerRef bluePlayer = UserMapper.toPlayerRef(User.builder().id(UUID.randomUUID().toString()).username("blue").build());
+        GameSession gameSession = repository.findBySessionId(sessionId).orElseThrow();
+        gameSession.setStatus(GameSession.sessionStatus.IN_PROGRESS);
+        gameSession.getConnectedUsers().get(0).add(redPlayer);
+        gameSession.getConnectedUsers().get(1).add(bluePlayer);
+        repository.save(gameSession);
+
+        GameTimerService timerService = mock(GameTimerService.class);
+        DefaultGameCommandService commandService = new DefaultGameCommandService(repository, gameStateRepository, mock(SocketService.class), eventService(), 2, 64);
+        DefaultGameStateService stateService = new DefaultGameStateService(mock(CardService.class), mock(BoardService.class), repository,
+                commandService, new DefaultCardVoteAggregator(commandService, gameStateRepository, 3), timerService);
+        DefaultGameTimerHandler handler = new DefaultGameTimerHandler(repository, mock(GameSessionService.class), stateService,
+                mock(SocketService.class), mock(DiscordGuildService.class));
+        commandService.startWriters();
+        ExecutorService timerThread = Executors.newSingleThreadExecutor();
+
+        try {
+            timerThread.submit(() -> {
+                handler.onTimer(new GameTimer(sessionId, GameTimer.timerType.TURN_LIMIT, System.currentTimeMillis()));
+                return null;
+            }).get(30, TimeUnit.SECONDS);
+        } finally {
+            timerThread.shutdown();
+            commandService.stopWriters();
+        }
+
+        // The hint turn ended, the guessing turn of the same team starts
+        GameState gameState = repository.findBySessionId(sessionId).orElseThrow().getGameState();
+        assertEquals(0, gameState.getTeamTurn());
+        assertFalse(gameState.isHintTurn());
+        assertEquals(redPlayer, gameState.getCurrentSelectionLeader());
+        verify(timerService).schedule(sessionId, GameTimer.timerType.TURN_LIMIT);
+    }
+
+    private DefaultGameEventService eventService() {
+        return new DefaultGameEventService(new GameEventRepository(hazelcastInstance), repository, new DefaultGameViewService(), 50);
+    }
 }
@@ -125,7 +125,9 @@ describe("Gameplay", () => {
       hint: "ANIMALS",
       hintNumber: "3",
       initialHintNumber: "3",
-      cards: Array(25).fill("WORD"),
+      cardIndexes: Array.from({ length: 25 }, (_, i) => i),
+      dictionaryLanguage: "en",
+      dictionaryVersion: "1",
       cardsColors: Array(25).fill(0),
       cardsChosen: [],
       hintTurn: true,
@@ -145,6 +147,12 @@ describe("Gameplay", () => {
           json: () => Promise.resolve(mockGameSession),
         });
       }
+      if (url.includes("/api/cards/dictionary")) {
+        return Promise.resolve({
+          ok: true,
+          json: () => Promise.resolve({ names: Array(25).fill("WORD") }),
+        });
+      }
       if (url.includes("/get-username")) {
         return Promise.resolve({
           ok: true,
@@ -385,6 +393,12 @@ describe("Gameplay", () => {
           json: () => Promise.resolve(guessingSession),
         });
       }
+      if (url.includes("/api/cards/dictionary")) {
+        return Promise.resolve({
+          ok: true,
+          json: () => Promise.resolve({ names: Array(25).fill("WORD") }),
+        });
+      }
       if (url.includes("/get-username")) {
         return Promise.resolve({
           ok: true,
@@ -668,6 +682,12 @@ describe("Gameplay", () => {
           json: () => Promise.resolve(guessingSession),
         });
       }
+      if (url.includes("/api/cards/dictionary")) {
+        return Promise.resolve({
+          ok: true,
+          json: () => Promise.resolve({ names: Array(25).fill("WORD") }),
+        });
+      }
       if (url.includes("/get-username")) {
         return Promise.resolve({
           ok: true,
@@ -818,6 +838,12 @@ describe("Gameplay", () => {
           json: () => Promise.resolve(winningGameSession),
         });
       }
+      if (url.includes("/api/cards/dictionary")) {
+        return Promise.resolve({
+          ok: true,
+          json: () => Promise.resolve({ names: Array(25).fill("WORD") }),
+        });
+      }
       if (url.includes("/get-username")) {
         return Promise.resolve({
           ok: true,
@@ -874,6 +900,12 @@ describe("Gameplay", () => {
           json: () => Promise.resolve(winningGameSession),
         });
       }
+      if (url.includes("/api/cards/dictionary")) {
+        return Promise.resolve({
+          ok: true,
+          json: () => Promise.resolve({ names: Array(25).fill("WORD") }),
+        });
+      }
       if (url.includes("/get-username")) {
         return Promise.resolve({
           ok: true,
@@ -1015,6 +1047,12 @@ describe("Gameplay", () => {
           json: () => Promise.resolve(selectionSession),
         });
       }
+      if (url.includes("/api/cards/dictionary")) {
+        return Promise.resolve({
+          ok: true,
+          json: () => Promise.resolve({ names: Array(25).fill("WORD") }),
+        });
+      }
       if (url.includes("/get-username")) {
         return Promise.resolve({
           ok: true,
@@ -77,6 +77,7 @@ interface GameSession {
   timeForGuessing: string;
   connectedUsers: User[][];
   gameState: GameState;
+  version: number;
 }
 
 /**
@@ -92,7 +93,9 @@ interface GameState {
   hint: string;
   hintNumber: string;
   initialHintNumber: string;
-  cards: string[];
+  cardIndexes: number[];
+  dictionaryLanguage?: string;
+  dictionaryVersion?: string;
   cardsColors: number[];
   cardsChosen: number[];
   hintTurn: boolean;
@@ -101,6 +104,73 @@ interface GameState {
   cardsVotes: number[];
 }
 
+/**
+ * Represents a single changed field of the game session, e.g. "gameState.cardsVotes[7]".
+ */
+interface FieldChange {
+  path: string;
+  value: unknown;
+}
+
+/**
+ * Represents the changes between two versions of the game session.
+ */
+interface GameSessionDelta {
+  baseVersion: number;
+  version: number;
+  changes: FieldChange[];
+}
+
+/**
+ * Sets the value of a field of the game session given by its path.
+ *
+ * @param {Record<string, any>} target - The game session to change.
+ * @param {FieldChange} change - The changed field.
+ */
+const applyFieldChange = (target: Record<string, any>, change: FieldChange) => {
+  const keys = change.path.match(/[^.[\]]+/g) || [];
+  let node = target;
+
+  for (let i = 0; i < keys.length - 1; i++) {
+    node = node[keys[i]];
+  }
+
+  node[keys[keys.length - 1]] = change.value;
+};
+
+/**
+ * Card dictionaries already fetched, by language and version. A version never changes,
+ * so each one is fetched once per page load.
+ */
+const cardDictionaries = new Map<string, Promise<string[]>>();
+
+/**
+ * Fetches the card dictionary the card indexes of the game state point into.
+ *
+ * @param {string} language - The language of the dictionary.
+ * @param {string} version - The version of the dictionary.
+ * @returns {Promise<string[]>} The card names.
+ */
+const fetchCardDictionary = (language: string, version: string) => {
+  const key = `${language}/${version}`;
+  let dictionary = cardDictionaries.get(key);
+
+  if (!dictionary) {
+    dictionary = fetch(`${apiUrl}/api/cards/dictionary/${key}`)
+      .then((response) => {
+        if (!response.ok) {
+          throw new Error(`Failed to fetch card dictionary ${key}`);
+        }
+        return response.json();
+      })
+      .then((data) => data.names as string[]);
+    dictionary.catch(() => cardDictionaries.delete(key));
+    cardDictionaries.set(key, dictionary);
+  }
+
+  return dictionary;
+};
+
 const generateId = () =>
   Date.now().toString(36) + Math.random().toString(36).substr(2, 9);
 /**
@@ -162,12 +232,15 @@ const Gameplay: React.FC<GameplayProps> = ({
   const clickAudio = new Audio(cardSound);
   const [votedCards, setVotedCards] = useState<number[]>([]);
   const [userId, setUserId] = useState<string | null>();
+  const [cardNames, setCardNames] = useState<string[]>([]);
   const [isOverlayVisible, setIsOverlayVisible] = useState(false);
   const [hasPlayerDisconnected, setHasPlayerDisconnected] = useState(false);
   const [ownUsername, setOwnUsername] = useState(
     localStorage.getItem("username") || ""
   );
   const gameSocketRef = useRef<Socket | null>(null);
+  const lastGameSessionRef = useRef<GameSession | null>(null); // Last full game session version, the base of the next delta
+  const viewRoomRef = useRef<string | null>(null); // Room receiving the game session view of the player's role
   const audioRef = useRef(new Audio(cardSound));
 
   /**
@@ -346,6 +419,30 @@ const Gameplay: React.FC<GameplayProps> = ({
     }
   };
 
+  /**
+   * Fetches the card dictionary when the game state points into a new one.
+   */
+  const dictionaryLanguage = gameSession?.gameState.dictionaryLanguage;
+  const dictionaryVersion = gameSession?.gameState.dictionaryVersion;
+
+  useEffect(() => {
+    if (!dictionaryLanguage || !dictionaryVersion) return;
+
+    let active = true;
+
+    fetchCardDictionary(dictionaryLanguage, dictionaryVersion)
+      .then((names) => {
+        if (active) {
+          setCardNames(names);
+        }
+      })
+      .catch((err) => console.error("Failed to fetch card dictionary", err));
+
+    return () => {
+      active = false;
+    };
+  }, [dictionaryLanguage, dictionaryVersion]);
+
   /**
    * Fetches the user ID and username.
    * Sends a Discord invite if it hasn't been sent yet.
@@ -389,6 +486,12 @@ const Gameplay: React.FC<GameplayProps> = ({
     gameSocket.on("connect", () => {
       if (storedGameId) {
         gameSocket.emit("joinGame", storedGameId);
+        viewRoomRef.current ??= `${storedGameId}:operative`;
+        gameSocket.emit(
+          "joinGame",
+          viewRoomRef.current,
+          Cookies.get("authToken")
+        );
       }
     });
 
@@ -398,12 +501,42 @@ const Gameplay: React.FC<GameplayProps> = ({
           updatedGameSessionJson
         );
 
+        lastGameSessionRef.current = updatedGameSession;
         setGameSessionData(updatedGameSession);
       } catch (err) {
         console.error("Error parsing gameSessionsList JSON:", err);
       }
     });
 
+    gameSocket.on("gameSessionDelta", (gameSessionDeltaJson: string) => {
+      try {
+        const delta: GameSessionDelta = JSON.parse(gameSessionDeltaJson);
+        const base = lastGameSessionRef.current;
+
+        if (base && delta.version <= base.version) {
+          return;
+        }
+
+        // A version was missed, the full game session is sent to the room again
+        if (!base || base.version !== delta.baseVersion) {
+          fetch(`${apiUrl}/api/game-session/${storedGameId}/full`).catch((err) =>
+            console.error("Failed to reload game session", err)
+          );
+          return;
+        }
+
+        const updatedGameSession: GameSession = structuredClone(base);
+        delta.changes.forEach((change) =>
+          applyFieldChange(updatedGameSession, change)
+        );
+
+        lastGameSessionRef.current = updatedGameSession;
+        setGameSessionData(updatedGameSession);
+      } catch (err) {
+        console.error("Error applying gameSessionDelta:", err);
+      }
+    });
+
     gameSocket.on("disconnectUser", () => {
       setHasPlayerDisconnected(true);
       try {
@@ -455,12 +588,15 @@ const Gameplay: React.FC<GameplayProps> = ({
       if (!userId) return;
 
       try {
+        const token = Cookies.get("authToken");
         const response = await fetch(
-          `${apiUrl}/api/game-session/${storedGameId}/full`
+          `${apiUrl}/api/game-session/${storedGameId}/full`,
+          token ? { headers: { Authorization: `Bearer ${token}` } } : undefined
         );
         if (!response.ok) throw new Error("Failed to fetch game session");
 
         const data = await response.json();
+        lastGameSessionRef.current = data;
         setAmIBlueTeamLeader(data.gameState.blueTeamLeader.id === userId);
         setAmIRedTeamLeader(data.gameState.redTeamLeader.id === userId);
         setAmICurrentLeader(
@@ -542,6 +678,37 @@ const Gameplay: React.FC<GameplayProps> = ({
     hasPlayerDisconnected,
   ]);
 
+  /**
+   * Effect that moves the player to the view room of their role when they become a team leader.
+   * Spymasters receive the colors of all cards, operatives only those of revealed cards.
+   * The game session is sent to the rooms again, so the new view replaces the old delta base.
+   *
+   * @returns {void}
+   */
+  useEffect(() => {
+    const gameSocket = gameSocketRef.current;
+    const viewRoom = `${storedGameId}:${
+      amIRedTeamLeader || amIBlueTeamLeader ? "spymaster" : "operative"
+    }`;
+
+    if (!storedGameId || !gameSocket || viewRoomRef.current === viewRoom) {
+      return;
+    }
+
+    const previousViewRoom = viewRoomRef.current;
+    viewRoomRef.current = viewRoom;
+    // The relay lets only team leaders into the spymaster room, checked with their token
+    gameSocket.emit("joinGame", viewRoom, Cookies.get("authToken"));
+
+    if (previousViewRoom) {
+      gameSocket.emit("leaveGame", previousViewRoom);
+      lastGameSessionRef.current = null;
+      fetch(`${apiUrl}/api/game-session/${storedGameId}/full`).catch((err) =>
+        console.error("Failed to reload game session", err)
+      );
+    }
+  }, [amIRedTeamLeader, amIBlueTeamLeader]);
+
   /**
    * Effect that loads the game session when the component is mounted or when the `storedGameId` changes.
    * If there is no stored game ID, the user is redirected to the "/games" page.
@@ -570,8 +737,10 @@ const Gameplay: React.FC<GameplayProps> = ({
      */
     const fetchGameSession = async () => {
       try {
+        const token = Cookies.get("authToken");
         const response = await fetch(
-          `${apiUrl}/api/game-session/${storedGameId}/full`
+          `${apiUrl}/api/game-session/${storedGameId}/full`,
+          token ? { headers: { Authorization: `Bearer ${token}` } } : undefined
         );
         if (!response.ok) throw new Error("Failed to fetch game session");
         const data = await response.json();
@@ -1196,7 +1365,7 @@ const Gameplay: React.FC<GameplayProps> = ({
                       hoverStates[index] === "enter" ? "text-animate-in" : ""
                     } `}
                   >
-                    {gameSession?.gameState.cards[index]}
+                    {cardNames[gameSession?.gameState.cardIndexes[index] ?? -1]}
                   </span>
                 )}
               </div>
@@ -261,6 +261,20 @@ describe("JoinGame", () => {
     expect(mockOn).toHaveBeenCalledWith("connect_error", expect.any(Function));
   });
 
+  it("listens for lobby delta socket events", () => {
+    render(
+      <JoinGame
+        setVolume={vi.fn()}
+        soundFXVolume={50}
+        setSoundFXVolume={vi.fn()}
+      />
+    );
+
+    expect(mockOn).toHaveBeenCalledWith("lobbySessionAdded", expect.any(Function));
+    expect(mockOn).toHaveBeenCalledWith("lobbySessionUpdated", expect.any(Function));
+    expect(mockOn).toHaveBeenCalledWith("lobbySessionRemoved", expect.any(Function));
+  });
+
   it("updates game sessions when socket emits gameSessionsList", async () => {
     render(
       <JoinGame
@@ -1,4 +1,4 @@
-import React, {useEffect, useState} from "react"; // Hook for managing component state
+import React, {useEffect, useRef, useState} from "react"; // Hook for managing component state
 import {io} from "socket.io-client";
 
 import BackgroundContainer from "../../containers/Background/Background";
@@ -64,6 +64,30 @@ interface GameSessionJoinGameDTO {
   currentBlueTeamPlayers: number;
 }
 
+/**
+ * A single change of the lobby list, numbered with the lobby sequence number.
+ * @typedef {Object} LobbyDelta
+ * @property {number} sequence - Lobby sequence number of the change.
+ * @property {GameSessionJoinGameDTO} [session] - The new lobby row, for added and updated sessions.
+ * @property {string} [sessionId] - Id of the removed session.
+ */
+interface LobbyDelta {
+  sequence: number;
+  session?: GameSessionJoinGameDTO;
+  sessionId?: string;
+}
+
+/**
+ * The whole lobby list together with the sequence number of the last change it contains.
+ * @typedef {Object} LobbySnapshotDTO
+ * @property {number} sequence - Lobby sequence number of the snapshot.
+ * @property {GameSessionJoinGameDTO[]} sessions - All sessions in the lobby.
+ */
+interface LobbySnapshotDTO {
+  sequence: number;
+  sessions: GameSessionJoinGameDTO[];
+}
+
 /**
  * JoinGame component that allows users to browse and join active game sessions.
  *
@@ -88,6 +112,8 @@ const JoinGame: React.FC<JoinGameProps> = ({
     []
   );
   const [isGuest, setIsGuest] = useState<boolean | null>(null);
+  const lobbySessions = useRef<Map<string, GameSessionJoinGameDTO>>(new Map()); // Lobby rows kept from the lobby deltas
+  const lobbySequence = useRef<number>(-1); // Sequence number of the last applied lobby delta, -1 if unknown
 
   useEffect(() => {
     localStorage.setItem("musicVolume", musicVolume.toString());
@@ -98,6 +124,7 @@ const JoinGame: React.FC<JoinGameProps> = ({
    *
    * - Connects to the Socket.IO server on component mount.
    * - Listens for the 'gameSessionsList' event and filters sessions with status "CREATED".
+   * - Listens for lobby delta events and applies them in sequence order, resyncing on a gap.
    * - Updates local React state (`setGameSessions`, `setFilteredGames`) with the filtered list.
    */
   useEffect(() => {
@@ -126,6 +153,21 @@ const JoinGame: React.FC<JoinGameProps> = ({
       }
     });
 
+    gameSocket.on("lobbySessionAdded", (lobbyDeltaJson: string) =>
+      applyLobbyDelta(lobbyDeltaJson)
+    );
+    gameSocket.on("lobbySessionUpdated", (lobbyDeltaJson: string) =>
+      applyLobbyDelta(lobbyDeltaJson)
+    );
+    gameSocket.on("lobbySessionRemoved", (lobbyDeltaJson: string) =>
+      applyLobbyDelta(lobbyDeltaJson)
+    );
+
+    // Deltas missed while disconnected are recovered from the next snapshot
+    gameSocket.on("connect", () => {
+      lobbySequence.current = -1;
+    });
+
     gameSocket.on("connect_error", (error) => {
       console.error("Game socket connection error.", error);
     });
@@ -135,6 +177,69 @@ const JoinGame: React.FC<JoinGameProps> = ({
     };
   }, []);
 
+  /**
+   * Publishes the lobby rows kept from the lobby deltas.
+   * Only sessions in the "CREATED" state are stored.
+   */
+  const publishLobby = () => {
+    const createdGames = Array.from(lobbySessions.current.values()).filter(
+      (game) => game.status === "CREATED"
+    );
+    setGameSessions(createdGames);
+    setFilteredGames(createdGames);
+  };
+
+  /**
+   * Reloads the whole lobby together with its sequence number.
+   * Used when a lobby delta is missing, so no change is lost.
+   */
+  const resyncLobby = () => {
+    fetch(`${apiUrl}/api/game-session/lobby/snapshot`)
+      .then((response) => response.json())
+      .then((data: LobbySnapshotDTO) => {
+        lobbySessions.current = new Map(
+          data.sessions.map((game) => [game.sessionId, game])
+        );
+        lobbySequence.current = data.sequence;
+        publishLobby();
+      })
+      .catch((error) => {
+        console.error("Error fetching lobby snapshot:", error);
+      });
+  };
+
+  /**
+   * Applies a single lobby delta.
+   * Deltas already contained in the snapshot are skipped, a gap in the sequence triggers a resync.
+   *
+   * @param {string} lobbyDeltaJson - The lobby delta received from the socket.
+   */
+  const applyLobbyDelta = (lobbyDeltaJson: string) => {
+    try {
+      const delta: LobbyDelta = JSON.parse(lobbyDeltaJson);
+
+      if (lobbySequence.current >= 0 && delta.sequence <= lobbySequence.current) {
+        return;
+      }
+
+      if (lobbySequence.current < 0 || delta.sequence !== lobbySequence.current + 1) {
+        resyncLobby();
+        return;
+      }
+
+      if (delta.session) {
+        lobbySessions.current.set(delta.session.sessionId, delta.session);
+      } else if (delta.sessionId) {
+        lobbySessions.current.delete(delta.sessionId);
+      }
+
+      lobbySequence.current = delta.sequence;
+      publishLobby();
+    } catch (err) {
+      console.error("Error parsing lobby delta JSON:", err);
+    }
+  };
+
   /**
    * Fetches all available game sessions from the backend.
    * Only sessions in the "CREATED" state are stored.
@@ -1,7 +1,11 @@
 const express = require("express");
 const http = require("http");
+const https = require("https");
 const { Server } = require("socket.io");
 
+// Backend asked whether a client may join the spymaster room of a game
+const BACKEND_URL = process.env.BACKEND_URL || "http://localhost:8080";
+
 const app = express();
 const server = http.createServer(app);
 const io = new Server(server, {
@@ -18,17 +22,61 @@ const io = new Server(server, {
   transports: ["polling", "websocket"],
 });
 
+/**
+ * Asks the backend for the view role of the owner of a token in a game.
+ * Resolves to "operative" if the backend cannot be reached or rejects the request.
+ */
+const fetchViewRole = (gameId, token) =>
+  new Promise((resolve) => {
+    const url = new URL(
+      `/api/game-session/${encodeURIComponent(gameId)}/view-role`,
+      BACKEND_URL
+    );
+    const client = url.protocol === "https:" ? https : http;
+    const request = client.get(
+      url,
+      { headers: token ? { Authorization: `Bearer ${token}` } : {} },
+      (response) => {
+        let body = "";
+        response.setEncoding("utf8");
+        response.on("data", (chunk) => (body += chunk));
+        response.on("end", () =>
+          resolve(response.statusCode === 200 ? body.trim() : "operative")
+        );
+      }
+    );
+
+    request.on("error", (err) => {
+      console.error(`[GAME] Could not fetch the view role for game ${gameId}:`, err.message);
+      resolve("operative");
+    });
+  });
+
 // --- GAME NAMESPACE (/game) ---
 const gameNamespace = io.of("/game");
 
 gameNamespace.on("connection", (socket) => {
   console.log(`[GAME] Client connected: ${socket.id}`);
 
-  socket.on("joinGame", (gameId) => {
+  // The spymaster room is only joined by team leaders, checked by the backend with the token of the client
+  socket.on("joinGame", async (gameId, token) => {
+    const [id, role] = String(gameId).split(":");
+
+    if (role === "spymaster" && (await fetchViewRole(id, token)) !== "spymaster") {
+      console.log(`[GAME] Refused to join spymaster room: ${gameId}`);
+      return;
+    }
+
     console.log(`[GAME] User joined game room: ${gameId}`);
     socket.join(gameId);
   });
 
+  // Players leave the view room of their old role when they become spymasters
+  socket.on("leaveGame", (gameId) => {
+    console.log(`[GAME] User left game room: ${gameId}`);
+    socket.leave(gameId);
+  });
+
   socket.on("gameSessionUpdate", (gameId, gameSession) => {
     console.log(`[GAME] Game session update for room: ${gameId}`);
     gameNamespace.to(gameId).emit("gameSessionUpdate", gameSession);
@@ -39,11 +87,26 @@ gameNamespace.on("connection", (socket) => {
     gameNamespace.to(gameId).emit("gameSessionData", gameSessionJson);
   });
 
+  socket.on("gameSessionDelta", (gameId, gameSessionDelta) => {
+    console.log(`[GAME] Game session delta sent to room: ${gameId}`);
+    gameNamespace.to(gameId).emit("gameSessionDelta", gameSessionDelta);
+  });
+
   socket.on("gameSessionsList", (gameSessions) => {
     console.log("[GAME] Broadcasting game sessions list");
     gameNamespace.emit("gameSessionsList", gameSessions);
   });
 
+  // Lobby deltas carry a single changed session and the lobby sequence number
+  ["lobbySessionAdded", "lobbySessionUpdated", "lobbySessionRemoved"].forEach(
+    (event) => {
+      socket.on(event, (lobbyDelta) => {
+        console.log(`[GAME] Broadcasting ${event}`);
+        gameNamespace.emit(event, lobbyDelta);
+      });
+    }
+  );
+
   socket.on("disconnectUser", (userId, gameId) => {
     console.log(`[GAME] Disconnecting user: ${userId}`);
     gameNamespace.to(gameId).emit("disconnectUser", userId);